@@ -0,0 +1,112 @@
+#!/usr/bin/env bash
+#
+# Smoke test of the native executable against a stubbed Dokploy API.
+#
+# Usage: scripts/native-smoke-test.sh [command...]
+#   command  what to start (default target/traefik-config-manager, built with mvn -Pnative package).
+#            and runs in a scratch directory, so paths must be absolute. The AOT-processed JAR of the same
+#            build can be checked on a regular JVM with
+#            scripts/native-smoke-test.sh java -Dspring.aot.enabled=true -jar "$PWD/target/traefik-config-manager-1.0.0.jar"
+#
+# MAX_RSS_MB (default 100) fails the test when the process uses more resident memory after the checks.
+# Needs python3 for the stub, and ports 8080 and STUB_PORT (default 18099) free.
+
+set -euo pipefail
+
+if [ $# -eq 0 ]; then
+    set -- "$(realpath target/traefik-config-manager)"
+fi
+MAX_RSS_MB="${MAX_RSS_MB:-100}"
+STUB_PORT="${STUB_PORT:-18099}"
+APP="http://localhost:8080"
+WORK="$(mktemp -d)"
+STUB_PID=""
+APP_PID=""
+
+cleanup() {
+    [ -n "$APP_PID" ] && kill "$APP_PID" 2>/dev/null || true
+    [ -n "$STUB_PID" ] && kill "$STUB_PID" 2>/dev/null || true
+    rm -rf "$WORK"
+}
+trap cleanup EXIT
+
+fail() {
+    echo "FAIL: $*" >&2
+    echo "--- application log ---" >&2
+    tail -50 "$WORK/app.log" >&2
+    exit 1
+}
+
+# Dokploy stub: serves one application's Traefik config and stores updates
+cat > "$WORK/stub.py" <<'PY'
+import http.server, json, sys
+config = {"value": "http:\n  routers:\n    existing-router:\n      rule: Host(`existing.example.com`)\n"
+                   "      service: existing-service\n  services:\n    existing-service:\n      loadBalancer:\n"
+                   "        servers:\n        - url: http://existing:80\n"}
+class Handler(http.server.BaseHTTPRequestHandler):
+    def log_message(self, *args):
+        pass
+    def reply(self, body):
+        data = json.dumps(body).encode()
+        self.send_response(200)
+        self.send_header("Content-Type", "application/json")
+        self.send_header("Content-Length", str(len(data)))
+        self.end_headers()
+        self.wfile.write(data)
+    def do_GET(self):
+        self.reply(config["value"])
+    def do_POST(self):
+        # Updates are sent with chunked transfer encoding
+        raw = b""
+        while True:
+            size = int(self.rfile.readline().split(b";")[0], 16)
+            raw += self.rfile.read(size)
+            self.rfile.readline()
+            if size == 0:
+                break
+        body = json.loads(raw)
+        config["value"] = body["traefikConfig"]
+        self.reply(True)
+http.server.ThreadingHTTPServer(("127.0.0.1", int(sys.argv[1])), Handler).serve_forever()
+PY
+python3 "$WORK/stub.py" "$STUB_PORT" &
+STUB_PID=$!
+
+mkdir -p "$WORK/run"
+start=$(date +%s%N)
+(cd "$WORK/run" && exec "$@" --spring.profiles.active=fast \
+    --traefik.config.api-domain="http://127.0.0.1:$STUB_PORT" --traefik.config.application-id=smoke-test \
+    --traefik.config.dokploy-api-key=smoke-test) > "$WORK/app.log" 2>&1 &
+APP_PID=$!
+
+until curl -sf -o /dev/null "$APP/api/health"; do
+    kill -0 "$APP_PID" 2>/dev/null || fail "application exited during startup"
+    sleep 0.05
+done
+echo "Ready in $(( ($(date +%s%N) - start) / 1000000 )) ms"
+
+check() {
+    local description="$1" expected="$2"
+    shift 2
+    local body
+    body=$(curl -s "$@") || fail "$description: request failed"
+    [[ "$body" == *"$expected"* ]] || fail "$description: expected '$expected' in $body"
+    echo "ok  $description"
+}
+
+check "health" '"status":"UP"' "$APP/api/health"
+check "read config" 'existing.example.com' "$APP/api/traefik/config"
+check "add host" '"success":true' -X POST -H 'Content-Type: application/json' \
+    -d '{"hostname":"smoke.example.com"}' "$APP/api/traefik/add-host"
+check "host written to Dokploy" 'smoke.example.com' "http://127.0.0.1:$STUB_PORT/"
+check "service URLs" 'http://existing:80' "$APP/api/traefik/services"
+check "delete host" '"success":true' -X DELETE -H 'Content-Type: application/json' \
+    -d '{"hostname":"smoke.example.com"}' "$APP/api/traefik/delete-host"
+check "runtime config" '"applicationId":"smoke-test"' "$APP/api/config/current"
+check "invalid hostname" '"success":false' -X POST -H 'Content-Type: application/json' \
+    -d '{"hostname":"-bad-"}' "$APP/api/traefik/add-host"
+
+rss_mb=$(( $(awk '/^VmRSS:/ {print $2}' "/proc/$APP_PID/status") / 1024 ))
+echo "Resident memory: ${rss_mb} MB (limit ${MAX_RSS_MB} MB)"
+[ "$rss_mb" -le "$MAX_RSS_MB" ] || fail "resident memory ${rss_mb} MB is above ${MAX_RSS_MB} MB"
+echo "PASS"
@@ -0,0 +1,85 @@
+#!/usr/bin/env bash
+#
+# Startup benchmark: time to the first successful /api/health response and resident memory, for
+#   default   the fat JAR with the default profile
+#   fast      the fat JAR with the fast profile (lazy init, no Swagger, no JMX)
+#   fast-cds  the unpacked layout of the Docker image with the fast profile and a class data sharing archive
+#
+# Usage: scripts/startup-benchmark.sh [runs] [jar]
+#   runs  starts per mode (default 5)
+#   jar   fat JAR to measure (default target/traefik-config-manager-1.0.0.jar, build it with mvn package)
+#
+# Every run uses a fresh working directory, so the persisted runtime config, desired states and journal of
+# one run do not affect the next. Port 8080 must be free.
+
+set -euo pipefail
+
+RUNS="${1:-5}"
+JAR="$(realpath "${2:-target/traefik-config-manager-1.0.0.jar}")"
+PORT=8080
+WORK="$(mktemp -d)"
+trap 'rm -rf "$WORK"' EXIT
+
+if [ ! -f "$JAR" ]; then
+    echo "JAR not found: $JAR (run mvn package first)" >&2
+    exit 1
+fi
+
+# Same layout as the Docker image: dependencies in lib/, application classes in a thin app.jar
+prepare_cds() {
+    local unpacked="$WORK/unpacked"
+    mkdir -p "$unpacked" "$WORK/cds/lib"
+    (cd "$unpacked" && jar xf "$JAR")
+    cp "$unpacked"/BOOT-INF/lib/*.jar "$WORK/cds/lib/"
+    { echo "Main-Class: com.traefikconfig.TraefikConfigApplication";
+      ls "$unpacked/BOOT-INF/lib" | sed -e 's|^|  lib/|' -e '1s|^  |Class-Path: |'; } > "$unpacked/manifest.txt"
+    jar --create --file "$WORK/cds/app.jar" --manifest "$unpacked/manifest.txt" -C "$unpacked/BOOT-INF/classes" .
+    echo "Training the class data sharing archive..."
+    (cd "$WORK/cds" && java -XX:ArchiveClassesAtExit=app.jsa -Dspring.context.exit=onRefresh \
+        -Dspring.profiles.active=fast -jar app.jar > training.log 2>&1 && rm -rf data logs)
+}
+
+# One start: prints "<ms to first healthy response> <rss kB> <startup seconds reported by Spring>"
+measure() {
+    local mode="$1" run_dir="$WORK/run"
+    rm -rf "$run_dir" && mkdir -p "$run_dir"
+    local start end pid
+    start=$(date +%s%N)
+    case "$mode" in
+        default)  (cd "$run_dir" && exec java -jar "$JAR") > "$WORK/app.log" 2>&1 & ;;
+        fast)     (cd "$run_dir" && exec java -Dspring.profiles.active=fast -jar "$JAR") > "$WORK/app.log" 2>&1 & ;;
+        fast-cds) (cd "$run_dir" && exec java -XX:SharedArchiveFile="$WORK/cds/app.jsa" \
+                      -Dspring.profiles.active=fast -jar "$WORK/cds/app.jar") > "$WORK/app.log" 2>&1 & ;;
+    esac
+    pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT/api/health"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "$mode failed to start, see log below" >&2
+            cat "$WORK/app.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    end=$(date +%s%N)
+    local rss started
+    rss=$(awk '/^VmRSS:/ {print $2}' "/proc/$pid/status")
+    started=$(grep -oE 'Started [A-Za-z]+ in [0-9.]+ seconds' "$WORK/app.log" | grep -oE '[0-9.]+ seconds' | cut -d' ' -f1)
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$(( (end - start) / 1000000 )) $rss ${started:-?}"
+}
+
+prepare_cds
+
+printf '%-9s %4s %12s %10s %12s\n' mode run ready_ms rss_mb started_s
+for mode in default fast fast-cds; do
+    total_ms=0
+    total_rss=0
+    for run in $(seq "$RUNS"); do
+        read -r ms rss started < <(measure "$mode")
+        printf '%-9s %4d %12d %10d %12s\n' "$mode" "$run" "$ms" $((rss / 1024)) "$started"
+        total_ms=$((total_ms + ms))
+        total_rss=$((total_rss + rss))
+    done
+    printf '%-9s %4s %12d %10d\n' "$mode" avg $((total_ms / RUNS)) $((total_rss / RUNS / 1024))
+done
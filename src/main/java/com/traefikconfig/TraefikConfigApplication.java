@@ -1,41 +1,62 @@
 package com.traefikconfig;
 
+import com.traefikconfig.config.NativeHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(NativeHints.class)
 public class TraefikConfigApplication {
 
     private static final Logger logger = LoggerFactory.getLogger(TraefikConfigApplication.class);
 
     public static void main(String[] args) {
-        logger.info("🚀 Starting Traefik Config Manager Application...");
+        logger.info("Starting Traefik Config Manager Application...");
         SpringApplication.run(TraefikConfigApplication.class, args);
     }
 
-    @EventListener(ApplicationReadyEvent.class)
-    public void onApplicationReady() {
-        logger.info("✅ Traefik Config Manager Application is ready!");
-        logger.info("🌐 API endpoints available at:");
-        logger.info("   📋 GET  /api/traefik/config - Get current configuration");
-        logger.info("   ➕ POST /api/traefik/add-host - Add new host");
-        logger.info("   🗑️ DELETE /api/traefik/delete-host - Delete host");
-        logger.info("   🔧 POST /api/traefik/add-host-custom - Add host with custom config");
-        logger.info("   🗑️ DELETE /api/traefik/delete-host-custom - Delete host with custom config");
-        logger.info("   📋 POST /api/traefik/config-custom - Get config with custom settings");
-        logger.info("   🔗 GET  /api/traefik/services - Get service URLs from configuration");
-        logger.info("   🔗 POST /api/traefik/services-custom - Get service URLs with custom config");
-        logger.info("   🏥 GET  /api/health - Health check");
-        logger.info("   ⚙️ GET  /api/config/current - Get configuration properties");
-        logger.info("   🔧 PUT  /api/config/update - Update configuration properties");
-        logger.info("   🔄 POST /api/config/reset - Reset configuration to defaults");
-        logger.info("📊 Application is running on port 8080");
-        logger.info("📚 Swagger UI available at: http://localhost:8080/swagger-ui.html");
-        logger.info("📄 OpenAPI docs available at: http://localhost:8080/api-docs");
-        logger.info("📝 Logs are being written to: logs/traefik-config-manager.log");
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        Environment environment = event.getApplicationContext().getEnvironment();
+        logger.info("Traefik Config Manager Application is ready!");
+        logger.info("API endpoints available at:");
+        logger.info("   GET  /api/traefik/config - Get current configuration");
+        logger.info("   POST /api/traefik/add-host - Add new host");
+        logger.info("   DELETE /api/traefik/delete-host - Delete host");
+        logger.info("   POST /api/traefik/add-host-custom - Add host with custom config");
+        logger.info("   DELETE /api/traefik/delete-host-custom - Delete host with custom config");
+        logger.info("   POST /api/traefik/config-custom - Get config with custom settings");
+        logger.info("   GET  /api/traefik/services - Get service URLs from configuration");
+        logger.info("   POST /api/traefik/services-custom - Get service URLs with custom config");
+        logger.info("   GET  /api/traefik/config/history - List recorded config versions");
+        logger.info("   POST /api/traefik/config/rollback/{version} - Roll back to a recorded config version");
+        logger.info("   PUT  /api/traefik/desired-state - Declare the desired host set and reconcile");
+        logger.info("   POST /api/traefik/fan-out - Add or delete a host on many applications");
+        logger.info("   GET  /api/traefik/inventory - Search services and backend URLs across applications");
+        logger.info("   GET  /api/traefik/hosts?suffix= - List hosts under a domain");
+        logger.info("   GET  /api/traefik/routers - List routers, one page at a time");
+        logger.info("   DELETE /api/traefik/hosts?suffix= - Delete all hosts under a domain");
+        logger.info("   POST /api/traefik/diff - Compare two configurations");
+        logger.info("   GET  /api/health - Health check");
+        logger.info("   GET  /api/config/current - Get configuration properties");
+        logger.info("   PUT  /api/config/update - Update configuration properties");
+        logger.info("   POST /api/config/reset - Reset configuration to defaults");
+        logger.info("Application is running on port 8080");
+        // The fast profile turns both off
+        if (environment.getProperty("springdoc.swagger-ui.enabled", Boolean.class, true)) {
+            logger.info("Swagger UI available at: http://localhost:8080/swagger-ui.html");
+        }
+        if (environment.getProperty("springdoc.api-docs.enabled", Boolean.class, true)) {
+            logger.info("OpenAPI docs available at: http://localhost:8080/api-docs");
+        }
+        logger.info("Logs are being written to: logs/traefik-config-manager.log");
     }
 }
\ No newline at end of file
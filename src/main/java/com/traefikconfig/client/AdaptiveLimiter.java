@@ -0,0 +1,168 @@
+package com.traefikconfig.client;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit for the calls to one backend, adjusted by additive increase / multiplicative decrease.
+ * <p>
+ * Every completed call is a latency sample. The baseline is the fastest recent sample; it creeps up by a
+ * fraction of a percent per sample so a backend that has become permanently slower is not treated as
+ * overloaded forever. A call that fails, or takes more than {@code tolerance} times the baseline, divides the
+ * limit by {@code 1 / backoffRatio}, at most once per batch of calls started before the previous decrease. A
+ * call that completes in time while the limit was fully used adds {@code 1 / limit}, i.e. roughly one per
+ * round trip.
+ * <p>
+ * Calls beyond the limit wait in FIFO order: a freed slot is handed directly to the longest-waiting call, so a
+ * call that arrives while others wait queues behind them instead of taking the slot first.
+ */
+final class AdaptiveLimiter {
+
+    private static final double BASELINE_DRIFT = 1.005;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+
+    private volatile double limit;
+    private volatile int inFlight;
+    private volatile int waiting;
+    private double baselineNanos;
+    private long lastDecreaseAt;
+
+    /**
+     * A queued call; {@code granted} is set, under the lock, when a slot has been handed to it.
+     */
+    private static final class Waiter {
+        final Condition signal;
+        boolean granted;
+
+        Waiter(Condition signal) {
+            this.signal = signal;
+        }
+    }
+
+    AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, double backoffRatio) {
+        this(initialLimit, minLimit, maxLimit, tolerance, backoffRatio, System::nanoTime);
+    }
+
+    AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, double backoffRatio,
+            LongSupplier clock) {
+        this.clock = clock;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.lastDecreaseAt = clock.getAsLong();
+    }
+
+    /**
+     * Wait for a slot.
+     *
+     * @return the start time to pass to {@link #release}, or -1 if no slot freed up within the timeout
+     */
+    long acquire(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                return clock.getAsLong();
+            }
+            Waiter waiter = new Waiter(lock.newCondition());
+            waiters.addLast(waiter);
+            waiting = waiters.size();
+            try {
+                while (!waiter.granted && remaining > 0) {
+                    remaining = waiter.signal.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.granted) {
+                    // The slot was handed over just before the interrupt: pass it on
+                    inFlight--;
+                    grantWaiters();
+                } else {
+                    removeWaiter(waiter);
+                }
+                throw e;
+            }
+            if (!waiter.granted) {
+                removeWaiter(waiter);
+                return -1;
+            }
+            return clock.getAsLong();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Free the slot of a call and adjust the limit from its outcome.
+     *
+     * @param start   the value returned by {@link #acquire}
+     * @param dropped whether the backend failed or refused the call
+     */
+    void release(long start, boolean dropped) {
+        long now = clock.getAsLong();
+        long latency = now - start;
+        lock.lock();
+        try {
+            boolean saturated = inFlight >= (int) limit;
+            inFlight--;
+            if (!dropped) {
+                baselineNanos = baselineNanos == 0 ? latency : Math.min(latency, baselineNanos * BASELINE_DRIFT);
+            }
+            boolean overloaded = dropped || latency > baselineNanos * tolerance;
+            if (overloaded) {
+                if (start - lastDecreaseAt > 0) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseAt = now;
+                }
+            } else if (saturated) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            grantWaiters();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hand free slots to the waiting calls in arrival order. Called with the lock held.
+     */
+    private void grantWaiters() {
+        while (!waiters.isEmpty() && inFlight < (int) limit) {
+            Waiter next = waiters.pollFirst();
+            next.granted = true;
+            inFlight++;
+            next.signal.signal();
+        }
+        waiting = waiters.size();
+    }
+
+    private void removeWaiter(Waiter waiter) {
+        waiters.remove(waiter);
+        waiting = waiters.size();
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inFlight() {
+        return inFlight;
+    }
+
+    int waiting() {
+        return waiting;
+    }
+}
@@ -0,0 +1,279 @@
+package com.traefikconfig.client;
+
+import com.traefikconfig.config.DokployClientProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.RequestReplySenderContext;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * HTTP client for the Dokploy Traefik config API.
+ * <p>
+ * Advertises {@code Accept-Encoding: gzip, deflate} and decodes compressed
+ * responses while streaming them, so large configs never sit in memory twice
+ * in their compressed and decompressed forms. Update bodies are encoded while
+ * they are sent (see {@link StreamingConfigBody}) and gzipped when
+ * {@code traefik.dokploy.compress-requests} is enabled.
+ * <p>
+ * Config updates make Dokploy rewrite Traefik's files and slow down sharply
+ * when many arrive at once, so concurrent updates to each Dokploy instance are
+ * capped by an {@link AdaptiveLimiter} that follows the observed latency.
+ * Updates beyond the limit wait here instead of piling onto the backend.
+ * <p>
+ * Every request is sent in a {@code traefik.dokploy.requests} client span, which adds the W3C
+ * {@code traceparent} header to it.
+ */
+@Component
+public class DokployClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(DokployClient.class);
+
+    private static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private final DokployClientProperties clientProperties;
+    private final HttpClient httpClient;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+    private final Map<String, AdaptiveLimiter> writeLimiters = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor bodyWriters;
+
+    public DokployClient(DokployClientProperties clientProperties, MeterRegistry meterRegistry,
+            ObservationRegistry observationRegistry) {
+        this.clientProperties = clientProperties;
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(clientProperties.getConnectTimeoutSeconds()))
+                .build();
+        AtomicInteger threadNumber = new AtomicInteger();
+        // One thread per update being sent; their number is bounded by the write limiters
+        this.bodyWriters = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dokploy-body-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void stop() {
+        bodyWriters.shutdownNow();
+    }
+
+    /**
+     * Fetch the Traefik config of an application. Returns the YAML with
+     * surrounding quotes removed and escaped newlines expanded.
+     */
+    public String readTraefikConfig(String readApiUrl, String applicationId, String apiKey)
+            throws IOException, InterruptedException {
+        logger.debug("URL: {}?applicationId={}", readApiUrl, applicationId);
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(readApiUrl + "?applicationId=" + applicationId))
+                .header("accept", "application/json")
+                .header("Accept-Encoding", ACCEPT_ENCODING)
+                .header("x-api-key", apiKey)
+                .GET();
+
+        logger.debug("Sending request to Dokploy API...");
+        Reply response = send("read", applicationId, builder);
+        logger.debug("Received response with status: {} [encoding={}]", response.statusCode(),
+                response.contentEncoding());
+
+        if (response.statusCode() != 200) {
+            logger.error("Failed to fetch config. HTTP status: {}, Response: {}",
+                    response.statusCode(), response.body());
+            throw new IOException("Failed to fetch config. HTTP status: " + response.statusCode() +
+                    "\nResponse: " + response.body());
+        }
+
+        String body = response.body().trim();
+        logger.debug("Raw response body length: {} characters", body.length());
+
+        if (body.startsWith("\"") && body.endsWith("\"")) {
+            body = body.substring(1, body.length() - 1);
+            logger.debug("Removed surrounding quotes from response");
+        }
+
+        return body.replace("\\n", "\n");
+    }
+
+    /**
+     * Push a new Traefik config for an application. Returns the raw response body.
+     */
+    public String updateTraefikConfig(String updateApiUrl, String applicationId, String traefikConfig, String apiKey)
+            throws IOException, InterruptedException {
+        logger.debug("URL: {}", updateApiUrl);
+        logger.debug("Config length to send: {} characters", traefikConfig.length());
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(updateApiUrl))
+                .header("accept", "application/json")
+                .header("Accept-Encoding", ACCEPT_ENCODING)
+                .header("Content-Type", "application/json")
+                .header("x-api-key", apiKey);
+
+        // The config's length in characters stands in for the size of the payload, which is never built
+        boolean gzip = clientProperties.isCompressRequests()
+                && traefikConfig.length() >= clientProperties.getCompressRequestMinBytes();
+        if (gzip) {
+            builder.header("Content-Encoding", "gzip");
+        }
+        builder.POST(HttpRequest.BodyPublishers.fromPublisher(
+                new StreamingConfigBody(applicationId, traefikConfig, gzip, bodyWriters)));
+
+        String apiDomain = apiDomain(updateApiUrl);
+        AdaptiveLimiter limiter = writeLimiter(apiDomain);
+        long start = limiter.acquire(clientProperties.getWriteQueueTimeoutMs(), TimeUnit.MILLISECONDS);
+        if (start < 0) {
+            throw new IOException("Timed out after " + clientProperties.getWriteQueueTimeoutMs()
+                    + " ms waiting to update config on " + apiDomain + " [limit=" + limiter.limit() + "]");
+        }
+
+        logger.debug("Sending update request to Dokploy API...");
+        Reply response;
+        boolean dropped = true;
+        try {
+            response = send("update", applicationId, builder);
+            dropped = response.statusCode() >= 500 || response.statusCode() == 429;
+        } finally {
+            limiter.release(start, dropped);
+        }
+        logger.debug("Received response with status: {} [write_limit={}]", response.statusCode(),
+                limiter.limit());
+
+        if (response.statusCode() != 200) {
+            logger.error("Failed to update config. HTTP status: {}, Response: {}",
+                    response.statusCode(), response.body());
+            throw new IOException("Failed to update config. HTTP status: " + response.statusCode() +
+                    "\nResponse: " + response.body());
+        }
+
+        return response.body();
+    }
+
+    /**
+     * A response with its body decoded.
+     */
+    private record Reply(int statusCode, String contentEncoding, String body) {
+    }
+
+    /**
+     * Send a request and read its response in a client span. The span's propagation adds the
+     * {@code traceparent} header to the request before it is built.
+     */
+    private Reply send(String operation, String applicationId, HttpRequest.Builder builder)
+            throws IOException, InterruptedException {
+        RequestReplySenderContext<HttpRequest.Builder, Reply> context =
+                new RequestReplySenderContext<>(HttpRequest.Builder::header);
+        context.setCarrier(builder);
+        context.setRemoteServiceName("dokploy");
+        Observation observation = Observation.createNotStarted("traefik.dokploy.requests", () -> context,
+                        observationRegistry)
+                .contextualName("dokploy " + operation)
+                .lowCardinalityKeyValue("operation", operation)
+                .highCardinalityKeyValue("applicationId", applicationId)
+                .start();
+        Observation.Scope scope = observation.openScope();
+        try {
+            HttpRequest request = builder.build();
+            context.setRemoteServiceAddress(apiDomain(request.uri().toString()));
+            observation.highCardinalityKeyValue("http.url", request.uri().getScheme() + "://"
+                    + request.uri().getAuthority() + request.uri().getPath());
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            Reply reply = new Reply(response.statusCode(),
+                    response.headers().firstValue("Content-Encoding").orElse("identity"), decodeBody(response));
+            observation.lowCardinalityKeyValue("http.status_code", String.valueOf(reply.statusCode()));
+            observation.highCardinalityKeyValue("response.size", String.valueOf(reply.body().length()));
+            context.setResponse(reply);
+            return reply;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            scope.close();
+            observation.stop();
+        }
+    }
+
+    /**
+     * The write limiter of a Dokploy instance, created with its gauges on first use.
+     */
+    private AdaptiveLimiter writeLimiter(String apiDomain) {
+        return writeLimiters.computeIfAbsent(apiDomain, domain -> {
+            AdaptiveLimiter limiter = new AdaptiveLimiter(clientProperties.getWriteConcurrencyInitial(),
+                    clientProperties.getWriteConcurrencyMin(), clientProperties.getWriteConcurrencyMax(),
+                    clientProperties.getWriteLatencyTolerance(), clientProperties.getWriteBackoffRatio());
+            Gauge.builder("traefik.dokploy.write.limit", limiter, AdaptiveLimiter::limit)
+                    .description("Concurrent config updates currently allowed")
+                    .tag("api_domain", domain)
+                    .register(meterRegistry);
+            Gauge.builder("traefik.dokploy.write.in.flight", limiter, AdaptiveLimiter::inFlight)
+                    .tag("api_domain", domain)
+                    .register(meterRegistry);
+            Gauge.builder("traefik.dokploy.write.queued", limiter, AdaptiveLimiter::waiting)
+                    .description("Config updates waiting for the limit")
+                    .tag("api_domain", domain)
+                    .register(meterRegistry);
+            logger.info("Write limiter created for {} [initial={}, min={}, max={}]", domain,
+                    limiter.limit(), clientProperties.getWriteConcurrencyMin(),
+                    clientProperties.getWriteConcurrencyMax());
+            return limiter;
+        });
+    }
+
+    /**
+     * Scheme, host and port of an API URL.
+     */
+    private static String apiDomain(String apiUrl) {
+        URI uri = URI.create(apiUrl);
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    /**
+     * Decode a response body according to its Content-Encoding, inflating on the fly.
+     */
+    private String decodeBody(HttpResponse<InputStream> response) throws IOException {
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("").trim().toLowerCase();
+        try (InputStream raw = response.body();
+             InputStream in = switch (encoding) {
+                 case "gzip", "x-gzip" -> new GZIPInputStream(raw, 16 * 1024);
+                 case "deflate" -> new InflaterInputStream(raw);
+                 default -> raw;
+             };
+             Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            StringBuilder body = new StringBuilder(
+                    (int) Math.min(response.headers().firstValueAsLong("Content-Length").orElse(8192) * 4, 1 << 24));
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                body.append(buffer, 0, read);
+            }
+            return body.toString();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.traefikconfig.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Body of a config update, {@code {"applicationId": ..., "traefikConfig": ...}}, encoded while it is sent.
+ * <p>
+ * Each subscriber gets a writer task that runs a Jackson {@link JsonGenerator} over the config, optionally
+ * through gzip, and hands the output over in chunks of {@value #CHUNK_BYTES} bytes as the HTTP client asks
+ * for them. Neither the escaped JSON nor its bytes are ever held as a whole, and the body has no length, so it
+ * is sent with chunked transfer encoding. A resend subscribes again and encodes the config again.
+ */
+final class StreamingConfigBody implements Flow.Publisher<ByteBuffer> {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingConfigBody.class);
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int CHUNK_BYTES = 16 * 1024;
+
+    private final String applicationId;
+    private final String traefikConfig;
+    private final boolean gzip;
+    private final Executor writer;
+
+    StreamingConfigBody(String applicationId, String traefikConfig, boolean gzip, Executor writer) {
+        this.applicationId = applicationId;
+        this.traefikConfig = traefikConfig;
+        this.gzip = gzip;
+        this.writer = writer;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        Transfer transfer = new Transfer(subscriber);
+        subscriber.onSubscribe(transfer);
+        writer.execute(transfer);
+    }
+
+    /**
+     * One encoding of the body for one subscriber. The writer task fills a chunk and blocks until the
+     * subscriber has requested it, so at most one chunk is buffered here.
+     */
+    private final class Transfer extends OutputStream implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private byte[] chunk = new byte[CHUNK_BYTES];
+        private int count;
+        private long sent;
+        private long demand; // guarded by this
+        private boolean cancelled; // guarded by this
+
+        Transfer(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public synchronized void request(long n) {
+            if (n <= 0) {
+                cancelled = true;
+                subscriber.onError(new IllegalArgumentException("non-positive request: " + n));
+            } else {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+            notifyAll();
+        }
+
+        @Override
+        public synchronized void cancel() {
+            cancelled = true;
+            notifyAll();
+        }
+
+        @Override
+        public void run() {
+            try {
+                try (OutputStream out = gzip ? new GZIPOutputStream(this, CHUNK_BYTES) : this;
+                     JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+                    generator.writeStartObject();
+                    generator.writeStringField("applicationId", applicationId);
+                    generator.writeFieldName("traefikConfig");
+                    generator.writeString(new StringReader(traefikConfig), traefikConfig.length());
+                    generator.writeEndObject();
+                }
+                logger.debug("JSON payload streamed: {} bytes{}", sent, gzip ? " (gzip)" : "");
+                subscriber.onComplete();
+            } catch (IOException e) {
+                if (!isCancelled()) {
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == chunk.length) {
+                emit();
+            }
+            chunk[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (count == chunk.length) {
+                    emit();
+                }
+                int copied = Math.min(length, chunk.length - count);
+                System.arraycopy(bytes, offset, chunk, count, copied);
+                count += copied;
+                offset += copied;
+                length -= copied;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (count > 0) {
+                emit();
+            }
+        }
+
+        /**
+         * Hand the filled chunk to the subscriber once it has asked for one. The subscriber keeps the buffer,
+         * so the next chunk is a new array.
+         */
+        private void emit() throws IOException {
+            synchronized (this) {
+                while (demand == 0 && !cancelled) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while sending config update");
+                    }
+                }
+                if (cancelled) {
+                    throw new IOException("Config update body cancelled");
+                }
+                demand--;
+            }
+            subscriber.onNext(ByteBuffer.wrap(count == chunk.length ? chunk : Arrays.copyOf(chunk, count)));
+            sent += count;
+            chunk = new byte[CHUNK_BYTES];
+            count = 0;
+        }
+
+        private synchronized boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.traefikconfig.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "traefik.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+    private double clientRatePerSecond = 10;
+    private int clientBurst = 20;
+    private double applicationRatePerSecond = 5;
+    private int applicationBurst = 10;
+    private int maxConcurrent = 8;
+    private int queueCapacity = 32;
+    private long queueTimeoutMs = 10000;
+    private String clientHeader = "";
+    private int maxTrackedKeys = 10000;
+    private int maxInspectedBodyBytes = 65536;
+    private List<String> exemptPaths = new ArrayList<>(
+            List.of("/api/traefik/config-custom", "/api/traefik/services-custom", "/api/traefik/diff"));
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getClientRatePerSecond() {
+        return clientRatePerSecond;
+    }
+
+    public void setClientRatePerSecond(double clientRatePerSecond) {
+        this.clientRatePerSecond = clientRatePerSecond;
+    }
+
+    public int getClientBurst() {
+        return clientBurst;
+    }
+
+    public void setClientBurst(int clientBurst) {
+        this.clientBurst = clientBurst;
+    }
+
+    public double getApplicationRatePerSecond() {
+        return applicationRatePerSecond;
+    }
+
+    public void setApplicationRatePerSecond(double applicationRatePerSecond) {
+        this.applicationRatePerSecond = applicationRatePerSecond;
+    }
+
+    public int getApplicationBurst() {
+        return applicationBurst;
+    }
+
+    public void setApplicationBurst(int applicationBurst) {
+        this.applicationBurst = applicationBurst;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getQueueTimeoutMs() {
+        return queueTimeoutMs;
+    }
+
+    public void setQueueTimeoutMs(long queueTimeoutMs) {
+        this.queueTimeoutMs = queueTimeoutMs;
+    }
+
+    public String getClientHeader() {
+        return clientHeader;
+    }
+
+    public void setClientHeader(String clientHeader) {
+        this.clientHeader = clientHeader;
+    }
+
+    public int getMaxTrackedKeys() {
+        return maxTrackedKeys;
+    }
+
+    public void setMaxTrackedKeys(int maxTrackedKeys) {
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    public int getMaxInspectedBodyBytes() {
+        return maxInspectedBodyBytes;
+    }
+
+    public void setMaxInspectedBodyBytes(int maxInspectedBodyBytes) {
+        this.maxInspectedBodyBytes = maxInspectedBodyBytes;
+    }
+
+    public List<String> getExemptPaths() {
+        return exemptPaths;
+    }
+
+    public void setExemptPaths(List<String> exemptPaths) {
+        this.exemptPaths = exemptPaths;
+    }
+}
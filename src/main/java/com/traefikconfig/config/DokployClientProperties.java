@@ -0,0 +1,92 @@
+package com.traefikconfig.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "traefik.dokploy")
+public class DokployClientProperties {
+
+    private int connectTimeoutSeconds = 30;
+    private boolean compressRequests = false;
+    private int compressRequestMinBytes = 8192;
+    private int writeConcurrencyInitial = 4;
+    private int writeConcurrencyMin = 1;
+    private int writeConcurrencyMax = 32;
+    private double writeLatencyTolerance = 2.0;
+    private double writeBackoffRatio = 0.75;
+    private long writeQueueTimeoutMs = 60000;
+
+    // Getters and Setters
+    public int getConnectTimeoutSeconds() {
+        return connectTimeoutSeconds;
+    }
+
+    public void setConnectTimeoutSeconds(int connectTimeoutSeconds) {
+        this.connectTimeoutSeconds = connectTimeoutSeconds;
+    }
+
+    public boolean isCompressRequests() {
+        return compressRequests;
+    }
+
+    public void setCompressRequests(boolean compressRequests) {
+        this.compressRequests = compressRequests;
+    }
+
+    public int getCompressRequestMinBytes() {
+        return compressRequestMinBytes;
+    }
+
+    public void setCompressRequestMinBytes(int compressRequestMinBytes) {
+        this.compressRequestMinBytes = compressRequestMinBytes;
+    }
+
+    public int getWriteConcurrencyInitial() {
+        return writeConcurrencyInitial;
+    }
+
+    public void setWriteConcurrencyInitial(int writeConcurrencyInitial) {
+        this.writeConcurrencyInitial = writeConcurrencyInitial;
+    }
+
+    public int getWriteConcurrencyMin() {
+        return writeConcurrencyMin;
+    }
+
+    public void setWriteConcurrencyMin(int writeConcurrencyMin) {
+        this.writeConcurrencyMin = writeConcurrencyMin;
+    }
+
+    public int getWriteConcurrencyMax() {
+        return writeConcurrencyMax;
+    }
+
+    public void setWriteConcurrencyMax(int writeConcurrencyMax) {
+        this.writeConcurrencyMax = writeConcurrencyMax;
+    }
+
+    public double getWriteLatencyTolerance() {
+        return writeLatencyTolerance;
+    }
+
+    public void setWriteLatencyTolerance(double writeLatencyTolerance) {
+        this.writeLatencyTolerance = writeLatencyTolerance;
+    }
+
+    public double getWriteBackoffRatio() {
+        return writeBackoffRatio;
+    }
+
+    public void setWriteBackoffRatio(double writeBackoffRatio) {
+        this.writeBackoffRatio = writeBackoffRatio;
+    }
+
+    public long getWriteQueueTimeoutMs() {
+        return writeQueueTimeoutMs;
+    }
+
+    public void setWriteQueueTimeoutMs(long writeQueueTimeoutMs) {
+        this.writeQueueTimeoutMs = writeQueueTimeoutMs;
+    }
+}
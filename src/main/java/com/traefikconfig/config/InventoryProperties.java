@@ -0,0 +1,95 @@
+package com.traefikconfig.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "traefik.inventory")
+public class InventoryProperties {
+
+    private List<Application> applications = new ArrayList<>();
+    private boolean includeDefaultApplication = true;
+    private boolean includeDesiredStates = true;
+    private int parallelism = 8;
+    private long maxAgeMs = 60000;
+
+    /**
+     * A Dokploy application included in the inventory. Missing API domain and key fall back to
+     * {@code traefik.config}.
+     */
+    public static class Application {
+
+        private String apiDomain;
+        private String applicationId;
+        private String dokployApiKey;
+
+        // Getters and Setters
+        public String getApiDomain() {
+            return apiDomain;
+        }
+
+        public void setApiDomain(String apiDomain) {
+            this.apiDomain = apiDomain;
+        }
+
+        public String getApplicationId() {
+            return applicationId;
+        }
+
+        public void setApplicationId(String applicationId) {
+            this.applicationId = applicationId;
+        }
+
+        public String getDokployApiKey() {
+            return dokployApiKey;
+        }
+
+        public void setDokployApiKey(String dokployApiKey) {
+            this.dokployApiKey = dokployApiKey;
+        }
+    }
+
+    // Getters and Setters
+    public List<Application> getApplications() {
+        return applications;
+    }
+
+    public void setApplications(List<Application> applications) {
+        this.applications = applications;
+    }
+
+    public boolean isIncludeDefaultApplication() {
+        return includeDefaultApplication;
+    }
+
+    public void setIncludeDefaultApplication(boolean includeDefaultApplication) {
+        this.includeDefaultApplication = includeDefaultApplication;
+    }
+
+    public boolean isIncludeDesiredStates() {
+        return includeDesiredStates;
+    }
+
+    public void setIncludeDesiredStates(boolean includeDesiredStates) {
+        this.includeDesiredStates = includeDesiredStates;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public long getMaxAgeMs() {
+        return maxAgeMs;
+    }
+
+    public void setMaxAgeMs(long maxAgeMs) {
+        this.maxAgeMs = maxAgeMs;
+    }
+}
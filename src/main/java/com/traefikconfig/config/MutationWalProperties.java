@@ -0,0 +1,47 @@
+package com.traefikconfig.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "traefik.wal")
+public class MutationWalProperties {
+
+    private boolean enabled = true;
+    private String directory = "data/wal";
+    private int maxBatchSize = 256;
+    private long compactThresholdBytes = 16L * 1024 * 1024;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public long getCompactThresholdBytes() {
+        return compactThresholdBytes;
+    }
+
+    public void setCompactThresholdBytes(long compactThresholdBytes) {
+        this.compactThresholdBytes = compactThresholdBytes;
+    }
+}
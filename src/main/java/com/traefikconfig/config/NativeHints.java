@@ -0,0 +1,47 @@
+package com.traefikconfig.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import com.traefikconfig.dto.ApiResponse;
+import com.traefikconfig.dto.CustomConfigRequest;
+import com.traefikconfig.dto.DesiredStateRequest;
+import com.traefikconfig.dto.HostOperationResponse;
+import com.traefikconfig.dto.ServiceInfo;
+import com.traefikconfig.logging.ConsoleLogEncoder;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection and resource hints for the native image ({@code mvn -Pnative package}).
+ * <p>
+ * Spring derives hints for the request and response types of controller methods. These are the types Jackson
+ * also reads or writes elsewhere: the rejections of the admission filter, the fan-out copies and journaled
+ * payloads of host operations, the stored desired states and the persisted runtime config. The response types
+ * are listed as well because {@link ApiResponse} carries them as a generic {@code data} field.
+ * <p>
+ * springdoc registers its own model classes; the Swagger UI files live in nested webjar directories that the
+ * default static resource hints do not cover. Logback creates and configures the appenders and encoders of
+ * {@code logback-spring.xml} by reflection, and Spring Boot only covers its standard ones.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] BOUND_TYPES = {
+            ApiResponse.class,
+            HostOperationResponse.class,
+            ServiceInfo.class,
+            CustomConfigRequest.class,
+            DesiredStateRequest.class,
+            RuntimeConfig.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), BOUND_TYPES);
+        hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/**");
+        for (Class<?> type : new Class<?>[]{AsyncAppender.class, ConsoleLogEncoder.class}) {
+            hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.traefikconfig.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "traefik.plan")
+public class PlanProperties {
+
+    private long cacheMaxAgeMs = 10000;
+
+    // Getters and Setters
+    public long getCacheMaxAgeMs() {
+        return cacheMaxAgeMs;
+    }
+
+    public void setCacheMaxAgeMs(long cacheMaxAgeMs) {
+        this.cacheMaxAgeMs = cacheMaxAgeMs;
+    }
+}
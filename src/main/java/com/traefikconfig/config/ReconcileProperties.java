@@ -0,0 +1,38 @@
+package com.traefikconfig.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "traefik.reconcile")
+public class ReconcileProperties {
+
+    private String directory = "data/desired-state";
+    private boolean driftCheckEnabled = true;
+    private long driftCheckIntervalMs = 300000;
+
+    // Getters and Setters
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public boolean isDriftCheckEnabled() {
+        return driftCheckEnabled;
+    }
+
+    public void setDriftCheckEnabled(boolean driftCheckEnabled) {
+        this.driftCheckEnabled = driftCheckEnabled;
+    }
+
+    public long getDriftCheckIntervalMs() {
+        return driftCheckIntervalMs;
+    }
+
+    public void setDriftCheckIntervalMs(long driftCheckIntervalMs) {
+        this.driftCheckIntervalMs = driftCheckIntervalMs;
+    }
+}
@@ -0,0 +1,70 @@
+package com.traefikconfig.config;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The Dokploy connection and default services in effect, as one immutable value.
+ * <p>
+ * Requests read the current value once from {@link RuntimeConfigHolder} and use it throughout, so a
+ * concurrent {@code PUT /api/config/update} can never give them the API domain of one configuration and the
+ * API key or application of another.
+ */
+public record RuntimeConfig(String dokployApiKey, String apiDomain, String applicationId, String backendService,
+        String frontendService, String singleService, Integer singleServicePort, Boolean skipMiddlewares) {
+
+    static RuntimeConfig from(TraefikConfigProperties properties) {
+        return new RuntimeConfig(properties.getDokployApiKey(), properties.getApiDomain(),
+                properties.getApplicationId(), properties.getBackendService(), properties.getFrontendService(),
+                properties.getSingleService(), properties.getSingleServicePort(), properties.getSkipMiddlewares());
+    }
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public String readApiUrl() {
+        return apiDomain + "/api/application.readTraefikConfig";
+    }
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public String updateApiUrl() {
+        return apiDomain + "/api/application.updateTraefikConfig";
+    }
+
+    /**
+     * A copy with the non-null arguments replacing the current values.
+     */
+    public RuntimeConfig withOverrides(String dokployApiKey, String apiDomain, String applicationId,
+            String backendService, String frontendService) {
+        return new RuntimeConfig(
+                dokployApiKey != null ? dokployApiKey : this.dokployApiKey,
+                apiDomain != null ? apiDomain : this.apiDomain,
+                applicationId != null ? applicationId : this.applicationId,
+                backendService != null ? backendService : this.backendService,
+                frontendService != null ? frontendService : this.frontendService,
+                singleService, singleServicePort, skipMiddlewares);
+    }
+
+    /**
+     * Names of the components whose values differ in {@code other}.
+     */
+    public Set<String> changedFields(RuntimeConfig other) {
+        Set<String> changed = new LinkedHashSet<>();
+        compare(changed, "dokployApiKey", dokployApiKey, other.dokployApiKey);
+        compare(changed, "apiDomain", apiDomain, other.apiDomain);
+        compare(changed, "applicationId", applicationId, other.applicationId);
+        compare(changed, "backendService", backendService, other.backendService);
+        compare(changed, "frontendService", frontendService, other.frontendService);
+        compare(changed, "singleService", singleService, other.singleService);
+        compare(changed, "singleServicePort", singleServicePort, other.singleServicePort);
+        compare(changed, "skipMiddlewares", skipMiddlewares, other.skipMiddlewares);
+        return changed;
+    }
+
+    private static void compare(Set<String> changed, String field, Object value, Object otherValue) {
+        if (!Objects.equals(value, otherValue)) {
+            changed.add(field);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.traefikconfig.config;
+
+import java.util.Set;
+
+/**
+ * Published by {@link RuntimeConfigHolder} after the runtime config has been replaced by a different one.
+ * Listeners run on the thread that made the change, after every request started later already sees
+ * {@code current}; they should only drop or re-key state tied to the {@code changedFields}.
+ *
+ * @param changedFields names of the {@link RuntimeConfig} components that differ, e.g. {@code apiDomain}
+ */
+public record RuntimeConfigChangedEvent(RuntimeConfig previous, RuntimeConfig current, Source source,
+        Set<String> changedFields) {
+
+    public enum Source {
+        /** {@code PUT /api/config/update} */
+        API,
+        /** The persisted file was edited or removed outside the application */
+        FILE,
+        /** {@code POST /api/config/reset} */
+        RESET
+    }
+
+    public boolean changed(String field) {
+        return changedFields.contains(field);
+    }
+}
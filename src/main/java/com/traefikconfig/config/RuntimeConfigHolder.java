@@ -0,0 +1,59 @@
+package com.traefikconfig.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Publishes the current {@link RuntimeConfig}. It starts from {@code traefik.config} and is replaced as a
+ * whole on every change, so readers never lock and never see a partial update. Every replacement that
+ * changes something is announced with a {@link RuntimeConfigChangedEvent}.
+ * <p>
+ * Changes go through {@code RuntimeConfigStore}, which persists them first.
+ */
+@Component
+public class RuntimeConfigHolder {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuntimeConfigHolder.class);
+
+    private final RuntimeConfig startup;
+    private final AtomicReference<RuntimeConfig> current;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RuntimeConfigHolder(TraefikConfigProperties properties, ApplicationEventPublisher eventPublisher) {
+        this.startup = RuntimeConfig.from(properties);
+        this.current = new AtomicReference<>(startup);
+        this.eventPublisher = eventPublisher;
+    }
+
+    public RuntimeConfig current() {
+        return current.get();
+    }
+
+    /**
+     * The config the application started with, i.e. {@code traefik.config} without runtime changes.
+     */
+    public RuntimeConfig startup() {
+        return startup;
+    }
+
+    /**
+     * Make a config current and notify listeners if it differs from the previous one.
+     *
+     * @return whether anything changed
+     */
+    public boolean replace(RuntimeConfig next, RuntimeConfigChangedEvent.Source source) {
+        RuntimeConfig previous = current.getAndSet(next);
+        Set<String> changedFields = previous.changedFields(next);
+        if (changedFields.isEmpty()) {
+            return false;
+        }
+        logger.info("Runtime config changed [source={}, fields={}]", source, changedFields);
+        eventPublisher.publishEvent(new RuntimeConfigChangedEvent(previous, next, source, changedFields));
+        return true;
+    }
+}
@@ -0,0 +1,38 @@
+package com.traefikconfig.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "traefik.store")
+public class SnapshotStoreProperties {
+
+    private boolean enabled = true;
+    private String directory = "data/snapshots";
+    private long segmentSizeBytes = 64L * 1024 * 1024;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public long getSegmentSizeBytes() {
+        return segmentSizeBytes;
+    }
+
+    public void setSegmentSizeBytes(long segmentSizeBytes) {
+        this.segmentSizeBytes = segmentSizeBytes;
+    }
+}
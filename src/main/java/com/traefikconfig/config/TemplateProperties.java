@@ -0,0 +1,108 @@
+package com.traefikconfig.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "traefik.templates")
+public class TemplateProperties {
+
+    /**
+     * Template used when a request names none. Empty keeps the built-in choice (dual, dual-entrypoints or single).
+     */
+    private String defaultTemplate;
+
+    /**
+     * User-defined router layouts by name. A definition named like a built-in replaces it.
+     */
+    private Map<String, RouterTemplate> definitions = new LinkedHashMap<>();
+
+    /**
+     * Shape of the HTTP and HTTPS routers generated for a host.
+     */
+    public static class RouterTemplate {
+
+        /**
+         * Path sent to the backend service, everything else goes to the frontend. Empty routes the whole
+         * host to the frontend (or single) service.
+         */
+        private String pathPrefix;
+        private List<String> entryPoints = new ArrayList<>();
+        private List<String> secureEntryPoints = new ArrayList<>();
+        // null omits the key, an empty list renders "middlewares: []"
+        private List<String> middlewares;
+        private List<String> secureMiddlewares;
+        private String certResolver = "letsencrypt";
+
+        // Getters and Setters
+        public String getPathPrefix() {
+            return pathPrefix;
+        }
+
+        public void setPathPrefix(String pathPrefix) {
+            this.pathPrefix = pathPrefix;
+        }
+
+        public List<String> getEntryPoints() {
+            return entryPoints;
+        }
+
+        public void setEntryPoints(List<String> entryPoints) {
+            this.entryPoints = entryPoints;
+        }
+
+        public List<String> getSecureEntryPoints() {
+            return secureEntryPoints;
+        }
+
+        public void setSecureEntryPoints(List<String> secureEntryPoints) {
+            this.secureEntryPoints = secureEntryPoints;
+        }
+
+        public List<String> getMiddlewares() {
+            return middlewares;
+        }
+
+        public void setMiddlewares(List<String> middlewares) {
+            this.middlewares = middlewares;
+        }
+
+        public List<String> getSecureMiddlewares() {
+            return secureMiddlewares;
+        }
+
+        public void setSecureMiddlewares(List<String> secureMiddlewares) {
+            this.secureMiddlewares = secureMiddlewares;
+        }
+
+        public String getCertResolver() {
+            return certResolver;
+        }
+
+        public void setCertResolver(String certResolver) {
+            this.certResolver = certResolver;
+        }
+    }
+
+    // Getters and Setters
+    public String getDefaultTemplate() {
+        return defaultTemplate;
+    }
+
+    public void setDefaultTemplate(String defaultTemplate) {
+        this.defaultTemplate = defaultTemplate;
+    }
+
+    public Map<String, RouterTemplate> getDefinitions() {
+        return definitions;
+    }
+
+    public void setDefinitions(Map<String, RouterTemplate> definitions) {
+        this.definitions = definitions;
+    }
+}
@@ -0,0 +1,20 @@
+package com.traefikconfig.config;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Span export besides OTLP ({@code management.otlp.tracing.endpoint}): with {@code traefik.tracing.log-spans}
+ * every finished span is also written to the log, one line each.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "traefik.tracing", name = "log-spans", havingValue = "true")
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
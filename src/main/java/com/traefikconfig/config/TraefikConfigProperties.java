@@ -3,6 +3,10 @@ package com.traefikconfig.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+/**
+ * The {@code traefik.config} values the application starts with. The values in effect, including runtime
+ * updates, are published by {@link RuntimeConfigHolder}.
+ */
 @Component
 @ConfigurationProperties(prefix = "traefik.config")
 public class TraefikConfigProperties {
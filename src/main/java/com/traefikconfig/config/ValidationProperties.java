@@ -0,0 +1,41 @@
+package com.traefikconfig.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "traefik.validation")
+public class ValidationProperties {
+
+    private boolean enabled = true;
+    private List<String> externalServices = new ArrayList<>();
+    private List<String> externalMiddlewares = new ArrayList<>(List.of("redirect-to-https"));
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getExternalServices() {
+        return externalServices;
+    }
+
+    public void setExternalServices(List<String> externalServices) {
+        this.externalServices = externalServices;
+    }
+
+    public List<String> getExternalMiddlewares() {
+        return externalMiddlewares;
+    }
+
+    public void setExternalMiddlewares(List<String> externalMiddlewares) {
+        this.externalMiddlewares = externalMiddlewares;
+    }
+}
@@ -0,0 +1,21 @@
+package com.traefikconfig.config;
+
+import com.traefikconfig.model.TraefikConfigModel;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "traefik.yaml")
+public class YamlProperties {
+
+    private int codePointLimit = TraefikConfigModel.DEFAULT_CODE_POINT_LIMIT;
+
+    // Getters and Setters
+    public int getCodePointLimit() {
+        return codePointLimit;
+    }
+
+    public void setCodePointLimit(int codePointLimit) {
+        this.codePointLimit = codePointLimit;
+    }
+}
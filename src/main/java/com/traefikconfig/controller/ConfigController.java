@@ -1,8 +1,10 @@
 package com.traefikconfig.controller;
 
-import com.traefikconfig.config.TraefikConfigProperties;
+import com.traefikconfig.config.RuntimeConfig;
+import com.traefikconfig.config.RuntimeConfigHolder;
 import com.traefikconfig.dto.ApiResponse;
 import com.traefikconfig.dto.ConfigUpdateRequest;
+import com.traefikconfig.store.RuntimeConfigStore;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -24,7 +26,10 @@ public class ConfigController {
     private static final Logger logger = LoggerFactory.getLogger(ConfigController.class);
 
     @Autowired
-    private TraefikConfigProperties configProperties;
+    private RuntimeConfigHolder runtimeConfig;
+
+    @Autowired
+    private RuntimeConfigStore runtimeConfigStore;
 
     @GetMapping("/current")
     @Operation(
@@ -42,14 +47,15 @@ public class ConfigController {
             )
         )
     )
-    public ResponseEntity<ApiResponse<TraefikConfigProperties>> getCurrentConfig() {
-        logger.info("📋 Received request to get current configuration properties");
+    public ResponseEntity<ApiResponse<RuntimeConfig>> getCurrentConfig() {
+        logger.info("Received request to get current configuration properties");
         
         try {
-            logger.info("✅ Configuration properties retrieved successfully");
-            return ResponseEntity.ok(ApiResponse.success("Configuration retrieved successfully", configProperties));
+            logger.info("Configuration properties retrieved successfully");
+            return ResponseEntity.ok(ApiResponse.success("Configuration retrieved successfully",
+                    runtimeConfig.current()));
         } catch (Exception e) {
-            logger.error("❌ Error retrieving configuration: {}", e.getMessage(), e);
+            logger.error("Error retrieving configuration: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError()
                     .body(ApiResponse.error("Error: " + e.getMessage()));
         }
@@ -58,7 +64,8 @@ public class ConfigController {
     @PutMapping("/update")
     @Operation(
         summary = "Update configuration properties",
-        description = "Updates the application configuration properties. Only non-null values will be updated."
+        description = "Updates the application configuration properties. Only non-null values will be updated. "
+                + "The change is persisted and survives restarts."
     )
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -83,43 +90,43 @@ public class ConfigController {
             )
         )
     })
-    public ResponseEntity<ApiResponse<TraefikConfigProperties>> updateConfig(
+    public ResponseEntity<ApiResponse<RuntimeConfig>> updateConfig(
         @Parameter(description = "Configuration update request", required = true)
         @RequestBody ConfigUpdateRequest request
     ) {
-        logger.info("🔧 Received request to update configuration properties");
+        logger.info("Received request to update configuration properties");
         
         try {
             // Update only non-null values
             if (request.getDokployApiKey() != null) {
-                logger.info("🔑 Updating Dokploy API key");
-                configProperties.setDokployApiKey(request.getDokployApiKey());
+                logger.info("Updating Dokploy API key");
             }
             
             if (request.getApiDomain() != null) {
-                logger.info("🔗 Updating API Domain to: {}", request.getApiDomain());
-                configProperties.setApiDomain(request.getApiDomain());
+                logger.info("Updating API Domain to: {}", request.getApiDomain());
             }
             
             if (request.getApplicationId() != null) {
-                logger.info("🆔 Updating Application ID to: {}", request.getApplicationId());
-                configProperties.setApplicationId(request.getApplicationId());
+                logger.info("Updating Application ID to: {}", request.getApplicationId());
             }
             
             if (request.getBackendService() != null) {
-                logger.info("🔧 Updating Backend Service to: {}", request.getBackendService());
-                configProperties.setBackendService(request.getBackendService());
+                logger.info("Updating Backend Service to: {}", request.getBackendService());
             }
             
             if (request.getFrontendService() != null) {
-                logger.info("🔧 Updating Frontend Service to: {}", request.getFrontendService());
-                configProperties.setFrontendService(request.getFrontendService());
+                logger.info("Updating Frontend Service to: {}", request.getFrontendService());
             }
             
-            logger.info("✅ Configuration updated successfully");
-            return ResponseEntity.ok(ApiResponse.success("Configuration updated successfully", configProperties));
+            // All changes are published together, so requests see either the old or the new configuration
+            RuntimeConfig updated = runtimeConfigStore.update(current -> current.withOverrides(
+                    request.getDokployApiKey(), request.getApiDomain(), request.getApplicationId(),
+                    request.getBackendService(), request.getFrontendService()));
+            
+            logger.info("Configuration updated successfully");
+            return ResponseEntity.ok(ApiResponse.success("Configuration updated successfully", updated));
         } catch (Exception e) {
-            logger.error("❌ Error updating configuration: {}", e.getMessage(), e);
+            logger.error("Error updating configuration: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError()
                     .body(ApiResponse.error("Error: " + e.getMessage()));
         }
@@ -128,7 +135,8 @@ public class ConfigController {
     @PostMapping("/reset")
     @Operation(
         summary = "Reset configuration to defaults",
-        description = "Resets all configuration properties to their default values from application.yml"
+        description = "Resets all configuration properties to the values the application started with "
+                + "(application.yml, environment and command line) and removes the persisted changes"
     )
     @io.swagger.v3.oas.annotations.responses.ApiResponse(
         responseCode = "200",
@@ -141,20 +149,16 @@ public class ConfigController {
         )
     )
     public ResponseEntity<ApiResponse<Void>> resetConfig() {
-        logger.info("🔄 Received request to reset configuration to defaults");
+        logger.info("Received request to reset configuration to defaults");
         
         try {
-            // Reset to default values from application.yml
-            configProperties.setDokployApiKey("DokployAPIfiIorjkXByApJeEEeXIrCkxtMntiEbLFBdBwypmBzSiIhuUuQlALRdTuEBxSYRDt");
-            configProperties.setApiDomain("https://dp.imvj.in");
-            configProperties.setApplicationId("mp7_3lbuC06Ok3VXbGF0n");
-            configProperties.setBackendService("devcrm-crmbackend-service");
-            configProperties.setFrontendService("devcrm-crmfrontend-service");
+            // Reset to the startup values from application.yml
+            runtimeConfigStore.reset();
             
-            logger.info("✅ Configuration reset to defaults successfully");
+            logger.info("Configuration reset to defaults successfully");
             return ResponseEntity.ok(ApiResponse.success("Configuration reset to defaults successfully"));
         } catch (Exception e) {
-            logger.error("❌ Error resetting configuration: {}", e.getMessage(), e);
+            logger.error("Error resetting configuration: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError()
                     .body(ApiResponse.error("Error: " + e.getMessage()));
         }
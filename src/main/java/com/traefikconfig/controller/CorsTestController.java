@@ -8,7 +8,8 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/api/cors-test")
-@CrossOrigin(origins = "*", maxAge = 3600)
+// Open to any origin, so without the credentials the global CORS mapping allows
+@CrossOrigin(origins = "*", allowCredentials = "false", maxAge = 3600)
 public class CorsTestController {
 
     @GetMapping("/simple")
@@ -37,8 +37,8 @@ public class HealthController {
         )
     )
     public Map<String, Object> health() {
-        logger.info("🏥 Health check endpoint called");
-        logger.debug("📊 Application health status: OK");
+        logger.info("Health check endpoint called");
+        logger.debug("Application health status: OK");
         
         return Map.of(
             "status", "UP",
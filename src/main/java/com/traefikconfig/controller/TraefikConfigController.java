@@ -1,12 +1,28 @@
 package com.traefikconfig.controller;
 
 import com.traefikconfig.dto.ApiResponse;
+import com.traefikconfig.dto.ConfigDiffRequest;
+import com.traefikconfig.dto.ConfigDiffResponse;
 import com.traefikconfig.dto.ConfigResponse;
+import com.traefikconfig.dto.ConfigVersionInfo;
 import com.traefikconfig.dto.CustomConfigRequest;
+import com.traefikconfig.dto.DesiredStateRequest;
+import com.traefikconfig.dto.FanOutRequest;
+import com.traefikconfig.dto.FanOutResponse;
+import com.traefikconfig.dto.HostInfo;
 import com.traefikconfig.dto.HostOperationResponse;
 import com.traefikconfig.dto.HostRequest;
+import com.traefikconfig.dto.InventoryResponse;
+import com.traefikconfig.dto.ListingQuery;
+import com.traefikconfig.dto.PageResponse;
+import com.traefikconfig.dto.ReconcileResponse;
+import com.traefikconfig.dto.RouterInfo;
 import com.traefikconfig.dto.ServiceInfo;
+import com.traefikconfig.model.ConfigValidationException;
 import com.traefikconfig.service.TraefikConfigService;
+import com.traefikconfig.service.impl.DesiredStateReconciler;
+import com.traefikconfig.service.impl.FanOutExecutor;
+import com.traefikconfig.service.impl.ServiceInventory;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -23,7 +39,8 @@ import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/traefik")
-@CrossOrigin(origins = "*", maxAge = 3600)
+// Open to any origin, so without the credentials the global CORS mapping allows
+@CrossOrigin(origins = "*", allowCredentials = "false", maxAge = 3600)
 @Tag(name = "Traefik Configuration", description = "API for managing Traefik configurations via Dokploy")
 public class TraefikConfigController {
 
@@ -32,6 +49,15 @@ public class TraefikConfigController {
     @Autowired
     private TraefikConfigService traefikConfigService;
 
+    @Autowired
+    private DesiredStateReconciler desiredStateReconciler;
+
+    @Autowired
+    private FanOutExecutor fanOutExecutor;
+
+    @Autowired
+    private ServiceInventory serviceInventory;
+
     @PostMapping("/add-host")
     @Operation(summary = "Add a new host configuration", description = "Adds a new hostname to the Traefik configuration with both frontend and backend routes")
     @ApiResponses(value = {
@@ -40,17 +66,21 @@ public class TraefikConfigController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"success\": false, \"message\": \"Error: Failed to update configuration\", \"data\": null}")))
     })
     public ResponseEntity<ApiResponse<HostOperationResponse>> addHost(
-            @Parameter(description = "Host configuration request", required = true) @Valid @RequestBody HostRequest request) {
+            @Parameter(description = "Host configuration request", required = true) @Valid @RequestBody HostRequest request,
+            @Parameter(description = "Plan the change without writing it to Dokploy") @RequestParam(defaultValue = "false") boolean dryRun) {
         String hostname = request.getHostname().trim();
-        logger.info("🚀 Received request to add host: {}", hostname);
+        logger.info("Received request to add host: {}", hostname);
 
         try {
-            HostOperationResponse result = traefikConfigService.addHost(hostname);
-            logger.info("✅ Successfully processed add-host request for: {}", hostname);
-            logger.info("📄 Updated configuration logged in service layer");
+            HostOperationResponse result = traefikConfigService.addHost(hostname, dryRun);
+            logger.info("Successfully processed add-host request for: {}", hostname);
+            logger.info("Updated configuration logged in service layer");
             return ResponseEntity.ok(ApiResponse.success(result.getMessage(), result));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected add-host request for '{}': {}", hostname, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
-            logger.error("❌ Error adding host '{}': {}", hostname, e.getMessage(), e);
+            logger.error("Error adding host '{}': {}", hostname, e.getMessage(), e);
             return ResponseEntity.internalServerError()
                     .body(ApiResponse.error("Error: " + e.getMessage()));
         }
@@ -67,17 +97,21 @@ public class TraefikConfigController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"success\": false, \"message\": \"Error: Failed to delete configuration\", \"data\": null}")))
     })
     public ResponseEntity<ApiResponse<HostOperationResponse>> deleteHost(
-            @Parameter(description = "Host configuration request", required = true) @Valid @RequestBody HostRequest request) {
+            @Parameter(description = "Host configuration request", required = true) @Valid @RequestBody HostRequest request,
+            @Parameter(description = "Plan the change without writing it to Dokploy") @RequestParam(defaultValue = "false") boolean dryRun) {
         String hostname = request.getHostname().trim();
-        logger.info("🗑️ Received request to delete host: {}", hostname);
+        logger.info("Received request to delete host: {}", hostname);
 
         try {
-            HostOperationResponse result = traefikConfigService.deleteHost(hostname);
-            logger.info("✅ Successfully processed delete-host request for: {}", hostname);
-            logger.info("📄 Updated configuration logged in service layer");
+            HostOperationResponse result = traefikConfigService.deleteHost(hostname, dryRun);
+            logger.info("Successfully processed delete-host request for: {}", hostname);
+            logger.info("Updated configuration logged in service layer");
             return ResponseEntity.ok(ApiResponse.success(result.getMessage(), result));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected delete-host request for '{}': {}", hostname, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
-            logger.error("❌ Error deleting host '{}': {}", hostname, e.getMessage(), e);
+            logger.error("Error deleting host '{}': {}", hostname, e.getMessage(), e);
             return ResponseEntity.internalServerError()
                     .body(ApiResponse.error("Error: " + e.getMessage()));
         }
@@ -90,16 +124,16 @@ public class TraefikConfigController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"success\": false, \"message\": \"Error: Failed to fetch configuration\", \"data\": null}")))
     })
     public ResponseEntity<ApiResponse<ConfigResponse>> getCurrentConfig() {
-        logger.info("📋 Get config request");
+        logger.info("Get config request");
 
         try {
             String config = traefikConfigService.getCurrentConfig();
-            logger.info("✅ Get config completed [size={}]", config.length());
+            logger.info("Get config completed [size={}]", config.length());
 
             ConfigResponse configResponse = new ConfigResponse(config);
             return ResponseEntity.ok(ApiResponse.success("Configuration retrieved successfully", configResponse));
         } catch (Exception e) {
-            logger.error("❌ Get config failed: {}", e.getMessage());
+            logger.error("Get config failed: {}", e.getMessage());
             return ResponseEntity.internalServerError()
                     .body(ApiResponse.error("Error: " + e.getMessage()));
         }
@@ -113,21 +147,25 @@ public class TraefikConfigController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"success\": false, \"message\": \"Error: Failed to update configuration\", \"data\": null}")))
     })
     public ResponseEntity<ApiResponse<HostOperationResponse>> addHostWithCustomConfig(
-            @Parameter(description = "Custom host configuration request", required = true) @Valid @RequestBody CustomConfigRequest request) {
+            @Parameter(description = "Custom host configuration request", required = true) @Valid @RequestBody CustomConfigRequest request,
+            @Parameter(description = "Plan the change without writing it to Dokploy") @RequestParam(defaultValue = "false") boolean dryRun) {
         String hostname = request.getHostname().trim();
-        logger.info("🚀 Received request to add host with custom config: {}", hostname);
-        logger.debug("🔧 Custom config provided - API Key: {}, App ID: {}, Backend: {}, Frontend: {}",
+        logger.info("Received request to add host with custom config: {}", hostname);
+        logger.debug("Custom config provided - API Key: {}, App ID: {}, Backend: {}, Frontend: {}",
                 request.getDokployApiKey() != null ? "***PROVIDED***" : "DEFAULT",
                 request.getApplicationId() != null ? request.getApplicationId() : "DEFAULT",
                 request.getBackendService() != null ? request.getBackendService() : "DEFAULT",
                 request.getFrontendService() != null ? request.getFrontendService() : "DEFAULT");
 
         try {
-            HostOperationResponse result = traefikConfigService.addHostWithCustomConfig(request);
-            logger.info("✅ Successfully processed add-host-custom request for: {}", hostname);
+            HostOperationResponse result = traefikConfigService.addHostWithCustomConfig(request, dryRun);
+            logger.info("Successfully processed add-host-custom request for: {}", hostname);
             return ResponseEntity.ok(ApiResponse.success(result.getMessage(), result));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected add-host-custom request for '{}': {}", hostname, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
-            logger.error("❌ Error adding host '{}' with custom config: {}", hostname, e.getMessage(), e);
+            logger.error("Error adding host '{}' with custom config: {}", hostname, e.getMessage(), e);
             return ResponseEntity.internalServerError()
                     .body(ApiResponse.error("Error: " + e.getMessage()));
         }
@@ -141,19 +179,23 @@ public class TraefikConfigController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(mediaType = "application/json", examples = @ExampleObject(value = "{\"success\": false, \"message\": \"Error: Failed to delete configuration\", \"data\": null}")))
     })
     public ResponseEntity<ApiResponse<HostOperationResponse>> deleteHostWithCustomConfig(
-            @Parameter(description = "Custom host configuration request", required = true) @Valid @RequestBody CustomConfigRequest request) {
+            @Parameter(description = "Custom host configuration request", required = true) @Valid @RequestBody CustomConfigRequest request,
+            @Parameter(description = "Plan the change without writing it to Dokploy") @RequestParam(defaultValue = "false") boolean dryRun) {
         String hostname = request.getHostname().trim();
-        logger.info("🗑️ Received request to delete host with custom config: {}", hostname);
-        logger.debug("🔧 Custom config provided - API Key: {}, App ID: {}",
+        logger.info("Received request to delete host with custom config: {}", hostname);
+        logger.debug("Custom config provided - API Key: {}, App ID: {}",
                 request.getDokployApiKey() != null ? "***PROVIDED***" : "DEFAULT",
                 request.getApplicationId() != null ? request.getApplicationId() : "DEFAULT");
 
         try {
-            HostOperationResponse result = traefikConfigService.deleteHostWithCustomConfig(request);
-            logger.info("✅ Successfully processed delete-host-custom request for: {}", hostname);
+            HostOperationResponse result = traefikConfigService.deleteHostWithCustomConfig(request, dryRun);
+            logger.info("Successfully processed delete-host-custom request for: {}", hostname);
             return ResponseEntity.ok(ApiResponse.success(result.getMessage(), result));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected delete-host-custom request for '{}': {}", hostname, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
-            logger.error("❌ Error deleting host '{}' with custom config: {}", hostname, e.getMessage(), e);
+            logger.error("Error deleting host '{}' with custom config: {}", hostname, e.getMessage(), e);
             return ResponseEntity.internalServerError()
                     .body(ApiResponse.error("Error: " + e.getMessage()));
         }
@@ -167,21 +209,21 @@ public class TraefikConfigController {
     })
     public ResponseEntity<ApiResponse<ConfigResponse>> getCurrentConfigWithCustom(
             @Parameter(description = "Custom configuration request", required = true) @RequestBody CustomConfigRequest request) {
-        logger.info("📋 Received request to get current Traefik configuration with custom config");
-        logger.debug("🔧 Custom config provided - API Key: {}, App ID: {}",
+        logger.info("Received request to get current Traefik configuration with custom config");
+        logger.debug("Custom config provided - API Key: {}, App ID: {}",
                 request.getDokployApiKey() != null ? "***PROVIDED***" : "DEFAULT",
                 request.getApplicationId() != null ? request.getApplicationId() : "DEFAULT");
 
         try {
             String config = traefikConfigService.getCurrentConfigWithCustomConfig(request);
-            logger.info("✅ Successfully retrieved configuration with custom config (length: {} characters)",
+            logger.info("Successfully retrieved configuration with custom config (length: {} characters)",
                     config.length());
 
             ConfigResponse configResponse = new ConfigResponse(config);
             return ResponseEntity
                     .ok(ApiResponse.success("Configuration retrieved successfully with custom config", configResponse));
         } catch (Exception e) {
-            logger.error("❌ Error retrieving configuration with custom config: {}", e.getMessage(), e);
+            logger.error("Error retrieving configuration with custom config: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError()
                     .body(ApiResponse.error("Error: " + e.getMessage()));
         }
@@ -216,15 +258,15 @@ public class TraefikConfigController {
         )
     })
     public ResponseEntity<ApiResponse<java.util.List<com.traefikconfig.dto.ServiceInfo>>> getServiceUrls() {
-        logger.info("🔍 Received request to get service URLs from Traefik configuration");
+        logger.info("Received request to get service URLs from Traefik configuration");
 
         try {
             java.util.List<com.traefikconfig.dto.ServiceInfo> services = traefikConfigService.getServiceUrls();
-            logger.info("✅ Successfully extracted {} service URLs", services.size());
+            logger.info("Successfully extracted {} service URLs", services.size());
 
             return ResponseEntity.ok(ApiResponse.success("Service URLs retrieved successfully", services));
         } catch (Exception e) {
-            logger.error("❌ Error extracting service URLs: {}", e.getMessage(), e);
+            logger.error("Error extracting service URLs: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError()
                     .body(ApiResponse.error("Error: " + e.getMessage()));
         }
@@ -262,18 +304,552 @@ public class TraefikConfigController {
         @Parameter(description = "Custom configuration request", required = true)
         @RequestBody CustomConfigRequest request
     ) {
-        logger.info("🔍 Received request to get service URLs with custom config");
-        logger.debug("🔧 Custom config provided - API Key: {}, App ID: {}", 
+        logger.info("Received request to get service URLs with custom config");
+        logger.debug("Custom config provided - API Key: {}, App ID: {}", 
                     request.getDokployApiKey() != null ? "***PROVIDED***" : "DEFAULT",
                     request.getApplicationId() != null ? request.getApplicationId() : "DEFAULT");
 
         try {
             java.util.List<com.traefikconfig.dto.ServiceInfo> services = traefikConfigService.getServiceUrlsWithCustomConfig(request);
-            logger.info("✅ Successfully extracted {} service URLs with custom config", services.size());
+            logger.info("Successfully extracted {} service URLs with custom config", services.size());
 
             return ResponseEntity.ok(ApiResponse.success("Service URLs retrieved successfully with custom config", services));
         } catch (Exception e) {
-            logger.error("❌ Error extracting service URLs with custom config: {}", e.getMessage(), e);
+            logger.error("Error extracting service URLs with custom config: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Error: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/config/history")
+    @Operation(
+        summary = "List recorded configuration versions",
+        description = "Lists every configuration version fetched from or written to Dokploy for an application, newest first"
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Configuration history retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = "{\"success\": true, \"message\": \"Configuration history retrieved successfully\", \"data\": [{\"version\": 2, \"applicationId\": \"mp7_3lbuC06Ok3VXbGF0n\", \"source\": \"APPLIED\", \"hash\": \"9f86d081...\", \"sizeBytes\": 4096, \"recordedAt\": \"2024-01-01T12:00:00Z\"}]}"
+                )
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<java.util.List<ConfigVersionInfo>>> getConfigHistory(
+        @Parameter(description = "Application ID (optional, uses default if not provided)")
+        @RequestParam(required = false) String applicationId
+    ) {
+        logger.info("Received request to get configuration history");
+
+        try {
+            java.util.List<ConfigVersionInfo> history = traefikConfigService.getConfigHistory(applicationId);
+            return ResponseEntity.ok(ApiResponse.success("Configuration history retrieved successfully", history));
+        } catch (Exception e) {
+            logger.error("Error retrieving configuration history: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Error: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/config/history/{version}")
+    @Operation(
+        summary = "Get a recorded configuration version",
+        description = "Returns the content of a recorded configuration version from the local snapshot store"
+    )
+    public ResponseEntity<ApiResponse<ConfigResponse>> getConfigVersion(
+        @Parameter(description = "Version number", required = true) @PathVariable long version,
+        @Parameter(description = "Application ID (optional, uses default if not provided)")
+        @RequestParam(required = false) String applicationId
+    ) {
+        logger.info("Received request to get configuration version {}", version);
+
+        try {
+            String config = traefikConfigService.getConfigVersion(applicationId, version);
+            return ResponseEntity.ok(ApiResponse.success("Configuration version retrieved successfully",
+                    new ConfigResponse(config)));
+        } catch (IllegalArgumentException e) {
+            logger.warn("{}", e.getMessage());
+            return ResponseEntity.status(404).body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error retrieving configuration version {}: {}", version, e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Error: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/config/rollback/{version}")
+    @Operation(
+        summary = "Roll back to a recorded configuration version",
+        description = "Reads a recorded version from the local snapshot store and writes it back to Dokploy. The optional body selects the application, API domain and API key."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Configuration rolled back successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = "{\"success\": true, \"message\": \"Configuration rolled back to version 3! Response: true\", \"data\": {\"message\": \"Configuration rolled back to version 3! Response: true\", \"updatedConfig\": \"http:\\n  routers:\\n    ...\", \"hostname\": null}}"
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "Version not found",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = "{\"success\": false, \"message\": \"Config version 42 not found for application 'mp7_3lbuC06Ok3VXbGF0n'\", \"data\": null}"
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "The version fails config validation",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = "{\"success\": false, \"message\": \"Config validation failed with 1 problem(s): line 12: http.routers.app-router.service: unknown service 'app-servce'\", \"data\": null}"
+                )
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<HostOperationResponse>> rollbackConfig(
+        @Parameter(description = "Version number to restore", required = true) @PathVariable long version,
+        @Parameter(description = "Custom configuration request (optional)")
+        @RequestBody(required = false) CustomConfigRequest request,
+        @Parameter(description = "Plan the change without writing it to Dokploy")
+        @RequestParam(defaultValue = "false") boolean dryRun
+    ) {
+        logger.info("Received request to roll back configuration to version {}", version);
+
+        try {
+            HostOperationResponse result = traefikConfigService.rollbackConfig(version, request, dryRun);
+            return ResponseEntity.ok(ApiResponse.success(result.getMessage(), result));
+        } catch (ConfigValidationException e) {
+            logger.warn("Rejected rollback to version {}: {}", version, e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            logger.warn("{}", e.getMessage());
+            return ResponseEntity.status(404).body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error rolling back configuration to version {}: {}", version, e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Error: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/diff")
+    @Operation(
+        summary = "Compare two configurations",
+        description = "Returns the routers, services and middlewares that differ between two configurations, with the fields that changed. Each side is raw YAML, a recorded version or the live config of an application, e.g. a version against the live config, or one application against another."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Configurations compared",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = "{\"success\": true, \"message\": \"1 added, 0 removed, 1 changed\", \"data\": {\"from\": \"mp7_3lbuC06Ok3VXbGF0n version 3\", \"to\": \"mp7_3lbuC06Ok3VXbGF0n live\", \"fromHash\": \"2c26b46b...\", \"toHash\": \"fcde2b2e...\", \"added\": 1, \"removed\": 0, \"changed\": 1, \"changes\": [{\"section\": \"ROUTERS\", \"name\": \"app-router\", \"type\": \"CHANGED\", \"fields\": [{\"field\": \"service\", \"before\": \"app-service\", \"after\": \"app-v2-service\"}]}, {\"section\": \"SERVICES\", \"name\": \"app-v2-service\", \"type\": \"ADDED\", \"fields\": []}]}}"
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Missing source, unknown version or invalid YAML",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = "{\"success\": false, \"message\": \"Config version 42 not found for application 'mp7_3lbuC06Ok3VXbGF0n'\", \"data\": null}"
+                )
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<ConfigDiffResponse>> diffConfigs(
+        @Parameter(description = "The two configurations to compare", required = true)
+        @Valid @RequestBody ConfigDiffRequest request
+    ) {
+        logger.info("Received request to compare two configurations");
+
+        try {
+            ConfigDiffResponse result = traefikConfigService.diffConfigs(request);
+            return ResponseEntity.ok(ApiResponse.success(result.getAdded() + " added, " + result.getRemoved()
+                    + " removed, " + result.getChanged() + " changed", result));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected diff request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error comparing configurations: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Error: " + e.getMessage()));
+        }
+    }
+
+    @PutMapping("/desired-state")
+    @Operation(
+        summary = "Declare the desired set of hosts for an application",
+        description = "Stores the complete list of hosts an application should route and reconciles the live Traefik configuration against it: missing hosts are added, changed hosts are updated and hosts not in the list are removed, in a single write to Dokploy. The stored state is re-checked periodically to correct drift."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Configuration reconciled",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = "{\"success\": true, \"message\": \"Reconciled 3 change(s) in one write! Response: true\", \"data\": {\"message\": \"Reconciled 3 change(s) in one write! Response: true\", \"applicationId\": \"mp7_3lbuC06Ok3VXbGF0n\", \"changed\": true, \"added\": [\"new.example.com\"], \"updated\": [], \"removed\": [\"old.example.com\", \"legacy.example.com\"], \"unchanged\": 3}}"
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Invalid desired state",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = "{\"success\": false, \"message\": \"Host 'example.com' appears more than once in the desired state\", \"data\": null}"
+                )
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<ReconcileResponse>> putDesiredState(
+        @Parameter(description = "Complete list of hosts the application should route", required = true)
+        @Valid @RequestBody DesiredStateRequest request,
+        @Parameter(description = "Plan the reconcile without writing it or storing the desired state")
+        @RequestParam(defaultValue = "false") boolean dryRun
+    ) {
+        logger.info("Received desired state with {} host(s)", request.getHosts().size());
+
+        try {
+            ReconcileResponse result = desiredStateReconciler.apply(request, dryRun);
+            return ResponseEntity.ok(ApiResponse.success(result.getMessage(), result));
+        } catch (IllegalArgumentException e) {
+            logger.warn("{}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error reconciling desired state: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Error: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/desired-state")
+    @Operation(
+        summary = "Get the stored desired state of an application",
+        description = "Returns the host list last declared for the application, or 404 if the application is not managed declaratively."
+    )
+    public ResponseEntity<ApiResponse<DesiredStateRequest>> getDesiredState(
+        @Parameter(description = "Application ID (defaults to the configured application)")
+        @RequestParam(required = false) String applicationId
+    ) {
+        return desiredStateReconciler.get(applicationId)
+                .map(state -> ResponseEntity.ok(ApiResponse.success("Desired state retrieved successfully", state)))
+                .orElseGet(() -> ResponseEntity.status(404)
+                        .body(ApiResponse.error("No desired state stored for this application")));
+    }
+
+    @DeleteMapping("/desired-state")
+    @Operation(
+        summary = "Stop managing an application declaratively",
+        description = "Forgets the stored desired state so drift checks stop. The live Traefik configuration is left unchanged."
+    )
+    public ResponseEntity<ApiResponse<Void>> deleteDesiredState(
+        @Parameter(description = "Application ID (defaults to the configured application)")
+        @RequestParam(required = false) String applicationId
+    ) {
+        try {
+            if (!desiredStateReconciler.remove(applicationId)) {
+                return ResponseEntity.status(404).body(ApiResponse.error("No desired state stored for this application"));
+            }
+            return ResponseEntity.ok(ApiResponse.success("Desired state removed", null));
+        } catch (Exception e) {
+            logger.error("Error removing desired state: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Error: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/fan-out")
+    @Operation(
+        summary = "Add or delete a host on many applications at once",
+        description = "Applies one add or delete to every listed application concurrently, up to traefik.fan-out.parallelism at a time, and returns the result of each target. Each target is journaled and written like a single add-host-custom or delete-host-custom call; a failure on one target does not affect the others."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Operation attempted on every target; success is false if any target failed",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = "{\"success\": true, \"message\": \"Added 'example.com' on 2 of 2 application(s)\", \"data\": {\"message\": \"Added 'example.com' on 2 of 2 application(s)\", \"hostname\": \"example.com\", \"succeeded\": 2, \"failed\": 0, \"durationMs\": 431, \"results\": [{\"apiDomain\": \"https://eu.imvj.in\", \"applicationId\": \"app-eu\", \"success\": true, \"message\": \"Host 'example.com' added successfully with custom config! Response: true\", \"durationMs\": 431}, {\"apiDomain\": \"https://us.imvj.in\", \"applicationId\": \"app-us\", \"success\": true, \"message\": \"Host 'example.com' already exists in the configuration. No update needed.\", \"durationMs\": 388}]}}"
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Invalid hostname, too many targets or a duplicate target",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<FanOutResponse>> fanOut(
+        @Parameter(description = "Host operation and target applications", required = true)
+        @Valid @RequestBody FanOutRequest request,
+        @Parameter(description = "Plan the change without writing it to Dokploy")
+        @RequestParam(defaultValue = "false") boolean dryRun
+    ) {
+        logger.info("Received request to {} host '{}' on {} application(s)", request.getOperation(),
+                request.getHost().getHostname(), request.getTargets().size());
+
+        try {
+            FanOutResponse result = fanOutExecutor.execute(request, dryRun);
+            return ResponseEntity.ok(new ApiResponse<>(result.getFailed() == 0, result.getMessage(), result));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected fan-out request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error fanning out host '{}': {}", request.getHost().getHostname(), e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Error: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/inventory")
+    @Operation(
+        summary = "Search routers, services and backend URLs across all applications",
+        description = "Returns one entry per router and host of every registered application (the default application, traefik.inventory.applications and applications with a desired state), with the service it routes to and the service's backend URLs. Services no router uses are listed without host and router. Applications whose data is older than traefik.inventory.max-age-ms are fetched again in parallel first; unchanged configs are not parsed again."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Inventory retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = "{\"success\": true, \"message\": \"Found 1 entry in 2 application(s)\", \"data\": {\"applications\": [{\"apiDomain\": \"https://dp.imvj.in\", \"applicationId\": \"app-eu\", \"fetchedAt\": \"2025-01-15T10:30:00Z\", \"entries\": 12, \"error\": null}, {\"apiDomain\": \"https://dp.imvj.in\", \"applicationId\": \"app-us\", \"fetchedAt\": \"2025-01-15T10:30:00Z\", \"entries\": 9, \"error\": null}], \"entries\": [{\"apiDomain\": \"https://dp.imvj.in\", \"applicationId\": \"app-eu\", \"hostname\": \"shop.example.com\", \"router\": \"shop-router-websecure\", \"service\": \"shop-service\", \"urls\": [\"http://shop:8080\"]}], \"fetched\": 2, \"changed\": 1}}"
+                )
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<InventoryResponse>> getInventory(
+        @Parameter(description = "Only entries whose hostname contains this text")
+        @RequestParam(required = false) String host,
+        @Parameter(description = "Only entries whose service name contains this text")
+        @RequestParam(required = false) String service,
+        @Parameter(description = "Only entries with a backend URL containing this text, e.g. shop:8080")
+        @RequestParam(required = false) String url,
+        @Parameter(description = "Only entries of this application")
+        @RequestParam(required = false) String applicationId,
+        @Parameter(description = "Fetch every application now instead of reusing recent data")
+        @RequestParam(defaultValue = "false") boolean refresh
+    ) {
+        logger.info("Received inventory request [host={}, service={}, url={}, refresh={}]", host, service, url,
+                refresh);
+
+        try {
+            InventoryResponse result = serviceInventory.inventory(host, service, url, applicationId, refresh);
+            return ResponseEntity.ok(ApiResponse.success("Found " + result.getEntries().size() + " "
+                    + (result.getEntries().size() == 1 ? "entry" : "entries") + " in "
+                    + result.getApplications().size() + " application(s)", result));
+        } catch (Exception e) {
+            logger.error("Error building inventory: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Error: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/hosts")
+    @Operation(
+        summary = "List hosts, one page at a time",
+        description = "Returns the hostnames routed by the configuration with the routers matching them, the services and entry points they use and whether any of them has TLS. 'suffix=example.com' includes example.com itself, '*.example.com' only its subdomains. Sort by 'hostname' or 'domain' (prefix with '-' for descending) and pass the returned nextCursor to get the next page."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Hosts retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = "{\"success\": true, \"message\": \"Found 2 of 5 host(s)\", \"data\": {\"items\": [{\"hostname\": \"a.tenant.example.com\", \"routers\": [\"a-router\", \"a-router-websecure\"], \"services\": [\"a-service\"], \"entryPoints\": [\"web\", \"websecure\"], \"tls\": true}, {\"hostname\": \"b.tenant.example.com\", \"routers\": [\"b-router\", \"b-router-websecure\"], \"services\": [\"b-service\"], \"entryPoints\": [\"web\", \"websecure\"], \"tls\": true}], \"nextCursor\": \"aG9zdG5hbWUAYi50ZW5hbnQuZXhhbXBsZS5jb20AYi50ZW5hbnQuZXhhbXBsZS5jb20\", \"total\": 5, \"limit\": 2}}"
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Unknown sort, invalid cursor or limit out of range",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<PageResponse<HostInfo>>> listHosts(
+        @Parameter(description = "Domain to search under, e.g. tenant.example.com or *.tenant.example.com")
+        @RequestParam(required = false) String suffix,
+        @Parameter(description = "Only hosts with a router using this service")
+        @RequestParam(required = false) String service,
+        @Parameter(description = "Only hosts with a router on this entry point")
+        @RequestParam(required = false) String entryPoint,
+        @Parameter(description = "Only hosts with (true) or without (false) TLS")
+        @RequestParam(required = false) Boolean tls,
+        @Parameter(description = "hostname or domain, prefixed with '-' for descending")
+        @RequestParam(required = false) String sort,
+        @Parameter(description = "nextCursor of the previous page")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Page size, 1 to " + ListingQuery.MAX_LIMIT)
+        @RequestParam(defaultValue = "" + ListingQuery.DEFAULT_LIMIT) int limit,
+        @Parameter(description = "Application ID (defaults to the configured application)")
+        @RequestParam(required = false) String applicationId
+    ) {
+        logger.info("Received request to list hosts under '{}'", suffix);
+
+        ListingQuery query = listingQuery(applicationId, service, entryPoint, tls, sort, cursor, limit);
+        query.setSuffix(suffix);
+        try {
+            PageResponse<HostInfo> page = traefikConfigService.listHosts(query);
+            return ResponseEntity.ok(ApiResponse.success(
+                    "Found " + page.getItems().size() + " of " + page.getTotal() + " host(s)", page));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected host listing: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error listing hosts under '{}': {}", suffix, e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Error: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/routers")
+    @Operation(
+        summary = "List routers, one page at a time",
+        description = "Returns the HTTP routers of the configuration with their rule, service, entry points, middlewares, TLS settings and hosts. Sort by 'name', 'service' or 'rule' (prefix with '-' for descending) and pass the returned nextCursor to get the next page."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Routers retrieved successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = "{\"success\": true, \"message\": \"Found 1 of 4 router(s)\", \"data\": {\"items\": [{\"name\": \"a-router-websecure\", \"rule\": \"Host(`a.tenant.example.com`)\", \"service\": \"a-service\", \"entryPoints\": [\"websecure\"], \"middlewares\": [], \"tls\": true, \"certResolver\": \"letsencrypt\", \"hosts\": [\"a.tenant.example.com\"]}], \"nextCursor\": \"bmFtZQBhLXJvdXRlci13ZWJzZWN1cmUAYS1yb3V0ZXItd2Vic2VjdXJl\", \"total\": 4, \"limit\": 1}}"
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Unknown sort, invalid cursor or limit out of range",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class)
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<PageResponse<RouterInfo>>> listRouters(
+        @Parameter(description = "Only routers using this service")
+        @RequestParam(required = false) String service,
+        @Parameter(description = "Only routers on this entry point")
+        @RequestParam(required = false) String entryPoint,
+        @Parameter(description = "Only routers with (true) or without (false) TLS")
+        @RequestParam(required = false) Boolean tls,
+        @Parameter(description = "name, service or rule, prefixed with '-' for descending")
+        @RequestParam(required = false) String sort,
+        @Parameter(description = "nextCursor of the previous page")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Page size, 1 to " + ListingQuery.MAX_LIMIT)
+        @RequestParam(defaultValue = "" + ListingQuery.DEFAULT_LIMIT) int limit,
+        @Parameter(description = "Application ID (defaults to the configured application)")
+        @RequestParam(required = false) String applicationId
+    ) {
+        logger.info("Received request to list routers");
+
+        try {
+            PageResponse<RouterInfo> page = traefikConfigService.listRouters(
+                    listingQuery(applicationId, service, entryPoint, tls, sort, cursor, limit));
+            return ResponseEntity.ok(ApiResponse.success(
+                    "Found " + page.getItems().size() + " of " + page.getTotal() + " router(s)", page));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected router listing: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error listing routers: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponse.error("Error: " + e.getMessage()));
+        }
+    }
+
+    private static ListingQuery listingQuery(String applicationId, String service, String entryPoint, Boolean tls,
+            String sort, String cursor, int limit) {
+        ListingQuery query = new ListingQuery();
+        query.setApplicationId(applicationId);
+        query.setService(service);
+        query.setEntryPoint(entryPoint);
+        query.setTls(tls);
+        query.setSort(sort);
+        query.setCursor(cursor);
+        query.setLimit(limit);
+        return query;
+    }
+
+    @DeleteMapping("/hosts")
+    @Operation(
+        summary = "Delete all hosts at or below a domain",
+        description = "Removes the routers of every hostname under the given domain in a single write. 'example.com' includes example.com itself, '*.example.com' only its subdomains."
+    )
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "Hosts deleted successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponse.class),
+                examples = @ExampleObject(
+                    value = "{\"success\": true, \"message\": \"Deleted 2 host(s) under '*.tenant.example.com': a.tenant.example.com, b.tenant.example.com! Response: true\", \"data\": {\"message\": \"Deleted 2 host(s) under '*.tenant.example.com': a.tenant.example.com, b.tenant.example.com! Response: true\", \"updatedConfig\": \"http:\\n  routers:\\n    ...\", \"hostname\": \"*.tenant.example.com\"}}"
+                )
+            )
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "Missing domain suffix",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = "{\"success\": false, \"message\": \"A domain suffix is required to delete hosts\", \"data\": null}"
+                )
+            )
+        )
+    })
+    public ResponseEntity<ApiResponse<HostOperationResponse>> deleteHostsBySuffix(
+        @Parameter(description = "Domain to delete under, e.g. tenant.example.com or *.tenant.example.com", required = true)
+        @RequestParam String suffix,
+        @Parameter(description = "Application ID (defaults to the configured application)")
+        @RequestParam(required = false) String applicationId,
+        @Parameter(description = "Plan the change without writing it to Dokploy")
+        @RequestParam(defaultValue = "false") boolean dryRun
+    ) {
+        logger.info("Received request to delete hosts under '{}'", suffix);
+
+        try {
+            HostOperationResponse result = traefikConfigService.deleteHostsBySuffix(suffix, applicationId, dryRun);
+            return ResponseEntity.ok(ApiResponse.success(result.getMessage(), result));
+        } catch (IllegalArgumentException e) {
+            logger.warn("{}", e.getMessage());
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error deleting hosts under '{}': {}", suffix, e.getMessage(), e);
             return ResponseEntity.internalServerError()
                     .body(ApiResponse.error("Error: " + e.getMessage()));
         }
@@ -0,0 +1,62 @@
+package com.traefikconfig.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "A router, service or middleware that differs between two configurations")
+public class ConfigChange {
+
+    @Schema(description = "Section of the entry: ROUTERS, SERVICES or MIDDLEWARES", example = "ROUTERS")
+    private String section;
+
+    @Schema(description = "Name of the entry", example = "app-router")
+    private String name;
+
+    @Schema(description = "ADDED, REMOVED or CHANGED", example = "ADDED")
+    private String type;
+
+    @Schema(description = "The fields that differ; only set for CHANGED entries")
+    private List<ConfigFieldChange> fields = new ArrayList<>();
+
+    public ConfigChange() {}
+
+    public ConfigChange(String section, String name, String type) {
+        this.section = section;
+        this.name = name;
+        this.type = type;
+    }
+
+    public String getSection() {
+        return section;
+    }
+
+    public void setSection(String section) {
+        this.section = section;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public List<ConfigFieldChange> getFields() {
+        return fields;
+    }
+
+    public void setFields(List<ConfigFieldChange> fields) {
+        this.fields = fields;
+    }
+}
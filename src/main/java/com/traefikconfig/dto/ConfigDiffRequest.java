@@ -0,0 +1,36 @@
+package com.traefikconfig.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Two configurations to compare")
+public class ConfigDiffRequest {
+
+    @Schema(description = "The configuration to compare from", required = true)
+    @NotNull(message = "A 'from' source is required")
+    @Valid
+    private DiffSource from;
+
+    @Schema(description = "The configuration to compare to", required = true)
+    @NotNull(message = "A 'to' source is required")
+    @Valid
+    private DiffSource to;
+
+    // Getters and Setters
+    public DiffSource getFrom() {
+        return from;
+    }
+
+    public void setFrom(DiffSource from) {
+        this.from = from;
+    }
+
+    public DiffSource getTo() {
+        return to;
+    }
+
+    public void setTo(DiffSource to) {
+        this.to = to;
+    }
+}
@@ -0,0 +1,99 @@
+package com.traefikconfig.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Routers, services and middlewares that differ between two configurations")
+public class ConfigDiffResponse {
+
+    @Schema(description = "Description of the 'from' source", example = "mp7_3lbuC06Ok3VXbGF0n version 3")
+    private String from;
+
+    @Schema(description = "Description of the 'to' source", example = "mp7_3lbuC06Ok3VXbGF0n live")
+    private String to;
+
+    @Schema(description = "SHA-256 of the 'from' configuration", example = "2c26b46b68ffc68ff99b453c1d30413413422d706483bfa0f98a5e886266e7ae")
+    private String fromHash;
+
+    @Schema(description = "SHA-256 of the 'to' configuration", example = "fcde2b2edba56bf408601fb721fe9b5c338d10ee429ea04fae5511b68fbf8fb9")
+    private String toHash;
+
+    @Schema(description = "Number of entries only in 'to'", example = "2")
+    private int added;
+
+    @Schema(description = "Number of entries only in 'from'", example = "0")
+    private int removed;
+
+    @Schema(description = "Number of entries in both that differ", example = "1")
+    private int changed;
+
+    @Schema(description = "Entries that differ: routers, then services, then middlewares")
+    private List<ConfigChange> changes = new ArrayList<>();
+
+    // Getters and Setters
+    public String getFrom() {
+        return from;
+    }
+
+    public void setFrom(String from) {
+        this.from = from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public void setTo(String to) {
+        this.to = to;
+    }
+
+    public String getFromHash() {
+        return fromHash;
+    }
+
+    public void setFromHash(String fromHash) {
+        this.fromHash = fromHash;
+    }
+
+    public String getToHash() {
+        return toHash;
+    }
+
+    public void setToHash(String toHash) {
+        this.toHash = toHash;
+    }
+
+    public int getAdded() {
+        return added;
+    }
+
+    public void setAdded(int added) {
+        this.added = added;
+    }
+
+    public int getRemoved() {
+        return removed;
+    }
+
+    public void setRemoved(int removed) {
+        this.removed = removed;
+    }
+
+    public int getChanged() {
+        return changed;
+    }
+
+    public void setChanged(int changed) {
+        this.changed = changed;
+    }
+
+    public List<ConfigChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<ConfigChange> changes) {
+        this.changes = changes;
+    }
+}
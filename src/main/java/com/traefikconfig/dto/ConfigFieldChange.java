@@ -0,0 +1,48 @@
+package com.traefikconfig.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A field of a router, service or middleware that differs between two configurations")
+public class ConfigFieldChange {
+
+    @Schema(description = "Field name, or path within a service or middleware definition", example = "loadBalancer.servers[0].url")
+    private String field;
+
+    @Schema(description = "Value before; null if the field was added", example = "http://backend:8070")
+    private String before;
+
+    @Schema(description = "Value after; null if the field was removed", example = "http://backend:8080")
+    private String after;
+
+    public ConfigFieldChange() {}
+
+    public ConfigFieldChange(String field, String before, String after) {
+        this.field = field;
+        this.before = before;
+        this.after = after;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public void setField(String field) {
+        this.field = field;
+    }
+
+    public String getBefore() {
+        return before;
+    }
+
+    public void setBefore(String before) {
+        this.before = before;
+    }
+
+    public String getAfter() {
+        return after;
+    }
+
+    public void setAfter(String after) {
+        this.after = after;
+    }
+}
@@ -0,0 +1,56 @@
+package com.traefikconfig.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "What a dry run would write: the changes to the live configuration and the hashes of both versions")
+public class ConfigPlan {
+
+    @Schema(description = "SHA-256 of the live configuration the plan was made on", example = "2c26b46b68ffc68ff99b453c1d30413413422d706483bfa0f98a5e886266e7ae")
+    private String baseHash;
+
+    @Schema(description = "SHA-256 of the configuration that would be written; matches the hash of the version recorded once it is applied", example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+    private String configHash;
+
+    @Schema(description = "Whether anything would be written", example = "true")
+    private boolean changed;
+
+    @Schema(description = "Routers, services and middlewares that would be added, removed or changed")
+    private List<ConfigChange> changes = new ArrayList<>();
+
+    public ConfigPlan() {}
+
+    public String getBaseHash() {
+        return baseHash;
+    }
+
+    public void setBaseHash(String baseHash) {
+        this.baseHash = baseHash;
+    }
+
+    public String getConfigHash() {
+        return configHash;
+    }
+
+    public void setConfigHash(String configHash) {
+        this.configHash = configHash;
+    }
+
+    public boolean isChanged() {
+        return changed;
+    }
+
+    public void setChanged(boolean changed) {
+        this.changed = changed;
+    }
+
+    public List<ConfigChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<ConfigChange> changes) {
+        this.changes = changes;
+    }
+}
@@ -0,0 +1,87 @@
+package com.traefikconfig.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "A recorded version of an application's Traefik configuration")
+public class ConfigVersionInfo {
+
+    @Schema(description = "Version number, increasing per application", example = "12")
+    private long version;
+
+    @Schema(description = "Application ID the version belongs to", example = "mp7_3lbuC06Ok3VXbGF0n")
+    private String applicationId;
+
+    @Schema(description = "How the version was observed: FETCHED from Dokploy or APPLIED by this service", example = "APPLIED")
+    private String source;
+
+    @Schema(description = "SHA-256 of the configuration content", example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08")
+    private String hash;
+
+    @Schema(description = "Size of the configuration in bytes", example = "4096")
+    private int sizeBytes;
+
+    @Schema(description = "When the version was recorded")
+    private Instant recordedAt;
+
+    public ConfigVersionInfo() {}
+
+    public ConfigVersionInfo(long version, String applicationId, String source, String hash, int sizeBytes,
+            Instant recordedAt) {
+        this.version = version;
+        this.applicationId = applicationId;
+        this.source = source;
+        this.hash = hash;
+        this.sizeBytes = sizeBytes;
+        this.recordedAt = recordedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public String getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(String applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public int getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(int sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public Instant getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(Instant recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+}
@@ -34,6 +34,9 @@ public class CustomConfigRequest {
     @Schema(description = "Skip middlewares in configuration (for simple setups without middleware section)", example = "true")
     private Boolean skipMiddlewares;
 
+    @Schema(description = "Router template to generate the routes with (optional; built-in: dual, dual-entrypoints, single, or one from traefik.templates.definitions)", example = "dual")
+    private String template;
+
     // Getters and Setters
     public String getHostname() {
         return hostname;
@@ -106,4 +109,12 @@ public class CustomConfigRequest {
     public void setSkipMiddlewares(Boolean skipMiddlewares) {
         this.skipMiddlewares = skipMiddlewares;
     }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public void setTemplate(String template) {
+        this.template = template;
+    }
 }
\ No newline at end of file
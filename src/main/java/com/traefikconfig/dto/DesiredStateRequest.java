@@ -0,0 +1,59 @@
+package com.traefikconfig.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Full desired set of hosts for one application. Hosts missing from the list are removed from the live config.")
+public class DesiredStateRequest {
+
+    @Schema(description = "Custom Dokploy API key (optional, uses default if not provided)")
+    private String dokployApiKey;
+
+    @Schema(description = "Custom API domain (optional, uses default if not provided)", example = "https://custom.imvj.in")
+    private String apiDomain;
+
+    @Schema(description = "Custom Application ID (optional, uses default if not provided)")
+    private String applicationId;
+
+    @Schema(description = "Desired hosts with their service, port and middleware options. Connection fields on each entry are ignored.")
+    @NotNull(message = "Hosts list is required")
+    @Valid
+    private List<CustomConfigRequest> hosts = new ArrayList<>();
+
+    // Getters and Setters
+    public String getDokployApiKey() {
+        return dokployApiKey;
+    }
+
+    public void setDokployApiKey(String dokployApiKey) {
+        this.dokployApiKey = dokployApiKey;
+    }
+
+    public String getApiDomain() {
+        return apiDomain;
+    }
+
+    public void setApiDomain(String apiDomain) {
+        this.apiDomain = apiDomain;
+    }
+
+    public String getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(String applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public List<CustomConfigRequest> getHosts() {
+        return hosts;
+    }
+
+    public void setHosts(List<CustomConfigRequest> hosts) {
+        this.hosts = hosts;
+    }
+}
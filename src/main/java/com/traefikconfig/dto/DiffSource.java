@@ -0,0 +1,63 @@
+package com.traefikconfig.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "One side of a config diff: raw YAML, a recorded version or the live config of an application")
+public class DiffSource {
+
+    @Schema(description = "Traefik configuration in YAML format; if set, the other fields are ignored")
+    private String yaml;
+
+    @Schema(description = "Recorded version to compare (see /config/history); the live config if not set", example = "3")
+    private Long version;
+
+    @Schema(description = "Application ID (defaults to the configured application)", example = "mp7_3lbuC06Ok3VXbGF0n")
+    private String applicationId;
+
+    @Schema(description = "Dokploy API domain to read the live config from (defaults to the configured domain)", example = "https://eu.imvj.in")
+    private String apiDomain;
+
+    @Schema(description = "Dokploy API key for the live config (defaults to the configured key)")
+    private String dokployApiKey;
+
+    // Getters and Setters
+    public String getYaml() {
+        return yaml;
+    }
+
+    public void setYaml(String yaml) {
+        this.yaml = yaml;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(String applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public String getApiDomain() {
+        return apiDomain;
+    }
+
+    public void setApiDomain(String apiDomain) {
+        this.apiDomain = apiDomain;
+    }
+
+    public String getDokployApiKey() {
+        return dokployApiKey;
+    }
+
+    public void setDokployApiKey(String dokployApiKey) {
+        this.dokployApiKey = dokployApiKey;
+    }
+}
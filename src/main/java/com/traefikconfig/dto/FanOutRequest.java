@@ -0,0 +1,56 @@
+package com.traefikconfig.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "One host operation applied to several Dokploy applications concurrently")
+public class FanOutRequest {
+
+    public enum Operation {
+        ADD, DELETE
+    }
+
+    @Schema(description = "Whether to add or delete the host", example = "ADD", required = true)
+    @NotNull(message = "Operation is required")
+    private Operation operation;
+
+    @Schema(description = "The host with its service, port and template options. Connection fields are taken from each target instead.", required = true)
+    @NotNull(message = "Host is required")
+    @Valid
+    private CustomConfigRequest host;
+
+    @Schema(description = "Applications to apply the operation to")
+    @NotEmpty(message = "At least one target is required")
+    @Valid
+    private List<FanOutTarget> targets = new ArrayList<>();
+
+    // Getters and Setters
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(Operation operation) {
+        this.operation = operation;
+    }
+
+    public CustomConfigRequest getHost() {
+        return host;
+    }
+
+    public void setHost(CustomConfigRequest host) {
+        this.host = host;
+    }
+
+    public List<FanOutTarget> getTargets() {
+        return targets;
+    }
+
+    public void setTargets(List<FanOutTarget> targets) {
+        this.targets = targets;
+    }
+}
@@ -0,0 +1,77 @@
+package com.traefikconfig.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Per-target results of a fanned-out host operation")
+public class FanOutResponse {
+
+    @Schema(description = "Summary message", example = "Added 'example.com' on 19 of 20 application(s)")
+    private String message;
+
+    @Schema(description = "Hostname the operation was applied to", example = "example.com")
+    private String hostname;
+
+    @Schema(description = "Number of targets the operation succeeded on", example = "19")
+    private int succeeded;
+
+    @Schema(description = "Number of targets the operation failed or timed out on", example = "1")
+    private int failed;
+
+    @Schema(description = "Wall-clock time of the whole fan-out in milliseconds", example = "530")
+    private long durationMs;
+
+    @Schema(description = "Result of each target, in request order")
+    private List<FanOutResult> results = new ArrayList<>();
+
+    // Getters and Setters
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getHostname() {
+        return hostname;
+    }
+
+    public void setHostname(String hostname) {
+        this.hostname = hostname;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public List<FanOutResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<FanOutResult> results) {
+        this.results = results;
+    }
+}
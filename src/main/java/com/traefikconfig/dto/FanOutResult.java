@@ -0,0 +1,84 @@
+package com.traefikconfig.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a fanned-out host operation on one application")
+public class FanOutResult {
+
+    @Schema(description = "API domain of the target", example = "https://eu.imvj.in")
+    private String apiDomain;
+
+    @Schema(description = "Application ID of the target", example = "mp7_3lbuC06Ok3VXbGF0n")
+    private String applicationId;
+
+    @Schema(description = "Whether the operation succeeded on this target", example = "true")
+    private boolean success;
+
+    @Schema(description = "Result or error message", example = "Host 'example.com' added successfully with custom config! Response: true")
+    private String message;
+
+    @Schema(description = "Time spent on this target in milliseconds", example = "412")
+    private long durationMs;
+
+    @Schema(description = "What would be written; only set for dry runs")
+    private ConfigPlan plan;
+
+    public FanOutResult() {}
+
+    public FanOutResult(String apiDomain, String applicationId, boolean success, String message, long durationMs) {
+        this.apiDomain = apiDomain;
+        this.applicationId = applicationId;
+        this.success = success;
+        this.message = message;
+        this.durationMs = durationMs;
+    }
+
+    // Getters and Setters
+    public String getApiDomain() {
+        return apiDomain;
+    }
+
+    public void setApiDomain(String apiDomain) {
+        this.apiDomain = apiDomain;
+    }
+
+    public String getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(String applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public ConfigPlan getPlan() {
+        return plan;
+    }
+
+    public void setPlan(ConfigPlan plan) {
+        this.plan = plan;
+    }
+}
@@ -0,0 +1,50 @@
+package com.traefikconfig.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+@Schema(description = "One Dokploy application a fanned-out host operation is applied to")
+public class FanOutTarget {
+
+    @Schema(description = "Custom API domain (optional, uses default if not provided)", example = "https://eu.imvj.in")
+    private String apiDomain;
+
+    @Schema(description = "Application ID", example = "mp7_3lbuC06Ok3VXbGF0n", required = true)
+    @NotBlank(message = "Application ID is required for every target")
+    private String applicationId;
+
+    @Schema(description = "Custom Dokploy API key (optional, uses default if not provided)")
+    private String dokployApiKey;
+
+    public FanOutTarget() {}
+
+    public FanOutTarget(String apiDomain, String applicationId) {
+        this.apiDomain = apiDomain;
+        this.applicationId = applicationId;
+    }
+
+    // Getters and Setters
+    public String getApiDomain() {
+        return apiDomain;
+    }
+
+    public void setApiDomain(String apiDomain) {
+        this.apiDomain = apiDomain;
+    }
+
+    public String getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(String applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public String getDokployApiKey() {
+        return dokployApiKey;
+    }
+
+    public void setDokployApiKey(String dokployApiKey) {
+        this.dokployApiKey = dokployApiKey;
+    }
+}
@@ -0,0 +1,75 @@
+package com.traefikconfig.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A hostname routed by the Traefik configuration")
+public class HostInfo {
+
+    @Schema(description = "Hostname matched by the routers", example = "app.tenant.example.com")
+    private String hostname;
+
+    @Schema(description = "Routers whose rule matches the hostname", example = "[\"app-router\", \"app-router-websecure\"]")
+    private List<String> routers;
+
+    @Schema(description = "Services the routers send traffic to", example = "[\"app-service\"]")
+    private List<String> services;
+
+    @Schema(description = "Entry points used by any of the routers", example = "[\"web\", \"websecure\"]")
+    private List<String> entryPoints;
+
+    @Schema(description = "Whether any of the routers terminates TLS", example = "true")
+    private boolean tls;
+
+    public HostInfo() {}
+
+    public HostInfo(String hostname, List<String> routers, List<String> services, List<String> entryPoints,
+            boolean tls) {
+        this.hostname = hostname;
+        this.routers = routers;
+        this.services = services;
+        this.entryPoints = entryPoints;
+        this.tls = tls;
+    }
+
+    public String getHostname() {
+        return hostname;
+    }
+
+    public void setHostname(String hostname) {
+        this.hostname = hostname;
+    }
+
+    public List<String> getRouters() {
+        return routers;
+    }
+
+    public void setRouters(List<String> routers) {
+        this.routers = routers;
+    }
+
+    public List<String> getServices() {
+        return services;
+    }
+
+    public void setServices(List<String> services) {
+        this.services = services;
+    }
+
+    public List<String> getEntryPoints() {
+        return entryPoints;
+    }
+
+    public void setEntryPoints(List<String> entryPoints) {
+        this.entryPoints = entryPoints;
+    }
+
+    public boolean isTls() {
+        return tls;
+    }
+
+    public void setTls(boolean tls) {
+        this.tls = tls;
+    }
+}
@@ -2,6 +2,9 @@ package com.traefikconfig.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Schema(description = "Response object for host add/delete operations including the updated configuration")
 public class HostOperationResponse {
     
@@ -14,6 +17,12 @@ public class HostOperationResponse {
     @Schema(description = "The hostname that was processed", example = "example.com")
     private String hostname;
 
+    @Schema(description = "What would be written; only set for dry runs")
+    private ConfigPlan plan;
+
+    @Schema(description = "Conflicts of the routers this operation adds or changes with other routers")
+    private List<RouterConflict> conflicts = new ArrayList<>();
+
     public HostOperationResponse() {}
 
     public HostOperationResponse(String message, String updatedConfig, String hostname) {
@@ -45,4 +54,20 @@ public class HostOperationResponse {
     public void setHostname(String hostname) {
         this.hostname = hostname;
     }
+
+    public ConfigPlan getPlan() {
+        return plan;
+    }
+
+    public void setPlan(ConfigPlan plan) {
+        this.plan = plan;
+    }
+
+    public List<RouterConflict> getConflicts() {
+        return conflicts;
+    }
+
+    public void setConflicts(List<RouterConflict> conflicts) {
+        this.conflicts = conflicts;
+    }
 }
\ No newline at end of file
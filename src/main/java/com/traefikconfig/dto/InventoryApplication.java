@@ -0,0 +1,76 @@
+package com.traefikconfig.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Freshness of one application's part of the inventory")
+public class InventoryApplication {
+
+    @Schema(description = "API domain of the application", example = "https://dp.imvj.in")
+    private String apiDomain;
+
+    @Schema(description = "Application ID", example = "mp7_3lbuC06Ok3VXbGF0n")
+    private String applicationId;
+
+    @Schema(description = "When the config was last fetched successfully, or null if it never was")
+    private Instant fetchedAt;
+
+    @Schema(description = "Number of inventory entries of this application", example = "42")
+    private int entries;
+
+    @Schema(description = "Error of the last fetch, or null if it succeeded. Entries from the previous successful fetch are kept.")
+    private String error;
+
+    public InventoryApplication() {}
+
+    public InventoryApplication(String apiDomain, String applicationId, Instant fetchedAt, int entries,
+            String error) {
+        this.apiDomain = apiDomain;
+        this.applicationId = applicationId;
+        this.fetchedAt = fetchedAt;
+        this.entries = entries;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public String getApiDomain() {
+        return apiDomain;
+    }
+
+    public void setApiDomain(String apiDomain) {
+        this.apiDomain = apiDomain;
+    }
+
+    public String getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(String applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public void setFetchedAt(Instant fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    public void setEntries(int entries) {
+        this.entries = entries;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,88 @@
+package com.traefikconfig.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "One router of one application with the service it routes to and that service's backend URLs")
+public class InventoryEntry {
+
+    @Schema(description = "API domain of the application", example = "https://dp.imvj.in")
+    private String apiDomain;
+
+    @Schema(description = "Application ID", example = "mp7_3lbuC06Ok3VXbGF0n")
+    private String applicationId;
+
+    @Schema(description = "Hostname the router matches, or null for routers without a Host rule and for services no router uses", example = "shop.example.com")
+    private String hostname;
+
+    @Schema(description = "Router name, or null for services no router uses", example = "shop-router-websecure")
+    private String router;
+
+    @Schema(description = "Service name", example = "shop-service")
+    private String service;
+
+    @Schema(description = "Backend URLs of the service's load balancer")
+    private List<String> urls;
+
+    public InventoryEntry() {}
+
+    public InventoryEntry(String apiDomain, String applicationId, String hostname, String router, String service,
+            List<String> urls) {
+        this.apiDomain = apiDomain;
+        this.applicationId = applicationId;
+        this.hostname = hostname;
+        this.router = router;
+        this.service = service;
+        this.urls = urls;
+    }
+
+    // Getters and Setters
+    public String getApiDomain() {
+        return apiDomain;
+    }
+
+    public void setApiDomain(String apiDomain) {
+        this.apiDomain = apiDomain;
+    }
+
+    public String getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(String applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public String getHostname() {
+        return hostname;
+    }
+
+    public void setHostname(String hostname) {
+        this.hostname = hostname;
+    }
+
+    public String getRouter() {
+        return router;
+    }
+
+    public void setRouter(String router) {
+        this.router = router;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public void setService(String service) {
+        this.service = service;
+    }
+
+    public List<String> getUrls() {
+        return urls;
+    }
+
+    public void setUrls(List<String> urls) {
+        this.urls = urls;
+    }
+}
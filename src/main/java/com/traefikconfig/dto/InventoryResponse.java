@@ -0,0 +1,55 @@
+package com.traefikconfig.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Routers, services and backend URLs of all registered applications")
+public class InventoryResponse {
+
+    @Schema(description = "Applications in the inventory and how fresh their data is")
+    private List<InventoryApplication> applications = new ArrayList<>();
+
+    @Schema(description = "Entries matching the filters")
+    private List<InventoryEntry> entries = new ArrayList<>();
+
+    @Schema(description = "Applications whose config was fetched for this request", example = "3")
+    private int fetched;
+
+    @Schema(description = "Fetched applications whose config had changed and was parsed again", example = "1")
+    private int changed;
+
+    // Getters and Setters
+    public List<InventoryApplication> getApplications() {
+        return applications;
+    }
+
+    public void setApplications(List<InventoryApplication> applications) {
+        this.applications = applications;
+    }
+
+    public List<InventoryEntry> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<InventoryEntry> entries) {
+        this.entries = entries;
+    }
+
+    public int getFetched() {
+        return fetched;
+    }
+
+    public void setFetched(int fetched) {
+        this.fetched = fetched;
+    }
+
+    public int getChanged() {
+        return changed;
+    }
+
+    public void setChanged(int changed) {
+        this.changed = changed;
+    }
+}
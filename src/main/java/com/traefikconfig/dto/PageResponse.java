@@ -0,0 +1,62 @@
+package com.traefikconfig.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "One page of a listing")
+public class PageResponse<T> {
+
+    @Schema(description = "Items on this page")
+    private List<T> items;
+
+    @Schema(description = "Cursor for the next page, null on the last page", example = "bmFtZQBhcHAtcm91dGVyAGFwcC1yb3V0ZXI")
+    private String nextCursor;
+
+    @Schema(description = "Number of items matching the filters across all pages", example = "10342")
+    private int total;
+
+    @Schema(description = "Maximum number of items per page", example = "100")
+    private int limit;
+
+    public PageResponse() {}
+
+    public PageResponse(List<T> items, String nextCursor, int total, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.total = total;
+        this.limit = limit;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
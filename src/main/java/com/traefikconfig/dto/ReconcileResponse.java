@@ -0,0 +1,122 @@
+package com.traefikconfig.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Result of reconciling the live config against a desired host set")
+public class ReconcileResponse {
+
+    @Schema(description = "Operation result message", example = "Reconciled 3 change(s) in one write")
+    private String message;
+
+    @Schema(description = "Application ID that was reconciled", example = "mp7_3lbuC06Ok3VXbGF0n")
+    private String applicationId;
+
+    @Schema(description = "Whether a write to Dokploy was needed", example = "true")
+    private boolean changed;
+
+    @Schema(description = "Hosts that were added")
+    private List<String> added = new ArrayList<>();
+
+    @Schema(description = "Hosts whose routers or services were replaced")
+    private List<String> updated = new ArrayList<>();
+
+    @Schema(description = "Hosts that were removed")
+    private List<String> removed = new ArrayList<>();
+
+    @Schema(description = "Number of hosts already matching the desired state", example = "120")
+    private int unchanged;
+
+    @Schema(description = "The resulting Traefik configuration in YAML format")
+    private String updatedConfig;
+
+    @Schema(description = "What would be written; only set for dry runs")
+    private ConfigPlan plan;
+
+    @Schema(description = "Conflicts of the routers this operation adds or changes with other routers")
+    private List<RouterConflict> conflicts = new ArrayList<>();
+
+    public ReconcileResponse() {}
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(String applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public boolean isChanged() {
+        return changed;
+    }
+
+    public void setChanged(boolean changed) {
+        this.changed = changed;
+    }
+
+    public List<String> getAdded() {
+        return added;
+    }
+
+    public void setAdded(List<String> added) {
+        this.added = added;
+    }
+
+    public List<String> getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(List<String> updated) {
+        this.updated = updated;
+    }
+
+    public List<String> getRemoved() {
+        return removed;
+    }
+
+    public void setRemoved(List<String> removed) {
+        this.removed = removed;
+    }
+
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    public void setUnchanged(int unchanged) {
+        this.unchanged = unchanged;
+    }
+
+    public String getUpdatedConfig() {
+        return updatedConfig;
+    }
+
+    public void setUpdatedConfig(String updatedConfig) {
+        this.updatedConfig = updatedConfig;
+    }
+
+    public ConfigPlan getPlan() {
+        return plan;
+    }
+
+    public void setPlan(ConfigPlan plan) {
+        this.plan = plan;
+    }
+
+    public List<RouterConflict> getConflicts() {
+        return conflicts;
+    }
+
+    public void setConflicts(List<RouterConflict> conflicts) {
+        this.conflicts = conflicts;
+    }
+}
@@ -0,0 +1,88 @@
+package com.traefikconfig.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Two routers that compete for the same requests on a shared entry point")
+public class RouterConflict {
+
+    @Schema(description = "DUPLICATE (same rule), SHADOWED (router never matches) or OVERLAP (both match some requests)", example = "SHADOWED")
+    private String type;
+
+    @Schema(description = "The router the conflict is about; for SHADOWED, the one that never matches", example = "app-devcrm-crmbackend-router")
+    private String router;
+
+    @Schema(description = "The other router", example = "app-api-router")
+    private String conflictsWith;
+
+    @Schema(description = "The router Traefik sends the requests both match to; null if that is undefined", example = "app-api-router")
+    private String winner;
+
+    @Schema(description = "Entry points both routers listen on; empty for all", example = "[\"web\"]")
+    private List<String> entryPoints = new ArrayList<>();
+
+    @Schema(description = "Description of the conflict", example = "Router 'app-devcrm-crmbackend-router' never matches on web: every request it matches goes to 'app-api-router'")
+    private String message;
+
+    public RouterConflict() {}
+
+    public RouterConflict(String type, String router, String conflictsWith, String winner, List<String> entryPoints,
+            String message) {
+        this.type = type;
+        this.router = router;
+        this.conflictsWith = conflictsWith;
+        this.winner = winner;
+        this.entryPoints = entryPoints;
+        this.message = message;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getRouter() {
+        return router;
+    }
+
+    public void setRouter(String router) {
+        this.router = router;
+    }
+
+    public String getConflictsWith() {
+        return conflictsWith;
+    }
+
+    public void setConflictsWith(String conflictsWith) {
+        this.conflictsWith = conflictsWith;
+    }
+
+    public String getWinner() {
+        return winner;
+    }
+
+    public void setWinner(String winner) {
+        this.winner = winner;
+    }
+
+    public List<String> getEntryPoints() {
+        return entryPoints;
+    }
+
+    public void setEntryPoints(List<String> entryPoints) {
+        this.entryPoints = entryPoints;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,111 @@
+package com.traefikconfig.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A router of the Traefik configuration")
+public class RouterInfo {
+
+    @Schema(description = "Router name", example = "app-router-websecure")
+    private String name;
+
+    @Schema(description = "Matching rule", example = "Host(`app.example.com`)")
+    private String rule;
+
+    @Schema(description = "Service the router sends traffic to", example = "app-service")
+    private String service;
+
+    @Schema(description = "Entry points the router listens on", example = "[\"websecure\"]")
+    private List<String> entryPoints;
+
+    @Schema(description = "Middlewares applied by the router", example = "[\"redirect-to-https\"]")
+    private List<String> middlewares;
+
+    @Schema(description = "Whether the router terminates TLS", example = "true")
+    private boolean tls;
+
+    @Schema(description = "Certificate resolver used for TLS", example = "letsencrypt")
+    private String certResolver;
+
+    @Schema(description = "Hostnames matched by the rule", example = "[\"app.example.com\"]")
+    private List<String> hosts;
+
+    public RouterInfo() {}
+
+    public RouterInfo(String name, String rule, String service, List<String> entryPoints, List<String> middlewares,
+            boolean tls, String certResolver, List<String> hosts) {
+        this.name = name;
+        this.rule = rule;
+        this.service = service;
+        this.entryPoints = entryPoints;
+        this.middlewares = middlewares;
+        this.tls = tls;
+        this.certResolver = certResolver;
+        this.hosts = hosts;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getRule() {
+        return rule;
+    }
+
+    public void setRule(String rule) {
+        this.rule = rule;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public void setService(String service) {
+        this.service = service;
+    }
+
+    public List<String> getEntryPoints() {
+        return entryPoints;
+    }
+
+    public void setEntryPoints(List<String> entryPoints) {
+        this.entryPoints = entryPoints;
+    }
+
+    public List<String> getMiddlewares() {
+        return middlewares;
+    }
+
+    public void setMiddlewares(List<String> middlewares) {
+        this.middlewares = middlewares;
+    }
+
+    public boolean isTls() {
+        return tls;
+    }
+
+    public void setTls(boolean tls) {
+        this.tls = tls;
+    }
+
+    public String getCertResolver() {
+        return certResolver;
+    }
+
+    public void setCertResolver(String certResolver) {
+        this.certResolver = certResolver;
+    }
+
+    public List<String> getHosts() {
+        return hosts;
+    }
+
+    public void setHosts(List<String> hosts) {
+        this.hosts = hosts;
+    }
+}
@@ -0,0 +1,121 @@
+package com.traefikconfig.logging;
+
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.event.KeyValuePair;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Encodes log events for the console, as JSON or as text ({@code traefik.logging.format}).
+ * <p>
+ * JSON is one object per line:
+ * {@code {"@timestamp":"...","level":"INFO","logger":"...","thread":"...","message":"...","requestId":"...",...}}.
+ * The message is formatted with its arguments, MDC fields and key-value pairs become top-level properties and a
+ * throwable is written as {@code exception} with its stack trace, so log lines can be indexed by field. Text
+ * uses {@code pattern}, as a {@link PatternLayoutEncoder} would.
+ */
+public class ConsoleLogEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final byte[] NO_BYTES = new byte[0];
+
+    private final JsonFactory factory = new JsonFactory();
+    private String format = "json";
+    private String pattern;
+    private PatternLayoutEncoder text;
+
+    @Override
+    public void start() {
+        if ("text".equalsIgnoreCase(format)) {
+            text = new PatternLayoutEncoder();
+            text.setContext(getContext());
+            text.setPattern(pattern);
+            text.start();
+        } else if (!"json".equalsIgnoreCase(format)) {
+            addError("Unknown log format '" + format + "', expected json or text");
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (text != null) {
+            text.stop();
+        }
+        super.stop();
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return NO_BYTES;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        return text != null ? text.encode(event) : json(event);
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return NO_BYTES;
+    }
+
+    private byte[] json(ILoggingEvent event) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator json = factory.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("@timestamp", Instant.ofEpochMilli(event.getTimeStamp()).toString());
+            json.writeStringField("level", event.getLevel().toString());
+            json.writeStringField("logger", event.getLoggerName());
+            json.writeStringField("thread", event.getThreadName());
+            json.writeStringField("message", event.getFormattedMessage());
+            Map<String, String> mdc = event.getMDCPropertyMap();
+            if (mdc != null) {
+                for (Map.Entry<String, String> field : mdc.entrySet()) {
+                    json.writeStringField(field.getKey(), field.getValue());
+                }
+            }
+            if (event.getKeyValuePairs() != null) {
+                for (KeyValuePair pair : event.getKeyValuePairs()) {
+                    json.writeStringField(pair.key, String.valueOf(pair.value));
+                }
+            }
+            IThrowableProxy throwable = event.getThrowableProxy();
+            if (throwable != null) {
+                json.writeStringField("exception", ThrowableProxyUtil.asString(throwable));
+            }
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        out.write('\n');
+        return out.toByteArray();
+    }
+
+    // Getters and Setters
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+}
@@ -0,0 +1,66 @@
+package com.traefikconfig.logging;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * The MDC fields that tie log lines to the request and the operation they belong to. The JSON log output
+ * (see {@link ConsoleLogEncoder}) writes every MDC field as a top-level property.
+ */
+public final class LogContext {
+
+    public static final String REQUEST_ID = "requestId";
+    public static final String APPLICATION_ID = "applicationId";
+    public static final String HOST = "host";
+    public static final String OPERATION = "operation";
+
+    private LogContext() {
+    }
+
+    /**
+     * Set the fields of an operation; a {@code null} value removes the field.
+     *
+     * @return the previous context, to pass to {@link #restore}
+     */
+    public static Map<String, String> enter(String operation, String applicationId, String host) {
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        put(OPERATION, operation);
+        put(APPLICATION_ID, applicationId);
+        put(HOST, host);
+        return previous;
+    }
+
+    public static void restore(Map<String, String> previous) {
+        if (previous != null) {
+            MDC.setContextMap(previous);
+        } else {
+            MDC.clear();
+        }
+    }
+
+    /**
+     * A task that runs with the MDC of the thread that created it, for work handed to a pool.
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            restore(context);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void put(String key, String value) {
+        if (value != null && !value.isEmpty()) {
+            MDC.put(key, value);
+        } else {
+            MDC.remove(key);
+        }
+    }
+}
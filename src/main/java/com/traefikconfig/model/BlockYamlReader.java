@@ -0,0 +1,303 @@
+package com.traefikconfig.model;
+
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Composes the plain block-style YAML that Dokploy stores and this service writes into SnakeYAML nodes, in one
+ * pass over the lines and without SnakeYAML's scanner, parser and composer.
+ * <p>
+ * Only mappings, sequences (also at the indentation of their key), plain and single-line quoted scalars, empty
+ * flow collections ({@code []} and <code>{}</code>, as in {@code middlewares: []}) and comments are read.
+ * Anything else, including every form of invalid YAML, makes {@link #read} return {@code null} so that the
+ * caller composes the config with SnakeYAML and gets its error. Scalars are tagged {@code str} unless they are
+ * null; {@link ConfigValidator} does not look at other types.
+ */
+final class BlockYamlReader {
+
+    private static final String INDICATORS = "[]{}#&*!|>'\"%@`,";
+    private static final Set<String> NULLS = Set.of("", "~", "null", "Null", "NULL");
+    private static final int[] NO_BUFFER = new int[0];
+
+    private final String text;
+    private final List<int[]> lines = new ArrayList<>(); // {line number, indent, content start, content end}
+    private int next;
+
+    /**
+     * Thrown at the first construct this reader leaves to SnakeYAML.
+     */
+    private static final class Unsupported extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        Unsupported() {
+            super(null, null, false, false);
+        }
+    }
+
+    private BlockYamlReader(String text) {
+        this.text = text;
+    }
+
+    /**
+     * The root node of a config, a null scalar if it is empty, or {@code null} if it has to be composed by
+     * SnakeYAML.
+     */
+    static Node read(String text) {
+        try {
+            return new BlockYamlReader(text).document();
+        } catch (Unsupported e) {
+            return null;
+        }
+    }
+
+    private Node document() {
+        split();
+        if (lines.isEmpty()) {
+            return scalar("", 0, DumperOptions.ScalarStyle.PLAIN);
+        }
+        Node root = node(indent(0));
+        if (next < lines.size()) {
+            throw new Unsupported();
+        }
+        return root;
+    }
+
+    /**
+     * Record the content of every line that is neither blank nor a comment.
+     */
+    private void split() {
+        int lineNumber = 0;
+        int lineStart = 0;
+        while (lineStart <= text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = text.length();
+            }
+            int end = lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            int start = lineStart;
+            while (start < end && text.charAt(start) == ' ') {
+                start++;
+            }
+            for (int i = start; i < end; i++) {
+                char c = text.charAt(i);
+                if (c < 0x20 || (c >= 0x7f && c <= 0x9f) || Character.isSurrogate(c) || c >= 0xfeff) {
+                    throw new Unsupported(); // tabs, control characters, BOMs: left to SnakeYAML
+                }
+            }
+            while (end > start && text.charAt(end - 1) == ' ') {
+                end--;
+            }
+            if (start < end && text.charAt(start) != '#') {
+                if (start == lineStart && (text.startsWith("---", start) || text.startsWith("...", start))) {
+                    throw new Unsupported(); // document markers
+                }
+                lines.add(new int[]{lineNumber, start - lineStart, start, end});
+            }
+            lineNumber++;
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    private Node node(int indent) {
+        return isItem(next) ? sequence(indent) : mapping(indent);
+    }
+
+    private MappingNode mapping(int indent) {
+        int first = next;
+        List<NodeTuple> tuples = new ArrayList<>();
+        while (next < lines.size() && indent(next) == indent) {
+            int[] line = lines.get(next);
+            int colon = keyEnd(line[2], line[3]);
+            if (colon < 0 || isItem(next) || INDICATORS.indexOf(text.charAt(line[2])) >= 0
+                    || text.charAt(line[2]) == '-' || text.charAt(line[2]) == '?' || text.charAt(line[2]) == ':') {
+                throw new Unsupported();
+            }
+            int keyEnd = colon;
+            while (text.charAt(keyEnd - 1) == ' ') {
+                keyEnd--;
+            }
+            Node key = scalar(text.substring(line[2], keyEnd), next, DumperOptions.ScalarStyle.PLAIN);
+            int valueStart = skipSpaces(colon + 1, line[3]);
+            int keyLine = next++;
+            Node value;
+            if (valueStart < line[3] && text.charAt(valueStart) != '#') {
+                value = value(valueStart, line[3], keyLine);
+            } else if (next < lines.size() && indent(next) > indent) {
+                value = node(indent(next));
+            } else if (next < lines.size() && indent(next) == indent && isItem(next)) {
+                value = sequence(indent);
+            } else {
+                value = scalar("", keyLine, DumperOptions.ScalarStyle.PLAIN);
+            }
+            tuples.add(new NodeTuple(key, value));
+        }
+        if (next < lines.size() && indent(next) > indent) {
+            throw new Unsupported();
+        }
+        return new MappingNode(Tag.MAP, true, tuples, mark(first), mark(first), DumperOptions.FlowStyle.BLOCK);
+    }
+
+    private SequenceNode sequence(int indent) {
+        int first = next;
+        List<Node> items = new ArrayList<>();
+        while (next < lines.size() && indent(next) == indent && isItem(next)) {
+            int[] line = lines.get(next);
+            int itemStart = skipSpaces(line[2] + 1, line[3]);
+            if (itemStart >= line[3] || text.charAt(itemStart) == '#') {
+                int itemLine = next++;
+                items.add(next < lines.size() && indent(next) > indent ? node(indent(next))
+                        : scalar("", itemLine, DumperOptions.ScalarStyle.PLAIN));
+            } else if (text.charAt(itemStart) != '"' && text.charAt(itemStart) != '\''
+                    && keyEnd(itemStart, line[3]) >= 0) {
+                // "- key: value" starts a mapping whose keys are aligned with the first one
+                line[1] += itemStart - line[2];
+                line[2] = itemStart;
+                items.add(mapping(line[1]));
+            } else {
+                items.add(value(itemStart, line[3], next++));
+                if (next < lines.size() && indent(next) > indent) {
+                    throw new Unsupported();
+                }
+            }
+        }
+        return new SequenceNode(Tag.SEQ, true, items, mark(first), mark(first), DumperOptions.FlowStyle.BLOCK);
+    }
+
+    /**
+     * A value that starts at {@code start} and runs to the end of the line or a comment: a scalar or an empty
+     * flow collection.
+     */
+    private Node value(int start, int end, int line) {
+        char c = text.charAt(start);
+        if (c == '[' || c == '{') {
+            return emptyCollection(c, start, end, line);
+        }
+        if (c == '"' || c == '\'') {
+            StringBuilder value = new StringBuilder();
+            int i = start + 1;
+            while (true) {
+                if (i >= end) {
+                    throw new Unsupported(); // unterminated or spans lines
+                }
+                char d = text.charAt(i++);
+                if (d == c) {
+                    if (c == '\'' && i < end && text.charAt(i) == '\'') {
+                        value.append('\'');
+                        i++;
+                        continue;
+                    }
+                    break;
+                }
+                if (c == '"' && d == '\\') {
+                    char escaped = i < end ? text.charAt(i++) : 0;
+                    switch (escaped) {
+                        case '"', '\\' -> value.append(escaped);
+                        case 'n' -> value.append('\n');
+                        case 't' -> value.append('\t');
+                        default -> throw new Unsupported();
+                    }
+                } else {
+                    value.append(d);
+                }
+            }
+            int rest = skipSpaces(i, end);
+            if (rest < end && (rest == i || text.charAt(rest) != '#')) {
+                throw new Unsupported();
+            }
+            return scalar(value.toString(), line, c == '"' ? DumperOptions.ScalarStyle.DOUBLE_QUOTED
+                    : DumperOptions.ScalarStyle.SINGLE_QUOTED);
+        }
+        if (INDICATORS.indexOf(c) >= 0 || ((c == '-' || c == '?' || c == ':')
+                && (start + 1 == end || text.charAt(start + 1) == ' '))) {
+            throw new Unsupported();
+        }
+        int valueEnd = end;
+        for (int i = start; i < end; i++) {
+            char d = text.charAt(i);
+            if (d == '#' && text.charAt(i - 1) == ' ') {
+                valueEnd = i;
+                break;
+            }
+            if (d == ':' && (i + 1 == end || text.charAt(i + 1) == ' ')) {
+                throw new Unsupported(); // a mapping inside a scalar is an error
+            }
+        }
+        while (text.charAt(valueEnd - 1) == ' ') {
+            valueEnd--;
+        }
+        return scalar(text.substring(start, valueEnd), line, DumperOptions.ScalarStyle.PLAIN);
+    }
+
+    /**
+     * An empty flow sequence or mapping; anything inside one is left to SnakeYAML.
+     */
+    private Node emptyCollection(char open, int start, int end, int line) {
+        int close = skipSpaces(start + 1, end);
+        if (close >= end || text.charAt(close) != (open == '[' ? ']' : '}')) {
+            throw new Unsupported();
+        }
+        int rest = skipSpaces(close + 1, end);
+        if (rest < end && (rest == close + 1 || text.charAt(rest) != '#')) {
+            throw new Unsupported();
+        }
+        Mark mark = mark(line);
+        return open == '[' ? new SequenceNode(Tag.SEQ, true, new ArrayList<>(), mark, mark,
+                DumperOptions.FlowStyle.FLOW)
+                : new MappingNode(Tag.MAP, true, new ArrayList<>(), mark, mark, DumperOptions.FlowStyle.FLOW);
+    }
+
+    /**
+     * The position of the colon that ends a plain key starting at {@code start}, or -1 if there is none
+     * before the end of the line or a comment.
+     */
+    private int keyEnd(int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == ':' && (i + 1 == end || text.charAt(i + 1) == ' ')) {
+                return i;
+            }
+            if (c == '#' && i > start && text.charAt(i - 1) == ' ') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isItem(int index) {
+        int[] line = lines.get(index);
+        return text.charAt(line[2]) == '-' && (line[2] + 1 == line[3] || text.charAt(line[2] + 1) == ' ');
+    }
+
+    private int indent(int index) {
+        return lines.get(index)[1];
+    }
+
+    private int skipSpaces(int position, int end) {
+        while (position < end && text.charAt(position) == ' ') {
+            position++;
+        }
+        return position;
+    }
+
+    private ScalarNode scalar(String value, int index, DumperOptions.ScalarStyle style) {
+        Tag tag = style == DumperOptions.ScalarStyle.PLAIN && NULLS.contains(value) ? Tag.NULL : Tag.STR;
+        Mark mark = mark(index);
+        return new ScalarNode(tag, value, mark, mark, style);
+    }
+
+    private Mark mark(int index) {
+        int line = index < lines.size() ? lines.get(index)[0] : 0;
+        return new Mark("", 0, line, 0, NO_BUFFER, 0);
+    }
+}
@@ -0,0 +1,168 @@
+package com.traefikconfig.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.SplittableRandom;
+
+/**
+ * Editable config text as a piece table.
+ * <p>
+ * The text is a sequence of pieces, each a slice of either the original string or an append-only buffer
+ * of inserted text. Pieces are kept in a treap ordered by position and sized by character count, so an
+ * insert or range delete splits and joins O(log n) nodes and never copies document text. The text is
+ * materialized only by {@link #toString()} or {@link #writeTo(Appendable)}.
+ */
+public final class ConfigBuffer {
+
+    private final String original;
+    private final StringBuilder added = new StringBuilder();
+    private final SplittableRandom random = new SplittableRandom(0x5EEDL);
+    private Node root;
+
+    public ConfigBuffer(String original) {
+        this.original = original;
+        this.root = original.isEmpty() ? null : new Node(false, 0, original.length(), random.nextInt());
+    }
+
+    public int length() {
+        return total(root);
+    }
+
+    /**
+     * Insert text before the character at {@code offset}.
+     */
+    public void insert(int offset, CharSequence text) {
+        checkRange(offset, offset);
+        if (text.length() == 0) {
+            return;
+        }
+        Node piece = new Node(true, added.length(), text.length(), random.nextInt());
+        added.append(text);
+        Node[] parts = split(root, offset);
+        root = merge(merge(parts[0], piece), parts[1]);
+    }
+
+    /**
+     * Delete the characters in {@code [start, end)}.
+     */
+    public void delete(int start, int end) {
+        checkRange(start, end);
+        if (start == end) {
+            return;
+        }
+        Node[] head = split(root, start);
+        Node[] tail = split(head[1], end - start);
+        root = merge(head[0], tail[1]);
+    }
+
+    /**
+     * Write the current text piece by piece.
+     */
+    public void writeTo(Appendable out) throws IOException {
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+        while (node != null || !stack.isEmpty()) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            CharSequence source = node.fromAdded ? added : original;
+            out.append(source, node.start, node.start + node.length);
+            node = node.right;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder(length());
+        try {
+            writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    private void checkRange(int start, int end) {
+        if (start < 0 || end < start || end > length()) {
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") outside buffer of length "
+                    + length());
+        }
+    }
+
+    /**
+     * Split a tree into the first {@code offset} characters and the rest, cutting a piece in two if the
+     * offset falls inside it.
+     */
+    private Node[] split(Node node, int offset) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        int leftTotal = total(node.left);
+        if (offset <= leftTotal) {
+            Node[] parts = split(node.left, offset);
+            node.left = parts[1];
+            node.update();
+            return new Node[] {parts[0], node};
+        }
+        if (offset >= leftTotal + node.length) {
+            Node[] parts = split(node.right, offset - leftTotal - node.length);
+            node.right = parts[0];
+            node.update();
+            return new Node[] {node, parts[1]};
+        }
+        int cut = offset - leftTotal;
+        Node tail = new Node(node.fromAdded, node.start + cut, node.length - cut, random.nextInt());
+        Node rest = merge(tail, node.right);
+        node.length = cut;
+        node.right = null;
+        node.update();
+        return new Node[] {node, rest};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static int total(Node node) {
+        return node == null ? 0 : node.total;
+    }
+
+    private static final class Node {
+        final boolean fromAdded;
+        final int start;
+        final int priority;
+        int length;
+        int total;
+        Node left;
+        Node right;
+
+        Node(boolean fromAdded, int start, int length, int priority) {
+            this.fromAdded = fromAdded;
+            this.start = start;
+            this.length = length;
+            this.priority = priority;
+            this.total = length;
+        }
+
+        void update() {
+            total = length + ConfigBuffer.total(left) + ConfigBuffer.total(right);
+        }
+    }
+}
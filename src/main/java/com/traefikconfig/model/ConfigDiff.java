@@ -0,0 +1,130 @@
+package com.traefikconfig.model;
+
+import com.traefikconfig.model.TraefikConfigModel.RouterDef;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+/**
+ * The routers, services and middlewares that differ between two parsed configs.
+ * <p>
+ * Entries are matched by name, with one map lookup per entry, so a diff takes time linear in the size of the
+ * two models regardless of how much text they came from. A changed entry lists the fields that differ: the
+ * parsed fields of a router, and for services and middlewares every value of their definition, by path
+ * ({@code loadBalancer.servers[0].url}).
+ */
+public final class ConfigDiff {
+
+    public enum Section {
+        ROUTERS, SERVICES, MIDDLEWARES
+    }
+
+    public enum Type {
+        ADDED, REMOVED, CHANGED
+    }
+
+    /**
+     * One entry that differs; {@code fields} is empty unless it changed.
+     */
+    public record Change(Section section, String name, Type type, List<FieldChange> fields) {
+    }
+
+    /**
+     * One field of a changed entry; {@code before} or {@code after} is {@code null} if the field was added or
+     * removed.
+     */
+    public record FieldChange(String field, String before, String after) {
+    }
+
+    private ConfigDiff() {
+    }
+
+    /**
+     * The changes that turn {@code before} into {@code after}: by section, removed and changed entries in the
+     * order of {@code before}, then added entries in the order of {@code after}.
+     */
+    public static List<Change> between(TraefikConfigModel before, TraefikConfigModel after) {
+        if (before == after) {
+            return Collections.emptyList();
+        }
+        List<Change> changes = new ArrayList<>();
+        compare(Section.ROUTERS, before.getRouters(), after.getRouters(), ConfigDiff::routerFields, changes);
+        compare(Section.SERVICES, before.getServices(), after.getServices(),
+                (a, b) -> definitionFields(a.definition(), b.definition()), changes);
+        compare(Section.MIDDLEWARES, before.getMiddlewares(), after.getMiddlewares(),
+                (a, b) -> definitionFields(a.definition(), b.definition()), changes);
+        return changes;
+    }
+
+    private static <T> void compare(Section section, Map<String, T> before, Map<String, T> after,
+            BiFunction<T, T, List<FieldChange>> fields, List<Change> changes) {
+        before.forEach((name, definition) -> {
+            T other = after.get(name);
+            if (other == null) {
+                changes.add(new Change(section, name, Type.REMOVED, List.of()));
+            } else if (!Objects.equals(definition, other)) {
+                changes.add(new Change(section, name, Type.CHANGED, fields.apply(definition, other)));
+            }
+        });
+        after.keySet().forEach(name -> {
+            if (!before.containsKey(name)) {
+                changes.add(new Change(section, name, Type.ADDED, List.of()));
+            }
+        });
+    }
+
+    private static List<FieldChange> routerFields(RouterDef before, RouterDef after) {
+        List<FieldChange> fields = new ArrayList<>();
+        field(fields, "rule", before.rule(), after.rule());
+        field(fields, "service", before.service(), after.service());
+        field(fields, "entryPoints", before.entryPoints(), after.entryPoints());
+        field(fields, "middlewares", before.middlewares(), after.middlewares());
+        field(fields, "tls", before.tls(), after.tls());
+        field(fields, "tls.certResolver", before.certResolver(), after.certResolver());
+        field(fields, "priority", before.priority(), after.priority());
+        return fields;
+    }
+
+    private static void field(List<FieldChange> fields, String name, Object before, Object after) {
+        if (!Objects.equals(before, after)) {
+            fields.add(new FieldChange(name, before != null ? String.valueOf(before) : null,
+                    after != null ? String.valueOf(after) : null));
+        }
+    }
+
+    private static List<FieldChange> definitionFields(Map<String, Object> before, Map<String, Object> after) {
+        Map<String, String> beforeValues = new LinkedHashMap<>();
+        Map<String, String> afterValues = new LinkedHashMap<>();
+        flatten("", before, beforeValues);
+        flatten("", after, afterValues);
+        List<FieldChange> fields = new ArrayList<>();
+        beforeValues.forEach((path, value) -> field(fields, path, value, afterValues.get(path)));
+        afterValues.forEach((path, value) -> {
+            if (!beforeValues.containsKey(path)) {
+                fields.add(new FieldChange(path, null, value));
+            }
+        });
+        return fields;
+    }
+
+    /**
+     * Every scalar of a parsed definition by its path; empty maps and lists count as values.
+     */
+    private static void flatten(String path, Object value, Map<String, String> values) {
+        if (value instanceof Map<?, ?> map && !map.isEmpty()) {
+            map.forEach((key, child) -> flatten(path.isEmpty() ? String.valueOf(key) : path + "." + key, child,
+                    values));
+        } else if (value instanceof List<?> list && !list.isEmpty()) {
+            for (int i = 0; i < list.size(); i++) {
+                flatten(path + "[" + i + "]", list.get(i), values);
+            }
+        } else if (!path.isEmpty()) {
+            values.put(path, value instanceof Map ? "{}" : value instanceof List ? "[]" : String.valueOf(value));
+        }
+    }
+}
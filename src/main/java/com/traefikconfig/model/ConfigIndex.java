@@ -0,0 +1,267 @@
+package com.traefikconfig.model;
+
+import com.traefikconfig.model.TraefikConfigModel.RouterDef;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Sorted, filterable views of the routers and hosts of a parsed config, for paginated listings.
+ * <p>
+ * Sorted orders are built once per config and sort field. Pages are addressed by keyset cursors (the sort
+ * key and name of the last item returned), so a page is found by binary search and stays stable when
+ * routers are added or removed between requests.
+ */
+public final class ConfigIndex {
+
+    /**
+     * A routed hostname with everything its routers have in common or in total.
+     */
+    public record HostEntry(String hostname, List<RouterDef> routers, List<String> services,
+            List<String> entryPoints, boolean tls) {
+    }
+
+    /**
+     * One page of results. {@code nextCursor} is {@code null} on the last page; {@code total} counts every
+     * item that matches the filter.
+     */
+    public record Page<T>(List<T> items, String nextCursor, int total) {
+    }
+
+    /**
+     * Filters shared by both listings; {@code null} fields match everything. A host matches when any of
+     * its routers uses the service or entry point; its TLS flag is set when any router has TLS.
+     */
+    public record Filter(String service, String entryPoint, Boolean tls) {
+
+        boolean matches(RouterDef router) {
+            return (service == null || service.equals(router.service()))
+                    && (entryPoint == null || router.entryPoints().contains(entryPoint))
+                    && (tls == null || tls == router.tls());
+        }
+
+        boolean matches(HostEntry host) {
+            return (service == null || host.services().contains(service))
+                    && (entryPoint == null || host.entryPoints().contains(entryPoint))
+                    && (tls == null || tls == host.tls());
+        }
+    }
+
+    private record SortSpec<T>(String name, Function<T, String> key, Function<T, String> id) {
+    }
+
+    private static final Map<String, SortSpec<RouterDef>> ROUTER_SORTS = Map.of(
+            "name", new SortSpec<>("name", RouterDef::name, RouterDef::name),
+            "service", new SortSpec<>("service", r -> nullToEmpty(r.service()), RouterDef::name),
+            "rule", new SortSpec<>("rule", r -> nullToEmpty(r.rule()), RouterDef::name));
+
+    private static final Map<String, SortSpec<HostEntry>> HOST_SORTS = Map.of(
+            "hostname", new SortSpec<>("hostname", HostEntry::hostname, HostEntry::hostname),
+            "domain", new SortSpec<>("domain", h -> reverseLabels(h.hostname()), HostEntry::hostname));
+
+    private final TraefikConfigModel model;
+    private final Map<String, HostEntry> hosts;
+    private final Map<String, List<?>> sortedViews = new ConcurrentHashMap<>();
+
+    ConfigIndex(TraefikConfigModel model) {
+        this.model = model;
+        Map<String, HostEntry> entries = new LinkedHashMap<>();
+        model.routersByHost().forEach((host, routers) -> {
+            Set<String> services = new LinkedHashSet<>();
+            Set<String> entryPoints = new LinkedHashSet<>();
+            boolean tls = false;
+            for (RouterDef router : routers) {
+                if (router.service() != null) {
+                    services.add(router.service());
+                }
+                entryPoints.addAll(router.entryPoints());
+                tls |= router.tls();
+            }
+            entries.put(host, new HostEntry(host, routers, List.copyOf(services), List.copyOf(entryPoints), tls));
+        });
+        this.hosts = entries;
+    }
+
+    /**
+     * A page of routers.
+     *
+     * @param sort   {@code name}, {@code service} or {@code rule}, prefixed with {@code -} for descending
+     * @param cursor {@code nextCursor} of the previous page, or {@code null} for the first page
+     * @throws IllegalArgumentException on an unknown sort or a cursor from a different sort
+     */
+    public Page<RouterDef> routers(String sort, String cursor, int limit, Filter filter) {
+        SortSpec<RouterDef> spec = spec(ROUTER_SORTS, sort, "name");
+        List<RouterDef> sorted = sortedView("routers:" + spec.name(),
+                () -> new ArrayList<>(model.getRouters().values()), spec);
+        return page(sorted, spec, isDescending(sort), cursor, limit, filter::matches);
+    }
+
+    /**
+     * A page of hosts, optionally restricted to a domain ({@code example.com} or {@code *.example.com}).
+     *
+     * @param sort {@code hostname} or {@code domain} (reversed labels, grouping subdomains), prefixed with
+     *             {@code -} for descending
+     * @throws IllegalArgumentException on an unknown sort or a cursor from a different sort
+     */
+    public Page<HostEntry> hosts(String suffix, String sort, String cursor, int limit, Filter filter) {
+        SortSpec<HostEntry> spec = spec(HOST_SORTS, sort, "hostname");
+        List<HostEntry> sorted;
+        if (suffix == null || suffix.isEmpty()) {
+            sorted = sortedView("hosts:" + spec.name(), () -> new ArrayList<>(hosts.values()), spec);
+        } else {
+            sorted = new ArrayList<>();
+            for (String host : model.hostTrie().hostsUnder(suffix)) {
+                sorted.add(hosts.get(host));
+            }
+            sorted.sort(comparator(spec));
+        }
+        return page(sorted, spec, isDescending(sort), cursor, limit, filter::matches);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> sortedView(String key, Supplier<List<T>> items, SortSpec<T> spec) {
+        return (List<T>) sortedViews.computeIfAbsent(key, k -> {
+            List<T> list = items.get();
+            list.sort(comparator(spec));
+            return List.copyOf(list);
+        });
+    }
+
+    private static <T> Page<T> page(List<T> sorted, SortSpec<T> spec, boolean descending, String cursor, int limit,
+            Predicate<T> filter) {
+        String[] after = cursor != null && !cursor.isEmpty() ? decodeCursor(cursor, spec, descending) : null;
+        int step = descending ? -1 : 1;
+        int index = descending ? sorted.size() - 1 : 0;
+        if (after != null) {
+            index = descending ? lastBefore(sorted, spec, after) : firstAfter(sorted, spec, after);
+        }
+
+        List<T> items = new ArrayList<>(Math.min(limit, sorted.size()));
+        T last = null;
+        boolean more = false;
+        for (; index >= 0 && index < sorted.size(); index += step) {
+            T item = sorted.get(index);
+            if (!filter.test(item)) {
+                continue;
+            }
+            if (items.size() == limit) {
+                more = true;
+                break;
+            }
+            items.add(item);
+            last = item;
+        }
+
+        int total = 0;
+        for (T item : sorted) {
+            if (filter.test(item)) {
+                total++;
+            }
+        }
+        String nextCursor = more ? encodeCursor(spec, descending, last) : null;
+        return new Page<>(items, nextCursor, total);
+    }
+
+    /**
+     * Index of the first item sorting after the cursor position.
+     */
+    private static <T> int firstAfter(List<T> sorted, SortSpec<T> spec, String[] after) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(spec, sorted.get(mid), after) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Index of the last item sorting before the cursor position, or -1.
+     */
+    private static <T> int lastBefore(List<T> sorted, SortSpec<T> spec, String[] before) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(spec, sorted.get(mid), before) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+
+    private static <T> int compare(SortSpec<T> spec, T item, String[] position) {
+        int result = spec.key().apply(item).compareTo(position[0]);
+        return result != 0 ? result : spec.id().apply(item).compareTo(position[1]);
+    }
+
+    private static <T> Comparator<T> comparator(SortSpec<T> spec) {
+        return Comparator.comparing(spec.key()).thenComparing(spec.id());
+    }
+
+    private static <T> SortSpec<T> spec(Map<String, SortSpec<T>> specs, String sort, String defaultSort) {
+        String name = sort == null || sort.isEmpty() ? defaultSort : sort.startsWith("-") ? sort.substring(1) : sort;
+        SortSpec<T> spec = specs.get(name);
+        if (spec == null) {
+            throw new IllegalArgumentException("Unknown sort '" + sort + "'. Available: " + specs.keySet());
+        }
+        return spec;
+    }
+
+    private static boolean isDescending(String sort) {
+        return sort != null && sort.startsWith("-");
+    }
+
+    private static <T> String encodeCursor(SortSpec<T> spec, boolean descending, T last) {
+        String raw = (descending ? "-" : "") + spec.name() + '\0' + spec.key().apply(last) + '\0'
+                + spec.id().apply(last);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static <T> String[] decodeCursor(String cursor, SortSpec<T> spec, boolean descending) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\0", -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length != 3 || !parts[0].equals((descending ? "-" : "") + spec.name())) {
+            throw new IllegalArgumentException("Cursor does not belong to this sort order");
+        }
+        return new String[] {parts[1], parts[2]};
+    }
+
+    private static String reverseLabels(String host) {
+        String[] labels = host.toLowerCase(Locale.ROOT).split("\\.");
+        StringBuilder reversed = new StringBuilder(host.length());
+        for (int i = labels.length - 1; i >= 0; i--) {
+            reversed.append(labels[i]);
+            if (i > 0) {
+                reversed.append('.');
+            }
+        }
+        return reversed.toString();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
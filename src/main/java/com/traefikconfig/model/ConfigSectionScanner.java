@@ -0,0 +1,165 @@
+package com.traefikconfig.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Locates the top-level and second-level sections of a config ({@code http}, {@code http.routers},
+ * {@code http.services}, {@code entryPoints}, ...) in a single pass over the text.
+ * <p>
+ * Only block-style mappings are recognised, which is what Dokploy stores. Offsets refer to the scanned
+ * string, so a scan is only valid until the text is edited.
+ */
+public final class ConfigSectionScanner {
+
+    /**
+     * Character range of a section.
+     *
+     * @param path        dotted key path, e.g. {@code http.routers}
+     * @param indent      indentation of the key line
+     * @param childIndent indentation of the first child line, or -1 if the section has no body
+     * @param keyStart    offset of the start of the key line
+     * @param contentEnd  offset just past the last line of the body (before its line break); appending
+     *                    {@code "\n" + lines} here adds them as the last children
+     * @param end         offset of the next line that is not part of the section, or the text length
+     */
+    public record Section(String path, int indent, int childIndent, int keyStart, int contentEnd, int end) {
+    }
+
+    private final Map<String, Section> sections;
+
+    private ConfigSectionScanner(Map<String, Section> sections) {
+        this.sections = sections;
+    }
+
+    public static ConfigSectionScanner scan(String config) {
+        Map<String, Section> sections = new LinkedHashMap<>();
+        OpenSection top = null;
+        OpenSection second = null;
+        int length = config.length();
+        int position = 0;
+
+        while (position < length) {
+            int lineEnd = config.indexOf('\n', position);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            int indent = 0;
+            while (position + indent < lineEnd && config.charAt(position + indent) == ' ') {
+                indent++;
+            }
+            int textStart = position + indent;
+            boolean blank = textStart >= lineEnd || config.charAt(textStart) == '\r';
+
+            if (!blank && config.charAt(textStart) == '#') {
+                // Comments extend sections indented less than the comment but never close one
+                if (second != null && indent > second.indent) {
+                    second.contentEnd = lineEnd;
+                }
+                if (top != null && indent > top.indent) {
+                    top.contentEnd = lineEnd;
+                }
+            } else if (!blank) {
+                if (second != null && indent <= second.indent) {
+                    sections.put(second.path, second.close(position));
+                    second = null;
+                }
+                if (top != null && indent <= top.indent) {
+                    sections.put(top.path, top.close(position));
+                    top = null;
+                }
+                if (second != null) {
+                    second.body(indent, lineEnd);
+                }
+                if (top != null) {
+                    top.body(indent, lineEnd);
+                }
+
+                String key = keyOf(config, textStart, lineEnd);
+                if (key != null) {
+                    if (top == null && indent == 0) {
+                        top = new OpenSection(key, indent, position, lineEnd);
+                    } else if (top != null && second == null && indent == top.childIndent) {
+                        second = new OpenSection(top.path + "." + key, indent, position, lineEnd);
+                    }
+                }
+            }
+            position = lineEnd + 1;
+        }
+        if (second != null) {
+            sections.put(second.path, second.close(length));
+        }
+        if (top != null) {
+            sections.put(top.path, top.close(length));
+        }
+        return new ConfigSectionScanner(Collections.unmodifiableMap(sections));
+    }
+
+    /**
+     * The section at a dotted path, or {@code null} if the config has none.
+     */
+    public Section get(String path) {
+        return sections.get(path);
+    }
+
+    /**
+     * All recognised sections, ordered by where they end.
+     */
+    public List<Section> sections() {
+        return new ArrayList<>(sections.values());
+    }
+
+    /**
+     * The mapping key of a line, or {@code null} for list items, scalars and flow content.
+     */
+    private static String keyOf(String config, int textStart, int lineEnd) {
+        char first = config.charAt(textStart);
+        if (first == '-' || first == '{' || first == '[') {
+            return null;
+        }
+        for (int i = textStart; i < lineEnd; i++) {
+            char c = config.charAt(i);
+            if (c == ':' && (i + 1 == lineEnd || Character.isWhitespace(config.charAt(i + 1)))) {
+                String key = config.substring(textStart, i).trim();
+                if (key.length() >= 2 && (key.charAt(0) == '"' || key.charAt(0) == '\'')
+                        && key.charAt(key.length() - 1) == key.charAt(0)) {
+                    key = key.substring(1, key.length() - 1);
+                }
+                return key.isEmpty() ? null : key;
+            }
+            if (c == '#' && i > textStart && config.charAt(i - 1) == ' ') {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static final class OpenSection {
+        final String path;
+        final int indent;
+        final int keyStart;
+        int childIndent = -1;
+        int contentEnd;
+
+        OpenSection(String path, int indent, int keyStart, int keyLineEnd) {
+            this.path = path;
+            this.indent = indent;
+            this.keyStart = keyStart;
+            this.contentEnd = keyLineEnd;
+        }
+
+        void body(int lineIndent, int lineEnd) {
+            if (childIndent < 0) {
+                childIndent = lineIndent;
+            }
+            contentEnd = lineEnd;
+        }
+
+        Section close(int end) {
+            return new Section(path, indent, childIndent, keyStart, contentEnd, end);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.traefikconfig.model;
+
+import java.util.List;
+
+/**
+ * A config write rejected by {@link ConfigValidator}: the new config introduces the listed problems. It is an
+ * {@link IllegalArgumentException}, so endpoints answer it with {@code 400 Bad Request} like any other invalid
+ * input, and must not treat it as a missing resource.
+ */
+public class ConfigValidationException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<ConfigValidator.Problem> problems;
+
+    public ConfigValidationException(String message, List<ConfigValidator.Problem> problems) {
+        super(message);
+        this.problems = List.copyOf(problems);
+    }
+
+    public List<ConfigValidator.Problem> getProblems() {
+        return problems;
+    }
+}
@@ -0,0 +1,420 @@
+package com.traefikconfig.model;
+
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.error.MarkedYAMLException;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Structural checks of a Traefik dynamic config, run before it is written.
+ * <p>
+ * The config is composed into YAML nodes, so every problem carries the line it was found on. Plain block-style
+ * configs, which is what Dokploy stores and this service writes, are composed by {@link BlockYamlReader} in a
+ * single pass; anything else goes through SnakeYAML. The checks catch what a broken splice leaves behind:
+ * <ul>
+ *   <li>unknown top-level or {@code http} sections and duplicate keys;</li>
+ *   <li>routers with unexpected keys, a missing or malformed rule, a service that is neither defined under
+ *       {@code http.services} nor external, or a middleware that is neither defined nor external;</li>
+ *   <li>services without exactly one service type or without server URLs;</li>
+ *   <li>middlewares that do not define exactly one middleware type, such as a router under
+ *       {@code middlewares}.</li>
+ * </ul>
+ * References with a provider suffix ({@code name@provider}) are always external. Other names defined outside
+ * this config, e.g. in a shared file of the same provider, are passed to the constructor.
+ */
+public final class ConfigValidator {
+
+    private static final Set<String> ROOT_SECTIONS = Set.of("http", "tcp", "udp", "tls");
+    private static final Set<String> HTTP_SECTIONS = Set.of("routers", "services", "middlewares",
+            "serversTransports");
+    private static final Set<String> ROUTER_KEYS = Set.of("rule", "service", "entryPoints", "middlewares", "tls",
+            "priority", "ruleSyntax", "observability");
+    private static final Set<String> SERVICE_TYPES = Set.of("loadBalancer", "weighted", "mirroring", "failover");
+    private static final Set<String> RULE_MATCHERS = Set.of("Host", "HostRegexp", "HostHeader", "Path", "PathPrefix",
+            "PathRegexp", "Method", "Methods", "Header", "HeaderRegexp", "Headers", "HeadersRegexp", "Query",
+            "QueryRegexp", "ClientIP");
+
+    private final Set<String> externalServices;
+    private final Set<String> externalMiddlewares;
+    private final int codePointLimit;
+
+    /**
+     * A problem in a config. {@code path} is the dotted position of the offending entry, e.g.
+     * {@code http.routers.app-router.service}.
+     */
+    public record Problem(int line, String path, String message) {
+
+        /**
+         * The problem without its line, which shifts when other parts of the config change.
+         */
+        public String key() {
+            return path.isEmpty() ? message : path + ": " + message;
+        }
+
+        @Override
+        public String toString() {
+            return "line " + line + ": " + key();
+        }
+    }
+
+    public ConfigValidator(Collection<String> externalServices, Collection<String> externalMiddlewares) {
+        this(externalServices, externalMiddlewares, TraefikConfigModel.DEFAULT_CODE_POINT_LIMIT);
+    }
+
+    /**
+     * @param codePointLimit largest config composed by SnakeYAML; a longer one is reported as invalid YAML
+     */
+    public ConfigValidator(Collection<String> externalServices, Collection<String> externalMiddlewares,
+            int codePointLimit) {
+        this.externalServices = Set.copyOf(externalServices);
+        this.externalMiddlewares = Set.copyOf(externalMiddlewares);
+        this.codePointLimit = codePointLimit;
+    }
+
+    /**
+     * Every problem in a config, in document order. An empty config has none.
+     */
+    public List<Problem> validate(String yaml) {
+        List<Problem> problems = new ArrayList<>();
+        Node root = BlockYamlReader.read(yaml);
+        try {
+            if (root == null) {
+                root = new Yaml(new SafeConstructor(TraefikConfigModel.loaderOptions(codePointLimit)))
+                        .compose(new StringReader(yaml));
+            }
+        } catch (MarkedYAMLException e) {
+            Mark mark = e.getProblemMark() != null ? e.getProblemMark() : e.getContextMark();
+            problems.add(new Problem(mark != null ? mark.getLine() + 1 : 0, "", "invalid YAML: " + e.getProblem()));
+            return problems;
+        } catch (YAMLException e) {
+            problems.add(new Problem(0, "", "invalid YAML: " + e.getMessage()));
+            return problems;
+        }
+        if (root == null) {
+            return problems;
+        }
+
+        Map<String, NodeTuple> sections = entries(root, "", problems);
+        sections.forEach((name, entry) -> {
+            if (!ROOT_SECTIONS.contains(name)) {
+                problems.add(problem(entry.getKeyNode(), name, "unknown section"));
+            }
+        });
+        NodeTuple http = sections.get("http");
+        if (http == null) {
+            return problems;
+        }
+        Map<String, NodeTuple> httpSections = entries(http.getValueNode(), "http", problems);
+        httpSections.forEach((name, entry) -> {
+            if (!HTTP_SECTIONS.contains(name)) {
+                problems.add(problem(entry.getKeyNode(), "http." + name, "unknown section"));
+            }
+        });
+
+        Map<String, NodeTuple> services = section(httpSections, "services", problems);
+        Map<String, NodeTuple> middlewares = section(httpSections, "middlewares", problems);
+        section(httpSections, "routers", problems).forEach((name, entry) ->
+                checkRouter("http.routers." + name, entry.getValueNode(), services.keySet(), middlewares.keySet(),
+                        problems));
+        services.forEach((name, entry) -> checkService("http.services." + name, entry.getValueNode(), problems));
+        middlewares.forEach((name, entry) ->
+                checkMiddleware("http.middlewares." + name, entry.getValueNode(), problems));
+
+        problems.sort((a, b) -> Integer.compare(a.line(), b.line()));
+        return problems;
+    }
+
+    private void checkRouter(String path, Node router, Set<String> services, Set<String> middlewares,
+            List<Problem> problems) {
+        if (!(router instanceof MappingNode)) {
+            problems.add(problem(router, path, "router must be a mapping"));
+            return;
+        }
+        Map<String, NodeTuple> fields = entries(router, path, problems);
+        fields.forEach((key, entry) -> {
+            if (!ROUTER_KEYS.contains(key)) {
+                problems.add(problem(entry.getKeyNode(), path + "." + key, "unexpected router key"));
+            }
+        });
+
+        String rule = scalar(fields.get("rule"));
+        if (rule == null || rule.isBlank()) {
+            problems.add(problem(router, path, "missing rule"));
+        } else {
+            String error = new RuleChecker(rule).check();
+            if (error != null) {
+                problems.add(problem(fields.get("rule").getValueNode(), path + ".rule", error));
+            }
+        }
+
+        String service = scalar(fields.get("service"));
+        if (service == null || service.isBlank()) {
+            problems.add(problem(router, path, "missing service"));
+        } else if (!service.contains("@") && !services.contains(service) && !externalServices.contains(service)) {
+            problems.add(problem(fields.get("service").getValueNode(), path + ".service",
+                    "unknown service '" + service + "'"));
+        }
+
+        NodeTuple used = fields.get("middlewares");
+        if (used != null) {
+            for (Node item : items(used, path + ".middlewares", problems)) {
+                String middleware = item instanceof ScalarNode scalar ? scalar.getValue() : null;
+                if (middleware == null || middleware.isBlank()) {
+                    problems.add(problem(item, path + ".middlewares", "middleware reference must be a name"));
+                } else if (!middleware.contains("@") && !middlewares.contains(middleware)
+                        && !externalMiddlewares.contains(middleware)) {
+                    problems.add(problem(item, path + ".middlewares", "unknown middleware '" + middleware + "'"));
+                }
+            }
+        }
+        NodeTuple entryPoints = fields.get("entryPoints");
+        if (entryPoints != null) {
+            items(entryPoints, path + ".entryPoints", problems);
+        }
+    }
+
+    private static void checkService(String path, Node service, List<Problem> problems) {
+        Map<String, NodeTuple> fields = entries(service, path, problems);
+        if (isScalar(service)) {
+            return;
+        }
+        List<String> types = new ArrayList<>(fields.keySet());
+        types.retainAll(SERVICE_TYPES);
+        if (types.size() != 1) {
+            problems.add(problem(service, path, "service must define exactly one of " + SERVICE_TYPES.stream()
+                    .sorted().toList() + ", found " + fields.keySet()));
+            return;
+        }
+        if (!types.get(0).equals("loadBalancer")) {
+            return;
+        }
+        NodeTuple loadBalancer = fields.get("loadBalancer");
+        NodeTuple servers = entries(loadBalancer.getValueNode(), path + ".loadBalancer", problems).get("servers");
+        List<Node> serverNodes = servers != null
+                ? items(servers, path + ".loadBalancer.servers", problems) : Collections.emptyList();
+        if (serverNodes.isEmpty()) {
+            problems.add(problem(loadBalancer.getKeyNode(), path + ".loadBalancer", "no servers"));
+        }
+        for (Node server : serverNodes) {
+            String url = scalar(entries(server, path + ".loadBalancer.servers", problems).get("url"));
+            if (url == null || url.isBlank()) {
+                problems.add(problem(server, path + ".loadBalancer.servers", "server without url"));
+            }
+        }
+    }
+
+    private static void checkMiddleware(String path, Node middleware, List<Problem> problems) {
+        Map<String, NodeTuple> fields = entries(middleware, path, problems);
+        if (!isScalar(middleware) && fields.size() != 1) {
+            boolean router = fields.containsKey("rule") || fields.containsKey("service");
+            problems.add(problem(middleware, path, "middleware must define exactly one type, found "
+                    + fields.keySet() + (router ? " (a router under middlewares?)" : "")));
+        }
+    }
+
+    /**
+     * The entries of a section that is expected to be a mapping; an empty section has none.
+     */
+    private static Map<String, NodeTuple> section(Map<String, NodeTuple> parent, String name,
+            List<Problem> problems) {
+        NodeTuple section = parent.get(name);
+        return section != null ? entries(section.getValueNode(), "http." + name, problems) : Collections.emptyMap();
+    }
+
+    /**
+     * The entries of a mapping node by key, reporting duplicate keys and non-mapping nodes. A null scalar
+     * ({@code key:} with nothing after it) is an empty mapping.
+     */
+    private static Map<String, NodeTuple> entries(Node node, String path, List<Problem> problems) {
+        if (!(node instanceof MappingNode mapping)) {
+            if (!isNull(node)) {
+                problems.add(problem(node, path, "expected a mapping"));
+            }
+            return Collections.emptyMap();
+        }
+        Map<String, NodeTuple> entries = new LinkedHashMap<>();
+        for (NodeTuple tuple : mapping.getValue()) {
+            String key = tuple.getKeyNode() instanceof ScalarNode scalar ? scalar.getValue() : null;
+            if (key == null) {
+                problems.add(problem(tuple.getKeyNode(), path, "key must be a scalar"));
+                continue;
+            }
+            NodeTuple first = entries.putIfAbsent(key, tuple);
+            if (first != null) {
+                problems.add(problem(tuple.getKeyNode(), path.isEmpty() ? key : path + "." + key,
+                        "duplicate key (first defined on line " + (first.getKeyNode().getStartMark().getLine() + 1)
+                                + ")"));
+            }
+        }
+        return entries;
+    }
+
+    private static List<Node> items(NodeTuple entry, String path, List<Problem> problems) {
+        Node node = entry.getValueNode();
+        if (node instanceof SequenceNode sequence) {
+            return sequence.getValue();
+        }
+        if (!isNull(node)) {
+            problems.add(problem(node, path, "expected a list"));
+        }
+        return Collections.emptyList();
+    }
+
+    private static String scalar(NodeTuple entry) {
+        return entry != null && entry.getValueNode() instanceof ScalarNode scalar && !isNull(scalar)
+                ? scalar.getValue() : null;
+    }
+
+    /**
+     * A node that is neither a mapping nor empty; {@link #entries} has already reported it.
+     */
+    private static boolean isScalar(Node node) {
+        return !(node instanceof MappingNode) && !isNull(node);
+    }
+
+    private static boolean isNull(Node node) {
+        return node instanceof ScalarNode scalar && scalar.getTag().getValue().endsWith(":null");
+    }
+
+    private static Problem problem(Node node, String path, String message) {
+        return new Problem(node.getStartMark().getLine() + 1, path, message);
+    }
+
+    /**
+     * Recursive-descent check of a router rule: matchers such as {@code Host(`a.com`)} with quoted, non-empty
+     * arguments, combined with {@code &&}, {@code ||}, {@code !} and parentheses.
+     */
+    private static final class RuleChecker {
+
+        private final String rule;
+        private int position;
+
+        RuleChecker(String rule) {
+            this.rule = rule;
+        }
+
+        /**
+         * What is wrong with the rule, or {@code null} if it is well-formed.
+         */
+        String check() {
+            try {
+                or();
+                skipSpaces();
+                if (position < rule.length()) {
+                    throw error("unexpected '" + rule.charAt(position) + "'");
+                }
+                return null;
+            } catch (IllegalStateException e) {
+                return e.getMessage();
+            }
+        }
+
+        private void or() {
+            and();
+            while (consume("||")) {
+                and();
+            }
+        }
+
+        private void and() {
+            unary();
+            while (consume("&&")) {
+                unary();
+            }
+        }
+
+        private void unary() {
+            if (consume("!")) {
+                unary();
+            } else if (consume("(")) {
+                or();
+                expect(')');
+            } else {
+                matcher();
+            }
+        }
+
+        private void matcher() {
+            skipSpaces();
+            int start = position;
+            while (position < rule.length() && Character.isLetter(rule.charAt(position))) {
+                position++;
+            }
+            String name = rule.substring(start, position);
+            if (name.isEmpty()) {
+                throw error(position < rule.length() ? "unexpected '" + rule.charAt(position) + "'"
+                        : "unexpected end of rule");
+            }
+            if (!RULE_MATCHERS.contains(name)) {
+                position = start;
+                throw error("unknown matcher '" + name + "'");
+            }
+            expect('(');
+            do {
+                argument(name);
+            } while (consume(","));
+            expect(')');
+        }
+
+        private void argument(String matcher) {
+            skipSpaces();
+            char quote = position < rule.length() ? rule.charAt(position) : 0;
+            if (quote != '`' && quote != '"') {
+                throw error(matcher + "() arguments must be quoted with ` or \"");
+            }
+            int start = ++position;
+            while (position < rule.length() && rule.charAt(position) != quote) {
+                position += quote == '"' && rule.charAt(position) == '\\' ? 2 : 1;
+            }
+            if (position >= rule.length()) {
+                position = start - 1;
+                throw error("unterminated " + quote + " in " + matcher + "()");
+            }
+            if (position == start) {
+                throw error(matcher + "() argument is empty");
+            }
+            position++;
+        }
+
+        private boolean consume(String token) {
+            skipSpaces();
+            if (rule.startsWith(token, position)) {
+                position += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!consume(String.valueOf(c))) {
+                throw error("expected '" + c + "'" + (position < rule.length()
+                        ? " but found '" + rule.charAt(position) + "'" : " at end of rule"));
+            }
+        }
+
+        private void skipSpaces() {
+            while (position < rule.length() && Character.isWhitespace(rule.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalStateException error(String message) {
+            return new IllegalStateException("malformed rule: " + message + " at column " + (position + 1));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.traefikconfig.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Hostnames indexed by their labels in reverse order ({@code app.example.com} is stored as
+ * {@code com -> example -> app}), so every host under a domain is one subtree.
+ * <p>
+ * Lookups cost one step per label of the queried domain plus the size of the result. Hostnames are
+ * case-insensitive and stored lowercased; results carry the hostnames as they were added.
+ */
+public final class HostTrie {
+
+    private final Node root = new Node();
+    private int size;
+
+    private static final class Node {
+        Map<String, Node> children;
+        String host;
+    }
+
+    public void add(String host) {
+        Node node = root;
+        for (String label : reversedLabels(host)) {
+            if (node.children == null) {
+                node.children = new HashMap<>(4);
+            }
+            node = node.children.computeIfAbsent(label, l -> new Node());
+        }
+        if (node.host == null) {
+            node.host = host;
+            size++;
+        }
+    }
+
+    public boolean contains(String host) {
+        Node node = find(host);
+        return node != null && node.host != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Hosts at or below a domain. {@code example.com} matches {@code example.com} and
+     * {@code app.example.com}; a leading {@code *.} ({@code *.example.com}) only matches hosts strictly
+     * below it.
+     */
+    public List<String> hostsUnder(String suffix) {
+        boolean strict = suffix.startsWith("*.");
+        Node start = find(strict ? suffix.substring(2) : suffix);
+        if (start == null) {
+            return Collections.emptyList();
+        }
+        List<String> hosts = new ArrayList<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            if (node.host != null && !(strict && node == start)) {
+                hosts.add(node.host);
+            }
+            if (node.children != null) {
+                node.children.values().forEach(stack::push);
+            }
+        }
+        Collections.sort(hosts);
+        return hosts;
+    }
+
+    private Node find(String domain) {
+        Node node = root;
+        for (String label : reversedLabels(domain)) {
+            if (node.children == null || (node = node.children.get(label)) == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    private static List<String> reversedLabels(String host) {
+        String normalized = host.toLowerCase(Locale.ROOT);
+        if (normalized.endsWith(".")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        List<String> labels = new ArrayList<>(4);
+        int end = normalized.length();
+        for (int i = end - 1; i >= -1; i--) {
+            if (i < 0 || normalized.charAt(i) == '.') {
+                if (end > i + 1) {
+                    labels.add(normalized.substring(i + 1, end));
+                }
+                end = i;
+            }
+        }
+        return labels;
+    }
+}
@@ -0,0 +1,136 @@
+package com.traefikconfig.model;
+
+import java.net.IDN;
+import java.util.Locale;
+
+/**
+ * Validation and normalization of the hostnames that go into {@code Host(`...`)} rules and router names.
+ * <p>
+ * A normalized hostname is an RFC 1123 name in lowercase ASCII: dot-separated labels of 1 to 63 letters,
+ * digits and hyphens, not starting or ending with a hyphen, at most 253 characters, without a trailing dot.
+ * Internationalized names are converted to their {@code xn--} form. Input that is already normalized is
+ * checked in a single scan and returned as is.
+ */
+public final class Hostnames {
+
+    private static final int MAX_LENGTH = 253;
+    private static final int MAX_LABEL_LENGTH = 63;
+
+    private Hostnames() {
+    }
+
+    /**
+     * The normalized form of a hostname.
+     *
+     * @throws IllegalArgumentException if the hostname is empty or not a valid DNS name
+     */
+    public static String normalize(String hostname) {
+        if (hostname == null) {
+            throw new IllegalArgumentException("Hostname is required");
+        }
+        if (check(hostname) == null) {
+            return hostname;
+        }
+
+        String host = hostname.trim();
+        if (host.endsWith(".")) {
+            host = host.substring(0, host.length() - 1);
+        }
+        if (!isAscii(host)) {
+            try {
+                host = IDN.toASCII(host, IDN.USE_STD3_ASCII_RULES);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid hostname '" + printable(hostname) + "': "
+                        + e.getMessage());
+            }
+        }
+        host = host.toLowerCase(Locale.ROOT);
+        String problem = check(host);
+        if (problem != null) {
+            throw new IllegalArgumentException("Invalid hostname '" + printable(hostname) + "': " + problem);
+        }
+        return host;
+    }
+
+    /**
+     * The normalized form of a domain used to select hosts: a hostname, optionally prefixed with {@code *.}.
+     *
+     * @throws IllegalArgumentException if the domain is empty or not a valid DNS name
+     */
+    public static String normalizeSuffix(String suffix) {
+        String trimmed = suffix != null ? suffix.trim() : "";
+        if (trimmed.startsWith("*.")) {
+            return "*." + normalize(trimmed.substring(2));
+        }
+        return normalize(trimmed);
+    }
+
+    /**
+     * The first label of a hostname, e.g. {@code app} for {@code app.example.com}.
+     */
+    public static String firstLabel(String host) {
+        int dot = host.indexOf('.');
+        return dot < 0 ? host : host.substring(0, dot);
+    }
+
+    /**
+     * Why a hostname is not normalized, or {@code null} if it is.
+     */
+    private static String check(String host) {
+        int length = host.length();
+        if (length == 0) {
+            return "hostname is empty";
+        }
+        if (length > MAX_LENGTH) {
+            return "longer than " + MAX_LENGTH + " characters";
+        }
+        int labelStart = 0;
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? host.charAt(i) : '.';
+            if (c == '.') {
+                int labelLength = i - labelStart;
+                if (labelLength == 0) {
+                    return "empty label";
+                }
+                if (labelLength > MAX_LABEL_LENGTH) {
+                    return "label longer than " + MAX_LABEL_LENGTH + " characters";
+                }
+                if (host.charAt(labelStart) == '-' || host.charAt(i - 1) == '-') {
+                    return "label starts or ends with a hyphen";
+                }
+                labelStart = i + 1;
+            } else if (!(c >= 'a' && c <= 'z') && !(c >= '0' && c <= '9') && c != '-') {
+                return c >= 'A' && c <= 'Z' ? "uppercase" : "invalid character '" + printable(String.valueOf(c)) + "'";
+            }
+        }
+        return null;
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The value with control characters escaped, so it can be echoed in messages and logs.
+     */
+    private static String printable(String value) {
+        StringBuilder out = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isISOControl(c)) {
+                if (out == null) {
+                    out = new StringBuilder(value.length() + 8).append(value, 0, i);
+                }
+                out.append(String.format("\\u%04x", (int) c));
+            } else if (out != null) {
+                out.append(c);
+            }
+        }
+        return out != null ? out.toString() : value;
+    }
+}
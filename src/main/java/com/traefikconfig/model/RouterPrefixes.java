@@ -0,0 +1,143 @@
+package com.traefikconfig.model;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Assigns the prefix that names a host's generated routers and service ({@code <prefix>-router},
+ * {@code <prefix>-service}, ...).
+ * <p>
+ * A host's prefix is its first label, so {@code app.example.com} gets {@code app}. When that prefix already
+ * names the routers of another host ({@code app.example.org}), the host gets its first label followed by a
+ * hash of the full hostname ({@code app-1f2e3d4c}) instead. The hash only depends on the hostname, so the
+ * same host always gets the same name. Hosts that already have generated routers keep their prefix.
+ * <p>
+ * The prefixes in use are derived from the router names of each host, once per parsed config (see
+ * {@link TraefikConfigModel#prefixClaims()}) or from a scan of the text; an instance layers the claims and
+ * releases of one operation on top of them.
+ */
+public final class RouterPrefixes {
+
+    private final Map<String, String> existing;
+    private final Map<String, String> claimed = new HashMap<>();
+    private final Set<String> released = new HashSet<>();
+
+    private RouterPrefixes(Map<String, String> existing) {
+        this.existing = existing;
+    }
+
+    public static RouterPrefixes of(TraefikConfigModel model) {
+        return new RouterPrefixes(model.prefixClaims());
+    }
+
+    /**
+     * The prefixes of a config given the names of the routers of each host.
+     */
+    public static RouterPrefixes of(Map<String, List<String>> routerNamesByHost) {
+        return new RouterPrefixes(claims(routerNamesByHost));
+    }
+
+    /**
+     * The prefix of a host, claiming a new one if the host has none yet.
+     */
+    public String prefixFor(String host) {
+        String label = Hostnames.firstLabel(host);
+        String hashed = hashedPrefix(host);
+        if (host.equals(owner(hashed))) {
+            return hashed;
+        }
+        String owner = owner(label);
+        if (owner == null || owner.equals(host)) {
+            claim(label, host);
+            return label;
+        }
+        String prefix = hashed;
+        for (int n = 2; owner(prefix) != null && !host.equals(owner(prefix)); n++) {
+            // Two hostnames with the same hash: very unlikely, but names must stay unique
+            prefix = hashed + "-" + n;
+        }
+        claim(prefix, host);
+        return prefix;
+    }
+
+    /**
+     * Give up the prefix of a host that is being removed, so a host added in the same operation can take it.
+     *
+     * @return the prefix the host had, or {@code null} if it had none
+     */
+    public String release(String hostname) {
+        String host = hostname.toLowerCase(Locale.ROOT);
+        String label = Hostnames.firstLabel(host);
+        String hashed = hashedPrefix(host);
+        String releasedPrefix = null;
+        for (String prefix : List.of(label, hashed)) {
+            if (host.equals(owner(prefix))) {
+                claimed.remove(prefix);
+                released.add(prefix);
+                releasedPrefix = prefix;
+            }
+        }
+        return releasedPrefix;
+    }
+
+    private String owner(String prefix) {
+        String owner = claimed.get(prefix);
+        if (owner == null && !released.contains(prefix)) {
+            owner = existing.get(prefix);
+        }
+        return owner;
+    }
+
+    private void claim(String prefix, String host) {
+        claimed.put(prefix, host);
+        released.remove(prefix);
+    }
+
+    /**
+     * First label of the host and the FNV-1a hash of the whole hostname in hex.
+     */
+    static String hashedPrefix(String host) {
+        int hash = 0x811C9DC5;
+        for (int i = 0; i < host.length(); i++) {
+            hash ^= host.charAt(i);
+            hash *= 0x01000193;
+        }
+        char[] hex = new char[8];
+        for (int i = 7; i >= 0; i--) {
+            hex[i] = Character.forDigit(hash & 0xF, 16);
+            hash >>>= 4;
+        }
+        return Hostnames.firstLabel(host) + "-" + new String(hex);
+    }
+
+    /**
+     * The prefix each host's generated routers are named after, keyed by prefix. Routers that do not follow
+     * the {@code <prefix>-...} naming claim nothing.
+     */
+    static Map<String, String> claims(Map<String, List<String>> routerNamesByHost) {
+        Map<String, String> claims = new HashMap<>();
+        routerNamesByHost.forEach((name, routers) -> {
+            String host = name.toLowerCase(Locale.ROOT);
+            String hashed = hashedPrefix(host);
+            String label = Hostnames.firstLabel(host);
+            String prefix = null;
+            for (String router : routers) {
+                if (router.startsWith(hashed + "-")) {
+                    prefix = hashed;
+                    break;
+                }
+                if (router.startsWith(label + "-")) {
+                    prefix = label;
+                }
+            }
+            if (prefix != null) {
+                claims.putIfAbsent(prefix, host);
+            }
+        });
+        return claims;
+    }
+}
@@ -0,0 +1,518 @@
+package com.traefikconfig.model;
+
+import com.traefikconfig.model.TraefikConfigModel.RouterDef;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Router rules parsed into the hosts and paths they match and indexed by host, to find routers that compete
+ * for the same requests on a shared entry point.
+ * <p>
+ * A rule is read as alternatives ({@code ||}) that each match a host, a {@code Path} or {@code PathPrefix},
+ * paths excluded with {@code !Path}/{@code !PathPrefix}, and other matchers, which are compared as text. A rule
+ * that cannot be read that way, e.g. one that negates a group, is only checked for duplicates. Without an
+ * explicit priority Traefik gives a router the length of its rule, so where two routers match a request the one
+ * with the longer rule wins.
+ * <p>
+ * Routers only compete if they share an entry point and both use TLS or both do not. Finding the conflicts of
+ * one router only visits the routers of its hosts and the routers without a host.
+ */
+public final class RuleIndex {
+
+    private static final int MAX_ALTERNATIVES = 64;
+
+    public enum Type {
+        /** Both routers have the same rule; which one Traefik uses is undefined. */
+        DUPLICATE,
+        /** Every request {@code router} matches goes to {@code other}, so {@code router} never matches. */
+        SHADOWED,
+        /** Both routers match some requests; {@code winner} gets them, if it is defined. */
+        OVERLAP
+    }
+
+    /**
+     * A conflict between two routers on the entry points they share ({@code entryPoints}, empty for all).
+     * {@code winner} is the router that gets the requests both match, or {@code null} if that is undefined.
+     */
+    public record Conflict(Type type, String router, String other, String winner, List<String> entryPoints) {
+    }
+
+    /**
+     * An exact path or a path prefix.
+     */
+    private record PathMatch(String path, boolean prefix) {
+
+        boolean contains(PathMatch other) {
+            return prefix ? other.path.startsWith(path) : !other.prefix && other.path.equals(path);
+        }
+
+        boolean disjoint(PathMatch other) {
+            return !contains(other) && !other.contains(this);
+        }
+
+        @Override
+        public String toString() {
+            return (prefix ? "PathPrefix:" : "Path:") + path;
+        }
+    }
+
+    /**
+     * One alternative of a rule. A {@code null} host or path matches any.
+     */
+    private record Clause(String host, PathMatch path, List<PathMatch> excluded, Set<String> others) {
+
+        /**
+         * Whether every request {@code other} matches is also matched by this clause.
+         */
+        boolean covers(Clause other) {
+            if (host != null && !host.equals(other.host)) {
+                return false;
+            }
+            if (path != null && (other.path == null || !path.contains(other.path))) {
+                return false;
+            }
+            for (PathMatch exclusion : excluded) {
+                if (!(other.path != null && exclusion.disjoint(other.path)) && !excludes(other, exclusion)) {
+                    return false;
+                }
+            }
+            return other.others.containsAll(others);
+        }
+
+        /**
+         * Whether some request is certainly matched by both clauses.
+         */
+        boolean intersects(Clause other) {
+            if (host != null && other.host != null && !host.equals(other.host)) {
+                return false;
+            }
+            PathMatch both = path;
+            if (other.path != null) {
+                if (path != null && path.disjoint(other.path)) {
+                    return false;
+                }
+                both = path == null || path.contains(other.path) ? other.path : path;
+            }
+            if (both != null ? excludes(this, both) || excludes(other, both)
+                    : excludesAll(this) || excludesAll(other)) {
+                return false;
+            }
+            return others.containsAll(other.others) || other.others.containsAll(others);
+        }
+
+        private static boolean excludes(Clause clause, PathMatch paths) {
+            return clause.excluded.stream().anyMatch(exclusion -> exclusion.contains(paths));
+        }
+
+        private static boolean excludesAll(Clause clause) {
+            return clause.excluded.stream().anyMatch(exclusion -> exclusion.prefix()
+                    && (exclusion.path().isEmpty() || exclusion.path().equals("/")));
+        }
+    }
+
+    /**
+     * A router with its parsed rule; {@code clauses} is {@code null} if the rule could not be read.
+     */
+    private record Entry(RouterDef router, List<Clause> clauses, String key, int priority) {
+    }
+
+    private final Map<String, Entry> byName = new HashMap<>();
+    private final Map<String, List<Entry>> byHost = new HashMap<>();
+    private final Map<String, List<Entry>> byKey = new HashMap<>();
+    private final List<Entry> anyHost = new ArrayList<>();
+    private final List<Entry> parsed = new ArrayList<>();
+
+    RuleIndex(Collection<RouterDef> routers) {
+        for (RouterDef router : routers) {
+            if (router.rule() == null || router.rule().isBlank()) {
+                continue;
+            }
+            List<Clause> clauses = RuleParser.parse(router.rule());
+            String key = clauses != null ? "parsed:" + canonical(clauses)
+                    : "raw:" + router.rule().replaceAll("\\s+", "");
+            Entry entry = new Entry(router, clauses, key,
+                    router.priority() > 0 ? router.priority() : router.rule().length());
+            byName.put(router.name(), entry);
+            byKey.computeIfAbsent(key, k -> new ArrayList<>(1)).add(entry);
+            if (clauses == null) {
+                continue;
+            }
+            parsed.add(entry);
+            boolean indexedAnyHost = false;
+            for (Clause clause : clauses) {
+                if (clause.host() == null) {
+                    if (!indexedAnyHost) {
+                        anyHost.add(entry);
+                        indexedAnyHost = true;
+                    }
+                } else {
+                    List<Entry> routersOfHost = byHost.computeIfAbsent(clause.host(), h -> new ArrayList<>(2));
+                    if (routersOfHost.isEmpty() || routersOfHost.get(routersOfHost.size() - 1) != entry) {
+                        routersOfHost.add(entry);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The conflicts of a router with every other router that shares an entry point with it, in config order.
+     * Empty if the router does not exist or has no rule.
+     */
+    public List<Conflict> conflicts(String routerName) {
+        Entry entry = byName.get(routerName);
+        if (entry == null) {
+            return Collections.emptyList();
+        }
+        List<Conflict> conflicts = new ArrayList<>();
+        Map<String, Entry> candidates = new LinkedHashMap<>();
+        for (Entry duplicate : byKey.get(entry.key())) {
+            if (duplicate != entry) {
+                List<String> shared = sharedEntryPoints(entry.router(), duplicate.router());
+                if (shared != null) {
+                    conflicts.add(compareDuplicate(entry, duplicate, shared));
+                }
+            }
+            candidates.put(duplicate.router().name(), entry); // compared already
+        }
+        if (entry.clauses() != null) {
+            for (Clause clause : entry.clauses()) {
+                Collection<Entry> sameHost = clause.host() == null ? parsed
+                        : byHost.getOrDefault(clause.host(), Collections.emptyList());
+                sameHost.forEach(other -> candidates.putIfAbsent(other.router().name(), other));
+            }
+            anyHost.forEach(other -> candidates.putIfAbsent(other.router().name(), other));
+        }
+        for (Entry other : candidates.values()) {
+            if (other == entry) {
+                continue;
+            }
+            List<String> shared = sharedEntryPoints(entry.router(), other.router());
+            if (shared != null) {
+                Conflict conflict = compare(entry, other, shared);
+                if (conflict != null) {
+                    conflicts.add(conflict);
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    private static Conflict compareDuplicate(Entry entry, Entry duplicate, List<String> shared) {
+        String name = entry.router().name();
+        String other = duplicate.router().name();
+        if (entry.priority() == duplicate.priority()) {
+            return new Conflict(Type.DUPLICATE, name, other, null, shared);
+        }
+        return entry.priority() < duplicate.priority()
+                ? new Conflict(Type.SHADOWED, name, other, other, shared)
+                : new Conflict(Type.SHADOWED, other, name, name, shared);
+    }
+
+    private static Conflict compare(Entry entry, Entry other, List<String> shared) {
+        String name = entry.router().name();
+        String otherName = other.router().name();
+        if (other.priority() > entry.priority() && covers(other.clauses(), entry.clauses())) {
+            return new Conflict(Type.SHADOWED, name, otherName, otherName, shared);
+        }
+        if (entry.priority() > other.priority() && covers(entry.clauses(), other.clauses())) {
+            return new Conflict(Type.SHADOWED, otherName, name, name, shared);
+        }
+        if (!intersects(entry.clauses(), other.clauses())) {
+            return null;
+        }
+        String winner = entry.priority() == other.priority() ? null
+                : entry.priority() > other.priority() ? name : otherName;
+        return new Conflict(Type.OVERLAP, name, otherName, winner, shared);
+    }
+
+    /**
+     * Whether every alternative of {@code covered} is matched by some alternative of {@code covering}.
+     */
+    private static boolean covers(List<Clause> covering, List<Clause> covered) {
+        if (covered.isEmpty()) {
+            return false;
+        }
+        for (Clause clause : covered) {
+            if (covering.stream().noneMatch(candidate -> candidate.covers(clause))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean intersects(List<Clause> first, List<Clause> second) {
+        for (Clause clause : first) {
+            for (Clause other : second) {
+                if (clause.intersects(other)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The entry points two routers share, empty if both listen on all of them, or {@code null} if they never
+     * see the same requests. A router without entry points listens on all of them; a router with {@code tls}
+     * only gets HTTPS requests and one without only plain HTTP requests.
+     */
+    private static List<String> sharedEntryPoints(RouterDef first, RouterDef second) {
+        if (first.tls() != second.tls()) {
+            return null;
+        }
+        if (first.entryPoints().isEmpty()) {
+            return second.entryPoints();
+        }
+        if (second.entryPoints().isEmpty()) {
+            return first.entryPoints();
+        }
+        List<String> shared = new ArrayList<>(first.entryPoints());
+        shared.retainAll(second.entryPoints());
+        return shared.isEmpty() ? null : shared;
+    }
+
+    private static String canonical(List<Clause> clauses) {
+        Set<String> sorted = new TreeSet<>();
+        for (Clause clause : clauses) {
+            sorted.add(clause.host() + "|" + clause.path() + "|" + new TreeSet<>(clause.excluded().stream()
+                    .map(PathMatch::toString).toList()) + "|" + clause.others());
+        }
+        return sorted.toString();
+    }
+
+    /**
+     * Reads a rule into alternatives: an OR of ANDs of matchers. Returns {@code null} for rules it cannot
+     * read, including malformed ones, which {@link ConfigValidator} reports.
+     */
+    private static final class RuleParser {
+
+        private final String rule;
+        private int position;
+
+        /**
+         * An alternative while it is being built; {@code empty} once its matchers contradict each other.
+         */
+        private static final class Term {
+            String host;
+            PathMatch path;
+            final List<PathMatch> excluded = new ArrayList<>(1);
+            final Set<String> others = new TreeSet<>();
+            boolean empty;
+
+            Term copy() {
+                Term copy = new Term();
+                copy.host = host;
+                copy.path = path;
+                copy.excluded.addAll(excluded);
+                copy.others.addAll(others);
+                copy.empty = empty;
+                return copy;
+            }
+
+            void and(Term other) {
+                if (other.host != null) {
+                    empty |= host != null && !host.equals(other.host);
+                    host = other.host;
+                }
+                if (other.path != null) {
+                    if (path == null || other.path.contains(path)) {
+                        path = path == null ? other.path : path;
+                    } else if (path.contains(other.path)) {
+                        path = other.path;
+                    } else {
+                        empty = true;
+                    }
+                }
+                excluded.addAll(other.excluded);
+                others.addAll(other.others);
+                empty |= other.empty;
+            }
+        }
+
+        private static final class Unreadable extends RuntimeException {
+
+            private static final long serialVersionUID = 1L;
+
+            Unreadable() {
+                super(null, null, false, false);
+            }
+        }
+
+        private RuleParser(String rule) {
+            this.rule = rule;
+        }
+
+        static List<Clause> parse(String rule) {
+            try {
+                RuleParser parser = new RuleParser(rule);
+                List<Term> terms = parser.or();
+                parser.skipSpaces();
+                if (parser.position < rule.length()) {
+                    return null;
+                }
+                List<Clause> clauses = new ArrayList<>(terms.size());
+                for (Term term : terms) {
+                    boolean excludedItself = term.path != null
+                            && term.excluded.stream().anyMatch(exclusion -> exclusion.contains(term.path));
+                    if (!term.empty && !excludedItself) {
+                        clauses.add(new Clause(term.host, term.path, List.copyOf(term.excluded),
+                                Collections.unmodifiableSet(term.others)));
+                    }
+                }
+                return clauses;
+            } catch (Unreadable e) {
+                return null;
+            }
+        }
+
+        private List<Term> or() {
+            List<Term> terms = new ArrayList<>(and());
+            while (consume("||")) {
+                terms.addAll(and());
+                limit(terms.size());
+            }
+            return terms;
+        }
+
+        private List<Term> and() {
+            List<Term> terms = unary();
+            while (consume("&&")) {
+                List<Term> right = unary();
+                limit(terms.size() * right.size());
+                List<Term> product = new ArrayList<>(terms.size() * right.size());
+                for (Term left : terms) {
+                    for (Term term : right) {
+                        Term combined = left.copy();
+                        combined.and(term);
+                        product.add(combined);
+                    }
+                }
+                terms = product;
+            }
+            return terms;
+        }
+
+        private List<Term> unary() {
+            if (consume("!")) {
+                String name = name();
+                List<String> arguments = arguments();
+                if (arguments.size() != 1) {
+                    throw new Unreadable(); // a negated OR is an AND of exclusions; not needed so far
+                }
+                Term term = new Term();
+                if (name.equals("Path") || name.equals("PathPrefix")) {
+                    term.excluded.add(new PathMatch(arguments.get(0), name.equals("PathPrefix")));
+                } else {
+                    term.others.add("!" + name + arguments);
+                }
+                return List.of(term);
+            }
+            if (consume("(")) {
+                List<Term> terms = or();
+                if (!consume(")")) {
+                    throw new Unreadable();
+                }
+                return terms;
+            }
+            String name = name();
+            List<String> arguments = arguments();
+            List<Term> terms = new ArrayList<>(arguments.size());
+            switch (name) {
+                case "Host", "HostHeader" -> arguments.forEach(host -> {
+                    Term term = new Term();
+                    term.host = host.toLowerCase(Locale.ROOT);
+                    terms.add(term);
+                });
+                case "Path", "PathPrefix" -> arguments.forEach(path -> {
+                    Term term = new Term();
+                    term.path = new PathMatch(path, name.equals("PathPrefix"));
+                    terms.add(term);
+                });
+                default -> {
+                    Term term = new Term();
+                    term.others.add(name + arguments);
+                    terms.add(term);
+                }
+            }
+            return terms;
+        }
+
+        private String name() {
+            skipSpaces();
+            int start = position;
+            while (position < rule.length() && Character.isLetter(rule.charAt(position))) {
+                position++;
+            }
+            if (start == position) {
+                throw new Unreadable();
+            }
+            return rule.substring(start, position);
+        }
+
+        private List<String> arguments() {
+            if (!consume("(")) {
+                throw new Unreadable();
+            }
+            List<String> arguments = new ArrayList<>(1);
+            do {
+                arguments.add(argument());
+            } while (consume(","));
+            if (!consume(")")) {
+                throw new Unreadable();
+            }
+            return arguments;
+        }
+
+        private String argument() {
+            skipSpaces();
+            char quote = position < rule.length() ? rule.charAt(position) : 0;
+            if (quote != '`' && quote != '"') {
+                throw new Unreadable();
+            }
+            StringBuilder value = new StringBuilder();
+            position++;
+            while (position < rule.length() && rule.charAt(position) != quote) {
+                char c = rule.charAt(position++);
+                if (quote == '"' && c == '\\' && position < rule.length()) {
+                    c = rule.charAt(position++);
+                }
+                value.append(c);
+            }
+            if (position++ >= rule.length()) {
+                throw new Unreadable();
+            }
+            return value.toString();
+        }
+
+        private boolean consume(String token) {
+            skipSpaces();
+            if (rule.startsWith(token, position)) {
+                position += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void skipSpaces() {
+            while (position < rule.length() && Character.isWhitespace(rule.charAt(position))) {
+                position++;
+            }
+        }
+
+        private static void limit(int alternatives) {
+            if (alternatives > MAX_ALTERNATIVES) {
+                throw new Unreadable();
+            }
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.traefikconfig.model;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parsed view of the {@code http} section of a Traefik dynamic config: routers, services and middlewares.
+ * <p>
+ * The YAML text stays the source of truth for edits; this model is for reading, comparing and indexing.
+ */
+public class TraefikConfigModel {
+
+    /**
+     * Largest config SnakeYAML reads, in code points, unless the caller passes another limit. SnakeYAML's own
+     * default of 3 MB is below the size of configs with tens of thousands of routers.
+     */
+    public static final int DEFAULT_CODE_POINT_LIMIT = 64 * 1024 * 1024;
+
+    private static final Pattern HOST_MATCHER = Pattern.compile("(?<![A-Za-z])Host\\(([^)]*)\\)");
+    private static final Pattern BACKTICKED = Pattern.compile("`([^`]*)`");
+
+    private final Map<String, RouterDef> routers;
+    private final Map<String, ServiceDef> services;
+    private final Map<String, MiddlewareDef> middlewares;
+    private volatile Map<String, List<RouterDef>> routersByHost;
+    private volatile HostTrie hostTrie;
+    private volatile ConfigIndex index;
+    private volatile Map<String, String> prefixClaims;
+    private volatile RuleIndex ruleIndex;
+
+    private TraefikConfigModel(Map<String, RouterDef> routers, Map<String, ServiceDef> services,
+            Map<String, MiddlewareDef> middlewares) {
+        this.routers = routers;
+        this.services = services;
+        this.middlewares = middlewares;
+    }
+
+    /**
+     * A router under {@code http.routers}. {@code priority} is 0 unless the router sets one.
+     */
+    public record RouterDef(String name, String rule, String service, List<String> entryPoints,
+            List<String> middlewares, boolean tls, String certResolver, int priority, List<String> hosts) {
+    }
+
+    /**
+     * A service under {@code http.services}: its load-balancer server URLs and the whole definition as parsed.
+     */
+    public record ServiceDef(String name, List<String> urls, Map<String, Object> definition) {
+    }
+
+    /**
+     * A middleware under {@code http.middlewares}, as parsed.
+     */
+    public record MiddlewareDef(String name, Map<String, Object> definition) {
+    }
+
+    /**
+     * Parse a Traefik config of up to {@link #DEFAULT_CODE_POINT_LIMIT} code points.
+     *
+     * @see #parse(String, int)
+     */
+    public static TraefikConfigModel parse(String yaml) {
+        return parse(yaml, DEFAULT_CODE_POINT_LIMIT);
+    }
+
+    /**
+     * Parse a Traefik config. Empty input yields an empty model.
+     *
+     * @throws IllegalArgumentException if the text is not valid YAML or longer than {@code codePointLimit}
+     */
+    public static TraefikConfigModel parse(String yaml, int codePointLimit) {
+        Object root;
+        try {
+            root = new Yaml(new SafeConstructor(loaderOptions(codePointLimit))).load(yaml);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid config YAML: " + e.getMessage(), e);
+        }
+        Map<String, Object> http = asMap(asMap(root).get("http"));
+
+        Map<String, RouterDef> routers = new LinkedHashMap<>();
+        asMap(http.get("routers")).forEach((name, value) -> routers.put(name, toRouter(name, asMap(value))));
+
+        Map<String, ServiceDef> services = new LinkedHashMap<>();
+        asMap(http.get("services")).forEach((name, value) -> services.put(name, toService(name, asMap(value))));
+
+        Map<String, MiddlewareDef> middlewares = new LinkedHashMap<>();
+        asMap(http.get("middlewares")).forEach((name, value) -> middlewares.put(name,
+                new MiddlewareDef(name, Collections.unmodifiableMap(asMap(value)))));
+
+        return new TraefikConfigModel(Collections.unmodifiableMap(routers), Collections.unmodifiableMap(services),
+                Collections.unmodifiableMap(middlewares));
+    }
+
+    static LoaderOptions loaderOptions(int codePointLimit) {
+        LoaderOptions options = new LoaderOptions();
+        options.setCodePointLimit(codePointLimit);
+        return options;
+    }
+
+    /**
+     * Extract every hostname matched by {@code Host(...)} in a router rule.
+     */
+    public static List<String> extractHosts(String rule) {
+        if (rule == null || rule.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> hosts = new ArrayList<>(2);
+        Matcher matcher = HOST_MATCHER.matcher(rule);
+        while (matcher.find()) {
+            Matcher names = BACKTICKED.matcher(matcher.group(1));
+            while (names.find()) {
+                hosts.add(names.group(1));
+            }
+        }
+        return hosts;
+    }
+
+    public Map<String, RouterDef> getRouters() {
+        return routers;
+    }
+
+    public Map<String, ServiceDef> getServices() {
+        return services;
+    }
+
+    public Map<String, MiddlewareDef> getMiddlewares() {
+        return middlewares;
+    }
+
+    /**
+     * Routers grouped by the hosts their rules match, in config order. Built on first use.
+     */
+    public Map<String, List<RouterDef>> routersByHost() {
+        Map<String, List<RouterDef>> byHost = routersByHost;
+        if (byHost == null) {
+            Map<String, List<RouterDef>> grouped = new LinkedHashMap<>();
+            for (RouterDef router : routers.values()) {
+                for (String host : router.hosts()) {
+                    grouped.computeIfAbsent(host, h -> new ArrayList<>()).add(router);
+                }
+            }
+            grouped.replaceAll((host, list) -> Collections.unmodifiableList(list));
+            byHost = Collections.unmodifiableMap(grouped);
+            routersByHost = byHost;
+        }
+        return byHost;
+    }
+
+    /**
+     * All routed hosts indexed by domain. Built on first use.
+     */
+    public HostTrie hostTrie() {
+        HostTrie trie = hostTrie;
+        if (trie == null) {
+            trie = new HostTrie();
+            for (String host : routersByHost().keySet()) {
+                trie.add(host);
+            }
+            hostTrie = trie;
+        }
+        return trie;
+    }
+
+    /**
+     * Sorted and filterable listings of routers and hosts. Built on first use.
+     */
+    public ConfigIndex index() {
+        ConfigIndex built = index;
+        if (built == null) {
+            built = new ConfigIndex(this);
+            index = built;
+        }
+        return built;
+    }
+
+    /**
+     * The router name prefix used by each host with generated routers, keyed by prefix. Built on first use.
+     *
+     * @see RouterPrefixes
+     */
+    public Map<String, String> prefixClaims() {
+        Map<String, String> claims = prefixClaims;
+        if (claims == null) {
+            Map<String, List<String>> names = new LinkedHashMap<>();
+            routersByHost().forEach((host, routers) -> names.put(host,
+                    routers.stream().map(RouterDef::name).toList()));
+            claims = Collections.unmodifiableMap(RouterPrefixes.claims(names));
+            prefixClaims = claims;
+        }
+        return claims;
+    }
+
+    /**
+     * Router rules parsed and indexed by host, for conflict checks. Built on first use.
+     */
+    public RuleIndex ruleIndex() {
+        RuleIndex built = ruleIndex;
+        if (built == null) {
+            built = new RuleIndex(routers.values());
+            ruleIndex = built;
+        }
+        return built;
+    }
+
+    private static RouterDef toRouter(String name, Map<String, Object> router) {
+        String rule = asString(router.get("rule"));
+        Map<String, Object> tls = router.get("tls") instanceof Map ? asMap(router.get("tls")) : null;
+        return new RouterDef(name, rule, asString(router.get("service")), asStringList(router.get("entryPoints")),
+                asStringList(router.get("middlewares")), router.containsKey("tls"),
+                tls != null ? asString(tls.get("certResolver")) : null, asInt(router.get("priority")),
+                extractHosts(rule));
+    }
+
+    private static ServiceDef toService(String name, Map<String, Object> service) {
+        List<String> urls = new ArrayList<>();
+        for (Object server : asList(asMap(service.get("loadBalancer")).get("servers"))) {
+            String url = asString(asMap(server).get("url"));
+            if (url != null) {
+                urls.add(url);
+            }
+        }
+        return new ServiceDef(name, urls, Collections.unmodifiableMap(service));
+    }
+
+    private static Map<String, Object> asMap(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            map.forEach((k, v) -> result.put(String.valueOf(k), v));
+            return result;
+        }
+        return Collections.emptyMap();
+    }
+
+    private static List<?> asList(Object value) {
+        return value instanceof List<?> list ? list : Collections.emptyList();
+    }
+
+    private static List<String> asStringList(Object value) {
+        List<String> result = new ArrayList<>();
+        for (Object item : asList(value)) {
+            if (item != null) {
+                result.add(String.valueOf(item));
+            }
+        }
+        return result;
+    }
+
+    private static String asString(Object value) {
+        return value != null ? String.valueOf(value) : null;
+    }
+
+    private static int asInt(Object value) {
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        try {
+            return value != null ? Integer.parseInt(String.valueOf(value).trim()) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
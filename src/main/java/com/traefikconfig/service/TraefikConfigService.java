@@ -1,7 +1,16 @@
 package com.traefikconfig.service;
 
+import com.traefikconfig.dto.ConfigDiffRequest;
+import com.traefikconfig.dto.ConfigDiffResponse;
+import com.traefikconfig.dto.ConfigVersionInfo;
 import com.traefikconfig.dto.CustomConfigRequest;
+import com.traefikconfig.dto.DesiredStateRequest;
+import com.traefikconfig.dto.HostInfo;
 import com.traefikconfig.dto.HostOperationResponse;
+import com.traefikconfig.dto.ListingQuery;
+import com.traefikconfig.dto.PageResponse;
+import com.traefikconfig.dto.RouterInfo;
+import com.traefikconfig.dto.ReconcileResponse;
 
 public interface TraefikConfigService {
 
@@ -9,37 +18,41 @@ public interface TraefikConfigService {
      * Add a new host configuration to Traefik
      * 
      * @param hostname The hostname to add
-     * @return Operation response with message and updated config
+     * @param dryRun   Plan the change without writing it
+     * @return Operation response with message and updated config, and the plan of a dry run
      * @throws Exception if operation fails
      */
-    HostOperationResponse addHost(String hostname) throws Exception;
+    HostOperationResponse addHost(String hostname, boolean dryRun) throws Exception;
 
     /**
      * Delete a host configuration from Traefik
      * 
      * @param hostname The hostname to delete
-     * @return Operation response with message and updated config
+     * @param dryRun   Plan the change without writing it
+     * @return Operation response with message and updated config, and the plan of a dry run
      * @throws Exception if operation fails
      */
-    HostOperationResponse deleteHost(String hostname) throws Exception;
+    HostOperationResponse deleteHost(String hostname, boolean dryRun) throws Exception;
 
     /**
      * Add a new host configuration to Traefik with custom configuration
      * 
      * @param request Custom configuration request
-     * @return Operation response with message and updated config
+     * @param dryRun  Plan the change without writing it
+     * @return Operation response with message and updated config, and the plan of a dry run
      * @throws Exception if operation fails
      */
-    HostOperationResponse addHostWithCustomConfig(CustomConfigRequest request) throws Exception;
+    HostOperationResponse addHostWithCustomConfig(CustomConfigRequest request, boolean dryRun) throws Exception;
 
     /**
      * Delete a host configuration from Traefik with custom configuration
      * 
      * @param request Custom configuration request
-     * @return Operation response with message and updated config
+     * @param dryRun  Plan the change without writing it
+     * @return Operation response with message and updated config, and the plan of a dry run
      * @throws Exception if operation fails
      */
-    HostOperationResponse deleteHostWithCustomConfig(CustomConfigRequest request) throws Exception;
+    HostOperationResponse deleteHostWithCustomConfig(CustomConfigRequest request, boolean dryRun) throws Exception;
 
     /**
      * Get the current Traefik configuration with custom configuration
@@ -75,4 +88,82 @@ public interface TraefikConfigService {
      */
     java.util.List<com.traefikconfig.dto.ServiceInfo> getServiceUrlsWithCustomConfig(CustomConfigRequest request)
             throws Exception;
+
+    /**
+     * List the recorded config versions of an application, newest first
+     * 
+     * @param applicationId Application ID (uses default if null)
+     * @return Recorded versions
+     */
+    java.util.List<ConfigVersionInfo> getConfigHistory(String applicationId);
+
+    /**
+     * Read the content of a recorded config version
+     * 
+     * @param applicationId Application ID (uses default if null)
+     * @param version       Version number
+     * @return Configuration content
+     */
+    String getConfigVersion(String applicationId, long version);
+
+    /**
+     * Compare two configurations, each given as raw YAML, a recorded version or the live config of an
+     * application, router by router, service by service and middleware by middleware
+     * 
+     * @param request The two sources
+     * @return The entries that differ, with the fields that changed
+     * @throws Exception if a live config cannot be fetched
+     */
+    ConfigDiffResponse diffConfigs(ConfigDiffRequest request) throws Exception;
+
+    /**
+     * Push a recorded config version back to Dokploy
+     * 
+     * @param version Version number to restore
+     * @param request Optional custom configuration (application ID, API domain, API key)
+     * @param dryRun  Plan the change without writing it
+     * @return Operation response with message and restored config, and the plan of a dry run
+     * @throws Exception if operation fails
+     */
+    HostOperationResponse rollbackConfig(long version, CustomConfigRequest request, boolean dryRun) throws Exception;
+
+    /**
+     * Reconcile the live configuration of an application against a full desired host set, applying the
+     * minimal set of router/service changes in a single write
+     * 
+     * @param desiredState Desired hosts and connection settings
+     * @param dryRun       Plan the changes without writing them
+     * @return Added, updated and removed hosts with the resulting config, and the plan of a dry run
+     * @throws Exception if operation fails
+     */
+    ReconcileResponse reconcile(DesiredStateRequest desiredState, boolean dryRun) throws Exception;
+
+    /**
+     * List one page of the hosts of an application's configuration
+     * 
+     * @param query Domain suffix ("*.example.com" excludes the domain itself), filters, sort and cursor
+     * @return Matching hosts with their routers and services, and the cursor of the next page
+     * @throws Exception if operation fails
+     */
+    PageResponse<HostInfo> listHosts(ListingQuery query) throws Exception;
+
+    /**
+     * List one page of the routers of an application's configuration
+     * 
+     * @param query Filters, sort and cursor
+     * @return Matching routers and the cursor of the next page
+     * @throws Exception if operation fails
+     */
+    PageResponse<RouterInfo> listRouters(ListingQuery query) throws Exception;
+
+    /**
+     * Delete the routers of every host at or below a domain in a single write
+     * 
+     * @param suffix Domain to delete under; "*.example.com" keeps the domain itself
+     * @param applicationId Application ID (optional, uses default if null)
+     * @param dryRun Plan the change without writing it
+     * @return Operation response with message and updated config, and the plan of a dry run
+     * @throws Exception if operation fails
+     */
+    HostOperationResponse deleteHostsBySuffix(String suffix, String applicationId, boolean dryRun) throws Exception;
 }
\ No newline at end of file
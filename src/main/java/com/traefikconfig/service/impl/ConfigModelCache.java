@@ -0,0 +1,58 @@
+package com.traefikconfig.service.impl;
+
+import com.traefikconfig.config.YamlProperties;
+import com.traefikconfig.model.TraefikConfigModel;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Parsed configs keyed by their content, so repeated reads of an unchanged config reuse the parsed model
+ * and its host indexes instead of parsing the YAML again. Misses are parsed in a {@code traefik.config.parse}
+ * span.
+ */
+@Component
+public class ConfigModelCache {
+
+    private static final int MAX_ENTRIES = 32;
+
+    private final Map<String, TraefikConfigModel> models = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TraefikConfigModel> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private final YamlProperties yamlProperties;
+    private final ObservationRegistry observationRegistry;
+
+    public ConfigModelCache(YamlProperties yamlProperties, ObservationRegistry observationRegistry) {
+        this.yamlProperties = yamlProperties;
+        this.observationRegistry = observationRegistry;
+    }
+
+    /**
+     * The parsed model of a config, parsing it on a miss.
+     *
+     * @throws IllegalArgumentException if the config is not valid YAML
+     */
+    public TraefikConfigModel get(String config) {
+        synchronized (models) {
+            TraefikConfigModel model = models.get(config);
+            if (model != null) {
+                return model;
+            }
+        }
+        TraefikConfigModel model = Observation.createNotStarted("traefik.config.parse", observationRegistry)
+                .contextualName("config parse")
+                .highCardinalityKeyValue("config.size", String.valueOf(config.length()))
+                .observe(() -> TraefikConfigModel.parse(config, yamlProperties.getCodePointLimit()));
+        synchronized (models) {
+            models.put(config, model);
+        }
+        return model;
+    }
+}
@@ -0,0 +1,118 @@
+package com.traefikconfig.service.impl;
+
+import com.traefikconfig.config.ValidationProperties;
+import com.traefikconfig.config.YamlProperties;
+import com.traefikconfig.model.ConfigValidationException;
+import com.traefikconfig.model.ConfigValidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Validates every config before it is written to Dokploy (see {@link ConfigValidator}).
+ * <p>
+ * A write is rejected only for problems it introduces. Problems that the config it was derived from already
+ * had, e.g. from an edit made outside this service, are logged and let through, so they do not block every
+ * later change to the application. The base config's problems are only computed when the new config has
+ * any, and are cached by content.
+ */
+@Component
+public class ConfigWriteValidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigWriteValidator.class);
+
+    private static final int MAX_BASELINES = 16;
+
+    private final ValidationProperties properties;
+    private final ConfigValidator validator;
+    private final Timer timer;
+    private final ObservationRegistry observationRegistry;
+    private final Counter rejected;
+    private final Map<String, Set<String>> baselines = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Set<String>> eldest) {
+            return size() > MAX_BASELINES;
+        }
+    };
+
+    public ConfigWriteValidator(ValidationProperties properties, YamlProperties yamlProperties,
+            MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        this.properties = properties;
+        this.observationRegistry = observationRegistry;
+        this.validator = new ConfigValidator(properties.getExternalServices(), properties.getExternalMiddlewares(),
+                yamlProperties.getCodePointLimit());
+        this.timer = Timer.builder("traefik.config.validation")
+                .description("Time spent validating configs before they are written")
+                .register(meterRegistry);
+        this.rejected = meterRegistry.counter("traefik.config.validation.rejected");
+    }
+
+    /**
+     * Check a config about to be written.
+     *
+     * @param baseConfig the config the new one was derived from, usually the live one; {@code null} if none
+     * @throws ConfigValidationException listing every problem the new config introduces
+     */
+    public void check(String applicationId, String baseConfig, String config) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Observation.createNotStarted("traefik.config.validate", observationRegistry)
+                .contextualName("config validate")
+                .highCardinalityKeyValue("applicationId", String.valueOf(applicationId))
+                .highCardinalityKeyValue("config.size", String.valueOf(config.length()))
+                .observe(() -> validate(applicationId, baseConfig, config));
+    }
+
+    private void validate(String applicationId, String baseConfig, String config) {
+        long start = System.nanoTime();
+        List<ConfigValidator.Problem> problems = validator.validate(config);
+        if (!problems.isEmpty()) {
+            Set<String> existing = baseConfig != null ? baseline(baseConfig) : Set.of();
+            List<ConfigValidator.Problem> introduced = problems.stream()
+                    .filter(problem -> !existing.contains(problem.key()))
+                    .toList();
+            if (!introduced.isEmpty()) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                rejected.increment();
+                String details = introduced.stream().map(ConfigValidator.Problem::toString)
+                        .collect(Collectors.joining("; "));
+                logger.warn("Config write rejected [app={}, problems={}]: {}", applicationId, introduced.size(),
+                        details);
+                throw new ConfigValidationException("Config validation failed with " + introduced.size()
+                        + " problem(s): " + details, introduced);
+            }
+            logger.warn("Config of {} keeps {} existing problem(s): {}", applicationId, problems.size(),
+                    problems.stream().map(ConfigValidator.Problem::toString).collect(Collectors.joining("; ")));
+        }
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Set<String> baseline(String baseConfig) {
+        synchronized (baselines) {
+            Set<String> keys = baselines.get(baseConfig);
+            if (keys != null) {
+                return keys;
+            }
+        }
+        Set<String> keys = new HashSet<>();
+        validator.validate(baseConfig).forEach(problem -> keys.add(problem.key()));
+        synchronized (baselines) {
+            baselines.put(baseConfig, keys);
+        }
+        return keys;
+    }
+}
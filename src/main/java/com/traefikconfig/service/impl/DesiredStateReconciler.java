@@ -0,0 +1,155 @@
+package com.traefikconfig.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.traefikconfig.config.ReconcileProperties;
+import com.traefikconfig.config.RuntimeConfigHolder;
+import com.traefikconfig.dto.DesiredStateRequest;
+import com.traefikconfig.dto.ReconcileResponse;
+import com.traefikconfig.service.TraefikConfigService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the desired host set of each declaratively managed application, persisted as one JSON file per
+ * application, and periodically reconciles the live config against it to undo drift.
+ * <p>
+ * A state may carry the Dokploy API key its drift checks use, so the files are readable by the owner only.
+ */
+@Component
+@Lazy(false) // schedules drift checks
+public class DesiredStateReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(DesiredStateReconciler.class);
+
+    private final TraefikConfigService traefikConfigService;
+    private final RuntimeConfigHolder runtimeConfig;
+    private final ReconcileProperties reconcileProperties;
+    private final ObjectMapper objectMapper;
+    private final Map<String, DesiredStateRequest> desiredStates = new ConcurrentHashMap<>();
+
+    public DesiredStateReconciler(TraefikConfigService traefikConfigService, RuntimeConfigHolder runtimeConfig,
+            ReconcileProperties reconcileProperties, ObjectMapper objectMapper) {
+        this.traefikConfigService = traefikConfigService;
+        this.runtimeConfig = runtimeConfig;
+        this.reconcileProperties = reconcileProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void load() {
+        Path directory = Paths.get(reconcileProperties.getDirectory());
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(p -> p.getFileName().toString().endsWith(".json")).forEach(file -> {
+                try {
+                    DesiredStateRequest state = objectMapper.readValue(file.toFile(), DesiredStateRequest.class);
+                    desiredStates.put(state.getApplicationId(), state);
+                } catch (IOException e) {
+                    logger.error("Failed to load desired state {}: {}", file, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            logger.error("Failed to list desired states in {}: {}", directory, e.getMessage());
+        }
+        logger.info("Loaded {} desired state(s) for drift checks", desiredStates.size());
+    }
+
+    /**
+     * Reconcile the live config of an application against a desired state and, once that succeeded, keep the
+     * state for drift checks. A dry run only plans the reconcile and keeps nothing.
+     */
+    public ReconcileResponse apply(DesiredStateRequest desiredState, boolean dryRun) throws Exception {
+        if (desiredState.getApplicationId() == null) {
+            desiredState.setApplicationId(runtimeConfig.current().applicationId());
+        }
+        if (dryRun) {
+            return traefikConfigService.reconcile(desiredState, true);
+        }
+        ReconcileResponse result = traefikConfigService.reconcile(desiredState, false);
+        persist(desiredState);
+        desiredStates.put(desiredState.getApplicationId(), desiredState);
+        return result;
+    }
+
+    /**
+     * Every stored desired state, one per declaratively managed application.
+     */
+    public Collection<DesiredStateRequest> all() {
+        return Collections.unmodifiableCollection(desiredStates.values());
+    }
+
+    public Optional<DesiredStateRequest> get(String applicationId) {
+        return Optional.ofNullable(desiredStates.get(resolveAppId(applicationId)));
+    }
+
+    /**
+     * Stop managing an application declaratively. The live config is left as it is.
+     */
+    public boolean remove(String applicationId) throws IOException {
+        String appId = resolveAppId(applicationId);
+        Files.deleteIfExists(fileFor(appId));
+        return desiredStates.remove(appId) != null;
+    }
+
+    @Scheduled(fixedDelayString = "${traefik.reconcile.drift-check-interval-ms:300000}",
+            initialDelayString = "${traefik.reconcile.drift-check-interval-ms:300000}")
+    public void checkDrift() {
+        if (!reconcileProperties.isDriftCheckEnabled() || desiredStates.isEmpty()) {
+            return;
+        }
+        logger.debug("Checking {} application(s) for drift", desiredStates.size());
+        for (DesiredStateRequest desiredState : desiredStates.values()) {
+            try {
+                ReconcileResponse result = traefikConfigService.reconcile(desiredState, false);
+                if (result.isChanged()) {
+                    logger.warn("Drift corrected [app={}, added={}, updated={}, removed={}]",
+                            result.getApplicationId(), result.getAdded(), result.getUpdated(), result.getRemoved());
+                }
+            } catch (Exception e) {
+                logger.error("Drift check failed [app={}]: {}", desiredState.getApplicationId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void persist(DesiredStateRequest desiredState) throws IOException {
+        Path file = fileFor(desiredState.getApplicationId());
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.deleteIfExists(temp);
+        try {
+            Files.createFile(temp, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } catch (UnsupportedOperationException e) {
+            Files.createFile(temp);
+        }
+        objectMapper.writeValue(temp.toFile(), desiredState);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path fileFor(String applicationId) {
+        return Paths.get(reconcileProperties.getDirectory())
+                .resolve(applicationId.replaceAll("[^A-Za-z0-9_-]", "_") + ".json");
+    }
+
+    private String resolveAppId(String applicationId) {
+        return applicationId != null ? applicationId : runtimeConfig.current().applicationId();
+    }
+}
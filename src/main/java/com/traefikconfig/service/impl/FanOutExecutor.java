@@ -0,0 +1,188 @@
+package com.traefikconfig.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.traefikconfig.config.FanOutProperties;
+import com.traefikconfig.config.RuntimeConfigHolder;
+import com.traefikconfig.dto.CustomConfigRequest;
+import com.traefikconfig.dto.FanOutRequest;
+import com.traefikconfig.dto.FanOutResponse;
+import com.traefikconfig.dto.FanOutResult;
+import com.traefikconfig.dto.FanOutTarget;
+import com.traefikconfig.dto.HostOperationResponse;
+import com.traefikconfig.logging.LogContext;
+import com.traefikconfig.model.Hostnames;
+import com.traefikconfig.service.TraefikConfigService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applies one host operation to many applications at once.
+ * <p>
+ * Each target is an ordinary journaled add or delete on its own application, run on a shared pool of
+ * {@code traefik.fan-out.parallelism} threads, so a fan-out takes about as long as its slowest target rather
+ * than the sum of all of them. Targets that have not finished within {@code traefik.fan-out.timeout-ms} are
+ * cancelled and reported as failed.
+ */
+@Component
+public class FanOutExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(FanOutExecutor.class);
+
+    private final TraefikConfigService traefikConfigService;
+    private final RuntimeConfigHolder runtimeConfig;
+    private final FanOutProperties fanOutProperties;
+    private final ObjectMapper objectMapper;
+    private ThreadPoolExecutor executor;
+
+    public FanOutExecutor(TraefikConfigService traefikConfigService, RuntimeConfigHolder runtimeConfig,
+            FanOutProperties fanOutProperties, ObjectMapper objectMapper) {
+        this.traefikConfigService = traefikConfigService;
+        this.runtimeConfig = runtimeConfig;
+        this.fanOutProperties = fanOutProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void start() {
+        int parallelism = Math.max(1, fanOutProperties.getParallelism());
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "fan-out-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        logger.info("Fan-out executor ready [parallelism={}, max_targets={}, timeout_ms={}]", parallelism,
+                fanOutProperties.getMaxTargets(), fanOutProperties.getTimeoutMs());
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Run the operation on every target and collect the per-target results in request order. A dry run plans
+     * the operation on every target without writing anything.
+     *
+     * @throws IllegalArgumentException if the hostname is invalid, there are too many targets or a target
+     *                                  appears twice
+     */
+    public FanOutResponse execute(FanOutRequest request, boolean dryRun) throws InterruptedException {
+        String host = Hostnames.normalize(request.getHost().getHostname());
+        String defaultApiDomain = runtimeConfig.current().apiDomain();
+        List<FanOutTarget> targets = request.getTargets();
+        if (targets.size() > fanOutProperties.getMaxTargets()) {
+            throw new IllegalArgumentException("At most " + fanOutProperties.getMaxTargets()
+                    + " targets are allowed per request, got " + targets.size());
+        }
+        Set<String> seen = new HashSet<>();
+        for (FanOutTarget target : targets) {
+            // Two operations on the same application would race on its config
+            if (!seen.add(apiDomain(target, defaultApiDomain) + " " + target.getApplicationId())) {
+                throw new IllegalArgumentException("Target '" + target.getApplicationId() + "' on "
+                        + apiDomain(target, defaultApiDomain) + " appears more than once");
+            }
+        }
+
+        logger.info("Fanning out {} of '{}' to {} application(s)", request.getOperation(), host, targets.size());
+        long start = System.nanoTime();
+        List<Callable<FanOutResult>> tasks = new ArrayList<>(targets.size());
+        for (FanOutTarget target : targets) {
+            tasks.add(LogContext.propagate(() -> run(request.getOperation(),
+                    forTarget(request.getHost(), host, target, defaultApiDomain), dryRun)));
+        }
+        List<Future<FanOutResult>> futures = executor.invokeAll(tasks, fanOutProperties.getTimeoutMs(),
+                TimeUnit.MILLISECONDS);
+
+        FanOutResponse response = new FanOutResponse();
+        response.setHostname(host);
+        for (int i = 0; i < futures.size(); i++) {
+            String apiDomain = apiDomain(targets.get(i), defaultApiDomain);
+            FanOutResult result;
+            try {
+                result = futures.get(i).get();
+            } catch (CancellationException e) {
+                result = new FanOutResult(apiDomain, targets.get(i).getApplicationId(), false,
+                        "Timed out after " + fanOutProperties.getTimeoutMs()
+                                + " ms; the change may or may not have been applied",
+                        fanOutProperties.getTimeoutMs());
+            } catch (ExecutionException e) {
+                result = new FanOutResult(apiDomain, targets.get(i).getApplicationId(), false,
+                        "Error: " + e.getCause().getMessage(), 0);
+            }
+            response.getResults().add(result);
+            if (result.isSuccess()) {
+                response.setSucceeded(response.getSucceeded() + 1);
+            } else {
+                response.setFailed(response.getFailed() + 1);
+            }
+        }
+        response.setDurationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        boolean add = request.getOperation() == FanOutRequest.Operation.ADD;
+        String done = dryRun ? (add ? "Would add" : "Would delete") : (add ? "Added" : "Deleted");
+        response.setMessage(done + " '" + host + "' on " + response.getSucceeded() + " of " + targets.size()
+                + " application(s)");
+
+        logger.info("Fan-out of '{}' finished [succeeded={}, failed={}, duration_ms={}]", host,
+                response.getSucceeded(), response.getFailed(), response.getDurationMs());
+        return response;
+    }
+
+    private FanOutResult run(FanOutRequest.Operation operation, CustomConfigRequest request, boolean dryRun) {
+        long start = System.nanoTime();
+        try {
+            HostOperationResponse result = operation == FanOutRequest.Operation.ADD
+                    ? traefikConfigService.addHostWithCustomConfig(request, dryRun)
+                    : traefikConfigService.deleteHostWithCustomConfig(request, dryRun);
+            FanOutResult outcome = new FanOutResult(request.getApiDomain(), request.getApplicationId(), true,
+                    result.getMessage(), elapsedMs(start));
+            outcome.setPlan(result.getPlan());
+            return outcome;
+        } catch (Exception e) {
+            logger.warn("Fan-out {} of '{}' failed [app={}, domain={}]: {}", operation, request.getHostname(),
+                    request.getApplicationId(), request.getApiDomain(), e.toString());
+            return new FanOutResult(request.getApiDomain(), request.getApplicationId(), false,
+                    "Error: " + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()),
+                    elapsedMs(start));
+        }
+    }
+
+    /**
+     * A copy of the host settings pointed at one target.
+     */
+    private CustomConfigRequest forTarget(CustomConfigRequest hostSettings, String host, FanOutTarget target,
+            String defaultApiDomain) {
+        CustomConfigRequest request = objectMapper.convertValue(hostSettings, CustomConfigRequest.class);
+        request.setHostname(host);
+        request.setApiDomain(apiDomain(target, defaultApiDomain));
+        request.setApplicationId(target.getApplicationId());
+        request.setDokployApiKey(target.getDokployApiKey());
+        return request;
+    }
+
+    private static String apiDomain(FanOutTarget target, String defaultApiDomain) {
+        return target.getApiDomain() != null ? target.getApiDomain() : defaultApiDomain;
+    }
+
+    private static long elapsedMs(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,361 @@
+package com.traefikconfig.service.impl;
+
+import com.traefikconfig.model.ConfigBuffer;
+import com.traefikconfig.model.ConfigSectionScanner;
+import com.traefikconfig.model.TraefikConfigModel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Applies a batch of router and service edits to a config in one go.
+ * <p>
+ * Every edit is located on the original text with a single section scan, then all edits are applied to a
+ * {@link ConfigBuffer} from the end of the document backwards so earlier offsets stay valid, and the result
+ * is materialized once. Removing hosts and adding blocks therefore costs one copy of the config, however
+ * many hosts are involved.
+ * <p>
+ * An operation builds one editor and asks it everything it needs about the routers before and after its
+ * edits, so the config is scanned once per operation.
+ */
+final class HostConfigEditor {
+
+    private final String config;
+    private final ConfigSectionScanner sections;
+    private final List<Edit> edits = new ArrayList<>();
+    private final Set<String> emptied = new HashSet<>();
+    private final Map<String, List<Entry>> entriesByPath = new HashMap<>();
+    private final List<String> addedRouters = new ArrayList<>();
+    private final Set<Integer> removedRouters = new HashSet<>();
+
+    private record Edit(int start, int end, String text, int sequence) {
+    }
+
+    /**
+     * An entry of a section: leading comments, the key line, its indented body and trailing blank lines.
+     * {@code contentEnd} is the end of its last non-blank line.
+     */
+    private record Entry(String key, int start, int contentEnd, int end) {
+    }
+
+    HostConfigEditor(String config) {
+        this.config = config;
+        this.sections = ConfigSectionScanner.scan(config);
+    }
+
+    /**
+     * The names of the routers under {@code http.routers} by the lowercased hosts their rules match, in config
+     * order. Read from the text like every other edit, so adding a host never needs the config parsed.
+     */
+    Map<String, List<String>> routersByHost() {
+        Map<String, List<String>> byHost = new LinkedHashMap<>();
+        ConfigSectionScanner.Section routers = sections.get("http.routers");
+        if (routers == null) {
+            return byHost;
+        }
+        for (Entry entry : entries(routers)) {
+            for (String host : TraefikConfigModel.extractHosts(config.substring(entry.start(), entry.end()))) {
+                byHost.computeIfAbsent(host.toLowerCase(Locale.ROOT), h -> new ArrayList<>()).add(entry.key());
+            }
+        }
+        return byHost;
+    }
+
+    /**
+     * A config holding only the routers under {@code http.routers} that can compete with routers for the host:
+     * those whose rules match it and those whose rules match no host by name. These are all the routers
+     * {@link com.traefikconfig.model.RuleIndex} compares a router of that host with, so conflict checks on it
+     * need only this part of the config parsed.
+     */
+    String routersCompetingWith(String host) {
+        return competingRouters(host, false);
+    }
+
+    /**
+     * {@link #routersCompetingWith(String)} after the edits made so far: removed routers are left out and
+     * added router blocks are included when they can compete, so the conflicts an edit brings can be checked
+     * without scanning the edited config.
+     */
+    String editedRoutersCompetingWith(String host) {
+        return competingRouters(host, true);
+    }
+
+    private String competingRouters(String host, boolean edited) {
+        StringBuilder subset = new StringBuilder("http:\n");
+        ConfigSectionScanner.Section routers = sections.get("http.routers");
+        if (routers == null) {
+            return subset.toString();
+        }
+        subset.append(" ".repeat(routers.indent())).append("routers:\n");
+        for (Entry entry : entries(routers)) {
+            String text = config.substring(entry.start(), entry.contentEnd());
+            if (!(edited && removedRouters.contains(entry.start())) && competes(text, host)) {
+                subset.append(text).append('\n');
+            }
+        }
+        if (edited) {
+            List<String> blocks = addedRouters.stream().filter(block -> competes(block, host)).toList();
+            if (!blocks.isEmpty()) {
+                appendBlocks(subset, blocks, childIndent(routers));
+                subset.append('\n');
+            }
+        }
+        return subset.toString();
+    }
+
+    private static boolean competes(String routers, String host) {
+        List<String> hosts = TraefikConfigModel.extractHosts(routers);
+        return hosts.isEmpty() || hosts.stream().anyMatch(host::equalsIgnoreCase);
+    }
+
+    /**
+     * Remove every router under {@code http.routers} whose rule matches one of the hosts. Hostnames are
+     * compared case-insensitively.
+     *
+     * @return number of routers removed
+     */
+    int removeRouters(Set<String> hosts) {
+        ConfigSectionScanner.Section routers = sections.get("http.routers");
+        if (routers == null || hosts.isEmpty()) {
+            return 0;
+        }
+        Set<String> lowercased = new HashSet<>(hosts.size() * 2);
+        for (String host : hosts) {
+            lowercased.add(host.toLowerCase(Locale.ROOT));
+        }
+        List<Entry> removed = removeEntries(routers, entry -> {
+            for (String host : TraefikConfigModel.extractHosts(config.substring(entry.start(), entry.end()))) {
+                if (lowercased.contains(host.toLowerCase(Locale.ROOT))) {
+                    return true;
+                }
+            }
+            return false;
+        });
+        removed.forEach(entry -> removedRouters.add(entry.start()));
+        return removed.size();
+    }
+
+    /**
+     * Remove the named services under {@code http.services}.
+     *
+     * @return number of services removed
+     */
+    int removeServices(Collection<String> names) {
+        ConfigSectionScanner.Section services = sections.get("http.services");
+        if (services == null || names.isEmpty()) {
+            return 0;
+        }
+        return removeEntries(services, entry -> names.contains(entry.key())).size();
+    }
+
+    /**
+     * Append router blocks (unindented YAML) to {@code http.routers}.
+     *
+     * @throws IllegalArgumentException if the config has no routers section
+     */
+    void addRouters(List<String> blocks) {
+        if (blocks.isEmpty()) {
+            return;
+        }
+        ConfigSectionScanner.Section routers = sections.get("http.routers");
+        if (routers == null) {
+            throw new IllegalArgumentException("Invalid config: 'routers:' section not found.");
+        }
+        appendToSection(routers, blocks);
+        addedRouters.addAll(blocks);
+    }
+
+    /**
+     * Append service blocks (unindented YAML) to {@code http.services}, creating the section at the end of
+     * {@code http} if needed.
+     *
+     * @throws IllegalArgumentException if the config has no http section
+     */
+    void addServices(List<String> blocks) {
+        if (blocks.isEmpty()) {
+            return;
+        }
+        ConfigSectionScanner.Section services = sections.get("http.services");
+        if (services != null) {
+            appendToSection(services, blocks);
+            return;
+        }
+        ConfigSectionScanner.Section http = sections.get("http");
+        if (http == null) {
+            throw new IllegalArgumentException("Invalid config: 'http:' section not found.");
+        }
+        int keyIndent = http.childIndent() > http.indent() ? http.childIndent() : http.indent() + 2;
+        StringBuilder text = new StringBuilder("\n").append(" ".repeat(keyIndent)).append("services:");
+        appendBlocks(text, blocks, keyIndent + 2);
+        addEdit(http.contentEnd(), http.contentEnd(), text.toString());
+    }
+
+    boolean hasEdits() {
+        return !edits.isEmpty();
+    }
+
+    /**
+     * Apply all edits and return the new config, or the original string if nothing was edited.
+     */
+    String apply() {
+        if (edits.isEmpty()) {
+            return config;
+        }
+        // Back to front. At the same offset a removal goes first, and of two inserts the later one goes first
+        // so inserts end up in the order they were made
+        edits.sort(Comparator.comparingInt(Edit::start)
+                .thenComparingInt(edit -> edit.end() - edit.start())
+                .thenComparingInt(Edit::sequence)
+                .reversed());
+        ConfigBuffer buffer = new ConfigBuffer(config);
+        for (Edit edit : edits) {
+            buffer.delete(edit.start(), edit.end());
+            buffer.insert(edit.start(), edit.text());
+        }
+        return buffer.toString();
+    }
+
+    private void appendToSection(ConfigSectionScanner.Section section, List<String> blocks) {
+        StringBuilder text = new StringBuilder();
+        if (section.childIndent() > section.indent() && !emptied.contains(section.path())) {
+            text.append('\n');
+        }
+        appendBlocks(text, blocks, childIndent(section));
+        addEdit(section.contentEnd(), section.contentEnd(), text.toString());
+    }
+
+    /**
+     * The indentation of the section's entries, or of the first one of a section without entries.
+     */
+    private static int childIndent(ConfigSectionScanner.Section section) {
+        return section.childIndent() > section.indent() ? section.childIndent() : section.indent() + 2;
+    }
+
+    /**
+     * Indent every line of the blocks, dropping their trailing blank lines and separating them with one
+     * blank line. The text starts with a line break.
+     */
+    private static void appendBlocks(StringBuilder text, List<String> blocks, int indent) {
+        String prefix = " ".repeat(indent);
+        for (int i = 0; i < blocks.size(); i++) {
+            if (i > 0) {
+                text.append('\n');
+            }
+            blocks.get(i).stripTrailing().lines().forEach(line -> {
+                text.append('\n');
+                if (!line.isBlank()) {
+                    text.append(prefix).append(line);
+                }
+            });
+        }
+    }
+
+    /**
+     * Remove the entries of a section that match.
+     *
+     * @return the removed entries
+     */
+    private List<Entry> removeEntries(ConfigSectionScanner.Section section, Predicate<Entry> remove) {
+        List<Entry> entries = entries(section);
+        List<Entry> removed = new ArrayList<>();
+        int i = entries.size() - 1;
+        while (i >= 0) {
+            if (!remove.test(entries.get(i))) {
+                i--;
+                continue;
+            }
+            // Remove a run of adjacent entries in one edit
+            int runEnd = i--;
+            while (i >= 0 && remove.test(entries.get(i))) {
+                i--;
+            }
+            removed.addAll(entries.subList(i + 1, runEnd + 1));
+            Entry first = entries.get(i + 1);
+            Entry last = entries.get(runEnd);
+            if (runEnd == entries.size() - 1) {
+                // Trailing run: also drop the blank lines before it, the section keeps its own separation
+                int start = i >= 0 ? entries.get(i).contentEnd() : config.indexOf('\n', section.keyStart());
+                addEdit(start, section.contentEnd(), "");
+                if (i < 0) {
+                    emptied.add(section.path());
+                }
+            } else {
+                addEdit(first.start(), last.end(), "");
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Split a section body into entries at its child indentation. Text before the first entry is not
+     * returned and never edited. Entries are of the original text, so each section is split once.
+     */
+    private List<Entry> entries(ConfigSectionScanner.Section section) {
+        return entriesByPath.computeIfAbsent(section.path(), path -> split(section));
+    }
+
+    private List<Entry> split(ConfigSectionScanner.Section section) {
+        List<Entry> entries = new ArrayList<>();
+        int indent = section.childIndent();
+        int bodyStart = config.indexOf('\n', section.keyStart()) + 1;
+        if (indent <= section.indent() || bodyStart == 0 || bodyStart > section.contentEnd()) {
+            return entries;
+        }
+
+        int entryStart = -1;
+        int keyStart = -1;
+        String key = null;
+        int contentEnd = -1;
+        int position = bodyStart;
+        while (position <= section.contentEnd()) {
+            int lineEnd = config.indexOf('\n', position);
+            if (lineEnd < 0 || lineEnd > section.contentEnd()) {
+                lineEnd = section.contentEnd();
+            }
+            int lineIndent = 0;
+            while (position + lineIndent < lineEnd && config.charAt(position + lineIndent) == ' ') {
+                lineIndent++;
+            }
+            boolean blank = config.substring(position, lineEnd).isBlank();
+            boolean comment = !blank && config.charAt(position + lineIndent) == '#';
+
+            if (!blank && lineIndent == indent) {
+                if (key != null) {
+                    // This line starts the next entry: close the current one
+                    entries.add(new Entry(key, entryStart, contentEnd, position));
+                    key = null;
+                    entryStart = -1;
+                }
+                if (entryStart < 0) {
+                    entryStart = position;
+                }
+                if (!comment) {
+                    keyStart = position + lineIndent;
+                    int colon = config.indexOf(':', keyStart);
+                    key = colon > 0 && colon < lineEnd ? config.substring(keyStart, colon).trim() : "";
+                }
+            }
+            if (!blank) {
+                contentEnd = lineEnd;
+            }
+            position = lineEnd + 1;
+        }
+        if (key != null) {
+            entries.add(new Entry(key, entryStart, contentEnd, section.contentEnd()));
+        }
+        return entries;
+    }
+
+    private void addEdit(int start, int end, String text) {
+        edits.add(new Edit(start, end, text, edits.size()));
+    }
+}
@@ -0,0 +1,63 @@
+package com.traefikconfig.service.impl;
+
+import com.traefikconfig.config.PlanProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The config last fetched from each application, for dry runs.
+ * <p>
+ * A dry run reuses a config fetched less than {@code traefik.plan.cache-max-age-ms} ago instead of reading it
+ * from Dokploy again, so planning many changes to one application costs one read. Entries are kept per API key
+ * as well, so a key is still checked by Dokploy before its first plan. A write to an application drops its
+ * entries. Real operations always fetch the live config.
+ */
+@Component
+public class LiveConfigCache {
+
+    private final PlanProperties planProperties;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Key(String readApiUrl, String applicationId, String apiKey) {
+    }
+
+    private record Entry(String config, long fetchedAtNanos) {
+    }
+
+    public LiveConfigCache(PlanProperties planProperties) {
+        this.planProperties = planProperties;
+    }
+
+    /**
+     * The cached config of an application, if it is recent enough.
+     */
+    public Optional<String> get(String readApiUrl, String applicationId, String apiKey) {
+        Entry entry = entries.get(new Key(readApiUrl, applicationId, apiKey));
+        return entry != null && !isExpired(entry, System.nanoTime()) ? Optional.of(entry.config()) : Optional.empty();
+    }
+
+    /**
+     * Remember a config just fetched, dropping expired entries so configs of applications that are no longer
+     * planned are not kept.
+     */
+    public void put(String readApiUrl, String applicationId, String apiKey, String config) {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> isExpired(entry, now));
+        entries.put(new Key(readApiUrl, applicationId, apiKey), new Entry(config, now));
+    }
+
+    /**
+     * Forget an application's config after it was written.
+     */
+    public void invalidate(String applicationId) {
+        entries.keySet().removeIf(key -> key.applicationId().equals(applicationId));
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return now - entry.fetchedAtNanos() > TimeUnit.MILLISECONDS.toNanos(planProperties.getCacheMaxAgeMs());
+    }
+}
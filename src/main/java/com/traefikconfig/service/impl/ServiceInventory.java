@@ -0,0 +1,283 @@
+package com.traefikconfig.service.impl;
+
+import com.traefikconfig.client.DokployClient;
+import com.traefikconfig.config.InventoryProperties;
+import com.traefikconfig.config.RuntimeConfig;
+import com.traefikconfig.config.RuntimeConfigChangedEvent;
+import com.traefikconfig.config.RuntimeConfigHolder;
+import com.traefikconfig.dto.DesiredStateRequest;
+import com.traefikconfig.dto.InventoryApplication;
+import com.traefikconfig.dto.InventoryEntry;
+import com.traefikconfig.dto.InventoryResponse;
+import com.traefikconfig.logging.LogContext;
+import com.traefikconfig.model.TraefikConfigModel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One searchable view of the routers, services and backend URLs of every registered application.
+ * <p>
+ * Applications are the default application, those listed under {@code traefik.inventory.applications} and
+ * those with a stored desired state. Each application's entries are kept with the config they were built
+ * from. A request only fetches the applications whose data is older than {@code traefik.inventory.max-age-ms},
+ * in parallel on a bounded pool, and only rebuilds the entries of configs that actually changed.
+ */
+@Component
+public class ServiceInventory {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceInventory.class);
+
+    private final DokployClient dokployClient;
+    private final RuntimeConfigHolder runtimeConfig;
+    private final InventoryProperties inventoryProperties;
+    private final DesiredStateReconciler desiredStateReconciler;
+    private final ConfigModelCache configModelCache;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+
+    private record Target(String apiDomain, String applicationId, String apiKey) {
+
+        String key() {
+            return apiDomain + " " + applicationId;
+        }
+    }
+
+    /**
+     * The entries of one application and the config they were built from. After a failed fetch the previous
+     * config and entries are kept together with the error. {@code checkedAt} is the last attempt, successful
+     * or not, so an unreachable application is retried at the same pace as the others.
+     */
+    private record Snapshot(String config, Instant fetchedAt, Instant checkedAt, List<InventoryEntry> entries,
+            String error) {
+    }
+
+    public ServiceInventory(DokployClient dokployClient, RuntimeConfigHolder runtimeConfig,
+            InventoryProperties inventoryProperties, DesiredStateReconciler desiredStateReconciler,
+            ConfigModelCache configModelCache) {
+        this.dokployClient = dokployClient;
+        this.runtimeConfig = runtimeConfig;
+        this.inventoryProperties = inventoryProperties;
+        this.desiredStateReconciler = desiredStateReconciler;
+        this.configModelCache = configModelCache;
+    }
+
+    @PostConstruct
+    void start() {
+        int parallelism = Math.max(1, inventoryProperties.getParallelism());
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "inventory-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Forget the default application's entries when its connection changes, so the next request fetches them
+     * with the new settings instead of serving data read with the old key or from the old application.
+     */
+    @EventListener
+    void onRuntimeConfigChanged(RuntimeConfigChangedEvent event) {
+        if (event.changed("dokployApiKey") || event.changed("apiDomain") || event.changed("applicationId")) {
+            RuntimeConfig previous = event.previous();
+            snapshots.remove(new Target(previous.apiDomain(), previous.applicationId(), null).key());
+        }
+    }
+
+    /**
+     * The inventory entries matching the filters, refreshing stale applications first. Filters are
+     * case-insensitive substrings; {@code null} matches everything.
+     *
+     * @param refresh fetch every application regardless of age
+     */
+    public InventoryResponse inventory(String host, String service, String url, String applicationId,
+            boolean refresh) throws InterruptedException {
+        List<Target> targets = registeredTargets();
+        Set<String> keys = new HashSet<>();
+        targets.forEach(target -> keys.add(target.key()));
+        snapshots.keySet().retainAll(keys);
+
+        InventoryResponse response = new InventoryResponse();
+        refreshStale(targets, refresh, response);
+
+        String hostFilter = lowercase(host);
+        String serviceFilter = lowercase(service);
+        String urlFilter = lowercase(url);
+        for (Target target : targets) {
+            Snapshot snapshot = snapshots.get(target.key());
+            response.getApplications().add(new InventoryApplication(target.apiDomain(), target.applicationId(),
+                    snapshot.fetchedAt(), snapshot.entries().size(), snapshot.error()));
+            if (applicationId != null && !applicationId.equals(target.applicationId())) {
+                continue;
+            }
+            for (InventoryEntry entry : snapshot.entries()) {
+                if (contains(entry.getHostname(), hostFilter) && contains(entry.getService(), serviceFilter)
+                        && (urlFilter == null || entry.getUrls().stream().anyMatch(u -> contains(u, urlFilter)))) {
+                    response.getEntries().add(entry);
+                }
+            }
+        }
+        logger.info("Inventory served [applications={}, fetched={}, changed={}, entries={}]", targets.size(),
+                response.getFetched(), response.getChanged(), response.getEntries().size());
+        return response;
+    }
+
+    private void refreshStale(List<Target> targets, boolean refresh, InventoryResponse response)
+            throws InterruptedException {
+        Instant staleBefore = Instant.now().minus(Duration.ofMillis(inventoryProperties.getMaxAgeMs()));
+        List<Target> stale = new ArrayList<>();
+        for (Target target : targets) {
+            Snapshot snapshot = snapshots.get(target.key());
+            if (refresh || snapshot == null || snapshot.checkedAt().isBefore(staleBefore)) {
+                stale.add(target);
+            }
+        }
+        if (stale.isEmpty()) {
+            return;
+        }
+
+        List<Callable<Boolean>> tasks = new ArrayList<>(stale.size());
+        stale.forEach(target -> tasks.add(LogContext.propagate(() -> fetch(target))));
+        List<Future<Boolean>> results = executor.invokeAll(tasks);
+        for (Future<Boolean> result : results) {
+            try {
+                if (result.get()) {
+                    response.setChanged(response.getChanged() + 1);
+                }
+            } catch (ExecutionException e) {
+                // fetch() records its own errors
+            }
+        }
+        response.setFetched(stale.size());
+    }
+
+    /**
+     * Fetch one application and rebuild its entries if its config changed.
+     *
+     * @return whether the entries were rebuilt
+     */
+    private boolean fetch(Target target) {
+        Snapshot previous = snapshots.get(target.key());
+        try {
+            String config = dokployClient.readTraefikConfig(
+                    target.apiDomain() + "/api/application.readTraefikConfig", target.applicationId(),
+                    target.apiKey());
+            Instant now = Instant.now();
+            if (previous != null && config.equals(previous.config())) {
+                snapshots.put(target.key(), new Snapshot(previous.config(), now, now, previous.entries(), null));
+                return false;
+            }
+            List<InventoryEntry> entries = entries(target, configModelCache.get(config));
+            snapshots.put(target.key(), new Snapshot(config, now, now, entries, null));
+            logger.debug("Inventory of {} rebuilt [entries={}]", target.applicationId(), entries.size());
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to fetch inventory of {} on {}: {}", target.applicationId(), target.apiDomain(),
+                    e.getMessage());
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            snapshots.put(target.key(), previous != null
+                    ? new Snapshot(previous.config(), previous.fetchedAt(), Instant.now(), previous.entries(), error)
+                    : new Snapshot(null, null, Instant.now(), Collections.emptyList(), error));
+            return false;
+        }
+    }
+
+    /**
+     * One entry per router and host, followed by one entry per service that no router uses.
+     */
+    private static List<InventoryEntry> entries(Target target, TraefikConfigModel model) {
+        List<InventoryEntry> entries = new ArrayList<>();
+        Set<String> routed = new HashSet<>();
+        for (TraefikConfigModel.RouterDef router : model.getRouters().values()) {
+            String service = router.service();
+            List<String> urls = Collections.emptyList();
+            if (service != null) {
+                // Services of other providers are referenced as name@provider
+                String name = service.contains("@") ? service.substring(0, service.indexOf('@')) : service;
+                routed.add(name);
+                TraefikConfigModel.ServiceDef definition = model.getServices().get(name);
+                if (definition != null) {
+                    urls = definition.urls();
+                }
+            }
+            List<String> hosts = router.hosts().isEmpty() ? Collections.singletonList(null) : router.hosts();
+            for (String host : hosts) {
+                entries.add(new InventoryEntry(target.apiDomain(), target.applicationId(), host, router.name(),
+                        service, urls));
+            }
+        }
+        for (TraefikConfigModel.ServiceDef service : model.getServices().values()) {
+            if (!routed.contains(service.name())) {
+                entries.add(new InventoryEntry(target.apiDomain(), target.applicationId(), null, null,
+                        service.name(), service.urls()));
+            }
+        }
+        return Collections.unmodifiableList(entries);
+    }
+
+    private List<Target> registeredTargets() {
+        RuntimeConfig defaults = runtimeConfig.current();
+        Map<String, Target> targets = new LinkedHashMap<>();
+        if (inventoryProperties.isIncludeDefaultApplication()) {
+            add(targets, defaults, null, defaults.applicationId(), null);
+        }
+        for (InventoryProperties.Application application : inventoryProperties.getApplications()) {
+            add(targets, defaults, application.getApiDomain(), application.getApplicationId(),
+                    application.getDokployApiKey());
+        }
+        if (inventoryProperties.isIncludeDesiredStates()) {
+            for (DesiredStateRequest state : desiredStateReconciler.all()) {
+                add(targets, defaults, state.getApiDomain(), state.getApplicationId(), state.getDokployApiKey());
+            }
+        }
+        return new ArrayList<>(targets.values());
+    }
+
+    private void add(Map<String, Target> targets, RuntimeConfig defaults, String apiDomain, String applicationId,
+            String apiKey) {
+        if (applicationId == null || applicationId.isEmpty()) {
+            return;
+        }
+        Target target = new Target(apiDomain != null ? apiDomain : defaults.apiDomain(), applicationId,
+                apiKey != null ? apiKey : defaults.dokployApiKey());
+        targets.putIfAbsent(target.key(), target);
+    }
+
+    private static String lowercase(String filter) {
+        return filter != null && !filter.isBlank() ? filter.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static boolean contains(String value, String filter) {
+        return filter == null || (value != null && value.toLowerCase(Locale.ROOT).contains(filter));
+    }
+}
@@ -1,77 +1,389 @@
 package com.traefikconfig.service.impl;
 
-import com.traefikconfig.config.TraefikConfigProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.traefikconfig.client.DokployClient;
+import com.traefikconfig.config.TemplateProperties;
+import com.traefikconfig.config.RuntimeConfig;
+import com.traefikconfig.config.RuntimeConfigHolder;
+import com.traefikconfig.dto.ConfigChange;
+import com.traefikconfig.dto.ConfigDiffRequest;
+import com.traefikconfig.dto.ConfigDiffResponse;
+import com.traefikconfig.dto.ConfigFieldChange;
+import com.traefikconfig.dto.ConfigPlan;
 import com.traefikconfig.dto.CustomConfigRequest;
+import com.traefikconfig.dto.DesiredStateRequest;
+import com.traefikconfig.dto.DiffSource;
+import com.traefikconfig.dto.HostInfo;
 import com.traefikconfig.dto.HostOperationResponse;
+import com.traefikconfig.dto.ListingQuery;
+import com.traefikconfig.dto.PageResponse;
+import com.traefikconfig.dto.RouterConflict;
+import com.traefikconfig.dto.RouterInfo;
+import com.traefikconfig.dto.ReconcileResponse;
+import com.traefikconfig.model.ConfigDiff;
+import com.traefikconfig.model.ConfigIndex;
+import com.traefikconfig.model.Hostnames;
+import com.traefikconfig.model.RouterPrefixes;
+import com.traefikconfig.model.RuleIndex;
+import com.traefikconfig.model.TraefikConfigModel;
+import com.traefikconfig.dto.ConfigVersionInfo;
+import com.traefikconfig.logging.LogContext;
 import com.traefikconfig.service.TraefikConfigService;
+import com.traefikconfig.store.ConfigSnapshotStore;
+import com.traefikconfig.store.MutationWal;
+import com.traefikconfig.template.RouterTemplateRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.util.stream.Collectors;
-import org.json.JSONObject;
 
 @Service
 public class TraefikConfigServiceImpl implements TraefikConfigService {
 
     private static final Logger logger = LoggerFactory.getLogger(TraefikConfigServiceImpl.class);
 
-    public TraefikConfigServiceImpl(TraefikConfigProperties configProperties) {
-        this.configProperties = configProperties;
+    public TraefikConfigServiceImpl(RuntimeConfigHolder runtimeConfig, DokployClient dokployClient,
+            ConfigSnapshotStore snapshotStore, MutationWal mutationWal, ObjectMapper objectMapper,
+            RouterTemplateRegistry routerTemplates, TemplateProperties templateProperties,
+            ConfigModelCache configModelCache, ConfigWriteValidator configWriteValidator,
+            LiveConfigCache liveConfigCache, ObservationRegistry observationRegistry) {
+        this.runtimeConfig = runtimeConfig;
+        this.dokployClient = dokployClient;
+        this.snapshotStore = snapshotStore;
+        this.mutationWal = mutationWal;
+        this.objectMapper = objectMapper;
+        this.routerTemplates = routerTemplates;
+        this.templateProperties = templateProperties;
+        this.configModelCache = configModelCache;
+        this.configWriteValidator = configWriteValidator;
+        this.liveConfigCache = liveConfigCache;
+        this.observationRegistry = observationRegistry;
     }
 
-    private final TraefikConfigProperties configProperties;
+    private final RuntimeConfigHolder runtimeConfig;
+    private final DokployClient dokployClient;
+    private final ConfigSnapshotStore snapshotStore;
+    private final MutationWal mutationWal;
+    private final ObjectMapper objectMapper;
+    private final RouterTemplateRegistry routerTemplates;
+    private final TemplateProperties templateProperties;
+    private final ConfigModelCache configModelCache;
+    private final ConfigWriteValidator configWriteValidator;
+    private final LiveConfigCache liveConfigCache;
+    private final ObservationRegistry observationRegistry;
+
+    @FunctionalInterface
+    private interface Mutation<T> {
+        T apply() throws Exception;
+    }
+
+    /**
+     * Services, port and router template for a host, resolved from a request and the defaults.
+     */
+    private record HostLayout(String backendService, String frontendService, Integer servicePort,
+            String template) {
+    }
 
-    public HostOperationResponse addHost(String host) throws Exception {
-        logger.info("🔄 Adding host: {} [app={}]", host, configProperties.getApplicationId());
+    public HostOperationResponse addHost(String hostname, boolean dryRun) throws Exception {
+        String host = Hostnames.normalize(hostname);
+        RuntimeConfig target = runtimeConfig.current();
+        return journaled(dryRun, MutationWal.MutationType.ADD_HOST, targetPayload(target).put("hostname", host),
+                () -> applyAddHost(host, target, dryRun));
+    }
+
+    public HostOperationResponse deleteHost(String hostname, boolean dryRun) throws Exception {
+        String host = Hostnames.normalize(hostname);
+        RuntimeConfig target = runtimeConfig.current();
+        return journaled(dryRun, MutationWal.MutationType.DELETE_HOST, targetPayload(target).put("hostname", host),
+                () -> applyDeleteHost(host, target, dryRun));
+    }
 
-        String currentConfig = fetchCurrentTraefikConfig(configProperties.getApplicationId());
-        logger.info("📄 Current config before adding host:\n{}", currentConfig.replace("\\n", "\n"));
-        String newRoutersBlock = generateNewRoutersBlock(host);
-        String updatedConfig = mergeTraefikConfig(currentConfig, host, newRoutersBlock);
+    @Override
+    public HostOperationResponse addHostWithCustomConfig(CustomConfigRequest request, boolean dryRun)
+            throws Exception {
+        request.setHostname(Hostnames.normalize(request.getHostname()));
+        resolveTarget(request);
+        return journaled(dryRun, MutationWal.MutationType.ADD_HOST_CUSTOM, objectMapper.valueToTree(request),
+                () -> applyAddHostWithCustomConfig(request, dryRun));
+    }
+
+    @Override
+    public HostOperationResponse deleteHostWithCustomConfig(CustomConfigRequest request, boolean dryRun)
+            throws Exception {
+        request.setHostname(Hostnames.normalize(request.getHostname()));
+        resolveTarget(request);
+        return journaled(dryRun, MutationWal.MutationType.DELETE_HOST_CUSTOM, objectMapper.valueToTree(request),
+                () -> applyDeleteHostWithCustomConfig(request, dryRun));
+    }
+
+    @Override
+    public HostOperationResponse rollbackConfig(long version, CustomConfigRequest request, boolean dryRun)
+            throws Exception {
+        CustomConfigRequest target = request != null ? request : new CustomConfigRequest();
+        resolveTarget(target);
+        JsonNode payload = objectMapper.createObjectNode()
+                .put("version", version)
+                .put("baseHash", latestHash(target.getApplicationId()))
+                .set("request", objectMapper.valueToTree(target));
+        return journaled(dryRun, MutationWal.MutationType.ROLLBACK, payload,
+                () -> applyRollbackConfig(version, target, dryRun));
+    }
+
+    @Override
+    public ReconcileResponse reconcile(DesiredStateRequest desiredState, boolean dryRun) throws Exception {
+        RuntimeConfig defaults = runtimeConfig.current();
+        if (desiredState.getApplicationId() == null) {
+            desiredState.setApplicationId(defaults.applicationId());
+        }
+        if (desiredState.getApiDomain() == null) {
+            desiredState.setApiDomain(defaults.apiDomain());
+        }
+        JsonNode payload = objectMapper.<ObjectNode>valueToTree(desiredState)
+                .put("baseHash", latestHash(desiredState.getApplicationId()));
+        return journaled(dryRun, MutationWal.MutationType.RECONCILE, payload,
+                () -> applyReconcile(desiredState, dryRun));
+    }
+
+    /**
+     * The application and API domain of a runtime config, for the WAL payload of a mutation that uses it. The
+     * API key is not journaled; a replay uses the key in effect when it runs.
+     */
+    private ObjectNode targetPayload(RuntimeConfig target) {
+        return objectMapper.createObjectNode()
+                .put("applicationId", target.applicationId())
+                .put("apiDomain", target.apiDomain());
+    }
+
+    /**
+     * The runtime config a journaled mutation of the default application was accepted under: the current
+     * one, pointed at the application and API domain in its payload.
+     */
+    private RuntimeConfig journaledTarget(JsonNode payload) {
+        return runtimeConfig.current().withOverrides(null, payload.path("apiDomain").asText(null),
+                payload.path("applicationId").asText(null), null, null);
+    }
+
+    /**
+     * Fill in the application and API domain a request falls back to, so that its WAL payload names them and
+     * a replay goes where the request did even if the runtime config has changed in between.
+     */
+    private void resolveTarget(CustomConfigRequest request) {
+        RuntimeConfig defaults = runtimeConfig.current();
+        if (request.getApplicationId() == null) {
+            request.setApplicationId(defaults.applicationId());
+        }
+        if (request.getApiDomain() == null) {
+            request.setApiDomain(defaults.apiDomain());
+        }
+    }
+
+    /**
+     * Record a mutation in the WAL before running it, and mark it applied or failed once Dokploy answers.
+     * Dry runs write nothing, so they are not journaled.
+     */
+    private <T> T journaled(boolean dryRun, MutationWal.MutationType type, JsonNode payload, Mutation<T> mutation)
+            throws Exception {
+        return inOperationContext(type, payload, () -> {
+            if (dryRun) {
+                return mutation.apply();
+            }
+            long walId = mutationWal.append(type, objectMapper.writeValueAsString(payload));
+            try {
+                T result = mutation.apply();
+                mutationWal.markApplied(walId);
+                return result;
+            } catch (Exception e) {
+                mutationWal.markFailed(walId);
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Run a mutation in a {@code traefik.config.operation} span, with its operation, application and host in
+     * the MDC, so that every line it logs and every span below it can be found by them.
+     */
+    private <T> T inOperationContext(MutationWal.MutationType type, JsonNode payload, Mutation<T> mutation)
+            throws Exception {
+        String appId = payload.path("applicationId").asText(payload.path("request").path("applicationId").asText(
+                runtimeConfig.current().applicationId()));
+        String host = payload.path("hostname").asText(payload.path("suffix").asText(null));
+        java.util.Map<String, String> previous = LogContext.enter(type.name(), appId, host);
+        try {
+            Observation observation = stage("traefik.config.operation", appId)
+                    .contextualName(type.name().toLowerCase(java.util.Locale.ROOT))
+                    .lowCardinalityKeyValue("operation", type.name());
+            if (host != null) {
+                observation.highCardinalityKeyValue("host", host);
+            }
+            return observation.observeChecked(mutation::apply);
+        } finally {
+            LogContext.restore(previous);
+        }
+    }
+
+    /**
+     * A span for one stage of a config operation; {@code traefik.config.fetch} is reported as "config fetch".
+     */
+    private Observation stage(String name, String applicationId) {
+        return Observation.createNotStarted(name, observationRegistry)
+                .contextualName(name.substring(name.indexOf('.') + 1).replace('.', ' '))
+                .highCardinalityKeyValue("applicationId", String.valueOf(applicationId));
+    }
+
+    /**
+     * Replay mutations that were accepted before a crash but never confirmed by Dokploy, against the
+     * application and API domain recorded when they were accepted. Host adds and deletes are idempotent (adds
+     * skip existing hosts, deletes skip missing ones), so replaying one that was already applied is a no-op.
+     * Rollbacks and reconciles rewrite the config from what is live when they run, so they are only replayed
+     * while the live config is still the one they were accepted on, and are marked failed otherwise.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayPendingMutations() {
+        java.util.List<MutationWal.PendingMutation> pending = mutationWal.drainRecovered();
+        if (pending.isEmpty()) {
+            return;
+        }
+        logger.info("Replaying {} unapplied mutation(s) from WAL", pending.size());
+        for (MutationWal.PendingMutation mutation : pending) {
+            try {
+                JsonNode payload = objectMapper.readTree(mutation.payload());
+                String stale = staleReplay(mutation.type(), payload);
+                if (stale != null) {
+                    mutationWal.markFailed(mutation.id());
+                    logger.warn("Not replaying {} [wal_id={}, accepted_at={}]: {}", mutation.type(), mutation.id(),
+                            mutation.acceptedAt(), stale);
+                    continue;
+                }
+                Object result = inOperationContext(mutation.type(), payload, () -> switch (mutation.type()) {
+                    case ADD_HOST -> applyAddHost(payload.path("hostname").asText(), journaledTarget(payload),
+                            false);
+                    case DELETE_HOST -> applyDeleteHost(payload.path("hostname").asText(), journaledTarget(payload),
+                            false);
+                    case ADD_HOST_CUSTOM -> applyAddHostWithCustomConfig(
+                            objectMapper.treeToValue(payload, CustomConfigRequest.class), false);
+                    case DELETE_HOST_CUSTOM -> applyDeleteHostWithCustomConfig(
+                            objectMapper.treeToValue(payload, CustomConfigRequest.class), false);
+                    case ROLLBACK -> applyRollbackConfig(payload.path("version").asLong(),
+                            objectMapper.treeToValue(payload.path("request"), CustomConfigRequest.class), false);
+                    case RECONCILE -> applyReconcile(objectMapper.treeToValue(payload, DesiredStateRequest.class),
+                            false);
+                    case DELETE_HOSTS_BY_SUFFIX -> applyDeleteHostsBySuffix(payload.path("suffix").asText(),
+                            journaledTarget(payload), false);
+                });
+                mutationWal.markApplied(mutation.id());
+                logger.info("Replayed {} [wal_id={}, accepted_at={}]: {}", mutation.type(), mutation.id(),
+                        mutation.acceptedAt(), result instanceof HostOperationResponse response
+                                ? response.getMessage() : ((ReconcileResponse) result).getMessage());
+            } catch (Exception e) {
+                mutationWal.markFailed(mutation.id());
+                logger.error("Failed to replay {} [wal_id={}, accepted_at={}]: {}", mutation.type(), mutation.id(),
+                        mutation.acceptedAt(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Why a journaled rollback or reconcile must not be replayed, or {@code null} if it may be (and for every
+     * other mutation). The live config is compared with the latest version recorded when it was accepted; a
+     * mutation accepted before anything was recorded for its application is not replayed.
+     */
+    private String staleReplay(MutationWal.MutationType type, JsonNode payload) throws Exception {
+        if (type != MutationWal.MutationType.ROLLBACK && type != MutationWal.MutationType.RECONCILE) {
+            return null;
+        }
+        String baseHash = payload.path("baseHash").asText(null);
+        if (baseHash == null) {
+            return "the configuration it was accepted on is unknown";
+        }
+        JsonNode target = type == MutationWal.MutationType.ROLLBACK ? payload.path("request") : payload;
+        RuntimeConfig defaults = runtimeConfig.current();
+        String appId = target.path("applicationId").asText(defaults.applicationId());
+        String apiDomain = target.path("apiDomain").asText(defaults.apiDomain());
+        String apiKey = target.path("dokployApiKey").asText(defaults.dokployApiKey());
+        String liveHash = ConfigSnapshotStore.hashOf(fetchCurrentTraefikConfigWithCustom(appId,
+                apiDomain + "/api/application.readTraefikConfig", apiKey, false));
+        if (liveHash.equals(baseHash)) {
+            return null;
+        }
+        return "the live configuration of " + appId + " has changed since it was accepted [accepted_on="
+                + baseHash.substring(0, 12) + ", live=" + liveHash.substring(0, 12) + "]";
+    }
+
+    private HostOperationResponse applyAddHost(String host, RuntimeConfig defaults, boolean dryRun)
+            throws Exception {
+        logger.info("Adding host: {} [app={}, dry_run={}]", host, defaults.applicationId(), dryRun);
+
+        String currentConfig = fetchCurrentTraefikConfig(defaults, dryRun);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Current config before adding host:\n{}", currentConfig.replace("\\n", "\n"));
+        }
+        HostConfigEditor editor = new HostConfigEditor(currentConfig);
+        java.util.Map<String, java.util.List<String>> routersByHost = editor.routersByHost();
+        String prefix = RouterPrefixes.of(routersByHost).prefixFor(host);
+        String newRoutersBlock = generateNewRoutersBlock(host, prefix, defaults);
+        String updatedConfig = mergeTraefikConfig(editor, routersByHost, host, newRoutersBlock);
 
         if (updatedConfig == null) {
-            logger.warn("⚠️ Host '{}' already exists", host);
-            return new HostOperationResponse(
+            logger.warn("Host '{}' already exists", host);
+            return planned(dryRun, defaults.applicationId(), currentConfig, new HostOperationResponse(
                     "Host '" + host + "' already exists in the configuration. No update needed.",
                     currentConfig,
-                    host);
+                    host));
+        }
+        if (dryRun) {
+            return withHostConflicts(defaults.applicationId(), host, editor,
+                    planned(true, defaults.applicationId(), currentConfig, new HostOperationResponse(
+                            "Dry run: host '" + host + "' would be added. Nothing was written.", updatedConfig,
+                            host)));
         }
 
-        String responseBody = updateTraefikConfig(configProperties.getApplicationId(), updatedConfig);
-        logger.info("✅ Host '{}' added successfully [config_size={}]", host, updatedConfig.length());
-        logger.info("📄 Updated config after adding host:\n{}", updatedConfig.replace("\\n", "\n"));
+        String responseBody = updateTraefikConfig(defaults, currentConfig, updatedConfig);
+        logger.info("Host '{}' added successfully [config_size={}]", host, updatedConfig.length());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Updated config after adding host:\n{}", updatedConfig.replace("\\n", "\n"));
+        }
 
-        return new HostOperationResponse(
+        return withHostConflicts(defaults.applicationId(), host, editor, new HostOperationResponse(
                 "Host '" + host + "' added successfully! Response: " + responseBody,
                 updatedConfig,
-                host);
+                host));
     }
 
-    public HostOperationResponse deleteHost(String host) throws Exception {
-        logger.info("🗑️ Deleting host: {} [app={}]", host, configProperties.getApplicationId());
+    private HostOperationResponse applyDeleteHost(String host, RuntimeConfig defaults, boolean dryRun)
+            throws Exception {
+        logger.info("Deleting host: {} [app={}, dry_run={}]", host, defaults.applicationId(), dryRun);
 
-        String currentConfig = fetchCurrentTraefikConfig(configProperties.getApplicationId());
-        logger.info("📄 Current config before deleting host:\n{}", currentConfig.replace("\\n", "\n"));
+        String currentConfig = fetchCurrentTraefikConfig(defaults, dryRun);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Current config before deleting host:\n{}", currentConfig.replace("\\n", "\n"));
+        }
         String updatedConfig = deleteHostRouters(currentConfig, host);
 
         if (updatedConfig.equals(currentConfig)) {
-            logger.warn("⚠️ Host '{}' not found", host);
-            return new HostOperationResponse(
+            logger.warn("Host '{}' not found", host);
+            return planned(dryRun, defaults.applicationId(), currentConfig, new HostOperationResponse(
                     "Host '" + host + "' not found in configuration. Nothing to delete.",
                     currentConfig,
-                    host);
+                    host));
+        }
+        if (dryRun) {
+            return planned(true, defaults.applicationId(), currentConfig, new HostOperationResponse(
+                    "Dry run: host '" + host + "' would be deleted. Nothing was written.", updatedConfig, host));
         }
 
-        String responseBody = updateTraefikConfig(configProperties.getApplicationId(), updatedConfig);
-        logger.info("✅ Host '{}' deleted successfully [config_size={}]", host, updatedConfig.length());
-        logger.info("📄 Updated config after deleting host:\n{}", updatedConfig.replace("\\n", "\n"));
+        String responseBody = updateTraefikConfig(defaults, currentConfig, updatedConfig);
+        logger.info("Host '{}' deleted successfully [config_size={}]", host, updatedConfig.length());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Updated config after deleting host:\n{}", updatedConfig.replace("\\n", "\n"));
+        }
 
         return new HostOperationResponse(
                 "Host '" + host + "' deleted successfully! Response: " + responseBody,
@@ -80,28 +392,76 @@ public class TraefikConfigServiceImpl implements TraefikConfigService {
     }
 
     public String getCurrentConfig() throws Exception {
-        logger.info("📋 Fetching config [app={}]", configProperties.getApplicationId());
-        String config = fetchCurrentTraefikConfig(configProperties.getApplicationId());
-        logger.info("✅ Config retrieved [size={}]", config.length());
-        logger.info("📄 Config content:\n{}", config.replace("\\n", "\n"));
+        RuntimeConfig defaults = runtimeConfig.current();
+        logger.info("Fetching config [app={}]", defaults.applicationId());
+        String config = fetchCurrentTraefikConfig(defaults, false);
+        logger.info("Config retrieved [size={}]", config.length());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Config content:\n{}", config.replace("\\n", "\n"));
+        }
         return config;
     }
 
-    @Override
-    public HostOperationResponse addHostWithCustomConfig(CustomConfigRequest request) throws Exception {
+    private HostOperationResponse applyAddHostWithCustomConfig(CustomConfigRequest request, boolean dryRun)
+            throws Exception {
+        RuntimeConfig defaults = runtimeConfig.current();
         String host = request.getHostname();
         String appId = request.getApplicationId() != null ? request.getApplicationId()
-                : configProperties.getApplicationId();
-        String apiDomain = request.getApiDomain() != null ? request.getApiDomain() : configProperties.getApiDomain();
+                : defaults.applicationId();
+        String apiDomain = request.getApiDomain() != null ? request.getApiDomain() : defaults.apiDomain();
 
-        logger.info("🔄 Adding host with custom config: {} [app={}, domain={}]", host, appId, apiDomain);
+        logger.info("Adding host with custom config: {} [app={}, domain={}]", host, appId, apiDomain);
 
         // Use custom config or fall back to defaults
         String apiKey = request.getDokployApiKey() != null ? request.getDokployApiKey()
-                : configProperties.getDokployApiKey();
+                : defaults.dokployApiKey();
         String readUrl = apiDomain + "/api/application.readTraefikConfig";
         String updateUrl = apiDomain + "/api/application.updateTraefikConfig";
-        // Handle single service configuration
+        HostLayout layout = resolveHostLayout(request, defaults);
+
+        String currentConfig = fetchCurrentTraefikConfigWithCustom(appId, readUrl, apiKey, dryRun);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Current config before adding host (custom):\n{}", currentConfig.replace("\\n", "\n"));
+        }
+        HostConfigEditor editor = new HostConfigEditor(currentConfig);
+        java.util.Map<String, java.util.List<String>> routersByHost = editor.routersByHost();
+        String prefix = RouterPrefixes.of(routersByHost).prefixFor(host);
+        String newRoutersBlock = generateNewRoutersBlockWithCustom(host, prefix, layout);
+        String updatedConfig = mergeTraefikConfigWithServices(editor, routersByHost, host, prefix, newRoutersBlock,
+                layout.backendService(), layout.frontendService(), layout.servicePort());
+
+        if (updatedConfig == null) {
+            logger.warn("Host '{}' already exists [custom_config]", host);
+            return planned(dryRun, appId, currentConfig, new HostOperationResponse(
+                    "Host '" + host + "' already exists in the configuration. No update needed.",
+                    currentConfig,
+                    host));
+        }
+        if (dryRun) {
+            return withHostConflicts(appId, host, editor, planned(true, appId, currentConfig,
+                    new HostOperationResponse(
+                    "Dry run: host '" + host + "' would be added with custom config. Nothing was written.",
+                    updatedConfig, host)));
+        }
+
+        String responseBody = updateTraefikConfigWithCustom(appId, currentConfig, updatedConfig, updateUrl, apiKey);
+        logger.info("Host '{}' added with custom config [config_size={}]", host, updatedConfig.length());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Updated config after adding host (custom):\n{}", updatedConfig.replace("\\n", "\n"));
+        }
+
+        return withHostConflicts(appId, host, editor, new HostOperationResponse(
+                "Host '" + host + "' added successfully with custom config! Response: " + responseBody,
+                updatedConfig,
+                host));
+    }
+
+    /**
+     * Resolve which services, port and router template a host gets: single service from the request, then
+     * single service from properties, then the backend/frontend pair. The template is the requested one, then
+     * the configured default, then the built-in layout matching the services and middleware choice.
+     */
+    private HostLayout resolveHostLayout(CustomConfigRequest request, RuntimeConfig defaults) {
         String backendService, frontendService;
         Integer servicePort = null;
         if (request.getServiceName() != null) {
@@ -109,79 +469,80 @@ public class TraefikConfigServiceImpl implements TraefikConfigService {
             backendService = request.getServiceName();
             frontendService = request.getServiceName();
             servicePort = request.getServicePort() != null ? request.getServicePort() : 8080;
-            logger.info("🔧 Using single service mode with service: {} on port: {}", request.getServiceName(), servicePort);
-        } else if (configProperties.getSingleService() != null) {
+            logger.info("Using single service mode with service: {} on port: {}", request.getServiceName(), servicePort);
+        } else if (defaults.singleService() != null) {
             // Single service mode from properties
-            backendService = configProperties.getSingleService();
-            frontendService = configProperties.getSingleService();
-            servicePort = configProperties.getSingleServicePort() != null ? configProperties.getSingleServicePort() : 8080;
-            logger.info("🔧 Using single service mode from config with service: {} on port: {}", configProperties.getSingleService(), servicePort);
+            backendService = defaults.singleService();
+            frontendService = defaults.singleService();
+            servicePort = defaults.singleServicePort() != null ? defaults.singleServicePort() : 8080;
+            logger.info("Using single service mode from config with service: {} on port: {}", defaults.singleService(), servicePort);
         } else {
             // Traditional dual service mode
             backendService = request.getBackendService() != null ? request.getBackendService()
-                    : configProperties.getBackendService();
+                    : defaults.backendService();
             frontendService = request.getFrontendService() != null ? request.getFrontendService()
-                    : configProperties.getFrontendService();
-            logger.info("🔧 Using dual service mode - Backend: {}, Frontend: {}", backendService, frontendService);
+                    : defaults.frontendService();
+            logger.info("Using dual service mode - Backend: {}, Frontend: {}", backendService, frontendService);
         }
 
         // Check if we should skip middlewares
         boolean skipMiddlewares = (request.getSkipMiddlewares() != null && request.getSkipMiddlewares()) ||
-                                 (configProperties.getSkipMiddlewares() != null && configProperties.getSkipMiddlewares());
-
-        String currentConfig = fetchCurrentTraefikConfigWithCustom(appId, readUrl, apiKey);
-        logger.info("📄 Current config before adding host (custom):\n{}", currentConfig.replace("\\n", "\n"));
-        String newRoutersBlock = generateNewRoutersBlockWithCustom(host, backendService, frontendService, servicePort, skipMiddlewares);
-        String updatedConfig = mergeTraefikConfigWithServices(currentConfig, host, newRoutersBlock, backendService, frontendService, servicePort);
-
-        if (updatedConfig == null) {
-            logger.warn("⚠️ Host '{}' already exists [custom_config]", host);
-            return new HostOperationResponse(
-                    "Host '" + host + "' already exists in the configuration. No update needed.",
-                    currentConfig,
-                    host);
+                                 (defaults.skipMiddlewares() != null && defaults.skipMiddlewares());
+
+        String template = request.getTemplate();
+        if (template == null) {
+            boolean hasBothServices = backendService != null && frontendService != null
+                    && !backendService.equals(frontendService);
+            template = defaultRouterTemplate(!hasBothServices ? RouterTemplateRegistry.SINGLE
+                    : skipMiddlewares ? RouterTemplateRegistry.DUAL_ENTRYPOINTS : RouterTemplateRegistry.DUAL);
+        } else if (!routerTemplates.contains(template)) {
+            throw new IllegalArgumentException("Unknown router template '" + template + "'. Available: "
+                    + routerTemplates.names());
         }
 
-        String responseBody = updateTraefikConfigWithCustom(appId, updatedConfig, updateUrl, apiKey);
-        logger.info("✅ Host '{}' added with custom config [config_size={}]", host, updatedConfig.length());
-        logger.info("📄 Updated config after adding host (custom):\n{}", updatedConfig.replace("\\n", "\n"));
-
-        return new HostOperationResponse(
-                "Host '" + host + "' added successfully with custom config! Response: " + responseBody,
-                updatedConfig,
-                host);
+        return new HostLayout(backendService, frontendService, servicePort, template);
     }
 
-    @Override
-    public HostOperationResponse deleteHostWithCustomConfig(CustomConfigRequest request) throws Exception {
+    private HostOperationResponse applyDeleteHostWithCustomConfig(CustomConfigRequest request, boolean dryRun)
+            throws Exception {
+        RuntimeConfig defaults = runtimeConfig.current();
         String host = request.getHostname();
         String appId = request.getApplicationId() != null ? request.getApplicationId()
-                : configProperties.getApplicationId();
-        String apiDomain = request.getApiDomain() != null ? request.getApiDomain() : configProperties.getApiDomain();
+                : defaults.applicationId();
+        String apiDomain = request.getApiDomain() != null ? request.getApiDomain() : defaults.apiDomain();
 
-        logger.info("🗑️ Deleting host with custom config: {} [app={}, domain={}]", host, appId, apiDomain);
+        logger.info("Deleting host with custom config: {} [app={}, domain={}]", host, appId, apiDomain);
 
         // Use custom config or fall back to defaults
         String apiKey = request.getDokployApiKey() != null ? request.getDokployApiKey()
-                : configProperties.getDokployApiKey();
+                : defaults.dokployApiKey();
         String readUrl = apiDomain + "/api/application.readTraefikConfig";
         String updateUrl = apiDomain + "/api/application.updateTraefikConfig";
 
-        String currentConfig = fetchCurrentTraefikConfigWithCustom(appId, readUrl, apiKey);
-        logger.info("📄 Current config before deleting host (custom):\n{}", currentConfig.replace("\\n", "\n"));
+        String currentConfig = fetchCurrentTraefikConfigWithCustom(appId, readUrl, apiKey, dryRun);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Current config before deleting host (custom):\n{}", currentConfig.replace("\\n", "\n"));
+        }
         String updatedConfig = deleteHostRouters(currentConfig, host);
 
         if (updatedConfig.equals(currentConfig)) {
-            logger.warn("⚠️ Host '{}' not found [custom_config]", host);
-            return new HostOperationResponse(
+            logger.warn("Host '{}' not found [custom_config]", host);
+            return planned(dryRun, appId, currentConfig, new HostOperationResponse(
                     "Host '" + host + "' not found in configuration. Nothing to delete.",
                     currentConfig,
-                    host);
+                    host));
+        }
+        if (dryRun) {
+            return planned(true, appId, currentConfig, new HostOperationResponse(
+                    "Dry run: host '" + host + "' would be deleted with custom config. Nothing was written.",
+                    updatedConfig, host));
         }
 
-        String responseBody = updateTraefikConfigWithCustom(appId, updatedConfig, updateUrl, apiKey);
-        logger.info("✅ Host '{}' deleted with custom config [config_size={}]", host, updatedConfig.length());
-        logger.info("📄 Updated config after deleting host (custom):\n{}", updatedConfig.replace("\\n", "\n"));
+        String responseBody = updateTraefikConfigWithCustom(appId, currentConfig, updatedConfig, updateUrl, apiKey);
+        logger.info("Host '{}' deleted with custom config [config_size={}]", host, updatedConfig.length());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Updated config after deleting host (custom):\n{}", updatedConfig.replace("\\n", "\n"));
+        }
 
         return new HostOperationResponse(
                 "Host '" + host + "' deleted successfully with custom config! Response: " + responseBody,
@@ -191,622 +552,765 @@ public class TraefikConfigServiceImpl implements TraefikConfigService {
 
     @Override
     public String getCurrentConfigWithCustomConfig(CustomConfigRequest request) throws Exception {
+        RuntimeConfig defaults = runtimeConfig.current();
         String appId = request.getApplicationId() != null ? request.getApplicationId()
-                : configProperties.getApplicationId();
-        String apiDomain = request.getApiDomain() != null ? request.getApiDomain() : configProperties.getApiDomain();
+                : defaults.applicationId();
+        String apiDomain = request.getApiDomain() != null ? request.getApiDomain() : defaults.apiDomain();
 
-        logger.info("📋 Fetching config with custom settings [app={}, domain={}]", appId, apiDomain);
+        logger.info("Fetching config with custom settings [app={}, domain={}]", appId, apiDomain);
 
         String apiKey = request.getDokployApiKey() != null ? request.getDokployApiKey()
-                : configProperties.getDokployApiKey();
+                : defaults.dokployApiKey();
         String readUrl = apiDomain + "/api/application.readTraefikConfig";
 
-        String config = fetchCurrentTraefikConfigWithCustom(appId, readUrl, apiKey);
-        logger.info("✅ Config retrieved with custom settings [size={}]", config.length());
-        logger.info("📄 Config content (custom):\n{}", config.replace("\\n", "\n"));
+        String config = fetchCurrentTraefikConfigWithCustom(appId, readUrl, apiKey, false);
+        logger.info("Config retrieved with custom settings [size={}]", config.length());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Config content (custom):\n{}", config.replace("\\n", "\n"));
+        }
         return config;
     }
 
+    @Override
+    public java.util.List<ConfigVersionInfo> getConfigHistory(String applicationId) {
+        String appId = applicationId != null ? applicationId : runtimeConfig.current().applicationId();
+        java.util.List<ConfigVersionInfo> history = snapshotStore.history(appId);
+        logger.info("Config history retrieved [app={}, versions={}]", appId, history.size());
+        return history;
+    }
+
+    @Override
+    public String getConfigVersion(String applicationId, long version) {
+        String appId = applicationId != null ? applicationId : runtimeConfig.current().applicationId();
+        return snapshotStore.read(appId, version)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Config version " + version + " not found for application '" + appId + "'"));
+    }
+
+    @Override
+    public ConfigDiffResponse diffConfigs(ConfigDiffRequest request) throws Exception {
+        String from = readDiffSource(request.getFrom());
+        String to = readDiffSource(request.getTo());
+        long start = System.nanoTime();
+
+        ConfigDiffResponse result = new ConfigDiffResponse();
+        result.setFrom(describeDiffSource(request.getFrom()));
+        result.setTo(describeDiffSource(request.getTo()));
+        result.setFromHash(ConfigSnapshotStore.hashOf(from));
+        result.setToHash(from.equals(to) ? result.getFromHash() : ConfigSnapshotStore.hashOf(to));
+        if (!from.equals(to)) {
+            for (ConfigDiff.Change change : ConfigDiff.between(configModelCache.get(from), configModelCache.get(to))) {
+                result.getChanges().add(toConfigChange(change));
+                switch (change.type()) {
+                    case ADDED -> result.setAdded(result.getAdded() + 1);
+                    case REMOVED -> result.setRemoved(result.getRemoved() + 1);
+                    case CHANGED -> result.setChanged(result.getChanged() + 1);
+                }
+            }
+        }
+        logger.info("Diffed {} against {} [added={}, removed={}, changed={}, duration_ms={}]", result.getFrom(),
+                result.getTo(), result.getAdded(), result.getRemoved(), result.getChanged(),
+                java.util.concurrent.TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return result;
+    }
+
     /**
-     * Generates new router YAML blocks for a hostname.
+     * The config a diff source stands for: its YAML, a recorded version or the live config of its application.
      */
-    private String generateNewRoutersBlock(String host) {
-        logger.debug("🔧 Generating router blocks for host: {}", host);
-        String subdomainPrefix = host.split("\\.")[0];
-        logger.debug("📝 Extracted subdomain prefix: {}", subdomainPrefix);
-
-        String routerNameBackend = String.format("%s-devcrm-crmbackend-router", subdomainPrefix);
-        String routerNameFrontend = String.format("%s-devcrm-crmfrontend-router", subdomainPrefix);
-
-        logger.debug("🔗 Generated router names - Backend: {}, Frontend: {}", routerNameBackend, routerNameFrontend);
-
-        String routerBlock = String.format("""
-                # Backend API routes for %s
-                %s:
-                  rule: Host(`%s`) && PathPrefix(`/api`)
-                  service: %s
-                  middlewares:
-                    - redirect-to-https
-
-                %s-websecure:
-                  rule: Host(`%s`) && PathPrefix(`/api`)
-                  service: %s
-                  middlewares: []
-                  tls:
-                    certResolver: letsencrypt
-
-                # Frontend routes for %s
-                %s:
-                  rule: Host(`%s`) && !PathPrefix(`/api`)
-                  service: %s
-                  middlewares:
-                    - redirect-to-https
-
-                %s-websecure:
-                  rule: Host(`%s`) && !PathPrefix(`/api`)
-                  service: %s
-                  middlewares: []
-                  tls:
-                    certResolver: letsencrypt
-
-                """,
-                host,
-                routerNameBackend, host, configProperties.getBackendService(),
-                routerNameBackend, host, configProperties.getBackendService(),
-                host,
-                routerNameFrontend, host, configProperties.getFrontendService(),
-                routerNameFrontend, host, configProperties.getFrontendService());
-
-        logger.debug("✅ Router block generated successfully (length: {} characters)", routerBlock.length());
-        return routerBlock;
+    private String readDiffSource(DiffSource source) throws Exception {
+        if (source.getYaml() != null) {
+            return source.getYaml();
+        }
+        RuntimeConfig defaults = runtimeConfig.current();
+        String appId = source.getApplicationId() != null ? source.getApplicationId() : defaults.applicationId();
+        if (source.getVersion() != null) {
+            return getConfigVersion(appId, source.getVersion());
+        }
+        String apiDomain = source.getApiDomain() != null ? source.getApiDomain() : defaults.apiDomain();
+        String apiKey = source.getDokployApiKey() != null ? source.getDokployApiKey() : defaults.dokployApiKey();
+        return fetchCurrentTraefikConfigWithCustom(appId, apiDomain + "/api/application.readTraefikConfig", apiKey,
+                false);
+    }
+
+    private String describeDiffSource(DiffSource source) {
+        if (source.getYaml() != null) {
+            return "yaml";
+        }
+        String appId = source.getApplicationId() != null ? source.getApplicationId()
+                : runtimeConfig.current().applicationId();
+        return source.getVersion() != null ? appId + " version " + source.getVersion() : appId + " live";
+    }
+
+    private HostOperationResponse applyRollbackConfig(long version, CustomConfigRequest request, boolean dryRun)
+            throws Exception {
+        RuntimeConfig defaults = runtimeConfig.current();
+        String appId = request != null && request.getApplicationId() != null ? request.getApplicationId()
+                : defaults.applicationId();
+        String apiDomain = request != null && request.getApiDomain() != null ? request.getApiDomain()
+                : defaults.apiDomain();
+        String apiKey = request != null && request.getDokployApiKey() != null ? request.getDokployApiKey()
+                : defaults.dokployApiKey();
+        String readUrl = apiDomain + "/api/application.readTraefikConfig";
+        String updateUrl = apiDomain + "/api/application.updateTraefikConfig";
+
+        logger.info("Rolling back config to version {} [app={}, domain={}]", version, appId, apiDomain);
+        String targetConfig = getConfigVersion(appId, version);
+
+        // Validated against the latest recorded version, which is what this service last read or wrote, so
+        // only problems the old version brings back are rejected and a rollback is a local read plus one
+        // write. Dry runs plan and check conflicts against the live config.
+        String currentConfig = dryRun ? null : latestSnapshot(appId);
+        if (currentConfig == null) {
+            currentConfig = fetchCurrentTraefikConfigWithCustom(appId, readUrl, apiKey, dryRun);
+        }
+        if (dryRun) {
+            return withConflicts(appId, currentConfig, planned(true, appId, currentConfig, new HostOperationResponse(
+                    "Dry run: configuration would be rolled back to version " + version + ". Nothing was written.",
+                    targetConfig,
+                    null)));
+        }
+        String responseBody = updateTraefikConfigWithCustom(appId, currentConfig, targetConfig, updateUrl, apiKey);
+        logger.info("Config rolled back to version {} [app={}, config_size={}]", version, appId,
+                targetConfig.length());
+
+        return withConflicts(appId, currentConfig, new HostOperationResponse(
+                "Configuration rolled back to version " + version + "! Response: " + responseBody,
+                targetConfig,
+                null));
     }
 
     /**
-     * Merge routers and services into http configuration.
+     * Bring the live config in line with a desired host set: hosts missing from the live config are added,
+     * hosts whose routers or service differ are replaced, hosts no longer desired are removed. All changes
+     * go out in a single write, and nothing is written when the live config already matches.
      */
-    private String mergeTraefikConfigWithServices(String currentConfig, String hostToAdd, String newRoutersBlock, 
-                                                 String backendService, String frontendService, Integer servicePort) {
-        logger.debug("🔍 Checking if host '{}' already exists in configuration", hostToAdd);
-        if (currentConfig.contains("Host(`" + hostToAdd + "`)")) {
-            logger.warn("⚠️ Host '{}' already exists in configuration", hostToAdd);
-            return null; // Host already exists
+    private ReconcileResponse applyReconcile(DesiredStateRequest desiredState, boolean dryRun) throws Exception {
+        RuntimeConfig defaults = runtimeConfig.current();
+        String appId = desiredState.getApplicationId() != null ? desiredState.getApplicationId()
+                : defaults.applicationId();
+        String apiDomain = desiredState.getApiDomain() != null ? desiredState.getApiDomain()
+                : defaults.apiDomain();
+        String apiKey = desiredState.getDokployApiKey() != null ? desiredState.getDokployApiKey()
+                : defaults.dokployApiKey();
+        String readUrl = apiDomain + "/api/application.readTraefikConfig";
+        String updateUrl = apiDomain + "/api/application.updateTraefikConfig";
+
+        java.util.Map<String, CustomConfigRequest> desiredByHost = new java.util.LinkedHashMap<>();
+        for (CustomConfigRequest desiredHost : desiredState.getHosts()) {
+            String host = Hostnames.normalize(desiredHost.getHostname());
+            if (desiredByHost.put(host, desiredHost) != null) {
+                throw new IllegalArgumentException("Host '" + host + "' appears more than once in the desired state");
+            }
         }
 
-        // Check if we're in single service mode
-        boolean isSingleService = backendService != null && frontendService != null && 
-                                 backendService.equals(frontendService) && servicePort != null;
+        logger.info("Reconciling desired state [app={}, domain={}, hosts={}]", appId, apiDomain,
+                desiredByHost.size());
+
+        String currentConfig = fetchCurrentTraefikConfigWithCustom(appId, readUrl, apiKey, dryRun);
+        TraefikConfigModel live = configModelCache.get(currentConfig);
+        java.util.Map<String, java.util.List<TraefikConfigModel.RouterDef>> liveByHost = live.routersByHost();
+
+        ReconcileResponse result = new ReconcileResponse();
+        result.setApplicationId(appId);
+        java.util.Map<String, String> blocksToAdd = new java.util.LinkedHashMap<>();
+        java.util.Map<String, HostLayout> layouts = new java.util.HashMap<>();
+        java.util.Map<String, String> prefixes = new java.util.HashMap<>();
+        RouterPrefixes routerPrefixes = RouterPrefixes.of(live);
+        // Generated services of removed and replaced hosts, dropped with their routers unless still used
+        java.util.Set<String> generatedServices = new java.util.LinkedHashSet<>();
+
+        for (String host : liveByHost.keySet()) {
+            if (!desiredByHost.containsKey(host)) {
+                result.getRemoved().add(host);
+                String prefix = routerPrefixes.release(host);
+                if (prefix != null) {
+                    generatedServices.add(prefix + "-service");
+                }
+            }
+        }
+        for (java.util.Map.Entry<String, CustomConfigRequest> entry : desiredByHost.entrySet()) {
+            String host = entry.getKey();
+            HostLayout layout = resolveHostLayout(entry.getValue(), defaults);
+            String prefix = routerPrefixes.prefixFor(host);
+            String block = generateNewRoutersBlockWithCustom(host, prefix, layout);
+            if (!liveByHost.containsKey(host)) {
+                result.getAdded().add(host);
+            } else if (!hostMatchesLive(prefix, block, layout, live, liveByHost.get(host))) {
+                result.getUpdated().add(host);
+                generatedServices.add(prefix + "-service");
+            } else {
+                result.setUnchanged(result.getUnchanged() + 1);
+                continue;
+            }
+            blocksToAdd.put(host, block);
+            layouts.put(host, layout);
+            prefixes.put(host, prefix);
+        }
 
-        String configWithRouters = mergeTraefikConfig(currentConfig, hostToAdd, newRoutersBlock);
-        
-        if (isSingleService) {
-            // Add service definition for single service mode
-            String subdomainPrefix = hostToAdd.split("\\.")[0];
-            String serviceNameForConfig = String.format("%s-service", subdomainPrefix);
-            int port = servicePort != null ? servicePort : 8080;
-            
-            String serviceBlock = String.format("""
-                    %s:
-                      loadBalancer:
-                        servers:
-                        - url: http://%s:%d
-                        passHostHeader: true
+        int changes = result.getAdded().size() + result.getUpdated().size() + result.getRemoved().size();
+        if (changes == 0) {
+            logger.info("Live config already matches desired state [app={}, hosts={}]", appId, desiredByHost.size());
+            result.setMessage("Live configuration already matches the desired state. No update needed.");
+            result.setUpdatedConfig(currentConfig);
+            if (dryRun) {
+                result.setPlan(plan(appId, currentConfig, currentConfig));
+            }
+            return result;
+        }
 
-                    """, serviceNameForConfig, backendService, port);
-            
-            configWithRouters = mergeServiceConfig(configWithRouters, serviceBlock);
+        // Every edit is planned on the fetched config and applied in one pass
+        HostConfigEditor editor = new HostConfigEditor(currentConfig);
+        java.util.Set<String> replacedHosts = new java.util.HashSet<>(result.getRemoved());
+        replacedHosts.addAll(result.getUpdated());
+        editor.removeRouters(replacedHosts);
+        java.util.List<String> serviceBlocks = new java.util.ArrayList<>();
+        java.util.Set<String> replacedServices = new java.util.LinkedHashSet<>(
+                orphanedServices(live, generatedServices, replacedHosts));
+        for (java.util.Map.Entry<String, String> entry : blocksToAdd.entrySet()) {
+            HostLayout layout = layouts.get(entry.getKey());
+            String prefix = prefixes.get(entry.getKey());
+            String serviceBlock = singleServiceBlock(prefix, layout.backendService(), layout.frontendService(),
+                    layout.servicePort());
+            if (serviceBlock != null) {
+                serviceBlocks.add(serviceBlock);
+                replacedServices.add(prefix + "-service");
+            }
         }
-        
-        return configWithRouters;
+        editor.removeServices(replacedServices);
+        editor.addRouters(new java.util.ArrayList<>(blocksToAdd.values()));
+        editor.addServices(serviceBlocks);
+        String updatedConfig = editor.apply();
+
+        if (dryRun) {
+            result.setChanged(true);
+            result.setMessage("Dry run: " + changes
+                    + " change(s) would be reconciled in one write. Nothing was written.");
+            result.setUpdatedConfig(updatedConfig);
+            result.setPlan(plan(appId, currentConfig, updatedConfig));
+            result.setConflicts(routerConflicts(appId, configModelCache.get(currentConfig),
+                    configModelCache.get(updatedConfig)));
+            return result;
+        }
+        String responseBody = updateTraefikConfigWithCustom(appId, currentConfig, updatedConfig, updateUrl, apiKey);
+        logger.info("Desired state reconciled [app={}, added={}, updated={}, removed={}, unchanged={}]", appId,
+                result.getAdded().size(), result.getUpdated().size(), result.getRemoved().size(),
+                result.getUnchanged());
+
+        result.setChanged(true);
+        result.setMessage("Reconciled " + changes + " change(s) in one write! Response: " + responseBody);
+        result.setUpdatedConfig(updatedConfig);
+        result.setConflicts(routerConflicts(appId, configModelCache.get(currentConfig),
+                configModelCache.get(updatedConfig)));
+        return result;
+    }
+
+    @Override
+    public PageResponse<HostInfo> listHosts(ListingQuery query) throws Exception {
+        String suffix = query.getSuffix() != null && !query.getSuffix().isBlank()
+                ? Hostnames.normalizeSuffix(query.getSuffix()) : null;
+        ConfigIndex.Page<ConfigIndex.HostEntry> page = loadIndex(query).hosts(suffix, query.getSort(),
+                query.getCursor(), query.getLimit(), listingFilter(query));
+        java.util.List<HostInfo> hosts = page.items().stream()
+                .map(host -> new HostInfo(host.hostname(),
+                        host.routers().stream().map(TraefikConfigModel.RouterDef::name).toList(),
+                        host.services(), host.entryPoints(), host.tls()))
+                .toList();
+        logger.info("Listed {} of {} host(s) [suffix={}, sort={}]", hosts.size(), page.total(), query.getSuffix(),
+                query.getSort());
+        return new PageResponse<>(hosts, page.nextCursor(), page.total(), query.getLimit());
+    }
+
+    @Override
+    public PageResponse<RouterInfo> listRouters(ListingQuery query) throws Exception {
+        ConfigIndex.Page<TraefikConfigModel.RouterDef> page = loadIndex(query).routers(query.getSort(),
+                query.getCursor(), query.getLimit(), listingFilter(query));
+        java.util.List<RouterInfo> routers = page.items().stream()
+                .map(router -> new RouterInfo(router.name(), router.rule(), router.service(), router.entryPoints(),
+                        router.middlewares(), router.tls(), router.certResolver(), router.hosts()))
+                .toList();
+        logger.info("Listed {} of {} router(s) [sort={}]", routers.size(), page.total(), query.getSort());
+        return new PageResponse<>(routers, page.nextCursor(), page.total(), query.getLimit());
     }
 
     /**
-     * Merge routers into http.routers section.
+     * Fetch an application's config and return the listing index of its parsed model.
      */
-    private String mergeTraefikConfig(String currentConfig, String hostToAdd, String newRoutersBlock) {
-        logger.debug("🔍 Checking if host '{}' already exists in configuration", hostToAdd);
-        if (currentConfig.contains("Host(`" + hostToAdd + "`)")) {
-            logger.warn("⚠️ Host '{}' already exists in configuration", hostToAdd);
-            return null; // Host already exists
+    private ConfigIndex loadIndex(ListingQuery query) throws Exception {
+        if (query.getLimit() < 1 || query.getLimit() > ListingQuery.MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + ListingQuery.MAX_LIMIT);
         }
+        RuntimeConfig defaults = runtimeConfig.current();
+        String appId = query.getApplicationId() != null ? query.getApplicationId()
+                : defaults.applicationId();
+        String config = fetchCurrentTraefikConfigWithCustom(appId, defaults.readApiUrl(),
+                defaults.dokployApiKey(), false);
+        return configModelCache.get(config).index();
+    }
 
-        logger.debug("🔍 Looking for 'routers:' section in configuration");
-        int routersIndex = currentConfig.indexOf("\n  routers:");
-        if (routersIndex == -1) {
-            logger.error("❌ Invalid config: 'routers:' section not found");
-            throw new IllegalArgumentException("Invalid config: 'routers:' section not found.");
-        }
-        logger.debug("✅ Found 'routers:' section at index: {}", routersIndex);
+    private static ConfigIndex.Filter listingFilter(ListingQuery query) {
+        return new ConfigIndex.Filter(query.getService(), query.getEntryPoint(), query.getTls());
+    }
 
-        // Find the next section after routers (could be middlewares, services, or other sections)
-        int nextSectionIndex = findNextSectionAfterRouters(currentConfig, routersIndex);
-        
-        logger.debug("🔧 Indenting new router blocks");
-        String indentedRouters = newRoutersBlock.lines()
-                .map(line -> "    " + line)
-                .collect(Collectors.joining("\n"));
+    @Override
+    public HostOperationResponse deleteHostsBySuffix(String suffix, String applicationId, boolean dryRun)
+            throws Exception {
+        RuntimeConfig target = runtimeConfig.current().withOverrides(null, null, applicationId, null, null);
+        return journaled(dryRun, MutationWal.MutationType.DELETE_HOSTS_BY_SUFFIX,
+                targetPayload(target).put("suffix", suffix),
+                () -> applyDeleteHostsBySuffix(suffix, target, dryRun));
+    }
 
-        String beforeInsert = currentConfig.substring(0, nextSectionIndex);
-        String afterInsert = currentConfig.substring(nextSectionIndex);
+    private HostOperationResponse applyDeleteHostsBySuffix(String suffix, RuntimeConfig target, boolean dryRun)
+            throws Exception {
+        String query = suffix != null ? suffix.trim() : "";
+        if (query.isEmpty() || query.equals("*.")) {
+            throw new IllegalArgumentException("A domain suffix is required to delete hosts");
+        }
+        query = Hostnames.normalizeSuffix(query);
+        String appId = target.applicationId();
+        logger.info("Deleting hosts under '{}' [app={}]", query, appId);
+
+        String currentConfig = fetchCurrentTraefikConfigWithCustom(appId, target.readApiUrl(),
+                target.dokployApiKey(), dryRun);
+        java.util.List<String> hosts = configModelCache.get(currentConfig).hostTrie().hostsUnder(query);
+        if (hosts.isEmpty()) {
+            logger.warn("No hosts under '{}'", query);
+            return planned(dryRun, appId, currentConfig, new HostOperationResponse(
+                    "No hosts found under '" + query + "'. No update needed.", currentConfig, query));
+        }
 
-        String mergedConfig = beforeInsert.stripTrailing() + "\n" + indentedRouters + "\n" + afterInsert;
-        logger.debug("✅ Configuration merged successfully (new length: {} characters)", mergedConfig.length());
+        HostConfigEditor editor = new HostConfigEditor(currentConfig);
+        int deletedRouters = editor.removeRouters(new java.util.HashSet<>(hosts));
+        String updatedConfig = editor.apply();
+        if (dryRun) {
+            return planned(true, appId, currentConfig, new HostOperationResponse(
+                    "Dry run: " + hosts.size() + " host(s) under '" + query + "' would be deleted: "
+                            + String.join(", ", hosts) + ". Nothing was written.",
+                    updatedConfig,
+                    query));
+        }
+        String responseBody = updateTraefikConfigWithCustom(appId, currentConfig, updatedConfig,
+                target.updateApiUrl(), target.dokployApiKey());
+        logger.info("Deleted {} host(s) and {} router(s) under '{}'", hosts.size(), deletedRouters, query);
 
-        return mergedConfig;
+        return new HostOperationResponse(
+                "Deleted " + hosts.size() + " host(s) under '" + query + "': " + String.join(", ", hosts)
+                        + "! Response: " + responseBody,
+                updatedConfig,
+                query);
     }
 
     /**
-     * Find the next section after routers (middlewares, services, etc.)
+     * The services that nothing uses once the routers of the replaced hosts are gone: they exist, and no router
+     * of a host that stays refers to them. Services the new router blocks need are added back with them.
      */
-    private int findNextSectionAfterRouters(String currentConfig, int routersIndex) {
-        String[] possibleSections = {"\n  middlewares:", "\n  services:", "\nentryPoints:", "\ncertificatesResolvers:", "\napi:", "\nlog:"};
-        
-        for (String section : possibleSections) {
-            int sectionIndex = currentConfig.indexOf(section, routersIndex);
-            if (sectionIndex != -1) {
-                logger.debug("✅ Found next section '{}' at index: {}", section.trim(), sectionIndex);
-                return sectionIndex;
+    private static java.util.List<String> orphanedServices(TraefikConfigModel live,
+            java.util.Collection<String> services, java.util.Set<String> replacedHosts) {
+        java.util.Set<String> stillUsed = new java.util.HashSet<>();
+        for (TraefikConfigModel.RouterDef router : live.getRouters().values()) {
+            boolean removed = router.hosts().stream()
+                    .anyMatch(host -> replacedHosts.contains(host.toLowerCase(java.util.Locale.ROOT)));
+            if (!removed && router.service() != null) {
+                stillUsed.add(router.service());
             }
         }
-        
-        // If no section found, insert at the end of the file
-        logger.debug("⚠️ No next section found after routers, inserting at end of file");
-        return currentConfig.length();
+        return services.stream()
+                .filter(service -> live.getServices().containsKey(service) && !stillUsed.contains(service))
+                .toList();
     }
 
     /**
-     * Merge service definition into http.services section.
+     * Whether the live routers (and single-service definition) of a host are exactly what would be generated.
      */
-    private String mergeServiceConfig(String currentConfig, String newServiceBlock) {
-        logger.debug("🔍 Looking for 'services:' section in configuration");
-        int servicesIndex = currentConfig.indexOf("\n  services:");
-        
-        if (servicesIndex == -1) {
-            // Services section doesn't exist, create it
-            logger.debug("⚠️ Services section not found, creating new services section");
-            return createServicesSection(currentConfig, newServiceBlock);
+    private boolean hostMatchesLive(String prefix, String expectedBlock, HostLayout layout, TraefikConfigModel live,
+            java.util.List<TraefikConfigModel.RouterDef> liveRouters) {
+        String expectedConfig = "http:\n  routers:\n" + expectedBlock.lines()
+                .map(line -> "    " + line)
+                .collect(Collectors.joining("\n"));
+        java.util.Map<String, TraefikConfigModel.RouterDef> expected = TraefikConfigModel.parse(expectedConfig)
+                .getRouters();
+        if (expected.size() != liveRouters.size()) {
+            return false;
         }
-        
-        logger.debug("✅ Found 'services:' section at index: {}", servicesIndex);
-
-        // Find the end of services section (next top-level section or end of file)
-        int nextSectionIndex = currentConfig.length();
-        String[] possibleSections = {"\nentryPoints:", "\ncertificatesResolvers:", "\napi:", "\nlog:"};
-        for (String section : possibleSections) {
-            int sectionIndex = currentConfig.indexOf(section, servicesIndex);
-            if (sectionIndex != -1 && sectionIndex < nextSectionIndex) {
-                nextSectionIndex = sectionIndex;
+        for (TraefikConfigModel.RouterDef want : expected.values()) {
+            TraefikConfigModel.RouterDef have = live.getRouters().get(want.name());
+            if (have == null || !java.util.Objects.equals(want.rule(), have.rule())
+                    || !java.util.Objects.equals(want.service(), have.service())
+                    || !want.entryPoints().equals(have.entryPoints())
+                    || !want.middlewares().equals(have.middlewares())
+                    || want.tls() != have.tls()
+                    || !java.util.Objects.equals(want.certResolver(), have.certResolver())) {
+                return false;
             }
         }
+        boolean isSingleService = layout.backendService() != null
+                && layout.backendService().equals(layout.frontendService()) && layout.servicePort() != null;
+        if (isSingleService) {
+            String serviceName = prefix + "-service";
+            String expectedUrl = "http://" + layout.backendService() + ":" + layout.servicePort();
+            TraefikConfigModel.ServiceDef service = live.getServices().get(serviceName);
+            return service != null && service.urls().contains(expectedUrl);
+        }
+        return true;
+    }
 
-        logger.debug("🔧 Indenting new service block");
-        String indentedService = newServiceBlock.lines()
-                .map(line -> "    " + line)
-                .collect(Collectors.joining("\n"));
+    /**
+     * Attach the plan of a dry run to its response; responses of real operations are returned as they are.
+     */
+    private HostOperationResponse planned(boolean dryRun, String applicationId, String baseConfig,
+            HostOperationResponse response) {
+        if (dryRun) {
+            response.setPlan(plan(applicationId, baseConfig, response.getUpdatedConfig()));
+        }
+        return response;
+    }
 
-        String beforeInsert = currentConfig.substring(0, nextSectionIndex);
-        String afterInsert = currentConfig.substring(nextSectionIndex);
+    /**
+     * What writing {@code updatedConfig} over {@code baseConfig} would change. The updated config is validated
+     * like a real write, so a plan that would be rejected fails the same way.
+     */
+    private ConfigPlan plan(String applicationId, String baseConfig, String updatedConfig) {
+        ConfigPlan plan = new ConfigPlan();
+        plan.setBaseHash(ConfigSnapshotStore.hashOf(baseConfig));
+        plan.setConfigHash(updatedConfig.equals(baseConfig) ? plan.getBaseHash()
+                : ConfigSnapshotStore.hashOf(updatedConfig));
+        plan.setChanged(!updatedConfig.equals(baseConfig));
+        if (plan.isChanged()) {
+            configWriteValidator.check(applicationId, baseConfig, updatedConfig);
+            for (ConfigDiff.Change change : ConfigDiff.between(configModelCache.get(baseConfig),
+                    configModelCache.get(updatedConfig))) {
+                plan.getChanges().add(toConfigChange(change));
+            }
+        }
+        logger.info("Planned {} change(s) [app={}, base={}, result={}]", plan.getChanges().size(), applicationId,
+                plan.getBaseHash().substring(0, 12), plan.getConfigHash().substring(0, 12));
+        return plan;
+    }
 
-        String mergedConfig = beforeInsert.stripTrailing() + "\n" + indentedService + "\n" + afterInsert;
-        logger.debug("✅ Service configuration merged successfully (new length: {} characters)", mergedConfig.length());
+    private static ConfigChange toConfigChange(ConfigDiff.Change change) {
+        ConfigChange result = new ConfigChange(change.section().name(), change.name(), change.type().name());
+        change.fields().forEach(field -> result.getFields().add(
+                new ConfigFieldChange(field.field(), field.before(), field.after())));
+        return result;
+    }
 
-        return mergedConfig;
+    private HostOperationResponse withConflicts(String applicationId, String baseConfig,
+            HostOperationResponse response) {
+        try {
+            response.setConflicts(routerConflicts(applicationId, configModelCache.get(baseConfig),
+                    configModelCache.get(response.getUpdatedConfig())));
+        } catch (IllegalArgumentException e) {
+            // The check needs both configs parsed; an operation that got here does not
+            logger.warn("Skipped router conflict check [app={}]: {}", applicationId, e.getMessage());
+        }
+        return response;
     }
 
     /**
-     * Create a new services section in the configuration.
+     * Router conflicts of an add. Only routers of the added host and routers without a host can conflict
+     * with the new ones, so just those are parsed and the add never needs the whole config parsed. Both
+     * sides come from the editor that made the add, so neither config is scanned again.
      */
-    private String createServicesSection(String currentConfig, String newServiceBlock) {
-        logger.debug("🔧 Creating new services section");
-        
-        // Find where to insert the services section (after routers, before other sections)
-        int httpIndex = currentConfig.indexOf("http:");
-        if (httpIndex == -1) {
-            throw new IllegalArgumentException("Invalid config: 'http:' section not found.");
-        }
-        
-        // Find the end of the http section or a good place to insert services
-        String[] possibleSections = {"\nentryPoints:", "\ncertificatesResolvers:", "\napi:", "\nlog:"};
-        int insertIndex = currentConfig.length();
-        
-        for (String section : possibleSections) {
-            int sectionIndex = currentConfig.indexOf(section, httpIndex);
-            if (sectionIndex != -1 && sectionIndex < insertIndex) {
-                insertIndex = sectionIndex;
-            }
+    private HostOperationResponse withHostConflicts(String applicationId, String host, HostConfigEditor editor,
+            HostOperationResponse response) {
+        try {
+            response.setConflicts(routerConflicts(applicationId,
+                    TraefikConfigModel.parse(editor.routersCompetingWith(host)),
+                    TraefikConfigModel.parse(editor.editedRoutersCompetingWith(host))));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Skipped router conflict check [app={}]: {}", applicationId, e.getMessage());
         }
-        
-        logger.debug("🔧 Indenting new service block for new services section");
-        String indentedService = newServiceBlock.lines()
-                .map(line -> "    " + line)
-                .collect(Collectors.joining("\n"));
-        
-        String servicesSection = "\n  services:\n" + indentedService + "\n";
-        
-        String beforeInsert = currentConfig.substring(0, insertIndex);
-        String afterInsert = currentConfig.substring(insertIndex);
-        
-        String mergedConfig = beforeInsert.stripTrailing() + servicesSection + afterInsert;
-        logger.debug("✅ New services section created successfully (new length: {} characters)", mergedConfig.length());
-        
-        return mergedConfig;
+        return response;
     }
 
     /**
-     * Delete all router blocks for a hostname.
+     * Conflicts of the routers that {@code updated} adds or changes with the other routers in it (see
+     * {@link RuleIndex}). They are reported but do not block the write; some overlaps are intended, like a
+     * catch-all router behind more specific ones.
      */
-    private String deleteHostRouters(String currentConfig, String host) {
-        logger.debug("🗑️ Starting deletion of router blocks for host: {}", host);
-        String subdomainPrefix = host.split("\\.")[0];
-        logger.debug("📝 Subdomain prefix to match: {}", subdomainPrefix);
-
-        StringBuilder result = new StringBuilder();
-        boolean skip = false;
-        int deletedLines = 0;
-        int totalLines = 0;
-
-        for (String line : currentConfig.split("\n")) {
-            totalLines++;
-
-            // Start skipping if comment or router name mentions this host
-            if (line.contains("Host(`" + host + "`)") ||
-                    line.contains("# Backend API routes for " + host) ||
-                    line.contains("# Frontend routes for " + host) ||
-                    line.contains("# Routes for " + host) ||
-                    line.trim().startsWith(subdomainPrefix + "-devcrm-") ||
-                    line.trim().startsWith(subdomainPrefix + "-router")) {
-
-                logger.debug("🎯 Found line to delete: {}", line.trim());
-                skip = true;
-                deletedLines++;
+    private java.util.List<RouterConflict> routerConflicts(String applicationId, TraefikConfigModel base,
+            TraefikConfigModel updated) {
+        java.util.List<RouterConflict> conflicts = new java.util.ArrayList<>();
+        java.util.Set<String> reported = new java.util.HashSet<>();
+        for (ConfigDiff.Change change : ConfigDiff.between(base, updated)) {
+            if (change.section() != ConfigDiff.Section.ROUTERS || change.type() == ConfigDiff.Type.REMOVED) {
                 continue;
             }
-
-            if (skip) {
-                // Stop skipping once we reach the next top-level router/middleware/service
-                if (line.startsWith("  ") && !line.startsWith("    ")) {
-                    logger.debug("🔄 Reached next section, stopping deletion");
-                    skip = false;
-                    result.append(line).append("\n");
-                } else {
-                    deletedLines++;
+            for (RuleIndex.Conflict conflict : updated.ruleIndex().conflicts(change.name())) {
+                // A conflict between two new routers is found from both sides
+                boolean ordered = conflict.router().compareTo(conflict.other()) < 0;
+                String pair = ordered ? conflict.router() + " " + conflict.other()
+                        : conflict.other() + " " + conflict.router();
+                if (reported.add(conflict.type() + " " + pair)) {
+                    conflicts.add(new RouterConflict(conflict.type().name(), conflict.router(), conflict.other(),
+                            conflict.winner(), conflict.entryPoints(), describe(conflict)));
                 }
-                continue; // don't append skipped lines
             }
-
-            result.append(line).append("\n");
         }
+        if (!conflicts.isEmpty()) {
+            logger.warn("{} router conflict(s) [app={}]: {}", conflicts.size(), applicationId,
+                    conflicts.stream().map(RouterConflict::getMessage).collect(Collectors.joining("; ")));
+        }
+        return conflicts;
+    }
 
-        logger.debug("✅ Deletion complete - Processed {} lines, deleted {} lines", totalLines, deletedLines);
-        return result.toString().trim();
+    private static String describe(RuleIndex.Conflict conflict) {
+        String entryPoints = conflict.entryPoints().isEmpty() ? "all entry points"
+                : String.join(", ", conflict.entryPoints());
+        return switch (conflict.type()) {
+            case DUPLICATE -> "Routers '" + conflict.router() + "' and '" + conflict.other()
+                    + "' have the same rule on " + entryPoints + "; which one Traefik uses is undefined";
+            case SHADOWED -> "Router '" + conflict.router() + "' never matches on " + entryPoints
+                    + ": every request it matches goes to '" + conflict.other() + "'";
+            case OVERLAP -> "Routers '" + conflict.router() + "' and '" + conflict.other()
+                    + "' match some of the same requests on " + entryPoints + "; "
+                    + (conflict.winner() != null ? "they go to '" + conflict.winner() + "'"
+                            : "which one gets them is undefined");
+        };
     }
 
     /**
-     * Fetch current Traefik config from Dokploy.
+     * The content of the latest recorded version of an application, or {@code null} if none is recorded.
      */
-    private String fetchCurrentTraefikConfig(String applicationId) throws IOException, InterruptedException {
-        logger.debug("🌐 Making HTTP GET request to fetch configuration");
-        logger.debug("📡 URL: {}?applicationId={}", configProperties.getReadApiUrl(), applicationId);
-
-        HttpClient client = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(30))
-                .build();
-
-        String readUrl = configProperties.getReadApiUrl() + "?applicationId=" + applicationId;
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(readUrl))
-                .header("accept", "application/json")
-                .header("x-api-key", configProperties.getDokployApiKey())
-                .GET()
-                .build();
-
-        logger.debug("📤 Sending request to Dokploy API...");
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        logger.debug("📥 Received response with status: {}", response.statusCode());
-
-        if (response.statusCode() != 200) {
-            logger.error("❌ Failed to fetch config. HTTP status: {}, Response: {}",
-                    response.statusCode(), response.body());
-            throw new IOException("Failed to fetch config. HTTP status: " + response.statusCode() +
-                    "\nResponse: " + response.body());
-        }
+    /**
+     * Hash of the latest recorded version of an application, or {@code null} if none is recorded.
+     */
+    private String latestHash(String applicationId) {
+        return snapshotStore.latest(applicationId).map(ConfigVersionInfo::getHash).orElse(null);
+    }
 
-        String body = response.body().trim();
-        logger.debug("📄 Raw response body length: {} characters", body.length());
+    private String latestSnapshot(String applicationId) {
+        return snapshotStore.latest(applicationId)
+                .flatMap(latest -> snapshotStore.read(applicationId, latest.getVersion()))
+                .orElse(null);
+    }
 
-        if (body.startsWith("\"") && body.endsWith("\"")) {
-            body = body.substring(1, body.length() - 1);
-            logger.debug("🔧 Removed surrounding quotes from response");
+    /**
+     * Record a config version in the local snapshot store. History is best effort and never fails the
+     * operation that produced it.
+     */
+    private void recordSnapshot(String applicationId, ConfigSnapshotStore.Source source, String config) {
+        try {
+            snapshotStore.record(applicationId, source, config);
+        } catch (Exception e) {
+            logger.warn("Failed to record config snapshot [app={}, source={}]: {}", applicationId, source,
+                    e.getMessage());
         }
-
-        String processedBody = body.replace("\\n", "\n");
-        logger.debug("✅ Configuration fetched and processed successfully");
-        return processedBody;
     }
 
     /**
-     * Send updated Traefik config to Dokploy.
+     * Generates new router YAML blocks for a hostname.
      */
-    private String updateTraefikConfig(String applicationId, String traefikConfig)
-            throws IOException, InterruptedException {
-        logger.debug("🌐 Making HTTP POST request to update configuration");
-        logger.debug("📡 URL: {}", configProperties.getUpdateApiUrl());
-        logger.debug("📄 Config length to send: {} characters", traefikConfig.length());
-
-        HttpClient client = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(30))
-                .build();
-
-        String jsonPayload = new JSONObject()
-                .put("applicationId", applicationId)
-                .put("traefikConfig", traefikConfig)
-                .toString();
-
-        logger.debug("📦 JSON payload size: {} characters", jsonPayload.length());
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(configProperties.getUpdateApiUrl()))
-                .header("accept", "application/json")
-                .header("Content-Type", "application/json")
-                .header("x-api-key", configProperties.getDokployApiKey())
-                .POST(HttpRequest.BodyPublishers.ofString(jsonPayload))
-                .build();
+    private String generateNewRoutersBlock(String host, String subdomainPrefix, RuntimeConfig defaults) {
+        logger.debug("Generating router blocks for host: {} [prefix={}]", host, subdomainPrefix);
 
-        logger.debug("📤 Sending update request to Dokploy API...");
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        logger.debug("📥 Received response with status: {}", response.statusCode());
+        String routerBlock = routerTemplates.renderRouters(defaultRouterTemplate(RouterTemplateRegistry.DUAL), host,
+                subdomainPrefix, defaults.backendService(), defaults.frontendService());
 
-        if (response.statusCode() != 200) {
-            logger.error("❌ Failed to update config. HTTP status: {}, Response: {}",
-                    response.statusCode(), response.body());
-            throw new IOException("Failed to update config. HTTP status: " + response.statusCode() +
-                    "\nResponse: " + response.body());
-        }
+        logger.debug("Router block generated successfully (length: {} characters)", routerBlock.length());
+        return routerBlock;
+    }
 
-        logger.debug("✅ Configuration updated successfully");
-        return response.body();
+    private String defaultRouterTemplate(String builtIn) {
+        String configured = templateProperties.getDefaultTemplate();
+        return configured != null && !configured.isEmpty() ? configured : builtIn;
     }
 
     /**
-     * Generates new router YAML blocks for a hostname with custom services.
+     * Merge routers and services into http configuration, with the editor and router hosts of the operation.
      */
-    private String generateNewRoutersBlockWithCustom(String host, String backendService, String frontendService, Integer servicePort, boolean skipMiddlewares) {
-        logger.debug("🔧 Generating router blocks for host: {} with custom services", host);
-        String subdomainPrefix = host.split("\\.")[0];
-        logger.debug("📝 Extracted subdomain prefix: {}", subdomainPrefix);
+    private String mergeTraefikConfigWithServices(HostConfigEditor editor,
+            java.util.Map<String, java.util.List<String>> routersByHost, String hostToAdd, String prefix,
+            String newRoutersBlock, String backendService, String frontendService, Integer servicePort) {
+        return merge(hostToAdd, () -> {
+            logger.debug("Checking if host '{}' already exists in configuration", hostToAdd);
+            if (routersByHost.containsKey(hostToAdd.toLowerCase(java.util.Locale.ROOT))) {
+                logger.warn("Host '{}' already exists in configuration", hostToAdd);
+                return null; // Host already exists
+            }
 
-        // Check if we have both services or just one
-        boolean hasBothServices = backendService != null && frontendService != null && 
-                                 !backendService.equals(frontendService);
-        
-        if (hasBothServices) {
-            // Original logic for separate backend and frontend services
-            String routerNameBackend = String.format("%s-devcrm-crmbackend-router", subdomainPrefix);
-            String routerNameFrontend = String.format("%s-devcrm-crmfrontend-router", subdomainPrefix);
-
-            logger.debug("🔗 Generated router names - Backend: {}, Frontend: {}", routerNameBackend, routerNameFrontend);
-            logger.debug("🔧 Using custom services - Backend: {}, Frontend: {}", backendService, frontendService);
-
-            String routerBlock;
-            if (skipMiddlewares) {
-                // Generate routers without middlewares
-                routerBlock = String.format("""
-                        # Backend API routes for %s
-                        %s:
-                          rule: Host(`%s`) && PathPrefix(`/api`)
-                          service: %s
-                          entryPoints:
-                            - web
-
-                        %s-websecure:
-                          rule: Host(`%s`) && PathPrefix(`/api`)
-                          service: %s
-                          entryPoints:
-                            - websecure
-                          tls:
-                            certResolver: letsencrypt
-
-                        # Frontend routes for %s
-                        %s:
-                          rule: Host(`%s`) && !PathPrefix(`/api`)
-                          service: %s
-                          entryPoints:
-                            - web
-
-                        %s-websecure:
-                          rule: Host(`%s`) && !PathPrefix(`/api`)
-                          service: %s
-                          entryPoints:
-                            - websecure
-                          tls:
-                            certResolver: letsencrypt
-
-                        """,
-                        host,
-                        routerNameBackend, host, backendService,
-                        routerNameBackend, host, backendService,
-                        host,
-                        routerNameFrontend, host, frontendService,
-                        routerNameFrontend, host, frontendService);
-            } else {
-                // Generate routers with middlewares (original logic)
-                routerBlock = String.format("""
-                        # Backend API routes for %s
-                        %s:
-                          rule: Host(`%s`) && PathPrefix(`/api`)
-                          service: %s
-                          middlewares:
-                            - redirect-to-https
-
-                        %s-websecure:
-                          rule: Host(`%s`) && PathPrefix(`/api`)
-                          service: %s
-                          middlewares: []
-                          tls:
-                            certResolver: letsencrypt
-
-                        # Frontend routes for %s
-                        %s:
-                          rule: Host(`%s`) && !PathPrefix(`/api`)
-                          service: %s
-                          middlewares:
-                            - redirect-to-https
-
-                        %s-websecure:
-                          rule: Host(`%s`) && !PathPrefix(`/api`)
-                          service: %s
-                          middlewares: []
-                          tls:
-                            certResolver: letsencrypt
-
-                        """,
-                        host,
-                        routerNameBackend, host, backendService,
-                        routerNameBackend, host, backendService,
-                        host,
-                        routerNameFrontend, host, frontendService,
-                        routerNameFrontend, host, frontendService);
+            editor.addRouters(java.util.List.of(newRoutersBlock));
+            String serviceBlock = singleServiceBlock(prefix, backendService, frontendService, servicePort);
+            if (serviceBlock != null) {
+                // Add service definition for single service mode, replacing one left behind by a deleted host
+                editor.removeServices(java.util.List.of(prefix + "-service"));
+                editor.addServices(java.util.List.of(serviceBlock));
             }
 
-            logger.debug("✅ Router block generated successfully with custom services (length: {} characters)",
-                    routerBlock.length());
-            return routerBlock;
-        } else {
-            // Single service configuration - generate only 2 routers (HTTP and HTTPS) + service definition
-            String serviceName = backendService != null ? backendService : frontendService;
-            String routerName = String.format("%s-router", subdomainPrefix);
-            String serviceNameForConfig = String.format("%s-service", subdomainPrefix);
-            int port = servicePort != null ? servicePort : 8080;
-            
-            logger.debug("🔗 Generated single router name: {}", routerName);
-            logger.debug("🔧 Using single service: {} on port: {}", serviceName, port);
+            String mergedConfig = editor.apply();
+            logger.debug("Configuration merged successfully (new length: {} characters)", mergedConfig.length());
+            return mergedConfig;
+        });
+    }
 
-            String routerBlock = String.format("""
-                    # Routes for %s
-                    %s:
-                      rule: Host(`%s`)
-                      service: %s
-                      entryPoints:
-                        - web
+    /**
+     * The {@code <prefix>-service} block for a single service host, or {@code null} in dual service mode.
+     */
+    private String singleServiceBlock(String prefix, String backendService, String frontendService,
+            Integer servicePort) {
+        boolean isSingleService = backendService != null && frontendService != null
+                && backendService.equals(frontendService) && servicePort != null;
+        if (!isSingleService) {
+            return null;
+        }
+        return routerTemplates.renderService(prefix, backendService, servicePort);
+    }
 
-                    %s-websecure:
-                      rule: Host(`%s`)
-                      service: %s
-                      entryPoints:
-                        - websecure
-                      tls:
-                        certResolver: letsencrypt
+    /**
+     * Merge routers into http.routers section, with the editor and router hosts of the operation.
+     */
+    private String mergeTraefikConfig(HostConfigEditor editor,
+            java.util.Map<String, java.util.List<String>> routersByHost, String hostToAdd, String newRoutersBlock) {
+        return merge(hostToAdd, () -> {
+            logger.debug("Checking if host '{}' already exists in configuration", hostToAdd);
+            if (routersByHost.containsKey(hostToAdd.toLowerCase(java.util.Locale.ROOT))) {
+                logger.warn("Host '{}' already exists in configuration", hostToAdd);
+                return null; // Host already exists
+            }
 
-                    """,
-                    host,
-                    routerName, host, serviceNameForConfig,
-                    routerName, host, serviceNameForConfig);
+            editor.addRouters(java.util.List.of(newRoutersBlock));
+            String mergedConfig = editor.apply();
+            logger.debug("Configuration merged successfully (new length: {} characters)", mergedConfig.length());
 
-            logger.debug("✅ Single service router block generated successfully (length: {} characters)",
-                    routerBlock.length());
-            return routerBlock;
-        }
+            return mergedConfig;
+        });
     }
 
     /**
-     * Fetch current Traefik config from Dokploy with custom parameters.
+     * Delete all router blocks for a hostname.
+     * <p>
+     * Only the {@code http.routers} section is touched. A router entry is its key line plus the comment lines
+     * directly above it and everything indented below it. Entries whose rule matches the host are dropped;
+     * all other routers are kept as they are.
      */
-    private String fetchCurrentTraefikConfigWithCustom(String applicationId, String readApiUrl, String apiKey)
-            throws IOException, InterruptedException {
-        logger.debug("🌐 Making HTTP GET request to fetch configuration with custom params");
-        logger.debug("📡 URL: {}?applicationId={}", readApiUrl, applicationId);
+    private String deleteHostRouters(String currentConfig, String host) {
+        return merge(host, () -> {
+            logger.debug("Starting deletion of router blocks for host: {}", host);
+            HostConfigEditor editor = new HostConfigEditor(currentConfig);
+            int deleted = editor.removeRouters(java.util.Set.of(host));
+            logger.debug("Deletion complete - deleted {} router(s)", deleted);
+            return editor.apply();
+        });
+    }
 
-        HttpClient client = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(30))
-                .build();
+    /**
+     * Edit a config for a host in a {@code traefik.config.merge} span.
+     */
+    private String merge(String host, java.util.function.Supplier<String> edit) {
+        Observation observation = stage("traefik.config.merge", org.slf4j.MDC.get(LogContext.APPLICATION_ID))
+                .highCardinalityKeyValue("host", host);
+        return observation.observe(() -> {
+            String config = edit.get();
+            if (config != null) {
+                observation.highCardinalityKeyValue("config.size", String.valueOf(config.length()));
+            }
+            return config;
+        });
+    }
 
-        String readUrl = readApiUrl + "?applicationId=" + applicationId;
+    /**
+     * Fetch the current Traefik config of the default application from Dokploy.
+     */
+    private String fetchCurrentTraefikConfig(RuntimeConfig defaults, boolean dryRun)
+            throws Exception {
+        return fetchCurrentTraefikConfigWithCustom(defaults.applicationId(), defaults.readApiUrl(),
+                defaults.dokployApiKey(), dryRun);
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(readUrl))
-                .header("accept", "application/json")
-                .header("x-api-key", apiKey)
-                .GET()
-                .build();
+    /**
+     * Send the updated Traefik config of the default application to Dokploy.
+     */
+    private String updateTraefikConfig(RuntimeConfig defaults, String baseConfig, String traefikConfig)
+            throws Exception {
+        return updateTraefikConfigWithCustom(defaults.applicationId(), baseConfig, traefikConfig,
+                defaults.updateApiUrl(), defaults.dokployApiKey());
+    }
 
-        logger.debug("📤 Sending request to Dokploy API with custom config...");
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        logger.debug("📥 Received response with status: {}", response.statusCode());
+    /**
+     * Generates new router YAML blocks for a hostname with custom services.
+     */
+    private String generateNewRoutersBlockWithCustom(String host, String subdomainPrefix, HostLayout layout) {
+        logger.debug("Generating router blocks for host: {} with template: {} [prefix={}]", host,
+                layout.template(), subdomainPrefix);
 
-        if (response.statusCode() != 200) {
-            logger.error("❌ Failed to fetch config with custom params. HTTP status: {}, Response: {}",
-                    response.statusCode(), response.body());
-            throw new IOException("Failed to fetch config. HTTP status: " + response.statusCode() +
-                    "\nResponse: " + response.body());
+        // Check if we have both services or just one
+        boolean hasBothServices = layout.backendService() != null && layout.frontendService() != null
+                && !layout.backendService().equals(layout.frontendService());
+
+        String backendService = layout.backendService();
+        String frontendService = layout.frontendService();
+        if (!hasBothServices) {
+            // Single service: routers point at the generated <prefix>-service load balancer
+            backendService = subdomainPrefix + "-service";
+            frontendService = backendService;
         }
+        logger.debug("Using services - Backend: {}, Frontend: {}", backendService, frontendService);
 
-        String body = response.body().trim();
-        logger.debug("📄 Raw response body length: {} characters", body.length());
+        String routerBlock = routerTemplates.renderRouters(layout.template(), host, subdomainPrefix, backendService,
+                frontendService);
 
-        if (body.startsWith("\"") && body.endsWith("\"")) {
-            body = body.substring(1, body.length() - 1);
-            logger.debug("🔧 Removed surrounding quotes from response");
-        }
+        logger.debug("Router block generated successfully with custom services (length: {} characters)",
+                routerBlock.length());
+        return routerBlock;
+    }
 
-        String processedBody = body.replace("\\n", "\n");
-        logger.debug("✅ Configuration fetched and processed successfully with custom config");
-        return processedBody;
+    /**
+     * Fetch current Traefik config from Dokploy with custom parameters. A dry run reuses a recently fetched
+     * config (see {@link LiveConfigCache}).
+     */
+    private String fetchCurrentTraefikConfigWithCustom(String applicationId, String readApiUrl, String apiKey,
+            boolean dryRun) throws Exception {
+        Observation observation = stage("traefik.config.fetch", applicationId);
+        return observation.observeChecked(() -> {
+            String config = dryRun ? liveConfigCache.get(readApiUrl, applicationId, apiKey).orElse(null) : null;
+            observation.lowCardinalityKeyValue("cached", String.valueOf(config != null));
+            if (config != null) {
+                logger.debug("Planning on cached config [app={}]", applicationId);
+            } else {
+                logger.debug("Making HTTP GET request to fetch configuration with custom params");
+                config = dokployClient.readTraefikConfig(readApiUrl, applicationId, apiKey);
+                liveConfigCache.put(readApiUrl, applicationId, apiKey, config);
+                recordSnapshot(applicationId, ConfigSnapshotStore.Source.FETCHED, config);
+                logger.debug("Configuration fetched and processed successfully with custom config");
+            }
+            observation.highCardinalityKeyValue("config.size", String.valueOf(config.length()));
+            return config;
+        });
     }
 
     /**
      * Send updated Traefik config to Dokploy with custom parameters.
      */
-    private String updateTraefikConfigWithCustom(String applicationId, String traefikConfig, String updateApiUrl,
-            String apiKey)
-            throws IOException, InterruptedException {
-        logger.debug("🌐 Making HTTP POST request to update configuration with custom params");
-        logger.debug("📡 URL: {}", updateApiUrl);
-        logger.debug("📄 Config length to send: {} characters", traefikConfig.length());
-
-        HttpClient client = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(30))
-                .build();
-
-        String jsonPayload = new JSONObject()
-                .put("applicationId", applicationId)
-                .put("traefikConfig", traefikConfig)
-                .toString();
-
-        logger.debug("📦 JSON payload size: {} characters", jsonPayload.length());
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(updateApiUrl))
-                .header("accept", "application/json")
-                .header("Content-Type", "application/json")
-                .header("x-api-key", apiKey)
-                .POST(HttpRequest.BodyPublishers.ofString(jsonPayload))
-                .build();
-
-        logger.debug("📤 Sending update request to Dokploy API with custom config...");
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        logger.debug("📥 Received response with status: {}", response.statusCode());
-
-        if (response.statusCode() != 200) {
-            logger.error("❌ Failed to update config with custom params. HTTP status: {}, Response: {}",
-                    response.statusCode(), response.body());
-            throw new IOException("Failed to update config. HTTP status: " + response.statusCode() +
-                    "\nResponse: " + response.body());
-        }
-
-        logger.debug("✅ Configuration updated successfully with custom config");
-        return response.body();
+    private String updateTraefikConfigWithCustom(String applicationId, String baseConfig, String traefikConfig,
+            String updateApiUrl, String apiKey)
+            throws Exception {
+        return stage("traefik.config.update", applicationId)
+                .highCardinalityKeyValue("config.size", String.valueOf(traefikConfig.length()))
+                .observeChecked(() -> {
+                    configWriteValidator.check(applicationId, baseConfig, traefikConfig);
+                    logger.debug("Making HTTP POST request to update configuration with custom params");
+                    String responseBody = dokployClient.updateTraefikConfig(updateApiUrl, applicationId,
+                            traefikConfig, apiKey);
+                    recordSnapshot(applicationId, ConfigSnapshotStore.Source.APPLIED, traefikConfig);
+                    liveConfigCache.invalidate(applicationId);
+                    logger.debug("Configuration updated successfully with custom config");
+                    return responseBody;
+                });
     }
 
     @Override
     public java.util.List<com.traefikconfig.dto.ServiceInfo> getServiceUrls() throws Exception {
+        RuntimeConfig defaults = runtimeConfig.current();
         long timestamp = System.currentTimeMillis();
-        logger.info("🔍 [{}] Extracting service URLs [app={}]", timestamp, configProperties.getApplicationId());
-        String config = fetchCurrentTraefikConfig(configProperties.getApplicationId());
-        logger.info("📄 [{}] Config for service extraction:\n{}", timestamp, config.replace("\\n", "\n"));
+        logger.info("[{}] Extracting service URLs [app={}]", timestamp, defaults.applicationId());
+        String config = fetchCurrentTraefikConfig(defaults, false);
+        if (logger.isDebugEnabled()) {
+            logger.debug("[{}] Config for service extraction:\n{}", timestamp, config.replace("\\n", "\n"));
+        }
         java.util.List<com.traefikconfig.dto.ServiceInfo> services = parseServiceUrls(config);
-        logger.info("✅ [{}] Extracted {} services", timestamp, services.size());
+        logger.info("[{}] Extracted {} services", timestamp, services.size());
         for (com.traefikconfig.dto.ServiceInfo service : services) {
-            logger.info("   🔗 [{}] Service: {} -> {}", timestamp, service.getServiceName(), service.getServiceUrl());
+            logger.info("   [{}] Service: {} -> {}", timestamp, service.getServiceName(), service.getServiceUrl());
         }
         return services;
     }
@@ -814,20 +1318,23 @@ public class TraefikConfigServiceImpl implements TraefikConfigService {
     @Override
     public java.util.List<com.traefikconfig.dto.ServiceInfo> getServiceUrlsWithCustomConfig(CustomConfigRequest request)
             throws Exception {
+        RuntimeConfig defaults = runtimeConfig.current();
         String appId = request.getApplicationId() != null ? request.getApplicationId()
-                : configProperties.getApplicationId();
-        String apiDomain = request.getApiDomain() != null ? request.getApiDomain() : configProperties.getApiDomain();
+                : defaults.applicationId();
+        String apiDomain = request.getApiDomain() != null ? request.getApiDomain() : defaults.apiDomain();
 
-        logger.info("🔍 Extracting service URLs with custom config [app={}, domain={}]", appId, apiDomain);
+        logger.info("Extracting service URLs with custom config [app={}, domain={}]", appId, apiDomain);
 
         String apiKey = request.getDokployApiKey() != null ? request.getDokployApiKey()
-                : configProperties.getDokployApiKey();
+                : defaults.dokployApiKey();
         String readUrl = apiDomain + "/api/application.readTraefikConfig";
 
-        String config = fetchCurrentTraefikConfigWithCustom(appId, readUrl, apiKey);
-        logger.info("📄 Config for service extraction (custom):\n{}", config.replace("\\n", "\n"));
+        String config = fetchCurrentTraefikConfigWithCustom(appId, readUrl, apiKey, false);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Config for service extraction (custom):\n{}", config.replace("\\n", "\n"));
+        }
         java.util.List<com.traefikconfig.dto.ServiceInfo> services = parseServiceUrls(config);
-        logger.info("✅ Extracted {} services with custom config", services.size());
+        logger.info("Extracted {} services with custom config", services.size());
         return services;
     }
 
@@ -838,9 +1345,9 @@ public class TraefikConfigServiceImpl implements TraefikConfigService {
         java.util.List<com.traefikconfig.dto.ServiceInfo> services = new java.util.ArrayList<>();
 
         try {
-            logger.info("🔍 Raw config length: {} chars", config.length());
-            logger.info("🔍 Config contains 'services:': {}", config.contains("services:"));
-            logger.info("🔍 Config contains 'devcrm-crmbackend-service:': {}",
+            logger.debug("Raw config length: {} chars", config.length());
+            logger.debug("Config contains 'services:': {}", config.contains("services:"));
+            logger.debug("Config contains 'devcrm-crmbackend-service:': {}",
                     config.contains("devcrm-crmbackend-service:"));
 
             String[] lines = config.split("\n");
@@ -849,23 +1356,24 @@ public class TraefikConfigServiceImpl implements TraefikConfigService {
             String currentServiceUrl = null;
             String currentLoadBalancer = "roundrobin"; // Default load balancer
 
-            logger.info("🔍 Starting to parse {} lines for services", lines.length);
+            logger.debug("Starting to parse {} lines for services", lines.length);
 
             for (int i = 0; i < lines.length; i++) {
                 String line = lines[i];
                 String trimmedLine = line.trim();
 
-                if (i < 10 || trimmedLine.contains("services") || trimmedLine.contains("url") || inServicesSection) {
+                if (logger.isDebugEnabled() && (i < 10 || trimmedLine.contains("services")
+                        || trimmedLine.contains("url") || inServicesSection)) {
                     String indent = line.length() > line.trim().length()
                             ? line.substring(0, line.length() - line.trim().length()).replace(" ", "·")
                             : "";
-                    logger.info("Line {}: '{}' (inServices: {}, currentService: {}, indent: '{}')",
+                    logger.debug("Line {}: '{}' (inServices: {}, currentService: {}, indent: '{}')",
                             i, trimmedLine, inServicesSection, currentServiceName, indent);
                 }
 
                 if (trimmedLine.equals("services:")) {
                     inServicesSection = true;
-                    logger.info("📍 Found services section at line {}", i);
+                    logger.debug("Found services section at line {}", i);
                     continue;
                 }
 
@@ -875,7 +1383,7 @@ public class TraefikConfigServiceImpl implements TraefikConfigService {
                     // Save previous service if complete
                     if (currentServiceName != null && currentServiceUrl != null && line.startsWith("    ")
                             && !line.startsWith("      ")) {
-                        logger.info("✅ Adding service: {} -> {}", currentServiceName, currentServiceUrl);
+                        logger.debug("Adding service: {} -> {}", currentServiceName, currentServiceUrl);
                         services.add(new com.traefikconfig.dto.ServiceInfo(currentServiceName, currentServiceUrl,
                                 currentLoadBalancer));
                         currentServiceName = null;
@@ -890,7 +1398,7 @@ public class TraefikConfigServiceImpl implements TraefikConfigService {
                         currentServiceName = trimmedLine.substring(0, trimmedLine.length() - 1);
                         currentServiceUrl = null;
                         currentLoadBalancer = "roundrobin";
-                        logger.info("🔧 New service found: {}", currentServiceName);
+                        logger.debug("New service found: {}", currentServiceName);
                         continue;
                     }
 
@@ -898,14 +1406,14 @@ public class TraefikConfigServiceImpl implements TraefikConfigService {
                     if (!line.startsWith("  ") && !line.trim().isEmpty()) {
                         // Save final service before leaving
                         if (currentServiceName != null && currentServiceUrl != null) {
-                            logger.info("✅ Adding final service before leaving: {} -> {}", currentServiceName,
+                            logger.debug("Adding final service before leaving: {} -> {}", currentServiceName,
                                     currentServiceUrl);
                             services.add(new com.traefikconfig.dto.ServiceInfo(currentServiceName, currentServiceUrl,
                                     currentLoadBalancer));
                         }
                         inServicesSection = false;
                         currentServiceName = null;
-                        logger.info("🚪 Left services section");
+                        logger.debug("Left services section");
                         continue;
                     }
                 }
@@ -921,7 +1429,7 @@ public class TraefikConfigServiceImpl implements TraefikConfigService {
                             url = url.substring(1, url.length() - 1);
                         }
                         currentServiceUrl = url;
-                        logger.info("🔗 Found URL for {}: {}", currentServiceName, currentServiceUrl);
+                        logger.debug("Found URL for {}: {}", currentServiceName, currentServiceUrl);
                         continue;
                     }
                 }
@@ -929,15 +1437,15 @@ public class TraefikConfigServiceImpl implements TraefikConfigService {
 
             // Don't forget the last service
             if (currentServiceName != null && currentServiceUrl != null) {
-                logger.info("✅ Adding final service: {} -> {}", currentServiceName, currentServiceUrl);
+                logger.debug("Adding final service: {} -> {}", currentServiceName, currentServiceUrl);
                 services.add(new com.traefikconfig.dto.ServiceInfo(currentServiceName, currentServiceUrl,
                         currentLoadBalancer));
             }
 
-            logger.info("🎯 Parsing complete. Found {} services total", services.size());
+            logger.info("Parsing complete. Found {} services total", services.size());
 
         } catch (Exception e) {
-            logger.error("❌ Error parsing service URLs: {}", e.getMessage(), e);
+            logger.error("Error parsing service URLs: {}", e.getMessage(), e);
         }
 
         return services;
@@ -0,0 +1,389 @@
+package com.traefikconfig.store;
+
+import com.traefikconfig.config.SnapshotStoreProperties;
+import com.traefikconfig.dto.ConfigVersionInfo;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, content-addressed store of every Traefik config version seen per application.
+ * <p>
+ * Config bodies live in memory-mapped segment files ({@code segment-NNNNNN.seg}), each record being
+ * {@code [magic][length][sha256][utf-8 bytes]}. Identical content is stored once and shared by every
+ * version that references it. Versions are kept in {@code index.dat}, an append-only log of
+ * fixed-layout entries pointing at (segment, offset, length), each protected by a CRC so a torn tail
+ * left by a crash is truncated on the next start. Content is checked against its hash before it is
+ * returned or shared with a new version, so a damaged record is never served.
+ */
+@Component
+public class ConfigSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigSnapshotStore.class);
+
+    public enum Source {
+        FETCHED, APPLIED
+    }
+
+    private static final int RECORD_MAGIC = 0x54435346; // "TCSF"
+    private static final int HASH_BYTES = 32;
+    private static final int RECORD_HEADER_BYTES = 4 + 4 + HASH_BYTES;
+    private static final String INDEX_FILE = "index.dat";
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final SnapshotStoreProperties properties;
+
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final List<FileChannel> segmentChannels = new ArrayList<>();
+    private final Map<String, BlobRef> blobsByHash = new HashMap<>();
+    private final Map<String, List<IndexEntry>> versionsByApp = new HashMap<>();
+    private FileChannel indexChannel;
+    private int writePosition;
+    private boolean available;
+
+    public ConfigSnapshotStore(SnapshotStoreProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    synchronized void open() {
+        if (!properties.isEnabled()) {
+            logger.info("Config snapshot store disabled");
+            return;
+        }
+        Path directory = Paths.get(properties.getDirectory());
+        try {
+            Files.createDirectories(directory);
+            openSegments(directory);
+            loadIndex(directory.resolve(INDEX_FILE));
+            available = true;
+            logger.info("Config snapshot store opened [dir={}, segments={}, blobs={}, apps={}]",
+                    directory.toAbsolutePath(), segments.size(), blobsByHash.size(), versionsByApp.size());
+        } catch (IOException e) {
+            logger.error("Config snapshot store unavailable, history will not be recorded: {}", e.getMessage(), e);
+            close();
+        }
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        available = false;
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+        for (FileChannel channel : segmentChannels) {
+            closeQuietly(channel);
+        }
+        closeQuietly(indexChannel);
+        segments.clear();
+        segmentChannels.clear();
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Record a config version for an application. Nothing is appended when the content equals the
+     * application's latest version; the latest version is returned instead.
+     */
+    public synchronized Optional<ConfigVersionInfo> record(String applicationId, Source source, String content)
+            throws IOException {
+        if (!available) {
+            return Optional.empty();
+        }
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        byte[] hash = sha256(bytes);
+        String hashHex = HEX.formatHex(hash);
+
+        List<IndexEntry> versions = versionsByApp.computeIfAbsent(applicationId, id -> new ArrayList<>());
+        if (!versions.isEmpty()) {
+            IndexEntry latest = versions.get(versions.size() - 1);
+            if (latest.hashHex().equals(hashHex)) {
+                return Optional.of(latest.toInfo());
+            }
+        }
+
+        BlobRef blob = blobsByHash.get(hashHex);
+        if (blob != null && !Arrays.equals(bytes, blobBytes(blob.segment(), blob.offset(), blob.length()))) {
+            logger.warn("Stored copy of config {} is damaged, storing it again", hashHex.substring(0, 12));
+            blob = null;
+        }
+        boolean deduplicated = blob != null;
+        if (blob == null) {
+            blob = appendBlob(hash, bytes);
+            blobsByHash.put(hashHex, blob);
+        }
+
+        long version = versions.isEmpty() ? 1 : versions.get(versions.size() - 1).version() + 1;
+        IndexEntry entry = new IndexEntry(version, System.currentTimeMillis(), applicationId, source, hashHex,
+                blob.segment(), blob.offset(), blob.length());
+        appendIndexEntry(entry);
+        versions.add(entry);
+        logger.debug("Recorded config version {} for app {} [source={}, hash={}, dedup={}]",
+                version, applicationId, source, hashHex.substring(0, 12), deduplicated);
+        return Optional.of(entry.toInfo());
+    }
+
+    /**
+     * All recorded versions of an application, newest first.
+     */
+    public synchronized List<ConfigVersionInfo> history(String applicationId) {
+        List<IndexEntry> versions = versionsByApp.getOrDefault(applicationId, Collections.emptyList());
+        List<ConfigVersionInfo> result = new ArrayList<>(versions.size());
+        for (int i = versions.size() - 1; i >= 0; i--) {
+            result.add(versions.get(i).toInfo());
+        }
+        return result;
+    }
+
+    public synchronized Optional<ConfigVersionInfo> latest(String applicationId) {
+        List<IndexEntry> versions = versionsByApp.get(applicationId);
+        if (versions == null || versions.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(versions.get(versions.size() - 1).toInfo());
+    }
+
+    /**
+     * Read the content of a recorded version straight from its mapped segment. A version whose content no
+     * longer matches its hash is reported and treated as missing.
+     */
+    public synchronized Optional<String> read(String applicationId, long version) {
+        List<IndexEntry> versions = versionsByApp.get(applicationId);
+        if (!available || versions == null || version < 1 || version > versions.size()) {
+            return Optional.empty();
+        }
+        // Versions are dense and start at 1, so the list position is the version number
+        IndexEntry entry = versions.get((int) version - 1);
+        byte[] bytes = blobBytes(entry.segment(), entry.offset(), entry.length());
+        if (!HEX.formatHex(sha256(bytes)).equals(entry.hashHex())) {
+            logger.error("Config version {} of app {} is damaged [hash={}]", version, applicationId,
+                    entry.hashHex().substring(0, 12));
+            return Optional.empty();
+        }
+        return Optional.of(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private byte[] blobBytes(int segment, int offset, int length) {
+        ByteBuffer view = segments.get(segment).duplicate();
+        view.position(offset + RECORD_HEADER_BYTES);
+        byte[] bytes = new byte[length];
+        view.get(bytes);
+        return bytes;
+    }
+
+    private BlobRef appendBlob(byte[] hash, byte[] bytes) throws IOException {
+        int recordBytes = RECORD_HEADER_BYTES + bytes.length;
+        MappedByteBuffer segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || writePosition + recordBytes > segment.capacity()) {
+            segment = createSegment(Math.max(properties.getSegmentSizeBytes(), recordBytes));
+        }
+
+        int offset = writePosition;
+        ByteBuffer view = segment.duplicate();
+        view.position(offset + 4);
+        view.putInt(bytes.length);
+        view.put(hash);
+        view.put(bytes);
+        segment.force(offset, recordBytes);
+        // The magic goes in last, so a record is only visible on recovery once its body is durable
+        segment.putInt(offset, RECORD_MAGIC);
+        segment.force(offset, 4);
+
+        writePosition = offset + recordBytes;
+        return new BlobRef(segments.size() - 1, offset, bytes.length);
+    }
+
+    private MappedByteBuffer createSegment(long size) throws IOException {
+        Path path = Paths.get(properties.getDirectory()).resolve(segmentFileName(segments.size()));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        segmentChannels.add(channel);
+        segments.add(segment);
+        writePosition = 0;
+        logger.info("Created snapshot segment {} [size={} bytes]", path.getFileName(), size);
+        return segment;
+    }
+
+    private void openSegments(Path directory) throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(p -> p.getFileName().toString().matches("segment-\\d{6}\\.seg"))
+                    .sorted()
+                    .toList();
+        }
+        for (int i = 0; i < files.size(); i++) {
+            if (!files.get(i).getFileName().toString().equals(segmentFileName(i))) {
+                throw new IOException("Snapshot segment missing: " + segmentFileName(i));
+            }
+            FileChannel channel = FileChannel.open(files.get(i), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            segmentChannels.add(channel);
+            segments.add(segment);
+            writePosition = scanSegment(i, segment);
+        }
+    }
+
+    /**
+     * Walk a segment's records, registering each blob for dedup, and return the end of the last one.
+     */
+    private int scanSegment(int segmentIndex, MappedByteBuffer segment) {
+        int position = 0;
+        byte[] hash = new byte[HASH_BYTES];
+        while (position + RECORD_HEADER_BYTES <= segment.capacity() && segment.getInt(position) == RECORD_MAGIC) {
+            int length = segment.getInt(position + 4);
+            if (length < 0 || position + RECORD_HEADER_BYTES + length > segment.capacity()) {
+                break;
+            }
+            segment.get(position + 8, hash);
+            blobsByHash.put(HEX.formatHex(hash), new BlobRef(segmentIndex, position, length));
+            position += RECORD_HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private void loadIndex(Path indexPath) throws IOException {
+        indexChannel = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        ByteBuffer buffer = ByteBuffer.allocate((int) indexChannel.size());
+        while (buffer.hasRemaining() && indexChannel.read(buffer) >= 0) {
+            // read fully
+        }
+        buffer.flip();
+
+        int validEnd = 0;
+        while (buffer.remaining() >= 4) {
+            int start = buffer.position();
+            int entryLength = buffer.getInt();
+            if (entryLength <= 0 || buffer.remaining() < entryLength + 8) {
+                break;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), start + 4, entryLength);
+            buffer.position(start + 4 + entryLength);
+            long expected = buffer.getLong();
+            if (crc.getValue() != expected) {
+                break;
+            }
+            buffer.position(start + 4);
+            IndexEntry entry = readEntry(buffer);
+            if (entry.segment() >= segments.size()) {
+                break;
+            }
+            versionsByApp.computeIfAbsent(entry.applicationId(), id -> new ArrayList<>()).add(entry);
+            buffer.position(start + 4 + entryLength + 8);
+            validEnd = buffer.position();
+        }
+
+        if (validEnd < indexChannel.size()) {
+            logger.warn("Truncating torn snapshot index tail [{} -> {} bytes]", indexChannel.size(), validEnd);
+            indexChannel.truncate(validEnd);
+        }
+        indexChannel.position(validEnd);
+    }
+
+    private void appendIndexEntry(IndexEntry entry) throws IOException {
+        byte[] appId = entry.applicationId().getBytes(StandardCharsets.UTF_8);
+        int entryLength = 8 + 8 + 2 + appId.length + 1 + HASH_BYTES + 4 + 4 + 4;
+        ByteBuffer buffer = ByteBuffer.allocate(4 + entryLength + 8);
+        buffer.putInt(entryLength);
+        buffer.putLong(entry.version());
+        buffer.putLong(entry.timestamp());
+        buffer.putShort((short) appId.length);
+        buffer.put(appId);
+        buffer.put((byte) entry.source().ordinal());
+        buffer.put(HEX.parseHex(entry.hashHex()));
+        buffer.putInt(entry.segment());
+        buffer.putInt(entry.offset());
+        buffer.putInt(entry.length());
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 4, entryLength);
+        buffer.putLong(crc.getValue());
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            indexChannel.write(buffer);
+        }
+        indexChannel.force(false);
+    }
+
+    private static IndexEntry readEntry(ByteBuffer buffer) {
+        long version = buffer.getLong();
+        long timestamp = buffer.getLong();
+        byte[] appId = new byte[buffer.getShort()];
+        buffer.get(appId);
+        Source source = Source.values()[buffer.get()];
+        byte[] hash = new byte[HASH_BYTES];
+        buffer.get(hash);
+        return new IndexEntry(version, timestamp, new String(appId, StandardCharsets.UTF_8), source,
+                HEX.formatHex(hash), buffer.getInt(), buffer.getInt(), buffer.getInt());
+    }
+
+    /**
+     * The hash, in hex, that a version with this content is recorded under.
+     */
+    public static String hashOf(String content) {
+        return HEX.formatHex(sha256(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String segmentFileName(int index) {
+        return String.format("segment-%06d.seg", index);
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close snapshot store file: {}", e.getMessage());
+        }
+    }
+
+    private record BlobRef(int segment, int offset, int length) {
+    }
+
+    private record IndexEntry(long version, long timestamp, String applicationId, Source source, String hashHex,
+            int segment, int offset, int length) {
+
+        ConfigVersionInfo toInfo() {
+            return new ConfigVersionInfo(version, applicationId, source.name(), hashHex, length,
+                    Instant.ofEpochMilli(timestamp));
+        }
+    }
+}
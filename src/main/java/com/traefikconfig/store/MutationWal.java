@@ -0,0 +1,373 @@
+package com.traefikconfig.store;
+
+import com.traefikconfig.config.MutationWalProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead log of accepted host mutations.
+ * <p>
+ * A mutation is appended (and fsynced) before the service touches Dokploy, and a completion record is
+ * appended once Dokploy has answered. Anything accepted but never completed is handed back on the next
+ * start for replay. Appends go through a single writer thread that drains every queued record into one
+ * write and one {@code force()}, so concurrent callers share the fsync cost (group commit).
+ * <p>
+ * Payloads may carry per-request Dokploy API keys; the WAL directory should be treated as secret.
+ */
+@Component
+public class MutationWal {
+
+    private static final Logger logger = LoggerFactory.getLogger(MutationWal.class);
+
+    public enum MutationType {
+        // Ordinals are persisted; only append new types
+        ADD_HOST, DELETE_HOST, ADD_HOST_CUSTOM, DELETE_HOST_CUSTOM, ROLLBACK, RECONCILE, DELETE_HOSTS_BY_SUFFIX
+    }
+
+    public record PendingMutation(long id, MutationType type, String payload, Instant acceptedAt) {
+    }
+
+    private static final String WAL_FILE = "mutations.wal";
+    private static final byte RECORD_ACCEPTED = 1;
+    private static final byte RECORD_APPLIED = 2;
+    private static final byte RECORD_FAILED = 3;
+
+    private final MutationWalProperties properties;
+    private final BlockingQueue<WalWrite> queue = new LinkedBlockingQueue<>();
+    private final Map<Long, PendingMutation> inFlight = new ConcurrentHashMap<>();
+    private final List<PendingMutation> recovered = new ArrayList<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    private Path walPath;
+    private FileChannel channel;
+    private Thread writer;
+    private volatile boolean running;
+
+    public MutationWal(MutationWalProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void open() {
+        if (!properties.isEnabled()) {
+            logger.info("Mutation WAL disabled");
+            return;
+        }
+        try {
+            Path directory = Paths.get(properties.getDirectory());
+            Files.createDirectories(directory);
+            walPath = directory.resolve(WAL_FILE);
+
+            Map<Long, PendingMutation> pending = Files.exists(walPath) ? load(walPath) : new LinkedHashMap<>();
+            long maxId = pending.keySet().stream().mapToLong(Long::longValue).max().orElse(0);
+            nextId.set(Math.max(maxId, System.currentTimeMillis() * 1000) + 1);
+            inFlight.putAll(pending);
+            recovered.addAll(pending.values());
+            recovered.sort(Comparator.comparingLong(PendingMutation::id));
+
+            // Start from a compacted log holding only what still needs replaying
+            rewrite(pending.values());
+            channel = FileChannel.open(walPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+            running = true;
+            writer = new Thread(this::writeLoop, "mutation-wal-writer");
+            writer.setDaemon(true);
+            writer.start();
+            logger.info("Mutation WAL opened [file={}, pending={}]", walPath.toAbsolutePath(), recovered.size());
+        } catch (IOException e) {
+            logger.error("Mutation WAL unavailable, mutations will not survive crashes: {}", e.getMessage(), e);
+            running = false;
+        }
+    }
+
+    @PreDestroy
+    void close() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close mutation WAL: {}", e.getMessage());
+        }
+    }
+
+    public boolean isAvailable() {
+        return running;
+    }
+
+    /**
+     * Durably record an accepted mutation. Returns once the record is fsynced; the returned id is passed to
+     * {@link #markApplied(long)} or {@link #markFailed(long)}. Returns {@code -1} when the WAL is disabled.
+     */
+    public long append(MutationType type, String payload) throws IOException, InterruptedException {
+        if (!running) {
+            return -1;
+        }
+        PendingMutation mutation = new PendingMutation(nextId.getAndIncrement(), type, payload, Instant.now());
+        WalWrite write = new WalWrite(encodeAccepted(mutation), new CompletableFuture<>());
+        inFlight.put(mutation.id(), mutation);
+        queue.put(write);
+        try {
+            write.durable().get();
+        } catch (ExecutionException e) {
+            inFlight.remove(mutation.id());
+            throw new IOException("Failed to write mutation WAL", e.getCause());
+        }
+        return mutation.id();
+    }
+
+    /**
+     * Mark a mutation as confirmed by Dokploy. Completion records are not awaited: losing one only means the
+     * mutation is handed back on the next start, where a replay finds the change already made (or, for a
+     * rollback or reconcile, finds the config moved on and skips it).
+     */
+    public void markApplied(long id) {
+        complete(id, RECORD_APPLIED);
+    }
+
+    /**
+     * Mark a mutation as failed. The caller has already been told, so it must not be replayed.
+     */
+    public void markFailed(long id) {
+        complete(id, RECORD_FAILED);
+    }
+
+    /**
+     * Mutations recovered from a previous run that were accepted but never completed, oldest first.
+     * Each is returned once.
+     */
+    public synchronized List<PendingMutation> drainRecovered() {
+        List<PendingMutation> result = new ArrayList<>(recovered);
+        recovered.clear();
+        return result;
+    }
+
+    public int pendingCount() {
+        return inFlight.size();
+    }
+
+    private void complete(long id, byte kind) {
+        if (id < 0 || !running) {
+            return;
+        }
+        inFlight.remove(id);
+        queue.offer(new WalWrite(encodeCompletion(id, kind), null));
+    }
+
+    private void writeLoop() {
+        List<WalWrite> batch = new ArrayList<>(properties.getMaxBatchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                WalWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, properties.getMaxBatchSize() - 1);
+                flush(batch);
+                batch.clear();
+                if (channel.size() > properties.getCompactThresholdBytes()) {
+                    compact();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                logger.error("Mutation WAL compaction failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void flush(List<WalWrite> batch) {
+        try {
+            ByteBuffer[] buffers = new ByteBuffer[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                buffers[i] = batch.get(i).record();
+            }
+            long remaining = 0;
+            for (ByteBuffer buffer : buffers) {
+                remaining += buffer.remaining();
+            }
+            while (remaining > 0) {
+                remaining -= channel.write(buffers);
+            }
+            channel.force(false);
+            for (WalWrite write : batch) {
+                if (write.durable() != null) {
+                    write.durable().complete(null);
+                }
+            }
+            logger.debug("WAL group commit [records={}]", batch.size());
+        } catch (IOException e) {
+            logger.error("Mutation WAL write failed: {}", e.getMessage(), e);
+            for (WalWrite write : batch) {
+                if (write.durable() != null) {
+                    write.durable().completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rewrite the log with only in-flight mutations. Runs on the writer thread, so no append can interleave.
+     * The compacted log is written and opened under a temporary name, then renamed over the log and swapped in
+     * for the current channel. The channel follows its file through the rename, and until the swap the old
+     * log and channel are untouched, so a failed compaction leaves appends working on the uncompacted log.
+     */
+    private void compact() throws IOException {
+        long before = channel.size();
+        Path temp = writeTemp(inFlight.values());
+        FileChannel compacted = null;
+        try {
+            compacted = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            Files.move(temp, walPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (compacted != null) {
+                closeQuietly(compacted);
+            }
+            deleteTemp(temp, e);
+            throw e;
+        }
+        FileChannel previous = channel;
+        channel = compacted;
+        closeQuietly(previous);
+        logger.info("Compacted mutation WAL [{} -> {} bytes, in_flight={}]", before, channel.size(),
+                inFlight.size());
+    }
+
+    private void rewrite(Iterable<PendingMutation> mutations) throws IOException {
+        Path temp = writeTemp(mutations);
+        Files.move(temp, walPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Write the accepted records of the mutations to a fsynced temporary file next to the log.
+     */
+    private Path writeTemp(Iterable<PendingMutation> mutations) throws IOException {
+        Path temp = walPath.resolveSibling(WAL_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (PendingMutation mutation : mutations) {
+                ByteBuffer record = encodeAccepted(mutation);
+                while (record.hasRemaining()) {
+                    out.write(record);
+                }
+            }
+            out.force(true);
+        } catch (IOException e) {
+            deleteTemp(temp, e);
+            throw e;
+        }
+        return temp;
+    }
+
+    private static void deleteTemp(Path temp, IOException failure) {
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close mutation WAL channel: {}", e.getMessage());
+        }
+    }
+
+    private static Map<Long, PendingMutation> load(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        Map<Long, PendingMutation> pending = new LinkedHashMap<>();
+        int records = 0;
+        while (buffer.remaining() >= 8) {
+            int bodyLength = buffer.getInt();
+            int expectedCrc = buffer.getInt();
+            if (bodyLength <= 0 || bodyLength > buffer.remaining()) {
+                break;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), buffer.position(), bodyLength);
+            if ((int) crc.getValue() != expectedCrc) {
+                break;
+            }
+            byte kind = buffer.get();
+            long id = buffer.getLong();
+            if (kind == RECORD_ACCEPTED) {
+                Instant acceptedAt = Instant.ofEpochMilli(buffer.getLong());
+                MutationType type = MutationType.values()[buffer.get()];
+                byte[] payload = new byte[buffer.getInt()];
+                buffer.get(payload);
+                pending.put(id, new PendingMutation(id, type, new String(payload, StandardCharsets.UTF_8), acceptedAt));
+            } else {
+                pending.remove(id);
+            }
+            records++;
+        }
+        if (buffer.hasRemaining()) {
+            logger.warn("Ignoring torn mutation WAL tail [{} bytes]", buffer.remaining());
+        }
+        logger.debug("Read {} WAL records, {} pending", records, pending.size());
+        return pending;
+    }
+
+    private static ByteBuffer encodeAccepted(PendingMutation mutation) {
+        byte[] payload = mutation.payload().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer body = ByteBuffer.allocate(1 + 8 + 8 + 1 + 4 + payload.length);
+        body.put(RECORD_ACCEPTED)
+                .putLong(mutation.id())
+                .putLong(mutation.acceptedAt().toEpochMilli())
+                .put((byte) mutation.type().ordinal())
+                .putInt(payload.length)
+                .put(payload);
+        return frame(body);
+    }
+
+    private static ByteBuffer encodeCompletion(long id, byte kind) {
+        ByteBuffer body = ByteBuffer.allocate(1 + 8);
+        body.put(kind).putLong(id);
+        return frame(body);
+    }
+
+    private static ByteBuffer frame(ByteBuffer body) {
+        CRC32 crc = new CRC32();
+        crc.update(body.array(), 0, body.position());
+        ByteBuffer record = ByteBuffer.allocate(8 + body.position());
+        record.putInt(body.position()).putInt((int) crc.getValue()).put(body.array(), 0, body.position());
+        return record.flip();
+    }
+
+    private record WalWrite(ByteBuffer record, CompletableFuture<Void> durable) {
+    }
+}
@@ -0,0 +1,208 @@
+package com.traefikconfig.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.traefikconfig.config.RuntimeConfig;
+import com.traefikconfig.config.RuntimeConfigChangedEvent;
+import com.traefikconfig.config.RuntimeConfigHolder;
+import com.traefikconfig.config.RuntimeConfigProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.function.UnaryOperator;
+
+/**
+ * Persists runtime config changes and picks up edits made to the persisted file.
+ * <p>
+ * Changes made through the API are written to {@code traefik.runtime-config.file} (a temporary file renamed
+ * over the old one) before they take effect, so they survive restarts and a failed write changes nothing.
+ * The file is loaded on startup on top of {@code traefik.config}, and a watcher thread reloads it whenever
+ * it is replaced or edited; fields missing from the file keep their startup values. Removing the file resets
+ * to the startup values, which is also what {@code POST /api/config/reset} does.
+ * <p>
+ * The file holds the Dokploy API key and is created readable by its owner only where the file system
+ * allows it.
+ */
+@Component
+@Lazy(false) // the persisted config must be current before the first request
+public class RuntimeConfigStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuntimeConfigStore.class);
+
+    private static final long SETTLE_MILLIS = 100;
+
+    private final RuntimeConfigHolder holder;
+    private final RuntimeConfigProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Object lock = new Object();
+
+    private Path file;
+    private WatchService watchService;
+    private Thread watcher;
+
+    public RuntimeConfigStore(RuntimeConfigHolder holder, RuntimeConfigProperties properties,
+            ObjectMapper objectMapper) {
+        this.holder = holder;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isPersist()) {
+            logger.info("Runtime config changes are kept in memory only");
+            return;
+        }
+        file = Paths.get(properties.getFile()).toAbsolutePath();
+        if (Files.exists(file)) {
+            try {
+                holder.replace(load(), RuntimeConfigChangedEvent.Source.FILE);
+                logger.info("Runtime config loaded from {}", file);
+            } catch (IOException | IllegalArgumentException e) {
+                logger.error("Ignoring runtime config file {}, using startup values: {}", file, e.getMessage());
+            }
+        }
+        if (properties.isWatch()) {
+            try {
+                Files.createDirectories(file.getParent());
+                watchService = FileSystems.getDefault().newWatchService();
+                file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                watcher = new Thread(this::watchLoop, "runtime-config-watcher");
+                watcher.setDaemon(true);
+                watcher.start();
+            } catch (IOException e) {
+                logger.error("Cannot watch {}, edits will apply after a restart: {}", file, e.getMessage());
+            }
+        }
+        logger.info("Runtime config store ready [file={}, watch={}]", file, watcher != null);
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    /**
+     * Apply a change to the current config, persisting the result before it takes effect.
+     *
+     * @return the new config
+     * @throws IOException if the change could not be persisted; the current config is left as it was
+     */
+    public RuntimeConfig update(UnaryOperator<RuntimeConfig> change) throws IOException {
+        synchronized (lock) {
+            RuntimeConfig next = change.apply(holder.current());
+            if (file != null) {
+                write(next);
+            }
+            holder.replace(next, RuntimeConfigChangedEvent.Source.API);
+            return next;
+        }
+    }
+
+    /**
+     * Go back to the startup config and forget the persisted changes.
+     */
+    public RuntimeConfig reset() throws IOException {
+        synchronized (lock) {
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+            holder.replace(holder.startup(), RuntimeConfigChangedEvent.Source.RESET);
+            return holder.startup();
+        }
+    }
+
+    private void watchLoop() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+                boolean touched = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    touched |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                            || file.getFileName().equals(event.context());
+                }
+                key.reset();
+                if (touched) {
+                    // Editors and copies often write in several steps; let them finish first
+                    Thread.sleep(SETTLE_MILLIS);
+                    reload();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Make the file's content current. Our own writes reload to an identical config and notify no one.
+     */
+    private void reload() {
+        synchronized (lock) {
+            try {
+                RuntimeConfig loaded = Files.exists(file) ? load() : holder.startup();
+                if (holder.replace(loaded, RuntimeConfigChangedEvent.Source.FILE)) {
+                    logger.info("Runtime config reloaded from {}", file);
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                logger.warn("Ignoring invalid runtime config file {}, keeping the current config: {}", file,
+                        e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The file's fields on top of the startup config.
+     */
+    private RuntimeConfig load() throws IOException {
+        ObjectNode merged = objectMapper.valueToTree(holder.startup());
+        if (!(objectMapper.readTree(file.toFile()) instanceof ObjectNode fromFile)) {
+            throw new IOException("not a JSON object");
+        }
+        merged.setAll(fromFile);
+        RuntimeConfig config = objectMapper.treeToValue(merged, RuntimeConfig.class);
+        for (String field : new String[] {"dokployApiKey", "apiDomain", "applicationId"}) {
+            if (!merged.hasNonNull(field) || merged.get(field).asText().isBlank()) {
+                throw new IllegalArgumentException(field + " must not be empty");
+            }
+        }
+        return config;
+    }
+
+    private void write(RuntimeConfig config) throws IOException {
+        ObjectNode json = objectMapper.valueToTree(config);
+        // Derived from apiDomain; leaving them out keeps hand edits unambiguous
+        json.remove("readApiUrl");
+        json.remove("updateApiUrl");
+
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.deleteIfExists(temp);
+        try {
+            Files.createFile(temp, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } catch (UnsupportedOperationException e) {
+            Files.createFile(temp);
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), json);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,67 @@
+package com.traefikconfig.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A template parsed once into alternating literal and variable segments. Rendering appends the segments to
+ * a caller-supplied builder without any formatting or intermediate strings.
+ */
+public final class CompiledTemplate {
+
+    // literals[i] precedes variables[i]; the last literal closes the template
+    private final String[] literals;
+    private final int[] variables;
+    private final int literalLength;
+
+    private CompiledTemplate(String[] literals, int[] variables) {
+        this.literals = literals;
+        this.variables = variables;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parse a template with {@code ${key}} placeholders. A literal {@code $} needs no escaping unless it is
+     * followed by {@code {}.
+     *
+     * @throws IllegalArgumentException on unknown variables or unterminated placeholders
+     */
+    public static CompiledTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int start = source.indexOf("${", position);
+            if (start < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            int end = source.indexOf('}', start + 2);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unterminated placeholder at offset " + start);
+            }
+            literals.add(source.substring(position, start));
+            variables.add(TemplateVariable.fromKey(source.substring(start + 2, end)).ordinal());
+            position = end + 1;
+        }
+        return new CompiledTemplate(literals.toArray(new String[0]),
+                variables.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Append the rendered template to {@code out}.
+     *
+     * @param values variable values indexed by {@link TemplateVariable#ordinal()}
+     */
+    public void render(StringBuilder out, String[] values) {
+        out.ensureCapacity(out.length() + literalLength + variables.length * 24);
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]).append(values[variables[i]]);
+        }
+        out.append(literals[variables.length]);
+    }
+}
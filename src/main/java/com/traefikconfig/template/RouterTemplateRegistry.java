@@ -0,0 +1,196 @@
+package com.traefikconfig.template;
+
+import com.traefikconfig.config.TemplateProperties;
+import com.traefikconfig.config.TemplateProperties.RouterTemplate;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Router and service templates, compiled once at startup.
+ * <p>
+ * Each router layout (built-in or from {@code traefik.templates.definitions}) is turned into YAML template
+ * text and compiled into a {@link CompiledTemplate}; requests only render. Output goes through a per-thread
+ * builder that is reused across calls.
+ */
+@Component
+@Lazy(false) // an invalid template must fail startup, not the first request
+public class RouterTemplateRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(RouterTemplateRegistry.class);
+
+    public static final String DUAL = "dual";
+    public static final String DUAL_ENTRYPOINTS = "dual-entrypoints";
+    public static final String SINGLE = "single";
+
+    private static final CompiledTemplate SERVICE_TEMPLATE = CompiledTemplate.compile("""
+            ${prefix}-service:
+              loadBalancer:
+                servers:
+                - url: http://${serviceHost}:${servicePort}
+                passHostHeader: true
+
+            """);
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private final TemplateProperties properties;
+    private final Map<String, CompiledTemplate> routerTemplates = new LinkedHashMap<>();
+
+    public RouterTemplateRegistry(TemplateProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    void compileTemplates() {
+        Map<String, RouterTemplate> definitions = new LinkedHashMap<>();
+        definitions.put(DUAL, template("/api", List.of(), List.of(), List.of("redirect-to-https"), List.of()));
+        definitions.put(DUAL_ENTRYPOINTS, template("/api", List.of("web"), List.of("websecure"), null, null));
+        definitions.put(SINGLE, template(null, List.of("web"), List.of("websecure"), null, null));
+        definitions.putAll(properties.getDefinitions());
+
+        definitions.forEach((name, definition) -> {
+            try {
+                routerTemplates.put(name, CompiledTemplate.compile(toSource(definition)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Invalid router template '" + name + "': " + e.getMessage(), e);
+            }
+        });
+        String defaultTemplate = properties.getDefaultTemplate();
+        if (defaultTemplate != null && !defaultTemplate.isEmpty() && !routerTemplates.containsKey(defaultTemplate)) {
+            throw new IllegalStateException("Default router template '" + defaultTemplate + "' is not defined");
+        }
+        logger.info("Compiled {} router template(s): {}", routerTemplates.size(), routerTemplates.keySet());
+    }
+
+    public boolean contains(String name) {
+        return routerTemplates.containsKey(name);
+    }
+
+    public Set<String> names() {
+        return routerTemplates.keySet();
+    }
+
+    /**
+     * Render the router block of a host with the named layout.
+     *
+     * @throws IllegalArgumentException if no template has that name
+     */
+    public String renderRouters(String templateName, String host, String prefix, String backendService,
+            String frontendService) {
+        CompiledTemplate template = routerTemplates.get(templateName);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown router template '" + templateName + "'. Available: "
+                    + routerTemplates.keySet());
+        }
+        String[] values = new String[TemplateVariable.values().length];
+        values[TemplateVariable.HOST.ordinal()] = host;
+        values[TemplateVariable.PREFIX.ordinal()] = prefix;
+        values[TemplateVariable.BACKEND_SERVICE.ordinal()] = backendService;
+        values[TemplateVariable.FRONTEND_SERVICE.ordinal()] = frontendService;
+        return render(template, values);
+    }
+
+    /**
+     * Render the {@code <prefix>-service} load balancer used by single service hosts.
+     */
+    public String renderService(String prefix, String serviceHost, int servicePort) {
+        String[] values = new String[TemplateVariable.values().length];
+        values[TemplateVariable.PREFIX.ordinal()] = prefix;
+        values[TemplateVariable.SERVICE_HOST.ordinal()] = serviceHost;
+        values[TemplateVariable.SERVICE_PORT.ordinal()] = Integer.toString(servicePort);
+        return render(SERVICE_TEMPLATE, values);
+    }
+
+    private static String render(CompiledTemplate template, String[] values) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        template.render(out, values);
+        String result = out.toString();
+        if (out.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+
+    private static RouterTemplate template(String pathPrefix, List<String> entryPoints, List<String> secureEntryPoints,
+            List<String> middlewares, List<String> secureMiddlewares) {
+        RouterTemplate template = new RouterTemplate();
+        template.setPathPrefix(pathPrefix);
+        template.setEntryPoints(entryPoints);
+        template.setSecureEntryPoints(secureEntryPoints);
+        template.setMiddlewares(middlewares);
+        template.setSecureMiddlewares(secureMiddlewares);
+        return template;
+    }
+
+    /**
+     * Build the template text of a layout. A path split yields backend and frontend router pairs, otherwise
+     * one pair routes the whole host to the frontend service.
+     */
+    private static String toSource(RouterTemplate definition) {
+        StringBuilder source = new StringBuilder(512);
+        String pathPrefix = definition.getPathPrefix();
+        if (pathPrefix != null && !pathPrefix.isEmpty()) {
+            String pathRule = "PathPrefix(`" + pathPrefix + "`)";
+            source.append("# Backend API routes for ${host}\n");
+            appendRouterPair(source, definition, "${prefix}-devcrm-crmbackend-router",
+                    "Host(`${host}`) && " + pathRule, "${backendService}");
+            source.append("# Frontend routes for ${host}\n");
+            appendRouterPair(source, definition, "${prefix}-devcrm-crmfrontend-router",
+                    "Host(`${host}`) && !" + pathRule, "${frontendService}");
+        } else {
+            source.append("# Routes for ${host}\n");
+            appendRouterPair(source, definition, "${prefix}-router", "Host(`${host}`)", "${frontendService}");
+        }
+        return source.toString();
+    }
+
+    private static void appendRouterPair(StringBuilder source, RouterTemplate definition, String name, String rule,
+            String service) {
+        appendRouter(source, name, rule, service, definition.getEntryPoints(), definition.getMiddlewares(), null);
+        String certResolver = definition.getCertResolver() != null ? definition.getCertResolver() : "";
+        appendRouter(source, name + "-websecure", rule, service, definition.getSecureEntryPoints(),
+                definition.getSecureMiddlewares(), certResolver);
+    }
+
+    private static void appendRouter(StringBuilder source, String name, String rule, String service,
+            List<String> entryPoints, List<String> middlewares, String certResolver) {
+        source.append(name).append(":\n");
+        source.append("  rule: ").append(rule).append('\n');
+        source.append("  service: ").append(service).append('\n');
+        if (entryPoints != null && !entryPoints.isEmpty()) {
+            appendList(source, "entryPoints", entryPoints);
+        }
+        if (middlewares != null) {
+            appendList(source, "middlewares", middlewares);
+        }
+        if (certResolver != null) {
+            if (certResolver.isEmpty()) {
+                source.append("  tls: {}\n");
+            } else {
+                source.append("  tls:\n    certResolver: ").append(certResolver).append('\n');
+            }
+        }
+        source.append('\n');
+    }
+
+    private static void appendList(StringBuilder source, String key, List<String> items) {
+        if (items.isEmpty()) {
+            source.append("  ").append(key).append(": []\n");
+            return;
+        }
+        source.append("  ").append(key).append(":\n");
+        for (String item : items) {
+            source.append("    - ").append(item).append('\n');
+        }
+    }
+}
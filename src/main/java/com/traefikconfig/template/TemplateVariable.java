@@ -0,0 +1,33 @@
+package com.traefikconfig.template;
+
+/**
+ * Placeholders available in router and service templates, written as {@code ${key}}. Rendering takes the
+ * values as an array indexed by ordinal.
+ */
+public enum TemplateVariable {
+    HOST("host"),
+    PREFIX("prefix"),
+    BACKEND_SERVICE("backendService"),
+    FRONTEND_SERVICE("frontendService"),
+    SERVICE_HOST("serviceHost"),
+    SERVICE_PORT("servicePort");
+
+    private final String key;
+
+    TemplateVariable(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static TemplateVariable fromKey(String key) {
+        for (TemplateVariable variable : values()) {
+            if (variable.key.equals(key)) {
+                return variable;
+            }
+        }
+        throw new IllegalArgumentException("Unknown template variable: ${" + key + "}");
+    }
+}
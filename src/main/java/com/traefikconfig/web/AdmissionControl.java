@@ -0,0 +1,192 @@
+package com.traefikconfig.web;
+
+import com.traefikconfig.config.AdmissionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides whether a mutation may run.
+ * <p>
+ * A request first takes a token from its client's bucket and from its application's bucket, then one of
+ * {@code traefik.admission.max-concurrent} slots. When all slots are busy it waits in a FIFO queue of at most
+ * {@code traefik.admission.queue-capacity} requests for up to {@code traefik.admission.queue-timeout-ms}.
+ * An empty bucket, a full queue or a timed-out wait rejects the request with the number of seconds after
+ * which a retry can succeed. A rejected request is not charged: the tokens it took are put back, so a retry
+ * after a rejection for capacity is not rate-limited as well.
+ * <p>
+ * Buckets are created on first use and forgotten once they have refilled. At most
+ * {@code traefik.admission.max-tracked-keys} buckets are kept per kind; keys beyond that share one bucket
+ * until idle ones are swept, so a flood of distinct clients cannot grow memory without bound.
+ */
+@Component
+@Lazy(false) // schedules the bucket sweep
+public class AdmissionControl {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControl.class);
+
+    private static final String OVERFLOW_KEY = "\0overflow";
+
+    private final AdmissionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TokenBucket> clientBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> applicationBuckets = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private Semaphore slots;
+    private Counter admitted;
+    private Timer queueWait;
+
+    /**
+     * The outcome of {@link #admit}. An admitted request must call {@link #release()} when it is done.
+     */
+    public record Decision(boolean admitted, String reason, long retryAfterSeconds, String message) {
+
+        static final Decision ADMITTED = new Decision(true, null, 0, null);
+    }
+
+    public AdmissionControl(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        int maxConcurrent = Math.max(1, properties.getMaxConcurrent());
+        slots = new Semaphore(maxConcurrent, true);
+        admitted = meterRegistry.counter("traefik.admission.admitted");
+        queueWait = Timer.builder("traefik.admission.queue.wait")
+                .description("Time admitted and timed-out requests spent waiting for a slot")
+                .register(meterRegistry);
+        Gauge.builder("traefik.admission.queue.depth", queued, AtomicInteger::get)
+                .description("Requests waiting for a slot")
+                .register(meterRegistry);
+        Gauge.builder("traefik.admission.in.flight", slots, s -> maxConcurrent - s.availablePermits())
+                .description("Mutations currently running")
+                .register(meterRegistry);
+        for (String reason : new String[] {"client_rate", "application_rate", "queue_full", "queue_timeout"}) {
+            rejected(reason);
+        }
+        logger.info("Admission control ready [enabled={}, client={}/s burst {}, application={}/s burst {}, "
+                + "max_concurrent={}, queue={}, queue_timeout_ms={}]", properties.isEnabled(),
+                properties.getClientRatePerSecond(), properties.getClientBurst(),
+                properties.getApplicationRatePerSecond(), properties.getApplicationBurst(), maxConcurrent,
+                properties.getQueueCapacity(), properties.getQueueTimeoutMs());
+    }
+
+    /**
+     * Admit a request from a client to an application, waiting in the queue if every slot is busy.
+     */
+    public Decision admit(String client, String applicationId) {
+        long now = System.nanoTime();
+        TokenBucket clientBucket = bucket(clientBuckets, client, properties.getClientBurst(),
+                properties.getClientRatePerSecond(), now);
+        long clientWait = clientBucket != null ? clientBucket.tryAcquire(now) : 0;
+        if (clientWait > 0) {
+            return reject("client_rate", clientWait, "Too many requests from this client");
+        }
+        TokenBucket applicationBucket = bucket(applicationBuckets, applicationId, properties.getApplicationBurst(),
+                properties.getApplicationRatePerSecond(), now);
+        long applicationWait = applicationBucket != null ? applicationBucket.tryAcquire(now) : 0;
+        if (applicationWait > 0) {
+            // Turned away for the application's limit: the client's token was not used
+            refund(clientBucket, null);
+            return reject("application_rate", applicationWait,
+                    "Too many requests for application '" + applicationId + "'");
+        }
+
+        if (!slots.tryAcquire()) {
+            if (queued.incrementAndGet() > properties.getQueueCapacity()) {
+                queued.decrementAndGet();
+                refund(clientBucket, applicationBucket);
+                return reject("queue_full", TimeUnit.SECONDS.toNanos(1), "Server busy, request queue is full");
+            }
+            boolean acquired = false;
+            try {
+                acquired = slots.tryAcquire(properties.getQueueTimeoutMs(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                queued.decrementAndGet();
+                queueWait.record(System.nanoTime() - now, TimeUnit.NANOSECONDS);
+            }
+            if (!acquired) {
+                refund(clientBucket, applicationBucket);
+                return reject("queue_timeout", TimeUnit.SECONDS.toNanos(1),
+                        "Server busy, timed out waiting in the request queue");
+            }
+        }
+        admitted.increment();
+        return Decision.ADMITTED;
+    }
+
+    /**
+     * Free the slot of an admitted request.
+     */
+    public void release() {
+        slots.release();
+    }
+
+    /**
+     * Forget buckets that have refilled; they would admit the next request anyway.
+     */
+    @Scheduled(fixedDelay = 60000)
+    void sweepIdleBuckets() {
+        long now = System.nanoTime();
+        clientBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        applicationBuckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    /**
+     * The key's bucket, created full on first use, or {@code null} if a rate of 0 or less disables the limit.
+     */
+    private TokenBucket bucket(Map<String, TokenBucket> buckets, String key, int burst, double ratePerSecond,
+            long now) {
+        if (ratePerSecond <= 0) {
+            return null;
+        }
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            String bucketKey = buckets.size() < properties.getMaxTrackedKeys() ? key : OVERFLOW_KEY;
+            bucket = buckets.computeIfAbsent(bucketKey,
+                    k -> new TokenBucket(Math.max(1, burst), ratePerSecond, now));
+        }
+        return bucket;
+    }
+
+    /**
+     * Put back the tokens of a request that was turned away; a bucket is {@code null} if its limit is off.
+     */
+    private static void refund(TokenBucket clientBucket, TokenBucket applicationBucket) {
+        if (clientBucket != null) {
+            clientBucket.refund();
+        }
+        if (applicationBucket != null) {
+            applicationBucket.refund();
+        }
+    }
+
+    private Decision reject(String reason, long waitNanos, String message) {
+        rejected(reason).increment();
+        long retryAfter = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        return new Decision(false, reason, retryAfter, message);
+    }
+
+    private Counter rejected(String reason) {
+        return rejections.computeIfAbsent(reason,
+                r -> meterRegistry.counter("traefik.admission.rejected", "reason", r));
+    }
+}
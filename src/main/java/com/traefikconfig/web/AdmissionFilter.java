@@ -0,0 +1,205 @@
+package com.traefikconfig.web;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.traefikconfig.config.AdmissionProperties;
+import com.traefikconfig.config.RuntimeConfigHolder;
+import com.traefikconfig.dto.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Applies {@link AdmissionControl} to the mutating {@code /api/traefik} endpoints before they reach the
+ * controller, answering {@code 429 Too Many Requests} with a {@code Retry-After} header when a request is
+ * rejected.
+ * <p>
+ * Reads (GET) and the read-only POST endpoints listed in {@code traefik.admission.exempt-paths} pass through.
+ * The client is the remote address, or the first value of {@code traefik.admission.client-header} when the
+ * service runs behind a proxy. The application is the {@code applicationId} query parameter or top-level body
+ * field; small JSON bodies are buffered to find it and replayed to the controller, larger ones count against
+ * the default application.
+ */
+@Component
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionFilter.class);
+
+    private static final String MUTATION_PATH_PREFIX = "/api/traefik/";
+
+    private final AdmissionControl admissionControl;
+    private final AdmissionProperties properties;
+    private final RuntimeConfigHolder runtimeConfig;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionFilter(AdmissionControl admissionControl, AdmissionProperties properties,
+            RuntimeConfigHolder runtimeConfig, ObjectMapper objectMapper) {
+        this.admissionControl = admissionControl;
+        this.properties = properties;
+        this.runtimeConfig = runtimeConfig;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+        return !properties.isEnabled() || "GET".equals(method) || "HEAD".equals(method)
+                || "OPTIONS".equals(method) || !path.startsWith(MUTATION_PATH_PREFIX)
+                || properties.getExemptPaths().contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        HttpServletRequest forwarded = request;
+        String applicationId = request.getParameter("applicationId");
+        int length = request.getContentLength();
+        if (isBlank(applicationId) && length >= 0 && length <= properties.getMaxInspectedBodyBytes()
+                && isJson(request)) {
+            byte[] body = request.getInputStream().readAllBytes();
+            forwarded = new BufferedBodyRequest(request, body);
+            applicationId = applicationIdOf(body);
+        }
+        if (isBlank(applicationId)) {
+            applicationId = runtimeConfig.current().applicationId();
+        }
+
+        AdmissionControl.Decision decision = admissionControl.admit(clientOf(request), applicationId);
+        if (!decision.admitted()) {
+            logger.debug("Rejected {} {} [reason={}, app={}, retry_after={}s]", request.getMethod(),
+                    request.getRequestURI(), decision.reason(), applicationId, decision.retryAfterSeconds());
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(decision.retryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(decision.message()));
+            return;
+        }
+        try {
+            filterChain.doFilter(forwarded, response);
+        } finally {
+            admissionControl.release();
+        }
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String header = properties.getClientHeader();
+        if (!isBlank(header)) {
+            String value = request.getHeader(header);
+            if (!isBlank(value)) {
+                int comma = value.indexOf(',');
+                return (comma < 0 ? value : value.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * The top-level {@code applicationId} string of a JSON object, or {@code null}. Nested values are skipped
+     * without being materialized.
+     */
+    private String applicationIdOf(byte[] body) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("applicationId".equals(field) && value == JsonToken.VALUE_STRING) {
+                    return parser.getText();
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            // Malformed bodies are rejected by the controller
+        }
+        return null;
+    }
+
+    private static boolean isJson(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).contains("json");
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * A request whose body has already been read, serving it again from memory.
+     */
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is in memory: it is available, and can be read completely, right away
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.traefikconfig.web;
+
+import com.traefikconfig.logging.LogContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Gives every request an ID, which is put in the MDC as {@code requestId} for all lines logged while handling
+ * it and returned in the {@code X-Request-Id} header. An ID sent by a client or proxy in that header is kept
+ * if it is short and plain; otherwise a new one is generated.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Id";
+
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._:-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String requestId = request.getHeader(HEADER);
+        if (requestId == null || !VALID_ID.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString();
+        }
+        response.setHeader(HEADER, requestId);
+        Map<String, String> previous = MDC.getCopyOfContextMap();
+        MDC.put(LogContext.REQUEST_ID, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            LogContext.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.traefikconfig.web;
+
+/**
+ * Holds up to {@code capacity} tokens and gains {@code ratePerSecond} tokens per second; every admitted
+ * request takes one. Tokens are refilled lazily from the elapsed time, so an idle bucket costs nothing.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double capacity, double ratePerSecond, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    /**
+     * Take a token.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until the next one is available
+     */
+    synchronized long tryAcquire(long now) {
+        refill(now);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+    }
+
+    /**
+     * Put back a token taken for a request that was rejected for another reason.
+     */
+    synchronized void refund() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+
+    /**
+     * Whether the bucket has refilled completely, i.e. forgetting it would change nothing.
+     */
+    synchronized boolean isFull(long now) {
+        refill(now);
+        return tokens >= capacity;
+    }
+
+    private void refill(long now) {
+        if (now > refilledAt) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+}
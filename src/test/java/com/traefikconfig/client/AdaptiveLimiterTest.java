@@ -0,0 +1,187 @@
+package com.traefikconfig.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveLimiterTest {
+
+    private static final long MS = 1_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(1_000 * MS);
+
+    @Test
+    void admitsUpToTheLimitAndTimesOutBeyondIt() throws InterruptedException {
+        AdaptiveLimiter limiter = limiter(2, 1, 10);
+
+        assertThat(limiter.acquire(0, TimeUnit.MILLISECONDS)).isEqualTo(clock.get());
+        assertThat(limiter.acquire(0, TimeUnit.MILLISECONDS)).isEqualTo(clock.get());
+
+        assertThat(limiter.acquire(0, TimeUnit.MILLISECONDS)).isEqualTo(-1);
+        assertThat(limiter.acquire(20, TimeUnit.MILLISECONDS)).isEqualTo(-1);
+        assertThat(limiter.inFlight()).isEqualTo(2);
+        assertThat(limiter.waiting()).isZero();
+    }
+
+    @Test
+    void growsOnlyWhileTheLimitIsFullyUsed() throws InterruptedException {
+        AdaptiveLimiter limiter = limiter(2, 1, 10);
+
+        for (int i = 0; i < 10; i++) {
+            call(limiter, 10 * MS);
+        }
+        assertThat(limiter.limit()).isEqualTo(2);
+
+        // 2 -> 2.5 -> 2.9 -> 3.24: about one per round trip at the limit
+        for (int round = 0; round < 3; round++) {
+            long first = limiter.acquire(0, TimeUnit.MILLISECONDS);
+            long second = limiter.acquire(0, TimeUnit.MILLISECONDS);
+            clock.addAndGet(10 * MS);
+            limiter.release(first, false);
+            limiter.release(second, false);
+        }
+        assertThat(limiter.limit()).isEqualTo(3);
+    }
+
+    @Test
+    void neverGrowsBeyondTheMaximum() throws InterruptedException {
+        AdaptiveLimiter limiter = limiter(1, 1, 2);
+
+        for (int i = 0; i < 20; i++) {
+            call(limiter, 10 * MS);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(2);
+    }
+
+    @Test
+    void decreasesOncePerBatchOfCalls() throws InterruptedException {
+        AdaptiveLimiter limiter = limiter(8, 2, 10);
+        call(limiter, 10 * MS);
+
+        clock.addAndGet(MS);
+        List<Long> batch = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            batch.add(limiter.acquire(0, TimeUnit.MILLISECONDS));
+        }
+        clock.addAndGet(100 * MS);
+        for (long start : batch) {
+            limiter.release(start, false);
+        }
+        assertThat(limiter.limit()).isEqualTo(4);
+
+        // A call started after the decrease may decrease again, but not below the minimum
+        clock.addAndGet(MS);
+        call(limiter, 100 * MS);
+        assertThat(limiter.limit()).isEqualTo(2);
+        clock.addAndGet(MS);
+        call(limiter, 100 * MS);
+        assertThat(limiter.limit()).isEqualTo(2);
+    }
+
+    @Test
+    void droppedCallDecreasesWithoutMovingTheBaseline() throws InterruptedException {
+        AdaptiveLimiter limiter = limiter(8, 1, 10);
+        call(limiter, 10 * MS);
+
+        clock.addAndGet(MS);
+        long start = limiter.acquire(0, TimeUnit.MILLISECONDS);
+        clock.addAndGet(MS);
+        limiter.release(start, true);
+        assertThat(limiter.limit()).isEqualTo(4);
+
+        // The 1 ms failure is not the new baseline, so 15 ms is still in time
+        call(limiter, 15 * MS);
+        assertThat(limiter.limit()).isEqualTo(4);
+    }
+
+    @Test
+    void baselineDriftsUpToAPermanentlySlowerBackend() throws InterruptedException {
+        AdaptiveLimiter fresh = limiter(8, 1, 10);
+        call(fresh, 10 * MS);
+        clock.addAndGet(MS);
+        call(fresh, 25 * MS);
+        assertThat(fresh.limit()).isEqualTo(4);
+
+        AdaptiveLimiter drifted = limiter(8, 1, 10);
+        call(drifted, 10 * MS);
+        for (int i = 0; i < 100; i++) {
+            call(drifted, 15 * MS);
+        }
+        clock.addAndGet(MS);
+        call(drifted, 25 * MS);
+        assertThat(drifted.limit()).isEqualTo(8);
+    }
+
+    @Test
+    void handsFreedSlotsToWaitingCallsInOrder() throws Exception {
+        AdaptiveLimiter limiter = limiter(1, 1, 1);
+        long held = limiter.acquire(0, TimeUnit.MILLISECONDS);
+
+        CompletableFuture<Long> first = waitFor(limiter, 1);
+        CompletableFuture<Long> second = waitFor(limiter, 2);
+        limiter.release(held, false);
+
+        // The slot went to the first waiter; a newcomer cannot take it
+        assertThat(first.get(5, TimeUnit.SECONDS)).isPositive();
+        assertThat(limiter.acquire(0, TimeUnit.MILLISECONDS)).isEqualTo(-1);
+        assertThat(second).isNotDone();
+        assertThat(limiter.waiting()).isEqualTo(1);
+
+        limiter.release(first.get(), false);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isPositive();
+        assertThat(limiter.inFlight()).isEqualTo(1);
+        assertThat(limiter.waiting()).isZero();
+    }
+
+    @Test
+    void timedOutWaiterGivesUpItsPlace() throws Exception {
+        AdaptiveLimiter limiter = limiter(1, 1, 1);
+        long held = limiter.acquire(0, TimeUnit.MILLISECONDS);
+
+        assertThat(limiter.acquire(20, TimeUnit.MILLISECONDS)).isEqualTo(-1);
+        assertThat(limiter.waiting()).isZero();
+
+        limiter.release(held, false);
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(limiter.acquire(0, TimeUnit.MILLISECONDS)).isPositive();
+    }
+
+    private AdaptiveLimiter limiter(int initial, int min, int max) {
+        return new AdaptiveLimiter(initial, min, max, 2.0, 0.5, clock::get);
+    }
+
+    private void call(AdaptiveLimiter limiter, long latency) throws InterruptedException {
+        long start = limiter.acquire(0, TimeUnit.MILLISECONDS);
+        assertThat(start).isNotEqualTo(-1);
+        clock.addAndGet(latency);
+        limiter.release(start, false);
+    }
+
+    /**
+     * Start a call that waits for a slot, returning once it is the {@code position}-th in the queue.
+     */
+    private static CompletableFuture<Long> waitFor(AdaptiveLimiter limiter, int position)
+            throws InterruptedException {
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                result.complete(limiter.acquire(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        while (limiter.waiting() < position) {
+            Thread.sleep(1);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,91 @@
+package com.traefikconfig.controller;
+
+import com.traefikconfig.dto.ListingQuery;
+import com.traefikconfig.dto.PageResponse;
+import com.traefikconfig.model.ConfigIndex;
+import com.traefikconfig.model.TraefikConfigModel;
+import com.traefikconfig.service.TraefikConfigService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TraefikConfigControllerTest {
+
+    private static final ConfigIndex.Filter ALL = new ConfigIndex.Filter(null, null, null);
+
+    private final ConfigIndex index = TraefikConfigModel.parse("""
+            http:
+              routers:
+                a-router:
+                  rule: Host(`a.example.com`)
+                  service: a-service
+                b-router:
+                  rule: Host(`b.example.com`)
+                  service: b-service
+            """).index();
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TraefikConfigService service = mock(TraefikConfigService.class);
+        when(service.listRouters(any())).thenAnswer(invocation -> {
+            ListingQuery query = invocation.getArgument(0);
+            ConfigIndex.Page<?> page = index.routers(query.getSort(), query.getCursor(), query.getLimit(), ALL);
+            return new PageResponse<>(List.of(), page.nextCursor(), page.total(), query.getLimit());
+        });
+        when(service.listHosts(any())).thenAnswer(invocation -> {
+            ListingQuery query = invocation.getArgument(0);
+            ConfigIndex.Page<?> page = index.hosts(null, query.getSort(), query.getCursor(), query.getLimit(), ALL);
+            return new PageResponse<>(List.of(), page.nextCursor(), page.total(), query.getLimit());
+        });
+        TraefikConfigController controller = new TraefikConfigController();
+        ReflectionTestUtils.setField(controller, "traefikConfigService", service);
+        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void validCursorReturnsTheNextPage() throws Exception {
+        String cursor = index.routers(null, null, 1, ALL).nextCursor();
+
+        mvc.perform(get("/api/traefik/routers").param("limit", "1").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.total").value(2));
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() throws Exception {
+        for (String cursor : List.of("not base64!", "a", "bmFtZQ")) {
+            mvc.perform(get("/api/traefik/routers").param("cursor", cursor))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false));
+            mvc.perform(get("/api/traefik/hosts").param("cursor", cursor))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void cursorOfAnotherSortIsABadRequest() throws Exception {
+        String cursor = index.routers("name", null, 1, ALL).nextCursor();
+
+        mvc.perform(get("/api/traefik/routers").param("sort", "service").param("cursor", cursor))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cursor does not belong to this sort order"));
+    }
+
+    @Test
+    void unknownSortIsABadRequest() throws Exception {
+        mvc.perform(get("/api/traefik/hosts").param("sort", "rule"))
+                .andExpect(status().isBadRequest());
+    }
+}
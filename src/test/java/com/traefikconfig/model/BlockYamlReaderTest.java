@@ -0,0 +1,191 @@
+package com.traefikconfig.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockYamlReaderTest {
+
+    @Test
+    void readsGeneratedConfigLikeSnakeYaml() {
+        assertSameAsSnakeYaml(TestConfigs.withHosts(10));
+    }
+
+    @Test
+    void readsScalarsCommentsAndSequencesLikeSnakeYaml() {
+        assertSameAsSnakeYaml("""
+                # Dokploy config
+                http:
+                  routers:
+                    app-router:
+                      rule: "Host(`app.example.com`) && PathPrefix(`/a\\"b\\\\`)"  # quoted
+                      service: 'it''s'
+                      priority: 10
+                      entryPoints:
+                      - web
+                      -   websecure # indented item
+                      tls:
+                      note: a#b c:d
+                  services:
+                    app-service:
+                      loadBalancer:
+                        servers:
+                          - url: http://app:80
+                            weight: 1
+                          -
+                            url: http://app:81
+                          - ~
+                """);
+    }
+
+    @Test
+    void readsCrlfLineBreaksLikeSnakeYaml() {
+        assertSameAsSnakeYaml("http:\r\n  routers:\r\n    a-router:\r\n      rule: Host(`a.example.com`)\r\n");
+    }
+
+    @Test
+    void readsEmptyFlowCollections() {
+        String config = """
+                http:
+                  routers:
+                    a-router:
+                      middlewares: []
+                      entryPoints: [ ]   # none
+                      tls: {}
+                """;
+        assertSameAsSnakeYaml(config);
+
+        MappingNode router = (MappingNode) value(value(value(BlockYamlReader.read(config), "http"), "routers"),
+                "a-router");
+        assertThat(value(router, "middlewares")).isInstanceOfSatisfying(SequenceNode.class, node -> {
+            assertThat(node.getValue()).isEmpty();
+            assertThat(node.getFlowStyle()).isEqualTo(DumperOptions.FlowStyle.FLOW);
+        });
+        assertThat(value(router, "tls")).isInstanceOfSatisfying(MappingNode.class, node -> {
+            assertThat(node.getValue()).isEmpty();
+            assertThat(node.getFlowStyle()).isEqualTo(DumperOptions.FlowStyle.FLOW);
+        });
+    }
+
+    @Test
+    void readsEmptyTextAsNullScalar() {
+        Node root = BlockYamlReader.read("# nothing\n\n");
+
+        assertThat(root).isInstanceOfSatisfying(ScalarNode.class,
+                node -> assertThat(node.getTag()).isEqualTo(Tag.NULL));
+    }
+
+    @Test
+    void tagsScalarsAsStringsUnlessNull() {
+        MappingNode root = (MappingNode) BlockYamlReader.read("a: 80\nb: true\nc: null\nd:\ne: 'null'\n");
+
+        assertThat(root.getValue()).extracting(tuple -> tuple.getValueNode().getTag())
+                .containsExactly(Tag.STR, Tag.STR, Tag.NULL, Tag.NULL, Tag.STR);
+    }
+
+    @Test
+    void marksNodesWithTheirLines() {
+        MappingNode root = (MappingNode) BlockYamlReader.read("# header\nhttp:\n\n  routers: {}\n");
+
+        Node routers = value(root, "http");
+        assertThat(root.getStartMark().getLine()).isEqualTo(1);
+        assertThat(routers.getStartMark().getLine()).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "entryPoints: [web]\n",
+            "tls: {certResolver: letsencrypt}\n",
+            "a: [\n",
+            "a: &anchor b\n",
+            "a: *anchor\n",
+            "a: !!str b\n",
+            "a: |\n  text\n",
+            "a: >\n  text\n",
+            "a: \"multi\n  line\"\n",
+            "a: 'unterminated\n",
+            "a: \"\\x41\"\n",
+            "a: 'b' c\n",
+            "a:\tb\n",
+            "---\na: b\n",
+            "a: b\n...\n",
+            "a: b: c\n",
+            "a: b\n  c: d\n",
+            "- a\nb: c\n",
+            "a:\n  - b\n    c: d\n",
+            "? a\n: b\n",
+            "\"a\": b\n",
+            "scalar\n",
+            "\uFEFFa: b\n",
+    })
+    void leavesEverythingElseToSnakeYaml(String config) {
+        assertThat(BlockYamlReader.read(config)).isNull();
+    }
+
+    @Test
+    void readsConfigLargerThanThreeMegabytes() {
+        String config = TestConfigs.withHosts(5000);
+        assertThat(config.length()).isGreaterThan(3 * 1024 * 1024);
+
+        assertSameAsSnakeYaml(config);
+    }
+
+    private static void assertSameAsSnakeYaml(String config) {
+        Node node = BlockYamlReader.read(config);
+        assertThat(node).as("read by BlockYamlReader").isNotNull();
+        Node expected = new Yaml(new SafeConstructor(
+                TraefikConfigModel.loaderOptions(TraefikConfigModel.DEFAULT_CODE_POINT_LIMIT)))
+                .compose(new StringReader(config));
+        assertThat(structure(node)).isEqualTo(structure(expected));
+    }
+
+    /**
+     * Node contents as maps, lists and strings. Non-null scalars carry their line; SnakeYAML's other tags are
+     * ignored since the reader tags every scalar as a string.
+     */
+    private static Object structure(Node node) {
+        if (node instanceof MappingNode mapping) {
+            Map<Object, Object> map = new LinkedHashMap<>();
+            for (NodeTuple tuple : mapping.getValue()) {
+                map.put(structure(tuple.getKeyNode()), structure(tuple.getValueNode()));
+            }
+            return map;
+        }
+        if (node instanceof SequenceNode sequence) {
+            List<Object> list = new ArrayList<>();
+            for (Node item : sequence.getValue()) {
+                list.add(structure(item));
+            }
+            return list;
+        }
+        ScalarNode scalar = (ScalarNode) node;
+        return scalar.getTag().equals(Tag.NULL) ? null
+                : scalar.getValue() + " @" + scalar.getStartMark().getLine();
+    }
+
+    private static Node value(Node mapping, String key) {
+        for (NodeTuple tuple : ((MappingNode) mapping).getValue()) {
+            if (((ScalarNode) tuple.getKeyNode()).getValue().equals(key)) {
+                return tuple.getValueNode();
+            }
+        }
+        throw new AssertionError("No key " + key);
+    }
+}
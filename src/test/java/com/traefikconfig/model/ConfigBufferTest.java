@@ -0,0 +1,126 @@
+package com.traefikconfig.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConfigBufferTest {
+
+    @Test
+    void insertsAtStartMiddleAndEnd() {
+        ConfigBuffer buffer = new ConfigBuffer("routers");
+
+        buffer.insert(0, "http.");
+        buffer.insert(buffer.length(), ":");
+        buffer.insert(5, "[");
+        buffer.insert(13, "]");
+
+        assertThat(buffer.toString()).isEqualTo("http.[routers]:");
+        assertThat(buffer.length()).isEqualTo(15);
+    }
+
+    @Test
+    void deletesAcrossPieces() {
+        ConfigBuffer buffer = new ConfigBuffer("abcdef");
+        buffer.insert(3, "XYZ");
+
+        buffer.delete(2, 7);
+
+        assertThat(buffer.toString()).isEqualTo("abef");
+        buffer.delete(0, buffer.length());
+        assertThat(buffer.toString()).isEmpty();
+        assertThat(buffer.length()).isZero();
+    }
+
+    @Test
+    void emptyEditsAreNoOps() {
+        ConfigBuffer buffer = new ConfigBuffer("abc");
+
+        buffer.insert(1, "");
+        buffer.delete(2, 2);
+
+        assertThat(buffer.toString()).isEqualTo("abc");
+    }
+
+    @Test
+    void startsFromEmptyText() {
+        ConfigBuffer buffer = new ConfigBuffer("");
+        assertThat(buffer.length()).isZero();
+
+        buffer.insert(0, "b");
+        buffer.insert(0, "a");
+        buffer.insert(2, "c");
+
+        assertThat(buffer.toString()).isEqualTo("abc");
+    }
+
+    @Test
+    void rejectsRangesOutsideTheText() {
+        ConfigBuffer buffer = new ConfigBuffer("abc");
+
+        assertThatThrownBy(() -> buffer.insert(4, "x")).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> buffer.insert(-1, "x")).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> buffer.delete(2, 1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> buffer.delete(0, 4)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThat(buffer.toString()).isEqualTo("abc");
+    }
+
+    @Test
+    void writeToMatchesToString() throws IOException {
+        ConfigBuffer buffer = new ConfigBuffer("http:\n  routers:\n");
+        buffer.insert(17, "    a-router: {}\n");
+        buffer.delete(0, 1);
+        StringBuilder out = new StringBuilder();
+
+        buffer.writeTo(out);
+
+        assertThat(out.toString()).isEqualTo(buffer.toString()).isEqualTo("ttp:\n  routers:\n    a-router: {}\n");
+    }
+
+    @Test
+    void matchesStringBuilderUnderRandomEdits() {
+        Random random = new Random(42);
+        String original = TestConfigs.withHosts(20);
+        ConfigBuffer buffer = new ConfigBuffer(original);
+        StringBuilder expected = new StringBuilder(original);
+
+        for (int i = 0; i < 5000; i++) {
+            if (expected.length() > 0 && random.nextBoolean()) {
+                int start = random.nextInt(expected.length());
+                int end = Math.min(expected.length(), start + random.nextInt(64));
+                buffer.delete(start, end);
+                expected.delete(start, end);
+            } else {
+                int offset = random.nextInt(expected.length() + 1);
+                String text = "edit" + i + "\n";
+                buffer.insert(offset, text);
+                expected.insert(offset, text);
+            }
+            assertThat(buffer.length()).isEqualTo(expected.length());
+        }
+
+        assertThat(buffer.toString()).isEqualTo(expected.toString());
+    }
+
+    @Test
+    void editsConfigLargerThanThreeMegabytes() {
+        String original = TestConfigs.withHosts(5000);
+        ConfigBuffer buffer = new ConfigBuffer(original);
+        StringBuilder expected = new StringBuilder(original);
+
+        for (int i = 0; i < 1000; i++) {
+            int start = (int) ((long) expected.length() * i / 1000);
+            buffer.delete(start, start + 100);
+            expected.delete(start, start + 100);
+            buffer.insert(start, "x");
+            expected.insert(start, "x");
+        }
+
+        assertThat(buffer.length()).isEqualTo(original.length() - 99_000);
+        assertThat(buffer.toString()).isEqualTo(expected.toString());
+    }
+}
@@ -0,0 +1,143 @@
+package com.traefikconfig.model;
+
+import com.traefikconfig.model.ConfigDiff.Change;
+import com.traefikconfig.model.ConfigDiff.FieldChange;
+import com.traefikconfig.model.ConfigDiff.Section;
+import com.traefikconfig.model.ConfigDiff.Type;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigDiffTest {
+
+    private static final String BEFORE = """
+            http:
+              routers:
+                a-router:
+                  rule: Host(`a.example.com`)
+                  service: a-service
+                  entryPoints:
+                    - web
+                b-router:
+                  rule: Host(`b.example.com`)
+                  service: b-service
+              middlewares:
+                redirect-to-https:
+                  redirectScheme:
+                    scheme: https
+                strip: {}
+              services:
+                a-service:
+                  loadBalancer:
+                    servers:
+                      - url: http://a:80
+                b-service:
+                  loadBalancer:
+                    servers:
+                      - url: http://b:80
+            """;
+
+    @Test
+    void equalConfigsHaveNoChanges() {
+        TraefikConfigModel model = TraefikConfigModel.parse(BEFORE);
+
+        assertThat(ConfigDiff.between(model, model)).isEmpty();
+        assertThat(ConfigDiff.between(model, TraefikConfigModel.parse(BEFORE))).isEmpty();
+    }
+
+    @Test
+    void listsChangedRouterFields() {
+        String after = BEFORE.replace("      entryPoints:\n        - web\n", """
+                      entryPoints:
+                        - websecure
+                      middlewares:
+                        - redirect-to-https
+                      tls:
+                        certResolver: letsencrypt
+                      priority: 10
+                """).replace("rule: Host(`a.example.com`)", "rule: Host(`a.example.com`) && PathPrefix(`/api`)");
+
+        assertThat(diff(BEFORE, after)).containsExactly(
+                new Change(Section.ROUTERS, "a-router", Type.CHANGED, List.of(
+                        new FieldChange("rule", "Host(`a.example.com`)",
+                                "Host(`a.example.com`) && PathPrefix(`/api`)"),
+                        new FieldChange("entryPoints", "[web]", "[websecure]"),
+                        new FieldChange("middlewares", "[]", "[redirect-to-https]"),
+                        new FieldChange("tls", "false", "true"),
+                        new FieldChange("tls.certResolver", null, "letsencrypt"),
+                        new FieldChange("priority", "0", "10"))));
+    }
+
+    @Test
+    void listsChangedDefinitionValuesByPath() {
+        String after = BEFORE
+                .replace("- url: http://a:80\n", "- url: http://a:8080\n          - url: http://a2:80\n")
+                .replace("strip: {}", "strip:\n      stripPrefix:\n        prefixes:\n          - /api")
+                .replace("redirectScheme:\n        scheme: https\n", "redirectScheme: {}\n");
+
+        assertThat(diff(BEFORE, after)).containsExactly(
+                new Change(Section.SERVICES, "a-service", Type.CHANGED, List.of(
+                        new FieldChange("loadBalancer.servers[0].url", "http://a:80", "http://a:8080"),
+                        new FieldChange("loadBalancer.servers[1].url", null, "http://a2:80"))),
+                new Change(Section.MIDDLEWARES, "redirect-to-https", Type.CHANGED, List.of(
+                        new FieldChange("redirectScheme.scheme", "https", null),
+                        new FieldChange("redirectScheme", null, "{}"))),
+                new Change(Section.MIDDLEWARES, "strip", Type.CHANGED, List.of(
+                        new FieldChange("stripPrefix.prefixes[0]", null, "/api"))));
+    }
+
+    @Test
+    void listsRemovedEntriesInOldOrderThenAddedEntriesInNewOrder() {
+        String after = """
+                http:
+                  routers:
+                    d-router:
+                      rule: Host(`d.example.com`)
+                      service: b-service
+                    b-router:
+                      rule: Host(`b.example.com`)
+                      service: b-service
+                    c-router:
+                      rule: Host(`c.example.com`)
+                      service: b-service
+                  services:
+                    b-service:
+                      loadBalancer:
+                        servers:
+                          - url: http://b:80
+                """;
+
+        assertThat(diff(BEFORE, after)).containsExactly(
+                new Change(Section.ROUTERS, "a-router", Type.REMOVED, List.of()),
+                new Change(Section.ROUTERS, "d-router", Type.ADDED, List.of()),
+                new Change(Section.ROUTERS, "c-router", Type.ADDED, List.of()),
+                new Change(Section.SERVICES, "a-service", Type.REMOVED, List.of()),
+                new Change(Section.MIDDLEWARES, "redirect-to-https", Type.REMOVED, List.of()),
+                new Change(Section.MIDDLEWARES, "strip", Type.REMOVED, List.of()));
+    }
+
+    @Test
+    void diffsConfigsLargerThanThreeMegabytes() {
+        String before = TestConfigs.withHosts(5000);
+        String after = TestConfigs.withHosts(5001).replace("url: http://app1:80\n", "url: http://app1:81\n");
+        assertThat(before.length()).isGreaterThan(3 * 1024 * 1024);
+
+        List<Change> changes = diff(before, after);
+
+        assertThat(changes).containsExactly(
+                new Change(Section.ROUTERS, "app5000-devcrm-crmbackend-router", Type.ADDED, List.of()),
+                new Change(Section.ROUTERS, "app5000-devcrm-crmbackend-router-websecure", Type.ADDED, List.of()),
+                new Change(Section.ROUTERS, "app5000-devcrm-crmfrontend-router", Type.ADDED, List.of()),
+                new Change(Section.ROUTERS, "app5000-devcrm-crmfrontend-router-websecure", Type.ADDED, List.of()),
+                new Change(Section.SERVICES, "app1-service", Type.CHANGED, List.of(
+                        new FieldChange("loadBalancer.servers[0].url", "http://app1:80", "http://app1:81"))));
+    }
+
+    private static List<Change> diff(String before, String after) {
+        return ConfigDiff.between(
+                TraefikConfigModel.parse(before, TraefikConfigModel.DEFAULT_CODE_POINT_LIMIT),
+                TraefikConfigModel.parse(after, TraefikConfigModel.DEFAULT_CODE_POINT_LIMIT));
+    }
+}
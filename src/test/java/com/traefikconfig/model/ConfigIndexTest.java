@@ -0,0 +1,251 @@
+package com.traefikconfig.model;
+
+import com.traefikconfig.model.ConfigIndex.Filter;
+import com.traefikconfig.model.ConfigIndex.HostEntry;
+import com.traefikconfig.model.ConfigIndex.Page;
+import com.traefikconfig.model.TraefikConfigModel.RouterDef;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConfigIndexTest {
+
+    private static final Filter ALL = new Filter(null, null, null);
+
+    @Test
+    void pagesThroughRoutersWithoutRepeatsOrGaps() {
+        ConfigIndex index = index(router("c", "c.example.com", "svc", "web", false),
+                router("a", "a.example.com", "svc", "web", false),
+                router("b", "b.example.com", "svc", "web", false));
+
+        Page<RouterDef> first = index.routers(null, null, 2, ALL);
+        Page<RouterDef> second = index.routers(null, first.nextCursor(), 2, ALL);
+
+        assertThat(names(first.items())).containsExactly("a", "b");
+        assertThat(first.total()).isEqualTo(3);
+        assertThat(names(second.items())).containsExactly("c");
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void cursorStaysStableWhenARouterIsInsertedBeforeIt() {
+        ConfigIndex before = index(router("b", "b.example.com", "svc", "web", false),
+                router("d", "d.example.com", "svc", "web", false),
+                router("f", "f.example.com", "svc", "web", false));
+        String cursor = before.routers(null, null, 2, ALL).nextCursor();
+
+        ConfigIndex after = index(router("a", "a.example.com", "svc", "web", false),
+                router("b", "b.example.com", "svc", "web", false),
+                router("c", "c.example.com", "svc", "web", false),
+                router("d", "d.example.com", "svc", "web", false),
+                router("f", "f.example.com", "svc", "web", false));
+
+        assertThat(names(after.routers(null, cursor, 2, ALL).items())).containsExactly("f");
+    }
+
+    @Test
+    void cursorStaysStableWhenRoutersBeforeItAreRemoved() {
+        ConfigIndex before = index(router("b", "b.example.com", "svc", "web", false),
+                router("d", "d.example.com", "svc", "web", false),
+                router("f", "f.example.com", "svc", "web", false),
+                router("h", "h.example.com", "svc", "web", false));
+        String cursor = before.routers(null, null, 2, ALL).nextCursor();
+
+        // Both the router before the cursor and the one it points at are gone
+        ConfigIndex after = index(router("f", "f.example.com", "svc", "web", false),
+                router("h", "h.example.com", "svc", "web", false));
+
+        assertThat(names(after.routers(null, cursor, 2, ALL).items())).containsExactly("f", "h");
+    }
+
+    @Test
+    void cursorStaysStableForDescendingHosts() {
+        ConfigIndex before = index(router("r1", "a.example.com", "svc", "web", false),
+                router("r2", "c.example.com", "svc", "web", false),
+                router("r3", "e.example.com", "svc", "web", false));
+        String cursor = before.hosts(null, "-hostname", null, 1, ALL).nextCursor();
+
+        ConfigIndex after = index(router("r1", "a.example.com", "svc", "web", false),
+                router("r2", "c.example.com", "svc", "web", false),
+                router("r3", "e.example.com", "svc", "web", false),
+                router("r4", "d.example.com", "svc", "web", false));
+
+        assertThat(hostnames(after.hosts(null, "-hostname", cursor, 10, ALL).items()))
+                .containsExactly("d.example.com", "c.example.com", "a.example.com");
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        ConfigIndex index = index(router("a", "a.example.com", "svc", "web", false),
+                router("b", "b.example.com", "svc", "web", false));
+        String nameCursor = index.routers("name", null, 1, ALL).nextCursor();
+
+        for (String cursor : List.of("not base64!", "a", encode("name"), encode("name\0a"),
+                encode("name\0a\0a\0a"), encode("service\0svc\0a"), encode("-name\0a\0a"))) {
+            assertThatThrownBy(() -> index.routers("name", cursor, 1, ALL))
+                    .as(cursor).isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThatThrownBy(() -> index.routers("-name", nameCursor, 1, ALL))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cursor does not belong to this sort order");
+        assertThatThrownBy(() -> index.hosts(null, "hostname", nameCursor, 1, ALL))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsUnknownSorts() {
+        ConfigIndex index = index(router("a", "a.example.com", "svc", "web", false));
+
+        assertThatThrownBy(() -> index.routers("hostname", null, 1, ALL))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Unknown sort 'hostname'");
+        assertThatThrownBy(() -> index.hosts(null, "-rule", null, 1, ALL))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sortsRoutersByEachField() {
+        ConfigIndex index = index(router("a", "z.example.com", "svc-2", "web", false),
+                router("b", "y.example.com", "svc-3", "web", false),
+                router("c", "x.example.com", "svc-1", "web", false),
+                router("d", "w.example.com", "svc-1", "web", false));
+
+        assertThat(names(index.routers("name", null, 10, ALL).items())).containsExactly("a", "b", "c", "d");
+        assertThat(names(index.routers("-name", null, 10, ALL).items())).containsExactly("d", "c", "b", "a");
+        // Ties on the key are broken by name
+        assertThat(names(index.routers("service", null, 10, ALL).items())).containsExactly("c", "d", "a", "b");
+        assertThat(names(index.routers("-service", null, 10, ALL).items())).containsExactly("b", "a", "d", "c");
+        assertThat(names(index.routers("rule", null, 10, ALL).items())).containsExactly("d", "c", "b", "a");
+    }
+
+    @Test
+    void pagesThroughTiesOnTheSortKey() {
+        ConfigIndex index = index(router("a", "a.example.com", "svc", "web", false),
+                router("b", "b.example.com", "svc", "web", false),
+                router("c", "c.example.com", "svc", "web", false));
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<RouterDef> page = index.routers("-service", cursor, 1, ALL);
+            seen.addAll(names(page.items()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactly("c", "b", "a");
+    }
+
+    @Test
+    void sortsHostsByNameOrByDomain() {
+        ConfigIndex index = index(router("r1", "www.z.com", "svc", "web", false),
+                router("r2", "a.com", "svc", "web", false),
+                router("r3", "api.a.com", "svc", "web", false),
+                router("r4", "z.com", "svc", "web", false));
+
+        assertThat(hostnames(index.hosts(null, null, null, 10, ALL).items()))
+                .containsExactly("a.com", "api.a.com", "www.z.com", "z.com");
+        assertThat(hostnames(index.hosts(null, "domain", null, 10, ALL).items()))
+                .containsExactly("a.com", "api.a.com", "z.com", "www.z.com");
+        assertThat(hostnames(index.hosts(null, "-domain", null, 10, ALL).items()))
+                .containsExactly("www.z.com", "z.com", "api.a.com", "a.com");
+    }
+
+    @Test
+    void restrictsHostsToADomain() {
+        ConfigIndex index = index(router("r1", "example.com", "svc", "web", false),
+                router("r2", "b.example.com", "svc", "web", false),
+                router("r3", "a.example.com", "svc", "web", false),
+                router("r4", "example.org", "svc", "web", false));
+
+        Page<HostEntry> first = index.hosts("example.com", "hostname", null, 2, ALL);
+
+        assertThat(hostnames(first.items())).containsExactly("a.example.com", "b.example.com");
+        assertThat(first.total()).isEqualTo(3);
+        assertThat(hostnames(index.hosts("example.com", "hostname", first.nextCursor(), 2, ALL).items()))
+                .containsExactly("example.com");
+        assertThat(hostnames(index.hosts("*.example.com", "-hostname", null, 10, ALL).items()))
+                .containsExactly("b.example.com", "a.example.com");
+    }
+
+    @Test
+    void hostMatchesAFilterWhenAnyOfItsRoutersDoes() {
+        ConfigIndex index = index(router("plain", "a.example.com", "svc-1", "web", false),
+                router("secure", "a.example.com", "svc-2", "websecure", true),
+                router("other", "b.example.com", "svc-1", "web", false));
+
+        Filter service = new Filter("svc-2", null, null);
+        assertThat(names(index.routers(null, null, 10, service).items())).containsExactly("secure");
+        assertThat(hostnames(index.hosts(null, null, null, 10, service).items())).containsExactly("a.example.com");
+
+        Filter entryPoint = new Filter(null, "web", null);
+        assertThat(names(index.routers(null, null, 10, entryPoint).items())).containsExactly("other", "plain");
+        assertThat(hostnames(index.hosts(null, null, null, 10, entryPoint).items()))
+                .containsExactly("a.example.com", "b.example.com");
+
+        // A host has TLS when any router has it, so it no longer matches tls=false
+        Filter withoutTls = new Filter(null, null, false);
+        assertThat(names(index.routers(null, null, 10, withoutTls).items())).containsExactly("other", "plain");
+        assertThat(hostnames(index.hosts(null, null, null, 10, withoutTls).items()))
+                .containsExactly("b.example.com");
+        Filter withTls = new Filter(null, null, true);
+        assertThat(names(index.routers(null, null, 10, withTls).items())).containsExactly("secure");
+        assertThat(hostnames(index.hosts(null, null, null, 10, withTls).items())).containsExactly("a.example.com");
+    }
+
+    @Test
+    void filteredPagesCountOnlyMatchesAndSkipNonMatchingItems() {
+        ConfigIndex index = index(router("a", "a.example.com", "svc-1", "web", false),
+                router("b", "b.example.com", "svc-2", "web", false),
+                router("c", "c.example.com", "svc-1", "web", false),
+                router("d", "d.example.com", "svc-2", "web", false),
+                router("e", "e.example.com", "svc-1", "web", false));
+        Filter filter = new Filter("svc-1", "web", false);
+
+        Page<RouterDef> first = index.routers(null, null, 2, filter);
+        Page<RouterDef> second = index.routers(null, first.nextCursor(), 2, filter);
+
+        assertThat(names(first.items())).containsExactly("a", "c");
+        assertThat(first.total()).isEqualTo(3);
+        assertThat(names(second.items())).containsExactly("e");
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void lastFullPageHasNoCursor() {
+        ConfigIndex index = index(router("a", "a.example.com", "svc", "web", false),
+                router("b", "b.example.com", "svc", "web", false));
+
+        assertThat(index.routers(null, null, 2, ALL).nextCursor()).isNull();
+    }
+
+    private static ConfigIndex index(String... routers) {
+        return TraefikConfigModel.parse("http:\n  routers:\n" + String.join("", routers)).index();
+    }
+
+    private static String router(String name, String host, String service, String entryPoint, boolean tls) {
+        return "    " + name + ":\n"
+                + "      rule: Host(`" + host + "`)\n"
+                + "      service: " + service + "\n"
+                + "      entryPoints:\n"
+                + "        - " + entryPoint + "\n"
+                + (tls ? "      tls:\n        certResolver: letsencrypt\n" : "");
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> names(List<RouterDef> routers) {
+        return routers.stream().map(RouterDef::name).toList();
+    }
+
+    private static List<String> hostnames(List<HostEntry> hosts) {
+        return hosts.stream().map(HostEntry::hostname).toList();
+    }
+}
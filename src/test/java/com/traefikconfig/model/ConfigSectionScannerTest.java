@@ -0,0 +1,153 @@
+package com.traefikconfig.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigSectionScannerTest {
+
+    private static final String CONFIG = """
+            http:
+              routers:
+                app-router:
+                  rule: Host(`app.example.com`)
+                  service: app-service
+
+              services:
+                app-service:
+                  loadBalancer:
+                    servers:
+                      - url: http://app:80
+            tls:
+              options: {}
+            """;
+
+    @Test
+    void findsTopLevelAndSecondLevelSections() {
+        ConfigSectionScanner scanner = ConfigSectionScanner.scan(CONFIG);
+
+        assertThat(scanner.sections()).extracting(ConfigSectionScanner.Section::path)
+                .containsExactly("http.routers", "http.services", "http", "tls.options", "tls");
+
+        ConfigSectionScanner.Section routers = scanner.get("http.routers");
+        assertThat(routers.indent()).isEqualTo(2);
+        assertThat(routers.childIndent()).isEqualTo(4);
+        assertThat(CONFIG.substring(routers.keyStart(), routers.contentEnd())).isEqualTo("  routers:\n"
+                + "    app-router:\n"
+                + "      rule: Host(`app.example.com`)\n"
+                + "      service: app-service");
+        assertThat(routers.end()).isEqualTo(CONFIG.indexOf("  services:"));
+
+        ConfigSectionScanner.Section http = scanner.get("http");
+        assertThat(http.keyStart()).isZero();
+        assertThat(http.childIndent()).isEqualTo(2);
+        assertThat(CONFIG.substring(http.contentEnd())).startsWith("\ntls:");
+        assertThat(http.end()).isEqualTo(CONFIG.indexOf("tls:"));
+    }
+
+    @Test
+    void sectionWithoutBodyHasNoChildIndent() {
+        ConfigSectionScanner.Section options = ConfigSectionScanner.scan(CONFIG).get("tls.options");
+
+        assertThat(options.childIndent()).isEqualTo(-1);
+        assertThat(CONFIG.substring(options.keyStart(), options.contentEnd())).isEqualTo("  options: {}");
+        assertThat(options.end()).isEqualTo(CONFIG.length());
+    }
+
+    @Test
+    void missingSectionIsNull() {
+        assertThat(ConfigSectionScanner.scan(CONFIG).get("http.middlewares")).isNull();
+        assertThat(ConfigSectionScanner.scan("").sections()).isEmpty();
+    }
+
+    @Test
+    void commentsExtendDeeperSectionsButNeverCloseOne() {
+        String config = """
+                http:
+                  routers:
+                    a-router:
+                      rule: Host(`a.example.com`)
+                # closing comment
+                    # b-router is disabled
+                  services:
+                    a-service: {}
+                """;
+        ConfigSectionScanner scanner = ConfigSectionScanner.scan(config);
+
+        ConfigSectionScanner.Section routers = scanner.get("http.routers");
+        assertThat(config.substring(routers.keyStart(), routers.contentEnd()))
+                .endsWith("    # b-router is disabled");
+        assertThat(routers.end()).isEqualTo(config.indexOf("  services:"));
+        assertThat(scanner.get("http").end()).isEqualTo(config.length());
+    }
+
+    @Test
+    void listItemsAndFlowContentAreNotSections() {
+        String config = """
+                entryPoints:
+                  - web: {}
+                  - websecure
+                http:
+                  routers:
+                    {a-router: {}}
+                  services:
+                    a-service: {}
+                """;
+        ConfigSectionScanner scanner = ConfigSectionScanner.scan(config);
+
+        assertThat(scanner.sections()).extracting(ConfigSectionScanner.Section::path)
+                .containsExactly("entryPoints", "http.routers", "http.services", "http");
+        assertThat(scanner.get("entryPoints").end()).isEqualTo(config.indexOf("http:"));
+        assertThat(scanner.get("http.routers").childIndent()).isEqualTo(4);
+    }
+
+    @Test
+    void stripsQuotesFromKeys() {
+        String config = """
+                "http":
+                  'routers':
+                    a-router: {}
+                """;
+
+        assertThat(ConfigSectionScanner.scan(config).get("http.routers")).isNotNull();
+    }
+
+    @Test
+    void handlesCrlfLineBreaksAndBlankLines() {
+        String config = "http:\r\n  routers:\r\n    a-router: {}\r\n\r\n  services:\r\n    a-service: {}\r\n";
+        ConfigSectionScanner scanner = ConfigSectionScanner.scan(config);
+
+        ConfigSectionScanner.Section routers = scanner.get("http.routers");
+        assertThat(config.substring(routers.keyStart(), routers.contentEnd()))
+                .isEqualTo("  routers:\r\n    a-router: {}\r");
+        assertThat(routers.end()).isEqualTo(config.indexOf("  services:"));
+        assertThat(scanner.get("http.services").childIndent()).isEqualTo(4);
+    }
+
+    @Test
+    void lastSectionWithoutTrailingLineBreakEndsAtTextEnd() {
+        String config = "http:\n  services:\n    a-service: {}";
+        ConfigSectionScanner.Section services = ConfigSectionScanner.scan(config).get("http.services");
+
+        assertThat(services.contentEnd()).isEqualTo(config.length());
+        assertThat(services.end()).isEqualTo(config.length());
+    }
+
+    @Test
+    void scansConfigLargerThanThreeMegabytes() {
+        String config = TestConfigs.withHosts(5000);
+        assertThat(config.length()).isGreaterThan(3 * 1024 * 1024);
+
+        ConfigSectionScanner scanner = ConfigSectionScanner.scan(config);
+
+        ConfigSectionScanner.Section routers = scanner.get("http.routers");
+        assertThat(routers.end()).isEqualTo(config.indexOf("\n  middlewares:\n") + 1);
+        assertThat(config.substring(routers.keyStart(), routers.contentEnd()))
+                .endsWith("app4999-router-websecure:\n      rule: Host(`app4999.example.com`)\n"
+                        + "      service: app4999-service\n      entryPoints:\n        - websecure\n"
+                        + "      tls:\n        certResolver: letsencrypt");
+        ConfigSectionScanner.Section services = scanner.get("http.services");
+        assertThat(services.contentEnd()).isEqualTo(config.length() - 1);
+        assertThat(services.end()).isEqualTo(config.length());
+    }
+}
@@ -0,0 +1,76 @@
+package com.traefikconfig.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.nodes.Node;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Config validation: composing a generated config with {@link BlockYamlReader} against SnakeYAML, and the
+ * whole {@link ConfigValidator} check on both paths. The SnakeYAML path is forced with a flow sequence, which
+ * the block reader leaves to SnakeYAML. 5000 hosts are about 3.5 MB, over SnakeYAML's default limit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigValidatorBenchmark {
+
+    @Param({"10", "1000", "5000"})
+    int hosts;
+
+    private String config;
+    private String flowConfig;
+    private ConfigValidator validator;
+
+    @Setup
+    public void setUp() {
+        config = TestConfigs.withHosts(hosts);
+        flowConfig = config.replaceFirst("entryPoints:\n        - web\n", "entryPoints: [web]\n");
+        validator = new ConfigValidator(List.of(), List.of(), TraefikConfigModel.DEFAULT_CODE_POINT_LIMIT);
+        if (BlockYamlReader.read(config) == null || BlockYamlReader.read(flowConfig) != null) {
+            throw new IllegalStateException("Benchmark configs do not take the intended paths");
+        }
+        if (!validator.validate(config).isEmpty() || !validator.validate(flowConfig).isEmpty()) {
+            throw new IllegalStateException("Benchmark configs are not valid");
+        }
+    }
+
+    @Benchmark
+    public Node composeBlockYamlReader() {
+        return BlockYamlReader.read(config);
+    }
+
+    @Benchmark
+    public Node composeSnakeYaml() {
+        return new Yaml(new SafeConstructor(
+                TraefikConfigModel.loaderOptions(TraefikConfigModel.DEFAULT_CODE_POINT_LIMIT)))
+                .compose(new StringReader(config));
+    }
+
+    @Benchmark
+    public List<ConfigValidator.Problem> validate() {
+        return validator.validate(config);
+    }
+
+    @Benchmark
+    public List<ConfigValidator.Problem> validateSnakeYamlFallback() {
+        return validator.validate(flowConfig);
+    }
+}
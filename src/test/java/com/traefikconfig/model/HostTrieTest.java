@@ -0,0 +1,89 @@
+package com.traefikconfig.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HostTrieTest {
+
+    @Test
+    void comparesHostsIgnoringCaseAndTrailingDot() {
+        HostTrie trie = new HostTrie();
+
+        trie.add("App.Example.com");
+        trie.add("app.example.com.");
+
+        assertThat(trie.size()).isEqualTo(1);
+        assertThat(trie.contains("APP.EXAMPLE.COM")).isTrue();
+        assertThat(trie.contains("app.example.com.")).isTrue();
+        assertThat(trie.hostsUnder("example.com")).containsExactly("App.Example.com");
+    }
+
+    @Test
+    void containsOnlyAddedHostsNotTheirDomains() {
+        HostTrie trie = new HostTrie();
+        trie.add("app.example.com");
+
+        assertThat(trie.contains("example.com")).isFalse();
+        assertThat(trie.contains("com")).isFalse();
+        assertThat(trie.contains("api.app.example.com")).isFalse();
+    }
+
+    @Test
+    void findsHostsAtOrBelowADomainInOrder() {
+        HostTrie trie = trie("example.com", "b.example.com", "a.example.com", "x.a.example.com",
+                "badexample.com", "example.org");
+
+        assertThat(trie.hostsUnder("example.com"))
+                .containsExactly("a.example.com", "b.example.com", "example.com", "x.a.example.com");
+        assertThat(trie.hostsUnder("a.example.com")).containsExactly("a.example.com", "x.a.example.com");
+        assertThat(trie.hostsUnder("EXAMPLE.COM.")).hasSize(4);
+    }
+
+    @Test
+    void wildcardOnlyMatchesHostsStrictlyBelow() {
+        HostTrie trie = trie("example.com", "a.example.com", "x.a.example.com");
+
+        assertThat(trie.hostsUnder("*.example.com")).containsExactly("a.example.com", "x.a.example.com");
+        assertThat(trie.hostsUnder("*.x.a.example.com")).isEmpty();
+    }
+
+    @Test
+    void unknownDomainHasNoHosts() {
+        HostTrie trie = trie("a.example.com");
+
+        assertThat(trie.hostsUnder("example.org")).isEmpty();
+        assertThat(trie.hostsUnder("b.a.example.com")).isEmpty();
+        assertThat(new HostTrie().hostsUnder("com")).isEmpty();
+    }
+
+    @Test
+    void ignoresEmptyLabels() {
+        HostTrie trie = trie("a..example.com");
+
+        assertThat(trie.contains("a.example.com")).isTrue();
+        assertThat(trie.hostsUnder("example.com")).containsExactly("a..example.com");
+    }
+
+    @Test
+    void indexesHostsOfConfigLargerThanThreeMegabytes() {
+        String config = TestConfigs.withHosts(5000);
+        assertThat(config.length()).isGreaterThan(3 * 1024 * 1024);
+
+        HostTrie trie = TraefikConfigModel.parse(config, TraefikConfigModel.DEFAULT_CODE_POINT_LIMIT).hostTrie();
+
+        assertThat(trie.size()).isEqualTo(5000);
+        assertThat(trie.contains(TestConfigs.host(4999))).isTrue();
+        assertThat(trie.hostsUnder("*.example.com")).hasSize(5000).startsWith("app0.example.com", "app1.example.com",
+                "app10.example.com");
+        assertThat(trie.hostsUnder(TestConfigs.host(42))).containsExactly("app42.example.com");
+    }
+
+    private static HostTrie trie(String... hosts) {
+        HostTrie trie = new HostTrie();
+        for (String host : hosts) {
+            trie.add(host);
+        }
+        return trie;
+    }
+}
@@ -0,0 +1,80 @@
+package com.traefikconfig.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Router prefixes of a host: {@link Hostnames} and {@link RouterPrefixes} against the {@code split("\\.")[0]}
+ * they replaced, which neither validated the hostname nor avoided collisions.
+ * <p>
+ * Half of the hosts are already normalized, the other half need trimming, lowercasing and the trailing dot
+ * removed. {@code prefixFor} runs against a config that already has {@code existingHosts} hosts, one in eight
+ * of them sharing the first label of a looked-up host.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HostnamesBenchmark {
+
+    private static final int HOSTS = 1024;
+
+    @Param({"10", "10000"})
+    int existingHosts;
+
+    private final String[] hosts = new String[HOSTS];
+    private final String[] normalized = new String[HOSTS];
+    private RouterPrefixes prefixes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < HOSTS; i++) {
+            String host = "app" + i + ".tenant" + (i % 7) + ".example.com";
+            hosts[i] = i % 2 == 0 ? host : " " + host.toUpperCase() + ". ";
+            normalized[i] = host;
+        }
+        Map<String, List<String>> routersByHost = new LinkedHashMap<>();
+        for (int i = 0; i < existingHosts; i++) {
+            String host = i % 8 == 0 ? "app" + i + ".other.example.org" : "site" + i + ".example.net";
+            String prefix = Hostnames.firstLabel(host);
+            List<String> routers = new ArrayList<>();
+            routers.add(prefix + "-router");
+            routers.add(prefix + "-router-websecure");
+            routersByHost.put(host, routers);
+        }
+        prefixes = RouterPrefixes.of(routersByHost);
+    }
+
+    @Benchmark
+    public String regexSplit() {
+        return normalized[next++ & (HOSTS - 1)].split("\\.")[0];
+    }
+
+    @Benchmark
+    public String normalizeAndFirstLabel() {
+        return Hostnames.firstLabel(Hostnames.normalize(hosts[next++ & (HOSTS - 1)]));
+    }
+
+    @Benchmark
+    public String normalizeAndPrefixFor() {
+        return prefixes.prefixFor(Hostnames.normalize(hosts[next++ & (HOSTS - 1)]));
+    }
+}
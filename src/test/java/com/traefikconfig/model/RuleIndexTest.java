@@ -0,0 +1,161 @@
+package com.traefikconfig.model;
+
+import com.traefikconfig.model.RuleIndex.Conflict;
+import com.traefikconfig.model.RuleIndex.Type;
+import com.traefikconfig.model.TraefikConfigModel.RouterDef;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RuleIndexTest {
+
+    private static final String API = "Host(`a.example.com`) && PathPrefix(`/api`)";
+
+    @Test
+    void reportsDuplicateRulesWrittenDifferently() {
+        RuleIndex index = index(
+                router("first", "Host(`a.example.com`) || Host(`b.example.com`)"),
+                router("second", "Host(`B.EXAMPLE.COM`) || Host(`a.example.com`)"));
+
+        assertThat(index.conflicts("first"))
+                .containsExactly(new Conflict(Type.DUPLICATE, "first", "second", null, List.of()));
+    }
+
+    @Test
+    void higherPriorityDuplicateShadowsTheOther() {
+        RuleIndex index = index(router("low", API, 1), router("high", API, 2));
+
+        assertThat(index.conflicts("low"))
+                .containsExactly(new Conflict(Type.SHADOWED, "low", "high", "high", List.of()));
+        assertThat(index.conflicts("high"))
+                .containsExactly(new Conflict(Type.SHADOWED, "low", "high", "high", List.of()));
+    }
+
+    @Test
+    void broaderRuleWithHigherPriorityShadowsNarrowerOne() {
+        RuleIndex index = index(
+                router("api", API, 100),
+                router("v1", "Host(`a.example.com`) && PathPrefix(`/api/v1`)"));
+
+        assertThat(index.conflicts("v1"))
+                .containsExactly(new Conflict(Type.SHADOWED, "v1", "api", "api", List.of()));
+    }
+
+    @Test
+    void longerRuleWinsAnOverlap() {
+        RuleIndex index = index(router("site", "Host(`a.example.com`)"), router("api", API));
+
+        assertThat(index.conflicts("site"))
+                .containsExactly(new Conflict(Type.OVERLAP, "site", "api", "api", List.of()));
+    }
+
+    @Test
+    void equalLengthOverlapHasNoWinner() {
+        RuleIndex index = index(
+                router("host", "Host(`a.example.com`)"),
+                router("path", "PathPrefix(`/api`)", 21));
+
+        assertThat(index.conflicts("path"))
+                .containsExactly(new Conflict(Type.OVERLAP, "path", "host", null, List.of()));
+    }
+
+    @Test
+    void excludedPathsDoNotCompete() {
+        RuleIndex index = index(
+                router("backend", API),
+                router("frontend", "Host(`a.example.com`) && !PathPrefix(`/api`)"));
+
+        assertThat(index.conflicts("backend")).isEmpty();
+        assertThat(index.conflicts("frontend")).isEmpty();
+    }
+
+    @Test
+    void differentHostsAndMatchersDoNotCompete() {
+        RuleIndex index = index(
+                router("a", "Host(`a.example.com`)"),
+                router("b", "Host(`b.example.com`)"),
+                router("get", "Host(`b.example.com`) && Method(`GET`)"),
+                router("post", "Host(`b.example.com`) && Method(`POST`)"));
+
+        assertThat(index.conflicts("a")).isEmpty();
+        assertThat(index.conflicts("get"))
+                .containsExactly(new Conflict(Type.OVERLAP, "get", "b", "get", List.of()));
+    }
+
+    @Test
+    void catchAllRouterCompetesWithEveryHost() {
+        RuleIndex index = index(
+                router("a", "Host(`a.example.com`)"),
+                router("b", "Host(`b.example.com`)"),
+                router("catch-all", "PathPrefix(`/`)"));
+
+        assertThat(index.conflicts("catch-all")).containsExactly(
+                new Conflict(Type.OVERLAP, "catch-all", "a", "a", List.of()),
+                new Conflict(Type.OVERLAP, "catch-all", "b", "b", List.of()));
+        assertThat(index.conflicts("a"))
+                .containsExactly(new Conflict(Type.OVERLAP, "a", "catch-all", "a", List.of()));
+    }
+
+    @Test
+    void onlyRoutersSharingAnEntryPointAndTlsCompete() {
+        RuleIndex index = index(
+                new RouterDef("web", API, "s", List.of("web"), List.of(), false, null, 0, List.of()),
+                new RouterDef("websecure", API, "s", List.of("websecure"), List.of(), false, null, 0, List.of()),
+                new RouterDef("tls", API, "s", List.of(), List.of(), true, null, 0, List.of()),
+                new RouterDef("all", API, "s", List.of(), List.of(), false, null, 0, List.of()));
+
+        assertThat(index.conflicts("web"))
+                .containsExactly(new Conflict(Type.DUPLICATE, "web", "all", null, List.of("web")));
+        assertThat(index.conflicts("tls")).isEmpty();
+    }
+
+    @Test
+    void unreadableRulesAreOnlyCheckedForDuplicates() {
+        String negatedGroup = "!(Host(`a.example.com`) || Host(`b.example.com`))";
+        RuleIndex index = index(
+                router("first", negatedGroup),
+                router("second", "!( Host(`a.example.com`) ||Host(`b.example.com`))"),
+                router("a", "Host(`a.example.com`)"),
+                router("broken", "Host(`a.example.com`"));
+
+        assertThat(index.conflicts("first"))
+                .containsExactly(new Conflict(Type.DUPLICATE, "first", "second", null, List.of()));
+        assertThat(index.conflicts("a")).isEmpty();
+        assertThat(index.conflicts("broken")).isEmpty();
+    }
+
+    @Test
+    void unknownRoutersAndRoutersWithoutRuleHaveNoConflicts() {
+        RuleIndex index = index(router("a", "Host(`a.example.com`)"), router("empty", " "));
+
+        assertThat(index.conflicts("missing")).isEmpty();
+        assertThat(index.conflicts("empty")).isEmpty();
+    }
+
+    @Test
+    void generatedConfigLargerThanThreeMegabytesHasNoConflicts() {
+        String config = TestConfigs.withHosts(5000);
+        assertThat(config.length()).isGreaterThan(3 * 1024 * 1024);
+        TraefikConfigModel model = TraefikConfigModel.parse(config, TraefikConfigModel.DEFAULT_CODE_POINT_LIMIT);
+        RuleIndex index = model.ruleIndex();
+
+        assertThat(model.getRouters()).hasSize(15_000);
+        assertThat(model.getRouters().keySet()).allSatisfy(name -> assertThat(index.conflicts(name)).isEmpty());
+    }
+
+    private static RuleIndex index(RouterDef... routers) {
+        return new RuleIndex(Arrays.asList(routers));
+    }
+
+    private static RouterDef router(String name, String rule) {
+        return router(name, rule, 0);
+    }
+
+    private static RouterDef router(String name, String rule, int priority) {
+        return new RouterDef(name, rule, name + "-service", List.of(), List.of(), false, null, priority,
+                TraefikConfigModel.extractHosts(rule));
+    }
+}
@@ -0,0 +1,104 @@
+package com.traefikconfig.model;
+
+/**
+ * Configs in the layout Dokploy stores and this service writes, for tests and benchmarks.
+ */
+public final class TestConfigs {
+
+    private TestConfigs() {
+    }
+
+    /**
+     * The hostname of host {@code i}: {@code app<i>.example.com}.
+     */
+    public static String host(int i) {
+        return "app" + i + ".example.com";
+    }
+
+    /**
+     * A config with {@code hosts} hosts. Even hosts have the routers of the dual template, pointing at the
+     * shared backend and frontend services; odd hosts have a web and a websecure router and their own
+     * {@code app<i>-service}. About 700 characters per host, so 5000 hosts are well over 3 MB.
+     */
+    public static String withHosts(int hosts) {
+        StringBuilder config = new StringBuilder(hosts * 720 + 512);
+        config.append("http:\n  routers:\n");
+        for (int i = 0; i < hosts; i++) {
+            if (i > 0) {
+                config.append('\n');
+            }
+            if (i % 2 == 0) {
+                appendDualRouters(config, i);
+            } else {
+                appendSingleRouters(config, i);
+            }
+        }
+        config.append("""
+                  middlewares:
+                    redirect-to-https:
+                      redirectScheme:
+                        scheme: https
+                  services:
+                    devcrm-crmbackend-service:
+                      loadBalancer:
+                        servers:
+                        - url: http://backend:8070
+                    devcrm-crmfrontend-service:
+                      loadBalancer:
+                        servers:
+                        - url: http://frontend:3000
+                """);
+        for (int i = 1; i < hosts; i += 2) {
+            config.append("    app").append(i).append("-service:\n")
+                    .append("      loadBalancer:\n")
+                    .append("        servers:\n")
+                    .append("          - url: http://app").append(i).append(":80\n");
+        }
+        return config.toString();
+    }
+
+    private static void appendDualRouters(StringBuilder config, int i) {
+        String host = host(i);
+        String prefix = "app" + i;
+        for (String side : new String[] {"backend", "frontend"}) {
+            String rule = side.equals("backend") ? "Host(`" + host + "`) && PathPrefix(`/api`)"
+                    : "Host(`" + host + "`) && !PathPrefix(`/api`)";
+            config.append("    # ").append(side.equals("backend") ? "Backend API" : "Frontend")
+                    .append(" routes for ").append(host).append('\n')
+                    .append("    ").append(prefix).append("-devcrm-crm").append(side).append("-router:\n")
+                    .append("      rule: ").append(rule).append('\n')
+                    .append("      service: devcrm-crm").append(side).append("-service\n")
+                    .append("      middlewares:\n")
+                    .append("        - redirect-to-https\n")
+                    .append('\n')
+                    .append("    ").append(prefix).append("-devcrm-crm").append(side).append("-router-websecure:\n")
+                    .append("      rule: ").append(rule).append('\n')
+                    .append("      service: devcrm-crm").append(side).append("-service\n")
+                    .append("      middlewares: []\n")
+                    .append("      tls:\n")
+                    .append("        certResolver: letsencrypt\n");
+            if (side.equals("backend")) {
+                config.append('\n');
+            }
+        }
+    }
+
+    private static void appendSingleRouters(StringBuilder config, int i) {
+        String host = host(i);
+        String prefix = "app" + i;
+        config.append("    # Routes for ").append(host).append('\n')
+                .append("    ").append(prefix).append("-router:\n")
+                .append("      rule: Host(`").append(host).append("`)\n")
+                .append("      service: ").append(prefix).append("-service\n")
+                .append("      entryPoints:\n")
+                .append("        - web\n")
+                .append('\n')
+                .append("    ").append(prefix).append("-router-websecure:\n")
+                .append("      rule: Host(`").append(host).append("`)\n")
+                .append("      service: ").append(prefix).append("-service\n")
+                .append("      entryPoints:\n")
+                .append("        - websecure\n")
+                .append("      tls:\n")
+                .append("        certResolver: letsencrypt\n");
+    }
+}
@@ -0,0 +1,313 @@
+package com.traefikconfig.service.impl;
+
+import com.traefikconfig.model.TestConfigs;
+import com.traefikconfig.model.TraefikConfigModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HostConfigEditorTest {
+
+    private static final String ROUTERS = """
+            http:
+              routers:
+                # Routes for a.example.com
+                a-router:
+                  rule: Host(`a.example.com`)
+                  service: a-service
+
+                b-router:
+                  rule: Host(`b.example.com`)
+                  service: b-service
+
+                c-router:
+                  rule: Host(`C.example.com`) || Host(`b.example.com`)
+                  service: c-service
+              middlewares:
+                redirect-to-https:
+                  redirectScheme:
+                    scheme: https
+            """;
+
+    private static final String D_ROUTER = """
+            d-router:
+              rule: Host(`d.example.com`)
+              service: d-service
+            """;
+
+    @Test
+    void removesEntryInTheMiddleWithItsTrailingBlankLines() {
+        HostConfigEditor editor = new HostConfigEditor(ROUTERS);
+
+        assertThat(editor.removeRouters(Set.of("a.example.com"))).isEqualTo(1);
+
+        assertThat(editor.apply()).isEqualTo("""
+                http:
+                  routers:
+                    b-router:
+                      rule: Host(`b.example.com`)
+                      service: b-service
+
+                    c-router:
+                      rule: Host(`C.example.com`) || Host(`b.example.com`)
+                      service: c-service
+                  middlewares:
+                    redirect-to-https:
+                      redirectScheme:
+                        scheme: https
+                """);
+    }
+
+    @Test
+    void removesTrailingRunWithTheBlankLinesBeforeIt() {
+        HostConfigEditor editor = new HostConfigEditor(ROUTERS);
+
+        assertThat(editor.removeRouters(Set.of("c.example.com"))).isEqualTo(1);
+
+        assertThat(editor.apply()).isEqualTo("""
+                http:
+                  routers:
+                    # Routes for a.example.com
+                    a-router:
+                      rule: Host(`a.example.com`)
+                      service: a-service
+
+                    b-router:
+                      rule: Host(`b.example.com`)
+                      service: b-service
+                  middlewares:
+                    redirect-to-https:
+                      redirectScheme:
+                        scheme: https
+                """);
+    }
+
+    @Test
+    void removesAdjacentEntriesAsOneRun() {
+        String config = ROUTERS.replace("Host(`C.example.com`) || Host(`b.example.com`)", "Host(`c.example.com`)");
+        HostConfigEditor editor = new HostConfigEditor(config);
+
+        assertThat(editor.removeRouters(Set.of("A.EXAMPLE.COM", "b.example.com"))).isEqualTo(2);
+
+        assertThat(editor.apply()).isEqualTo("""
+                http:
+                  routers:
+                    c-router:
+                      rule: Host(`c.example.com`)
+                      service: c-service
+                  middlewares:
+                    redirect-to-https:
+                      redirectScheme:
+                        scheme: https
+                """);
+    }
+
+    @Test
+    void emptiedSectionTakesNewEntriesWithoutBlankLine() {
+        HostConfigEditor editor = new HostConfigEditor(ROUTERS);
+
+        assertThat(editor.removeRouters(Set.of("a.example.com", "b.example.com"))).isEqualTo(3);
+        editor.addRouters(List.of(D_ROUTER));
+
+        assertThat(editor.apply()).isEqualTo("""
+                http:
+                  routers:
+                    d-router:
+                      rule: Host(`d.example.com`)
+                      service: d-service
+                  middlewares:
+                    redirect-to-https:
+                      redirectScheme:
+                        scheme: https
+                """);
+    }
+
+    @Test
+    void emptiedSectionKeepsItsKey() {
+        HostConfigEditor editor = new HostConfigEditor(ROUTERS);
+
+        editor.removeRouters(Set.of("a.example.com", "b.example.com"));
+
+        assertThat(editor.apply()).startsWith("http:\n  routers:\n  middlewares:\n");
+    }
+
+    @Test
+    void replacesTrailingEntryAtTheSameOffset() {
+        HostConfigEditor editor = new HostConfigEditor(ROUTERS);
+
+        editor.removeRouters(Set.of("c.example.com"));
+        editor.addRouters(List.of(D_ROUTER, D_ROUTER.replace('d', 'e')));
+
+        assertThat(editor.apply()).isEqualTo("""
+                http:
+                  routers:
+                    # Routes for a.example.com
+                    a-router:
+                      rule: Host(`a.example.com`)
+                      service: a-service
+
+                    b-router:
+                      rule: Host(`b.example.com`)
+                      service: b-service
+
+                    d-router:
+                      rule: Host(`d.example.com`)
+                      service: d-service
+
+                    e-router:
+                      rule: Host(`e.example.com`)
+                      service: e-service
+                  middlewares:
+                    redirect-to-https:
+                      redirectScheme:
+                        scheme: https
+                """);
+    }
+
+    @Test
+    void createsMissingServicesSectionAtTheEndOfHttp() {
+        HostConfigEditor editor = new HostConfigEditor(ROUTERS + "tls:\n  options: {}\n");
+
+        editor.addServices(List.of("""
+                d-service:
+                  loadBalancer:
+                    servers:
+                      - url: http://d:80
+
+                """));
+
+        assertThat(editor.apply()).endsWith("""
+                  middlewares:
+                    redirect-to-https:
+                      redirectScheme:
+                        scheme: https
+                  services:
+                    d-service:
+                      loadBalancer:
+                        servers:
+                          - url: http://d:80
+                tls:
+                  options: {}
+                """);
+    }
+
+    @Test
+    void removesNamedServices() {
+        String config = """
+                http:
+                  services:
+                    a-service:
+                      loadBalancer:
+                        servers:
+                          - url: http://a:80
+                    b-service:
+                      loadBalancer:
+                        servers:
+                          - url: http://b:80
+                """;
+        HostConfigEditor editor = new HostConfigEditor(config);
+
+        assertThat(editor.removeServices(List.of("b-service", "x-service"))).isEqualTo(1);
+
+        assertThat(editor.apply()).isEqualTo("""
+                http:
+                  services:
+                    a-service:
+                      loadBalancer:
+                        servers:
+                          - url: http://a:80
+                """);
+    }
+
+    @Test
+    void rejectsAddsWithoutTheirSection() {
+        assertThatThrownBy(() -> new HostConfigEditor("tls: {}\n").addRouters(List.of(D_ROUTER)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'routers:'");
+        assertThatThrownBy(() -> new HostConfigEditor("tls: {}\n").addServices(List.of("d-service: {}")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("'http:'");
+    }
+
+    @Test
+    void returnsTheOriginalTextWithoutEdits() {
+        HostConfigEditor editor = new HostConfigEditor(ROUTERS);
+
+        assertThat(editor.removeRouters(Set.of("x.example.com"))).isZero();
+        editor.addRouters(List.of());
+
+        assertThat(editor.hasEdits()).isFalse();
+        assertThat(editor.apply()).isSameAs(ROUTERS);
+    }
+
+    @Test
+    void readsRoutersByLowercasedHost() {
+        Map<String, List<String>> byHost = new HostConfigEditor(ROUTERS).routersByHost();
+
+        assertThat(byHost).containsExactly(
+                Map.entry("a.example.com", List.of("a-router")),
+                Map.entry("b.example.com", List.of("b-router", "c-router")),
+                Map.entry("c.example.com", List.of("c-router")));
+    }
+
+    @Test
+    void selectsRoutersCompetingWithAHost() {
+        String config = ROUTERS.replace("  middlewares:", "    catch-all-router:\n"
+                + "      rule: PathPrefix(`/`)\n"
+                + "      service: a-service\n"
+                + "  middlewares:");
+
+        String subset = new HostConfigEditor(config).routersCompetingWith("B.example.com");
+
+        assertThat(TraefikConfigModel.parse(subset).getRouters())
+                .containsOnlyKeys("b-router", "c-router", "catch-all-router");
+        assertThat(new HostConfigEditor("tls: {}\n").routersCompetingWith("b.example.com")).isEqualTo("http:\n");
+    }
+
+    @Test
+    void selectsCompetingRoutersOfTheEditedConfigWithoutApplying() {
+        HostConfigEditor editor = new HostConfigEditor(ROUTERS);
+        editor.removeRouters(Set.of("a.example.com"));
+        editor.addRouters(List.of(D_ROUTER.replace("d.example.com", "b.example.com"),
+                D_ROUTER.replace("d-router", "e-router").replace("d.example.com", "e.example.com")));
+
+        String edited = editor.editedRoutersCompetingWith("b.example.com");
+
+        assertThat(TraefikConfigModel.parse(edited).getRouters())
+                .containsOnlyKeys("b-router", "c-router", "d-router");
+        assertThat(TraefikConfigModel.parse(edited).getRouters())
+                .isEqualTo(TraefikConfigModel.parse(new HostConfigEditor(editor.apply())
+                        .routersCompetingWith("b.example.com")).getRouters());
+        assertThat(TraefikConfigModel.parse(editor.routersCompetingWith("b.example.com")).getRouters())
+                .containsOnlyKeys("b-router", "c-router");
+    }
+
+    @Test
+    void editsConfigLargerThanThreeMegabytes() {
+        String config = TestConfigs.withHosts(5000);
+        assertThat(config.length()).isGreaterThan(3 * 1024 * 1024);
+        HostConfigEditor editor = new HostConfigEditor(config);
+
+        assertThat(editor.routersByHost()).hasSize(5000);
+        assertThat(editor.removeRouters(Set.of(TestConfigs.host(0), TestConfigs.host(2500),
+                TestConfigs.host(4999)))).isEqualTo(10);
+        assertThat(editor.removeServices(List.of("app4999-service"))).isEqualTo(1);
+        editor.addRouters(List.of(D_ROUTER));
+        editor.addServices(List.of("d-service:\n  loadBalancer:\n    servers:\n      - url: http://d:80\n"));
+
+        TraefikConfigModel model = TraefikConfigModel.parse(editor.apply(),
+                TraefikConfigModel.DEFAULT_CODE_POINT_LIMIT);
+        assertThat(model.getRouters()).hasSize(5000 * 2 + 2500 * 2 - 10 + 1)
+                .containsKey("d-router")
+                .doesNotContainKeys("app0-devcrm-crmbackend-router", "app2500-devcrm-crmfrontend-router-websecure",
+                        "app4999-router");
+        assertThat(model.getServices()).hasSize(2 + 2500 - 1 + 1)
+                .containsKeys("d-service", "app4997-service")
+                .doesNotContainKey("app4999-service");
+    }
+}
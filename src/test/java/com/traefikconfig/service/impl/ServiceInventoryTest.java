@@ -0,0 +1,96 @@
+package com.traefikconfig.service.impl;
+
+import com.traefikconfig.client.DokployClient;
+import com.traefikconfig.config.InventoryProperties;
+import com.traefikconfig.config.RuntimeConfigChangedEvent;
+import com.traefikconfig.config.RuntimeConfigHolder;
+import com.traefikconfig.config.TraefikConfigProperties;
+import com.traefikconfig.config.YamlProperties;
+import com.traefikconfig.dto.InventoryEntry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ServiceInventoryTest {
+
+    private static final String READ_URL = "https://dokploy.example.com/api/application.readTraefikConfig";
+
+    private final DokployClient dokployClient = mock(DokployClient.class);
+    private final InventoryProperties properties = new InventoryProperties();
+    private RuntimeConfigHolder runtimeConfig;
+    private ServiceInventory inventory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TraefikConfigProperties startup = new TraefikConfigProperties();
+        startup.setDokployApiKey("old-key");
+        startup.setApiDomain("https://dokploy.example.com");
+        startup.setApplicationId("app");
+        runtimeConfig = new RuntimeConfigHolder(startup,
+                event -> inventory.onRuntimeConfigChanged((RuntimeConfigChangedEvent) event));
+        properties.setIncludeDesiredStates(false);
+        properties.setMaxAgeMs(60_000);
+        inventory = new ServiceInventory(dokployClient, runtimeConfig, properties, null,
+                new ConfigModelCache(new YamlProperties(), ObservationRegistry.NOOP));
+        inventory.start();
+
+        when(dokployClient.readTraefikConfig(eq(READ_URL), eq("app"), anyString())).thenReturn("""
+                http:
+                  routers:
+                    a-router:
+                      rule: Host(`a.example.com`)
+                      service: a-service
+                  services:
+                    a-service:
+                      loadBalancer:
+                        servers:
+                          - url: http://a:80
+                """);
+    }
+
+    @AfterEach
+    void tearDown() {
+        inventory.stop();
+    }
+
+    @Test
+    void servesFreshEntriesWithoutFetchingAgain() throws Exception {
+        inventory.inventory(null, null, null, null, false);
+
+        assertThat(inventory.inventory(null, null, null, null, false).getFetched()).isZero();
+        verify(dokployClient, times(1)).readTraefikConfig(READ_URL, "app", "old-key");
+    }
+
+    @Test
+    void dropsTheDefaultApplicationWhenItsConnectionChanges() throws Exception {
+        inventory.inventory(null, null, null, null, false);
+
+        runtimeConfig.replace(runtimeConfig.current().withOverrides("new-key", null, null, null, null),
+                RuntimeConfigChangedEvent.Source.API);
+
+        // Same application and domain, but read with the new key instead of served from before
+        assertThat(inventory.inventory(null, null, null, null, false).getFetched()).isEqualTo(1);
+        verify(dokployClient).readTraefikConfig(READ_URL, "app", "new-key");
+    }
+
+    @Test
+    void keepsTheDefaultApplicationWhenOtherFieldsChange() throws Exception {
+        inventory.inventory(null, null, null, null, false);
+
+        runtimeConfig.replace(runtimeConfig.current().withOverrides(null, null, null, "other-backend", null),
+                RuntimeConfigChangedEvent.Source.FILE);
+
+        assertThat(inventory.inventory(null, null, null, null, false).getEntries())
+                .extracting(InventoryEntry::getHostname).containsExactly("a.example.com");
+        verify(dokployClient, times(1)).readTraefikConfig(eq(READ_URL), eq("app"), anyString());
+    }
+}
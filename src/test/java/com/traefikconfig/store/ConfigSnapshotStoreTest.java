@@ -0,0 +1,249 @@
+package com.traefikconfig.store;
+
+import com.traefikconfig.config.SnapshotStoreProperties;
+import com.traefikconfig.dto.ConfigVersionInfo;
+import com.traefikconfig.store.ConfigSnapshotStore.Source;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfigSnapshotStoreTest {
+
+    private static final String APP = "app";
+
+    @TempDir
+    Path directory;
+
+    private final SnapshotStoreProperties properties = new SnapshotStoreProperties();
+    private final List<ConfigSnapshotStore> opened = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSizeBytes(4096);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (ConfigSnapshotStore store : opened) {
+            store.close();
+        }
+    }
+
+    @Test
+    void readsBackEveryVersionAcrossSegmentRollover() throws IOException {
+        properties.setSegmentSizeBytes(512);
+        ConfigSnapshotStore store = open();
+
+        for (int i = 1; i <= 12; i++) {
+            ConfigVersionInfo info = store.record(APP, Source.APPLIED, config(i)).orElseThrow();
+            assertThat(info.getVersion()).isEqualTo(i);
+        }
+
+        assertThat(segmentFiles()).hasSizeGreaterThan(3);
+        for (int i = 1; i <= 12; i++) {
+            assertThat(store.read(APP, i)).contains(config(i));
+        }
+        assertThat(store.history(APP)).extracting(ConfigVersionInfo::getVersion).startsWith(12L, 11L, 10L);
+        assertThat(store.latest(APP).orElseThrow().getHash()).isEqualTo(ConfigSnapshotStore.hashOf(config(12)));
+    }
+
+    @Test
+    void storesAContentLargerThanASegmentInItsOwnSegment() throws IOException {
+        properties.setSegmentSizeBytes(512);
+        ConfigSnapshotStore store = open();
+        String large = "x".repeat(2000);
+
+        store.record(APP, Source.FETCHED, config(1));
+        store.record(APP, Source.FETCHED, large);
+        store.record(APP, Source.FETCHED, config(2));
+
+        assertThat(store.read(APP, 1)).contains(config(1));
+        assertThat(store.read(APP, 2)).contains(large);
+        assertThat(store.read(APP, 3)).contains(config(2));
+    }
+
+    @Test
+    void sameContentAsTheLatestVersionIsNotANewVersion() throws IOException {
+        ConfigSnapshotStore store = open();
+
+        ConfigVersionInfo first = store.record(APP, Source.FETCHED, config(1)).orElseThrow();
+        ConfigVersionInfo again = store.record(APP, Source.APPLIED, config(1)).orElseThrow();
+
+        assertThat(again.getVersion()).isEqualTo(first.getVersion());
+        assertThat(again.getSource()).isEqualTo("FETCHED");
+        assertThat(store.history(APP)).hasSize(1);
+    }
+
+    @Test
+    void identicalContentIsStoredOnce() throws IOException {
+        ConfigSnapshotStore store = open();
+
+        store.record(APP, Source.FETCHED, config(1));
+        store.record(APP, Source.APPLIED, config(2));
+        store.record(APP, Source.APPLIED, config(1));
+        store.record("other-app", Source.FETCHED, config(2));
+
+        assertThat(store.history(APP)).extracting(ConfigVersionInfo::getVersion).containsExactly(3L, 2L, 1L);
+        assertThat(store.read(APP, 3)).contains(config(1));
+        assertThat(store.read("other-app", 1)).contains(config(2));
+        assertThat(storedRecords()).isEqualTo(2);
+    }
+
+    @Test
+    void reopensWithTheSameVersionsAndKeepsAppending() throws IOException {
+        properties.setSegmentSizeBytes(512);
+        ConfigSnapshotStore store = open();
+        for (int i = 1; i <= 5; i++) {
+            store.record(APP, Source.APPLIED, config(i));
+        }
+        store.record("other-app", Source.FETCHED, config(1));
+        store.close();
+
+        ConfigSnapshotStore reopened = open();
+
+        assertThat(reopened.history(APP)).hasSize(5);
+        assertThat(reopened.latest("other-app").orElseThrow().getVersion()).isEqualTo(1);
+        assertThat(reopened.record(APP, Source.APPLIED, config(6)).orElseThrow().getVersion()).isEqualTo(6);
+        // Known content is still shared after the restart
+        reopened.record("other-app", Source.FETCHED, config(3));
+        for (int i = 1; i <= 6; i++) {
+            assertThat(reopened.read(APP, i)).contains(config(i));
+        }
+        assertThat(storedRecords()).isEqualTo(6);
+    }
+
+    @Test
+    void dropsIndexEntriesFromTheFirstBadChecksum() throws IOException {
+        ConfigSnapshotStore store = open();
+        for (int i = 1; i <= 3; i++) {
+            store.record(APP, Source.APPLIED, config(i));
+        }
+        store.close();
+        Path index = directory.resolve("index.dat");
+        long entryBytes = Files.size(index) / 3;
+        flipByte(index, entryBytes + 20);
+
+        ConfigSnapshotStore reopened = open();
+
+        assertThat(reopened.history(APP)).extracting(ConfigVersionInfo::getVersion).containsExactly(1L);
+        assertThat(Files.size(index)).isEqualTo(entryBytes);
+        assertThat(reopened.record(APP, Source.APPLIED, config(4)).orElseThrow().getVersion()).isEqualTo(2);
+        assertThat(reopened.read(APP, 2)).contains(config(4));
+    }
+
+    @Test
+    void truncatesATornIndexTail() throws IOException {
+        ConfigSnapshotStore store = open();
+        store.record(APP, Source.APPLIED, config(1));
+        store.record(APP, Source.APPLIED, config(2));
+        store.close();
+        Path index = directory.resolve("index.dat");
+        try (FileChannel channel = FileChannel.open(index, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        ConfigSnapshotStore reopened = open();
+
+        assertThat(reopened.history(APP)).hasSize(1);
+        assertThat(reopened.read(APP, 1)).contains(config(1));
+    }
+
+    @Test
+    void damagedContentIsNotServedOrShared() throws IOException {
+        ConfigSnapshotStore store = open();
+        store.record(APP, Source.APPLIED, config(1));
+        store.record(APP, Source.APPLIED, config(2));
+        store.close();
+        Path segment = segmentFiles().get(0);
+        byte[] bytes = Files.readAllBytes(segment);
+        flipByte(segment, indexOf(bytes, config(1).getBytes(StandardCharsets.UTF_8)) + 10);
+
+        ConfigSnapshotStore reopened = open();
+
+        assertThat(reopened.read(APP, 1)).isEmpty();
+        assertThat(reopened.read(APP, 2)).contains(config(2));
+        // The same content again gets a fresh copy instead of the damaged one
+        reopened.record(APP, Source.APPLIED, config(1));
+        assertThat(reopened.read(APP, 3)).contains(config(1));
+    }
+
+    @Test
+    void disabledStoreRecordsNothing() throws IOException {
+        properties.setEnabled(false);
+        ConfigSnapshotStore store = open();
+
+        assertThat(store.isAvailable()).isFalse();
+        assertThat(store.record(APP, Source.APPLIED, config(1))).isEmpty();
+        assertThat(store.read(APP, 1)).isEmpty();
+        assertThat(segmentFiles()).isEmpty();
+    }
+
+    private ConfigSnapshotStore open() {
+        ConfigSnapshotStore store = new ConfigSnapshotStore(properties);
+        store.open();
+        opened.add(store);
+        return store;
+    }
+
+    private static String config(int i) {
+        return "http:\n  routers:\n    app" + i + "-router:\n      rule: Host(`app" + i + ".example.com`)\n"
+                + "      service: app" + i + "-service\n";
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".seg")).sorted().toList();
+        }
+    }
+
+    /**
+     * Number of content records in all segments, found by their magic number.
+     */
+    private int storedRecords() throws IOException {
+        byte[] magic = "TCSF".getBytes(StandardCharsets.US_ASCII);
+        int records = 0;
+        for (Path segment : segmentFiles()) {
+            byte[] bytes = Files.readAllBytes(segment);
+            for (int i = 0; i + magic.length <= bytes.length; i++) {
+                if (bytes[i] == magic[0] && bytes[i + 1] == magic[1] && bytes[i + 2] == magic[2]
+                        && bytes[i + 3] == magic[3]) {
+                    records++;
+                }
+            }
+        }
+        return records;
+    }
+
+    private static int indexOf(byte[] bytes, byte[] part) {
+        outer:
+        for (int i = 0; i + part.length <= bytes.length; i++) {
+            for (int j = 0; j < part.length; j++) {
+                if (bytes[i + j] != part[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        throw new AssertionError("content not found");
+    }
+
+    private static void flipByte(Path file, long position) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[(int) position] ^= 0x01;
+        Files.write(file, bytes);
+    }
+}
@@ -0,0 +1,179 @@
+package com.traefikconfig.store;
+
+import com.traefikconfig.config.MutationWalProperties;
+import com.traefikconfig.store.MutationWal.MutationType;
+import com.traefikconfig.store.MutationWal.PendingMutation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MutationWalTest {
+
+    @TempDir
+    Path directory;
+
+    private final MutationWalProperties properties = new MutationWalProperties();
+    private final List<MutationWal> opened = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties.setDirectory(directory.toString());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (MutationWal wal : opened) {
+            wal.close();
+        }
+    }
+
+    @Test
+    void recoversAcceptedButUnappliedMutationsAfterRestart() throws Exception {
+        MutationWal wal = open();
+        long applied = wal.append(MutationType.ADD_HOST, "{\"hostname\":\"a.example.com\"}");
+        long failed = wal.append(MutationType.DELETE_HOST, "{\"hostname\":\"b.example.com\"}");
+        long pending = wal.append(MutationType.ROLLBACK, "{\"version\":3}");
+        wal.markApplied(applied);
+        wal.markFailed(failed);
+        assertThat(wal.pendingCount()).isEqualTo(1);
+        wal.close();
+
+        MutationWal reopened = open();
+
+        List<PendingMutation> recovered = reopened.drainRecovered();
+        assertThat(recovered).hasSize(1);
+        assertThat(recovered.get(0).id()).isEqualTo(pending);
+        assertThat(recovered.get(0).type()).isEqualTo(MutationType.ROLLBACK);
+        assertThat(recovered.get(0).payload()).isEqualTo("{\"version\":3}");
+        assertThat(recovered.get(0).acceptedAt()).isNotNull();
+        assertThat(reopened.drainRecovered()).isEmpty();
+    }
+
+    @Test
+    void recoversPendingMutationsOldestFirst() throws Exception {
+        MutationWal wal = open();
+        long first = wal.append(MutationType.ADD_HOST, "1");
+        long second = wal.append(MutationType.DELETE_HOSTS_BY_SUFFIX, "2");
+        long third = wal.append(MutationType.RECONCILE, "3");
+        wal.close();
+
+        assertThat(open().drainRecovered()).extracting(PendingMutation::id).containsExactly(first, second, third);
+    }
+
+    @Test
+    void completionsOfRecoveredMutationsSurviveTheNextRestart() throws Exception {
+        MutationWal wal = open();
+        wal.append(MutationType.ADD_HOST, "replayed");
+        wal.append(MutationType.ADD_HOST, "failed");
+        wal.append(MutationType.ADD_HOST, "left");
+        wal.close();
+
+        MutationWal second = open();
+        List<PendingMutation> recovered = second.drainRecovered();
+        second.markApplied(recovered.get(0).id());
+        second.markFailed(recovered.get(1).id());
+        second.close();
+
+        MutationWal third = open();
+        assertThat(third.drainRecovered()).extracting(PendingMutation::payload).containsExactly("left");
+        assertThat(third.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void idsKeepIncreasingAcrossRestarts() throws Exception {
+        MutationWal wal = open();
+        long before = wal.append(MutationType.ADD_HOST, "pending");
+        wal.close();
+
+        MutationWal reopened = open();
+
+        assertThat(reopened.append(MutationType.ADD_HOST, "next")).isGreaterThan(before);
+    }
+
+    @Test
+    void ignoresATornLastRecord() throws Exception {
+        MutationWal wal = open();
+        wal.append(MutationType.ADD_HOST, "complete");
+        wal.append(MutationType.ADD_HOST, "torn");
+        wal.close();
+        Path log = directory.resolve("mutations.wal");
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        MutationWal reopened = open();
+        assertThat(reopened.drainRecovered()).extracting(PendingMutation::payload).containsExactly("complete");
+
+        // The torn tail is dropped when the log is rewritten, so later appends are readable
+        reopened.append(MutationType.DELETE_HOST, "after");
+        reopened.close();
+        assertThat(open().drainRecovered()).extracting(PendingMutation::payload)
+                .containsExactly("complete", "after");
+    }
+
+    @Test
+    void stopsReadingAtARecordWithABadChecksum() throws Exception {
+        MutationWal wal = open();
+        wal.append(MutationType.ADD_HOST, "good");
+        wal.append(MutationType.ADD_HOST, "corrupted");
+        wal.close();
+        Path log = directory.resolve("mutations.wal");
+        byte[] bytes = Files.readAllBytes(log);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(log, bytes);
+
+        assertThat(open().drainRecovered()).extracting(PendingMutation::payload).containsExactly("good");
+    }
+
+    @Test
+    void compactionKeepsPendingMutations() throws Exception {
+        properties.setCompactThresholdBytes(256);
+        MutationWal wal = open();
+        List<Long> pending = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            long id = wal.append(MutationType.ADD_HOST, "{\"hostname\":\"app" + i + ".example.com\"}");
+            if (i % 50 == 0) {
+                pending.add(id);
+            } else {
+                wal.markApplied(id);
+            }
+        }
+        wal.close();
+        Path log = directory.resolve("mutations.wal");
+        // Without compaction the log would hold 200 accepted and 196 completion records
+        assertThat(Files.size(log)).isLessThan(4096);
+
+        MutationWal reopened = open();
+
+        assertThat(reopened.drainRecovered()).extracting(PendingMutation::id).containsExactlyElementsOf(pending);
+    }
+
+    @Test
+    void disabledLogRecordsNothing() throws Exception {
+        properties.setEnabled(false);
+        MutationWal wal = open();
+
+        assertThat(wal.isAvailable()).isFalse();
+        assertThat(wal.append(MutationType.ADD_HOST, "ignored")).isEqualTo(-1);
+        wal.markApplied(-1);
+        assertThat(wal.pendingCount()).isZero();
+        assertThat(Files.exists(directory.resolve("mutations.wal"))).isFalse();
+    }
+
+    private MutationWal open() {
+        MutationWal wal = new MutationWal(properties);
+        wal.open();
+        opened.add(wal);
+        return wal;
+    }
+}
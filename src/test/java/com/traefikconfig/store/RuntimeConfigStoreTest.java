@@ -0,0 +1,186 @@
+package com.traefikconfig.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.traefikconfig.config.RuntimeConfig;
+import com.traefikconfig.config.RuntimeConfigChangedEvent;
+import com.traefikconfig.config.RuntimeConfigHolder;
+import com.traefikconfig.config.RuntimeConfigProperties;
+import com.traefikconfig.config.TraefikConfigProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RuntimeConfigStoreTest {
+
+    /** Longer than the watcher's settle delay plus a reload, so a second event would have arrived */
+    private static final long QUIET_MILLIS = 500;
+
+    @TempDir
+    Path directory;
+
+    private final List<RuntimeConfigChangedEvent> events = new CopyOnWriteArrayList<>();
+    private final RuntimeConfigProperties properties = new RuntimeConfigProperties();
+    private RuntimeConfigHolder holder;
+    private RuntimeConfigStore store;
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        TraefikConfigProperties startup = new TraefikConfigProperties();
+        startup.setDokployApiKey("startup-key");
+        startup.setApiDomain("https://startup.example.com");
+        startup.setApplicationId("startup-app");
+        holder = new RuntimeConfigHolder(startup, event -> events.add((RuntimeConfigChangedEvent) event));
+        file = directory.resolve("runtime-config.json");
+        properties.setFile(file.toString());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (store != null) {
+            store.stop();
+        }
+    }
+
+    @Test
+    void persistsAnUpdateBeforeItTakesEffect() throws Exception {
+        start();
+
+        RuntimeConfig updated = store.update(config -> config.withOverrides(null, null, "other-app", null, null));
+
+        assertThat(holder.current()).isEqualTo(updated);
+        assertThat(Files.readString(file)).contains("\"applicationId\" : \"other-app\"")
+                .doesNotContain("readApiUrl");
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.source()).isEqualTo(RuntimeConfigChangedEvent.Source.API);
+            assertThat(event.changedFields()).containsExactly("applicationId");
+        });
+    }
+
+    @Test
+    void reloadOfItsOwnWriteChangesNothing() throws Exception {
+        start();
+
+        store.update(config -> config.withOverrides("new-key", null, null, null, null));
+        Thread.sleep(QUIET_MILLIS);
+
+        assertThat(events).extracting(RuntimeConfigChangedEvent::source)
+                .containsExactly(RuntimeConfigChangedEvent.Source.API);
+        assertThat(holder.current().dokployApiKey()).isEqualTo("new-key");
+    }
+
+    @Test
+    void handEditIsPickedUpOnce() throws Exception {
+        start();
+
+        Files.writeString(file, "{\"apiDomain\": \"https://edited.example.com\"}");
+        awaitTrue(() -> !events.isEmpty());
+        Thread.sleep(QUIET_MILLIS);
+
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.source()).isEqualTo(RuntimeConfigChangedEvent.Source.FILE);
+            assertThat(event.changedFields()).containsExactly("apiDomain");
+        });
+        // Fields missing from the file keep their startup values
+        assertThat(holder.current().apiDomain()).isEqualTo("https://edited.example.com");
+        assertThat(holder.current().applicationId()).isEqualTo("startup-app");
+    }
+
+    @Test
+    void blankRequiredFieldIsRejectedAndTheCurrentConfigKept() throws Exception {
+        start();
+        RuntimeConfig before = store.update(config -> config.withOverrides(null, null, "kept-app", null, null));
+        events.clear();
+
+        Files.writeString(file, "{\"applicationId\": \"kept-app\", \"dokployApiKey\": \"  \"}");
+        Thread.sleep(QUIET_MILLIS);
+        Files.writeString(file, "[\"not an object\"]");
+        Thread.sleep(QUIET_MILLIS);
+
+        assertThat(events).isEmpty();
+        assertThat(holder.current()).isEqualTo(before);
+    }
+
+    @Test
+    void deletingTheFileResetsToStartupValues() throws Exception {
+        start();
+        store.update(config -> config.withOverrides("new-key", "https://new.example.com", "new-app", null, null));
+        events.clear();
+
+        Files.delete(file);
+        awaitTrue(() -> !events.isEmpty());
+
+        assertThat(holder.current()).isEqualTo(holder.startup());
+        assertThat(events).singleElement().extracting(RuntimeConfigChangedEvent::source)
+                .isEqualTo(RuntimeConfigChangedEvent.Source.FILE);
+    }
+
+    @Test
+    void loadsThePersistedFileOnStartup() throws Exception {
+        Files.writeString(file, "{\"applicationId\": \"persisted-app\", \"backendService\": \"api\"}");
+
+        start();
+
+        assertThat(holder.current().applicationId()).isEqualTo("persisted-app");
+        assertThat(holder.current().backendService()).isEqualTo("api");
+        assertThat(holder.current().dokployApiKey()).isEqualTo("startup-key");
+    }
+
+    @Test
+    void invalidFileOnStartupIsIgnored() throws Exception {
+        Files.writeString(file, "{\"apiDomain\": \"\"}");
+
+        start();
+
+        assertThat(holder.current()).isEqualTo(holder.startup());
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void resetForgetsPersistedChanges() throws Exception {
+        start();
+        store.update(config -> config.withOverrides(null, null, "other-app", null, null));
+
+        RuntimeConfig reset = store.reset();
+
+        assertThat(reset).isEqualTo(holder.startup());
+        assertThat(holder.current()).isEqualTo(holder.startup());
+        assertThat(file).doesNotExist();
+        assertThat(events).extracting(RuntimeConfigChangedEvent::source)
+                .startsWith(RuntimeConfigChangedEvent.Source.API, RuntimeConfigChangedEvent.Source.RESET);
+    }
+
+    @Test
+    void keepsChangesInMemoryWhenPersistenceIsOff() throws Exception {
+        properties.setPersist(false);
+        start();
+
+        store.update(config -> config.withOverrides(null, null, "other-app", null, null));
+
+        assertThat(holder.current().applicationId()).isEqualTo("other-app");
+        assertThat(file).doesNotExist();
+    }
+
+    private void start() {
+        store = new RuntimeConfigStore(holder, properties, new ObjectMapper());
+        store.start();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("waiting for the watcher").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.traefikconfig.web;
+
+import com.traefikconfig.config.AdmissionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlTest {
+
+    private final AdmissionProperties properties = new AdmissionProperties();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        // Slow refills, so tokens only come back through refunds
+        properties.setClientRatePerSecond(0.001);
+        properties.setClientBurst(2);
+        properties.setApplicationRatePerSecond(0.001);
+        properties.setApplicationBurst(2);
+        properties.setMaxConcurrent(1);
+        properties.setQueueCapacity(1);
+        properties.setQueueTimeoutMs(20);
+    }
+
+    @Test
+    void rejectsAClientOverItsRate() {
+        properties.setClientBurst(1);
+        properties.setClientRatePerSecond(0.5);
+        AdmissionControl control = start();
+
+        assertThat(control.admit("client", "app").admitted()).isTrue();
+        control.release();
+        AdmissionControl.Decision decision = control.admit("client", "app");
+
+        assertThat(decision.admitted()).isFalse();
+        assertThat(decision.reason()).isEqualTo("client_rate");
+        assertThat(decision.retryAfterSeconds()).isEqualTo(2);
+        assertThat(control.admit("other", "app").admitted()).isTrue();
+    }
+
+    @Test
+    void applicationRateRejectionRefundsTheClientToken() {
+        properties.setApplicationBurst(1);
+        AdmissionControl control = start();
+
+        assertThat(control.admit("client", "app").admitted()).isTrue();
+        control.release();
+        assertThat(control.admit("client", "app").reason()).isEqualTo("application_rate");
+
+        assertThat(control.admit("client", "other").admitted()).isTrue();
+        control.release();
+        assertThat(control.admit("client", "third").reason()).isEqualTo("client_rate");
+    }
+
+    @Test
+    void fullQueueRejectionRefundsBothTokens() {
+        properties.setQueueCapacity(0);
+        AdmissionControl control = start();
+
+        assertThat(control.admit("client", "app").admitted()).isTrue();
+        AdmissionControl.Decision decision = control.admit("client", "app");
+        control.release();
+
+        assertThat(decision.reason()).isEqualTo("queue_full");
+        assertThat(decision.retryAfterSeconds()).isEqualTo(1);
+        assertThat(control.admit("client", "app").admitted()).isTrue();
+        control.release();
+        assertThat(rejections("queue_full")).isEqualTo(1);
+    }
+
+    @Test
+    void queueTimeoutRejectionRefundsBothTokens() {
+        AdmissionControl control = start();
+
+        assertThat(control.admit("client", "app").admitted()).isTrue();
+        AdmissionControl.Decision decision = control.admit("client", "app");
+        control.release();
+
+        assertThat(decision.reason()).isEqualTo("queue_timeout");
+        assertThat(control.admit("client", "app").admitted()).isTrue();
+        control.release();
+        assertThat(rejections("queue_timeout")).isEqualTo(1);
+    }
+
+    @Test
+    void queuedRequestGetsTheReleasedSlot() throws InterruptedException {
+        properties.setQueueTimeoutMs(10_000);
+        AdmissionControl control = start();
+        assertThat(control.admit("client", "app").admitted()).isTrue();
+
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            control.release();
+        });
+        releaser.start();
+        AdmissionControl.Decision decision = control.admit("client", "app");
+        releaser.join();
+
+        assertThat(decision.admitted()).isTrue();
+        assertThat(meterRegistry.counter("traefik.admission.admitted").count()).isEqualTo(2);
+    }
+
+    @Test
+    void zeroRateDisablesALimit() {
+        properties.setClientRatePerSecond(0);
+        properties.setApplicationRatePerSecond(0);
+        AdmissionControl control = start();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(control.admit("client", "app").admitted()).isTrue();
+            control.release();
+        }
+    }
+
+    @Test
+    void keysBeyondTheTrackedMaximumShareABucket() {
+        properties.setClientBurst(1);
+        properties.setMaxTrackedKeys(1);
+        AdmissionControl control = start();
+
+        assertThat(control.admit("first", "app1").admitted()).isTrue();
+        control.release();
+        assertThat(control.admit("second", "app2").admitted()).isTrue();
+        control.release();
+
+        assertThat(control.admit("third", "app3").reason()).isEqualTo("client_rate");
+    }
+
+    private AdmissionControl start() {
+        AdmissionControl control = new AdmissionControl(properties, meterRegistry);
+        control.start();
+        return control;
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.counter("traefik.admission.rejected", "reason", reason).count();
+    }
+}
@@ -0,0 +1,187 @@
+package com.traefikconfig.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.traefikconfig.config.AdmissionProperties;
+import com.traefikconfig.config.RuntimeConfigHolder;
+import com.traefikconfig.config.TraefikConfigProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionFilterTest {
+
+    private static final String DEFAULT_APPLICATION = "default-app";
+
+    private final AdmissionProperties properties = new AdmissionProperties();
+    private final RecordingAdmissionControl admissionControl = new RecordingAdmissionControl(properties);
+    private final AdmissionFilter filter = new AdmissionFilter(admissionControl, properties, runtimeConfig(),
+            new ObjectMapper());
+    private final List<String> forwardedBodies = new ArrayList<>();
+    private final FilterChain chain = (request, response) -> forwardedBodies.add(body(request));
+
+    @Test
+    void readsAndReadOnlyEndpointsPassThrough() throws Exception {
+        for (MockHttpServletRequest request : List.of(
+                new MockHttpServletRequest("GET", "/api/traefik/config"),
+                post("/api/traefik/config-custom", "{}"),
+                post("/api/traefik/services-custom", "{}"),
+                post("/api/traefik/diff", "{}"),
+                new MockHttpServletRequest("PUT", "/api/config/update"))) {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+        }
+
+        assertThat(admissionControl.admissions).isEmpty();
+        assertThat(forwardedBodies).hasSize(5);
+    }
+
+    @Test
+    void disabledAdmissionPassesEverything() throws Exception {
+        properties.setEnabled(false);
+
+        filter.doFilter(post("/api/traefik/add-host", "{}"), new MockHttpServletResponse(), chain);
+
+        assertThat(admissionControl.admissions).isEmpty();
+        assertThat(forwardedBodies).hasSize(1);
+    }
+
+    @Test
+    void findsApplicationIdInTheBodyAndReplaysIt() throws Exception {
+        String body = "{\"hostname\":\"a.example.com\",\"options\":{\"applicationId\":\"nested\"},"
+                + "\"applicationId\":\"app-1\"}";
+
+        filter.doFilter(post("/api/traefik/add-host-custom", body), new MockHttpServletResponse(), chain);
+
+        assertThat(admissionControl.admissions).containsExactly("127.0.0.1 -> app-1");
+        assertThat(forwardedBodies).containsExactly(body);
+        assertThat(admissionControl.releases).isEqualTo(1);
+    }
+
+    @Test
+    void queryParameterTakesPrecedenceOverBody() throws Exception {
+        MockHttpServletRequest request = post("/api/traefik/add-host-custom", "{\"applicationId\":\"app-1\"}");
+        request.addParameter("applicationId", "app-2");
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(admissionControl.admissions).containsExactly("127.0.0.1 -> app-2");
+    }
+
+    @Test
+    void usesDefaultApplicationWhenTheBodyCannotTell() throws Exception {
+        properties.setMaxInspectedBodyBytes(64);
+        String large = "{\"applicationId\":\"app-1\",\"padding\":\"" + "x".repeat(64) + "\"}";
+        MockHttpServletRequest plainText = post("/api/traefik/add-host", "{\"applicationId\":\"app-1\"}");
+        plainText.setContentType("text/plain");
+
+        for (MockHttpServletRequest request : List.of(
+                post("/api/traefik/add-host", "{\"options\":{\"applicationId\":\"nested\"}}"),
+                post("/api/traefik/add-host", "{\"applicationId\":42}"),
+                post("/api/traefik/add-host", "not json"),
+                post("/api/traefik/add-host", large),
+                plainText)) {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+        }
+
+        assertThat(admissionControl.admissions).hasSize(5)
+                .allMatch(admission -> admission.endsWith(" -> " + DEFAULT_APPLICATION));
+        assertThat(forwardedBodies).element(3).isEqualTo(large);
+        assertThat(forwardedBodies).element(2).isEqualTo("not json");
+    }
+
+    @Test
+    void identifiesClientsByHeaderWhenConfigured() throws Exception {
+        properties.setClientHeader("X-Forwarded-For");
+        MockHttpServletRequest proxied = post("/api/traefik/add-host", "{}");
+        proxied.addHeader("X-Forwarded-For", " 203.0.113.7 , 10.0.0.1");
+
+        filter.doFilter(proxied, new MockHttpServletResponse(), chain);
+        filter.doFilter(post("/api/traefik/add-host", "{}"), new MockHttpServletResponse(), chain);
+
+        assertThat(admissionControl.admissions)
+                .containsExactly("203.0.113.7 -> " + DEFAULT_APPLICATION, "127.0.0.1 -> " + DEFAULT_APPLICATION);
+    }
+
+    @Test
+    void rejectsWithTooManyRequestsAndRetryAfter() throws Exception {
+        admissionControl.decision = new AdmissionControl.Decision(false, "client_rate", 3,
+                "Too many requests from this client");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(post("/api/traefik/add-host", "{}"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("3");
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        assertThat(response.getContentAsString())
+                .contains("\"success\":false", "\"message\":\"Too many requests from this client\"");
+        assertThat(forwardedBodies).isEmpty();
+        assertThat(admissionControl.releases).isZero();
+    }
+
+    @Test
+    void releasesTheSlotWhenTheRequestFails() {
+        FilterChain failing = (request, response) -> {
+            throw new ServletException("boom");
+        };
+
+        assertThatThrownBy(() -> filter.doFilter(post("/api/traefik/add-host", "{}"),
+                new MockHttpServletResponse(), failing)).isInstanceOf(ServletException.class);
+
+        assertThat(admissionControl.releases).isEqualTo(1);
+    }
+
+    private static MockHttpServletRequest post(String path, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static String body(ServletRequest request) throws IOException {
+        return new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static RuntimeConfigHolder runtimeConfig() {
+        TraefikConfigProperties traefik = new TraefikConfigProperties();
+        traefik.setApplicationId(DEFAULT_APPLICATION);
+        return new RuntimeConfigHolder(traefik, event -> {
+        });
+    }
+
+    /**
+     * Records who was admitted for which application and answers with a fixed decision.
+     */
+    private static final class RecordingAdmissionControl extends AdmissionControl {
+
+        final List<String> admissions = new ArrayList<>();
+        Decision decision = Decision.ADMITTED;
+        int releases;
+
+        RecordingAdmissionControl(AdmissionProperties properties) {
+            super(properties, new SimpleMeterRegistry());
+        }
+
+        @Override
+        public Decision admit(String client, String applicationId) {
+            admissions.add(client + " -> " + applicationId);
+            return decision;
+        }
+
+        @Override
+        public void release() {
+            releases++;
+        }
+    }
+}
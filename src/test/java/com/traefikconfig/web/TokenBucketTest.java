@@ -0,0 +1,62 @@
+package com.traefikconfig.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void startsFullAndEmptiesOneTokenPerRequest() {
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+
+        assertThat(bucket.isFull(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.isFull(0)).isFalse();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void reportsTheWaitForThePartialToken() {
+        TokenBucket bucket = new TokenBucket(1, 2, 0);
+        bucket.tryAcquire(0);
+
+        assertThat(bucket.tryAcquire(SECOND / 4)).isEqualTo(SECOND / 4);
+        assertThat(bucket.tryAcquire(SECOND / 2)).isZero();
+    }
+
+    @Test
+    void refillsUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        assertThat(bucket.isFull(100 * SECOND)).isTrue();
+        assertThat(bucket.tryAcquire(100 * SECOND)).isZero();
+        assertThat(bucket.tryAcquire(100 * SECOND)).isZero();
+        assertThat(bucket.tryAcquire(100 * SECOND)).isPositive();
+    }
+
+    @Test
+    void refundPutsBackOneTokenButNeverOverfills() {
+        TokenBucket bucket = new TokenBucket(1, 1, 0);
+        bucket.tryAcquire(0);
+
+        bucket.refund();
+        assertThat(bucket.isFull(0)).isTrue();
+        bucket.refund();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isPositive();
+    }
+
+    @Test
+    void ignoresClockGoingBackwards() {
+        TokenBucket bucket = new TokenBucket(1, 1, SECOND);
+        bucket.tryAcquire(SECOND);
+
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND);
+    }
+}